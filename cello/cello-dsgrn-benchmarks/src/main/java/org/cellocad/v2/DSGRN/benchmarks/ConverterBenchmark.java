@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.results.netlist.converter.SBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.DSGRN.results.netlist.converter.StreamingSBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sbolstandard.core2.SBOLConversionException;
+import org.sbolstandard.core2.SBOLDocument;
+import org.sbolstandard.core2.SBOLReader;
+import org.sbolstandard.core2.SBOLValidate;
+import org.sbolstandard.core2.SBOLValidationException;
+
+/**
+ * Benchmarks of reading, validating and converting DSGRN documents, and of
+ * writing the converted netlists as JSON.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+	@Param({ DSGRNBenchmarkUtils.S_VOIGT, DSGRNBenchmarkUtils.S_THREENODE, "synthetic-8", "synthetic-32",
+	        "synthetic-128", "synthetic-512" })
+	public String network;
+
+	private File file;
+	private SBOLDocument document;
+	private List<Netlist> netlists;
+
+	@Setup
+	public void setup() throws IOException, SBOLValidationException, SBOLConversionException, CelloException {
+		this.file = DSGRNBenchmarkUtils.getNetwork(this.network, DSGRNBenchmarkUtils.getTempDir());
+		this.document = SBOLReader.read(this.file);
+		this.netlists = new SBOLMolecularModelToPoPSNetlistConverter().convertAll(this.document);
+	}
+
+	@Benchmark
+	public SBOLDocument readSBOL() throws SBOLValidationException, IOException, SBOLConversionException {
+		return SBOLReader.read(this.file);
+	}
+
+	@Benchmark
+	public List<Netlist> convert() throws CelloException {
+		return new SBOLMolecularModelToPoPSNetlistConverter().convertAll(this.document);
+	}
+
+	@Benchmark
+	public List<Netlist> readSBOLAndConvert()
+	        throws SBOLValidationException, IOException, SBOLConversionException, CelloException {
+		return new SBOLMolecularModelToPoPSNetlistConverter().convertAll(SBOLReader.read(this.file));
+	}
+
+	@Benchmark
+	public List<Netlist> streamAndConvert() throws CelloException {
+		return new StreamingSBOLMolecularModelToPoPSNetlistConverter().convertAll(this.file);
+	}
+
+	@Benchmark
+	public List<Netlist> streamAndConvertWithValidation() throws CelloException {
+		return new StreamingSBOLMolecularModelToPoPSNetlistConverter(1, true).convertAll(this.file);
+	}
+
+	@Benchmark
+	public int validateSBOL() {
+		SBOLValidate.clearErrors();
+		SBOLValidate.validateSBOL(this.document, true, true, false);
+		return SBOLValidate.getNumErrors();
+	}
+
+	@Benchmark
+	public List<String> writeJSON() throws CelloException {
+		List<String> rtn = new ArrayList<>();
+		for (Netlist netlist : this.netlists) {
+			rtn.add(DSGRNNetlistUtils.getJSONString(netlist));
+		}
+		return rtn;
+	}
+
+}
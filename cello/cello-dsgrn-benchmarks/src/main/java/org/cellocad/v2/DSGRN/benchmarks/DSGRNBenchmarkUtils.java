@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+
+/**
+ * Utility methods for the benchmarks of the <i>DSGRN</i> application: the input
+ * networks and the runtime environment. The bundled networks and target data
+ * are read from the test resources of the <i>DSGRN</i> module, whose location
+ * is given by the {@code dsgrn.resources} system property.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNBenchmarkUtils {
+
+	/**
+	 * Returns the directory of the test resources of the <i>DSGRN</i> module.
+	 *
+	 * @return The directory of the test resources.
+	 */
+	public static File getResourcesDir() {
+		return new File(System.getProperty(S_RESOURCES, S_RESOURCESDEFAULT));
+	}
+
+	/**
+	 * Returns the file of a network: {@code voigt} or {@code threeNode} for the
+	 * bundled networks, or {@code synthetic-<size>} for a generated network of the
+	 * given number of repressors, written to the given directory.
+	 *
+	 * @param network The network.
+	 * @param dir     The directory of generated networks.
+	 * @return The file of the network.
+	 * @throws IOException Unable to write a generated network.
+	 */
+	public static File getNetwork(String network, File dir) throws IOException {
+		File rtn = null;
+		if (network.equals(S_VOIGT)) {
+			rtn = new File(getResourcesDir(), S_CONVERTER + S_VOIGTFILE);
+		} else if (network.equals(S_THREENODE)) {
+			rtn = new File(getResourcesDir(), S_CONVERTER + S_THREENODEFILE);
+		} else if (network.startsWith(S_SYNTHETIC)) {
+			int size = Integer.parseInt(network.substring(S_SYNTHETIC.length()));
+			rtn = new File(dir, network + ".xml");
+			SyntheticNetworks.write(size, rtn);
+		} else {
+			throw new IllegalArgumentException("Unknown network: " + network);
+		}
+		if (!rtn.isFile()) {
+			throw new IOException("Network file " + rtn + " does not exist.");
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the command line arguments of a design, with the bundled target data.
+	 *
+	 * @param inputFile The file of the design.
+	 * @param outputDir The output directory.
+	 * @return The command line arguments.
+	 */
+	public static String[] getArgs(File inputFile, File outputDir) {
+		File lib = new File(getResourcesDir(), "lib/files/v2");
+		String[] rtn = new String[] { "-" + ArgString.INPUTNETLIST, inputFile.getAbsolutePath(),
+		        "-" + ArgString.USERCONSTRAINTSFILE, new File(lib, "ucf/SC/SC1C1G1T1.UCF.json").getAbsolutePath(),
+		        "-" + ArgString.INPUTSENSORFILE, new File(lib, "input/SC/SC1C1G1T1.input.json").getAbsolutePath(),
+		        "-" + ArgString.OUTPUTDEVICEFILE, new File(lib, "output/SC/SC1C1G1T1.output.json").getAbsolutePath(),
+		        "-" + ArgString.OUTPUTDIR, outputDir.getAbsolutePath(), "-" + ArgString.PYTHONENV, "python",
+		        "-" + DSGRNArgString.RENDER, "off" };
+		return rtn;
+	}
+
+	/**
+	 * Returns the runtime environment of a design, with the bundled target data.
+	 *
+	 * @param inputFile The file of the design.
+	 * @param outputDir The output directory.
+	 * @return The runtime environment.
+	 */
+	public static DSGRNRuntimeEnv getRuntimeEnv(File inputFile, File outputDir) {
+		DSGRNRuntimeEnv rtn = new DSGRNRuntimeEnv(DSGRNBenchmarkUtils.getArgs(inputFile, outputDir));
+		rtn.setName("DSGRN");
+		return rtn;
+	}
+
+	/**
+	 * Returns a new temporary directory.
+	 *
+	 * @return The directory.
+	 * @throws IOException Unable to create the directory.
+	 */
+	public static File getTempDir() throws IOException {
+		return Files.createTempDirectory("cello_").toFile();
+	}
+
+	private static final String S_RESOURCES = "dsgrn.resources";
+	private static final String S_RESOURCESDEFAULT = "../cello-dsgrn/src/test/resources";
+	private static final String S_CONVERTER = "org/cellocad/v2/DSGRN/results/netlist/converter/SBOLMolecularModelToPoPSNetlistConverterTest_class/";
+	private static final String S_VOIGTFILE = "DSGRN_Design_Voigt_Network_1_2020_04_17T17_11_04_105248_collection.xml";
+	private static final String S_THREENODEFILE = "DSGRN_Design_Three_Node_Network_1_2020_04_16T14_24_15_504070_collection.xml";
+
+	public static final String S_VOIGT = "voigt";
+	public static final String S_THREENODE = "threeNode";
+	public static final String S_SYNTHETIC = "synthetic-";
+
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of the <i>DSGRN</i> application and writes the results as
+ * JSON, so that they can be compared across versions.
+ * <p>
+ * Usage: {@code java -jar benchmarks.jar [result.json] [JMH options]}. The result
+ * file defaults to {@code jmh-result.json}, and the JMH options, for example a
+ * benchmark name pattern or {@code -p network=voigt}, select what is run.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNBenchmarks {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		String result = S_RESULT;
+		String[] rest = args;
+		if (args.length > 0 && args[0].endsWith(".json")) {
+			result = args[0];
+			rest = Arrays.copyOfRange(args, 1, args.length);
+		}
+		CommandLineOptions cmd = new CommandLineOptions(rest);
+		OptionsBuilder builder = new OptionsBuilder();
+		if (cmd.getIncludes().isEmpty()) {
+			builder.include(DSGRNBenchmarks.class.getPackage().getName() + ".*Benchmark");
+		}
+		Options options = builder.parent(cmd).resultFormat(ResultFormatType.JSON).result(result).build();
+		new Runner(options).run();
+	}
+
+	private static final String S_RESULT = "jmh-result.json";
+
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.runtime.DSGRNContext;
+import org.cellocad.v2.DSGRN.runtime.DSGRNPipeline;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.MultiStartTechnologyMapping;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.stage.Stage;
+import org.cellocad.v2.export.runtime.EXRuntimeObject;
+import org.cellocad.v2.placing.runtime.PLRuntimeObject;
+import org.cellocad.v2.results.common.Results;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@code execute()} method of each stage. Each invocation
+ * starts from a fresh copy of the netlist produced by the stages before it, so
+ * that a stage never sees its own output. Only the bundled networks are used,
+ * as the synthetic ones need more gates than the target data has.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StageBenchmark {
+
+	@Param({ DSGRNBenchmarkUtils.S_VOIGT, DSGRNBenchmarkUtils.S_THREENODE })
+	public String network;
+
+	private DSGRNRuntimeEnv runEnv;
+	private DSGRNContext context;
+	private Results results;
+	private String imported;
+	private String mapped;
+	private String placed;
+	private Netlist netlist;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, CelloException {
+		File dir = DSGRNBenchmarkUtils.getTempDir();
+		File file = DSGRNBenchmarkUtils.getNetwork(this.network, dir);
+		this.runEnv = DSGRNBenchmarkUtils.getRuntimeEnv(file, dir);
+		this.context = new DSGRNContext(this.runEnv);
+		this.results = new Results(dir);
+		Netlist netlist = DSGRNPipeline.convert(file, this.runEnv).get(0);
+		this.imported = DSGRNNetlistUtils.getJSONString(netlist);
+		netlist = this.technologyMapping(netlist);
+		this.mapped = DSGRNNetlistUtils.getJSONString(netlist);
+		this.placing(netlist);
+		this.placed = DSGRNNetlistUtils.getJSONString(netlist);
+	}
+
+	private Netlist technologyMapping(Netlist netlist) throws CelloException {
+		return new MultiStartTechnologyMapping(this.context, this.runEnv).execute(netlist, this.results);
+	}
+
+	private void placing(Netlist netlist) throws CelloException {
+		Stage stage = this.context.getApplicationConfiguration().getStageByName(DSGRNPipeline.S_PLACING);
+		new PLRuntimeObject(stage, this.context.getTargetData(), this.context.getNetlistConstraint(), netlist,
+		        this.results, this.runEnv).execute();
+	}
+
+	private void export(Netlist netlist) throws CelloException {
+		Stage stage = this.context.getApplicationConfiguration().getStageByName(DSGRNPipeline.S_EXPORT);
+		new EXRuntimeObject(stage, this.context.getTargetData(), this.context.getNetlistConstraint(), netlist,
+		        this.results, this.runEnv).execute();
+	}
+
+	@State(Scope.Thread)
+	public static class Imported {
+
+		@Setup(Level.Invocation)
+		public void setup(StageBenchmark benchmark) throws CelloException {
+			this.netlist = DSGRNNetlistUtils.getNetlist(benchmark.imported);
+		}
+
+		private Netlist netlist;
+
+	}
+
+	@State(Scope.Thread)
+	public static class Mapped {
+
+		@Setup(Level.Invocation)
+		public void setup(StageBenchmark benchmark) throws CelloException {
+			this.netlist = DSGRNNetlistUtils.getNetlist(benchmark.mapped);
+		}
+
+		private Netlist netlist;
+
+	}
+
+	@State(Scope.Thread)
+	public static class Placed {
+
+		@Setup(Level.Invocation)
+		public void setup(StageBenchmark benchmark) throws CelloException {
+			this.netlist = DSGRNNetlistUtils.getNetlist(benchmark.placed);
+		}
+
+		private Netlist netlist;
+
+	}
+
+	@Benchmark
+	public Netlist technologyMapping(Imported imported) throws CelloException {
+		return this.technologyMapping(imported.netlist);
+	}
+
+	@Benchmark
+	public Netlist placing(Mapped mapped) throws CelloException {
+		this.placing(mapped.netlist);
+		return mapped.netlist;
+	}
+
+	@Benchmark
+	public Netlist export(Placed placed) throws CelloException {
+		this.export(placed.netlist);
+		return placed.netlist;
+	}
+
+}
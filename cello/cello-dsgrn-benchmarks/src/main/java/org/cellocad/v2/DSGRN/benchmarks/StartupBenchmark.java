@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cellocad.v2.DSGRN.runtime.DSGRNPipeline;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the startup of the <i>DSGRN</i> application: the time for a new
+ * JVM to import a bundled network and exit, without and with the
+ * class-data-sharing archive built by the {@code appcds} profile of the
+ * <i>DSGRN</i> module. The jar is given by the {@code dsgrn.jar} system property
+ * and the archive is the file next to it with the extension {@code .jsa}. With
+ * the archive, the JVM fails rather than falling back to the jar, so that the
+ * two results are never the same run.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+	@Param({ S_OFF, S_ON })
+	public String archive;
+
+	private List<String> command;
+	private File dir;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String path = System.getProperty(S_JAR);
+		if (path == null) {
+			throw new IllegalStateException("The jar of the DSGRN module is not set in " + S_JAR + ".");
+		}
+		File jar = new File(path).getAbsoluteFile();
+		if (!jar.isFile()) {
+			throw new IOException("Jar " + jar + " does not exist.");
+		}
+		this.dir = DSGRNBenchmarkUtils.getTempDir();
+		File file = DSGRNBenchmarkUtils.getNetwork(DSGRNBenchmarkUtils.S_VOIGT, this.dir);
+		this.command = new ArrayList<>();
+		this.command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+		if (this.archive.equals(S_ON)) {
+			File jsa = new File(jar.getPath().replaceFirst("\\.jar$", ".jsa"));
+			if (!jsa.isFile()) {
+				throw new IOException("Archive " + jsa + " does not exist, build the DSGRN module with -Pappcds.");
+			}
+			this.command.add("-XX:SharedArchiveFile=" + jsa.getPath());
+			this.command.add("-Xshare:on");
+		}
+		this.command.add("-jar");
+		this.command.add(jar.getPath());
+		this.command.addAll(Arrays.asList(DSGRNBenchmarkUtils.getArgs(file, this.dir)));
+		this.command.add("-" + DSGRNArgString.STOPAFTER);
+		this.command.add(DSGRNPipeline.S_IMPORT);
+	}
+
+	@Benchmark
+	public int startup() throws IOException, InterruptedException {
+		File log = new File(this.dir, S_LOG);
+		Process process = new ProcessBuilder(this.command).directory(this.dir).redirectErrorStream(true)
+		        .redirectOutput(log).start();
+		int rtn = process.waitFor();
+		if (rtn != 0) {
+			throw new IllegalStateException("DSGRN exited with status " + rtn + ", see " + log + ".");
+		}
+		return rtn;
+	}
+
+	private static final String S_JAR = "dsgrn.jar";
+	private static final String S_LOG = "startup.log";
+
+	public static final String S_OFF = "off";
+	public static final String S_ON = "on";
+
+}
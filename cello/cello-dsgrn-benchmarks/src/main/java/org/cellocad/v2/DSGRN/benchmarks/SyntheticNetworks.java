@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.sbolstandard.core2.AccessType;
+import org.sbolstandard.core2.ComponentDefinition;
+import org.sbolstandard.core2.DirectionType;
+import org.sbolstandard.core2.FunctionalComponent;
+import org.sbolstandard.core2.Interaction;
+import org.sbolstandard.core2.ModuleDefinition;
+import org.sbolstandard.core2.SBOLConversionException;
+import org.sbolstandard.core2.SBOLDocument;
+import org.sbolstandard.core2.SBOLValidationException;
+import org.sbolstandard.core2.SBOLWriter;
+import org.sbolstandard.core2.SystemsBiologyOntology;
+
+/**
+ * Generates DSGRN documents of regulatory networks of any size, for measuring
+ * how the conversion scales. A network of size {@code n} has two inducers,
+ * {@code n} repressors, and one reporter. Repressor {@code k} is inhibited by the
+ * two nodes before it in the sequence of inducers and repressors, with the
+ * {@code nor} logic, and the reporter is inhibited by the last repressor. Every
+ * repressor is then a two input gate.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class SyntheticNetworks {
+
+	/**
+	 * Returns a DSGRN document of a network.
+	 *
+	 * @param size The number of repressors of the network.
+	 * @return The document.
+	 * @throws SBOLValidationException Unable to create the document.
+	 */
+	public static SBOLDocument getDocument(int size) throws SBOLValidationException {
+		if (size < 1) {
+			throw new IllegalArgumentException("The network must have at least one repressor.");
+		}
+		SBOLDocument rtn = new SBOLDocument();
+		rtn.setDefaultURIprefix(S_PREFIX);
+		rtn.addNamespace(URI.create(S_DSGRN), S_DSGRNPREFIX);
+		ModuleDefinition root = rtn.createModuleDefinition(S_DESIGN + size, S_VERSION);
+		List<FunctionalComponent> sequence = new ArrayList<>();
+		sequence.add(addComponent(rtn, root, "inducer_0"));
+		sequence.add(addComponent(rtn, root, "inducer_1"));
+		for (int k = 0; k < size; k++) {
+			FunctionalComponent repressor = addComponent(rtn, root, "repressor_" + k);
+			addInteraction(root, repressor, sequence.get(k), sequence.get(k + 1));
+			sequence.add(repressor);
+		}
+		FunctionalComponent reporter = addComponent(rtn, root, "reporter");
+		addInteraction(root, reporter, sequence.get(sequence.size() - 1));
+		return rtn;
+	}
+
+	/**
+	 * Write a DSGRN document of a network.
+	 *
+	 * @param size The number of repressors of the network.
+	 * @param file The file.
+	 * @throws IOException Unable to write the file.
+	 */
+	public static void write(int size, File file) throws IOException {
+		try {
+			SBOLWriter.write(getDocument(size), file);
+		} catch (SBOLValidationException | SBOLConversionException e) {
+			throw new IOException("Unable to write network to " + file + ".", e);
+		}
+	}
+
+	private static FunctionalComponent addComponent(SBOLDocument document, ModuleDefinition root, String name)
+	        throws SBOLValidationException {
+		ComponentDefinition definition = document.createComponentDefinition(name, S_VERSION,
+		        ComponentDefinition.PROTEIN);
+		return root.createFunctionalComponent("fc_" + name, AccessType.PUBLIC, definition.getIdentity(),
+		        DirectionType.NONE);
+	}
+
+	private static void addInteraction(ModuleDefinition root, FunctionalComponent modified,
+	        FunctionalComponent... modifiers) throws SBOLValidationException {
+		String name = modified.getDefinition().getDisplayId();
+		Interaction interaction = root.createInteraction(name + "_inhibition", SystemsBiologyOntology.INHIBITION);
+		interaction.createParticipation(name + "_inhibited", modified.getIdentity(),
+		        SystemsBiologyOntology.INHIBITED);
+		for (FunctionalComponent modifier : modifiers) {
+			String id = modifier.getDefinition().getDisplayId() + "_" + name + "_inhibitor";
+			interaction.createParticipation(id, modifier.getIdentity(), SystemsBiologyOntology.INHIBITOR);
+		}
+		if (modifiers.length == 2) {
+			interaction.createAnnotation(new QName(S_DSGRN, "logic", S_DSGRNPREFIX), S_NOR);
+		}
+	}
+
+	private static final String S_PREFIX = "https://dsgrn.cellocad.org/synthetic";
+	private static final String S_DSGRN = "http://dsgrn_design.org#";
+	private static final String S_DSGRNPREFIX = "ns0";
+	private static final String S_DESIGN = "synthetic_network_";
+	private static final String S_VERSION = "1";
+	private static final String S_NOR = "https://www.openmath.org/cd/logic1#nor";
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cellocad.v2.DSGRN.runtime.DSGRNContext;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.common.target.data.TargetData;
+import org.cellocad.v2.common.target.data.TargetDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of loading the target data and the data shared by the designs of a
+ * run, from the files and from the target data cache.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetDataBenchmark {
+
+	private DSGRNRuntimeEnv runEnv;
+	private DSGRNRuntimeEnv cachedRunEnv;
+
+	@Setup
+	public void setup() throws IOException {
+		File dir = DSGRNBenchmarkUtils.getTempDir();
+		File file = DSGRNBenchmarkUtils.getNetwork(DSGRNBenchmarkUtils.S_VOIGT, dir);
+		this.runEnv = DSGRNBenchmarkUtils.getRuntimeEnv(file, dir);
+		List<String> args = new ArrayList<>(Arrays.asList(DSGRNBenchmarkUtils.getArgs(file, dir)));
+		args.add("-" + DSGRNArgString.TARGETDATACACHEDIR);
+		args.add(new File(dir, "cache").getAbsolutePath());
+		this.cachedRunEnv = new DSGRNRuntimeEnv(args.toArray(new String[0]));
+		this.cachedRunEnv.setName("DSGRN");
+	}
+
+	@Benchmark
+	public TargetData getTargetData() throws CelloException {
+		return TargetDataUtils.getTargetTargetData(this.runEnv, ArgString.USERCONSTRAINTSFILE,
+		        ArgString.INPUTSENSORFILE, ArgString.OUTPUTDEVICEFILE);
+	}
+
+	@Benchmark
+	public DSGRNContext getContext() throws CelloException {
+		return new DSGRNContext(this.runEnv);
+	}
+
+	@Benchmark
+	public DSGRNContext getCachedContext() throws CelloException {
+		return new DSGRNContext(this.cachedRunEnv);
+	}
+
+}
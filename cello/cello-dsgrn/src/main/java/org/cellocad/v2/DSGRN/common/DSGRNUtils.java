@@ -21,10 +21,18 @@
 package org.cellocad.v2.DSGRN.common;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.cellocad.v2.common.CelloException;
 
 /**
  * Utility methods for the <i>DSGRN</i> application.
@@ -59,6 +67,60 @@ public class DSGRNUtils {
 		return rtn;
 	}
 
+	/**
+	 * Returns the hexadecimal representation of some bytes, such as a digest.
+	 *
+	 * @param bytes The bytes.
+	 * @return The hexadecimal representation of the bytes, in lower case.
+	 */
+	static public String getHex(byte[] bytes) {
+		StringBuilder rtn = new StringBuilder();
+		for (byte b : bytes) {
+			rtn.append(String.format("%02x", b));
+		}
+		return rtn.toString();
+	}
+
+	/**
+	 * Returns the hash of the content of some files and strings, as a hexadecimal
+	 * string. A {@code null} file or string contributes a fixed marker, so that
+	 * absent files still change the hash.
+	 *
+	 * @param files   The files.
+	 * @param strings The strings.
+	 * @return The hash.
+	 * @throws CelloException Unable to read a file.
+	 */
+	static public String getHash(List<File> files, List<String> strings) throws CelloException {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		byte[] buf = new byte[1 << 16];
+		for (File file : files) {
+			if (file == null) {
+				md.update((byte) 0);
+				continue;
+			}
+			try (InputStream is = Files.newInputStream(file.toPath())) {
+				int n;
+				while ((n = is.read(buf)) > 0) {
+					md.update(buf, 0, n);
+				}
+			} catch (IOException e) {
+				throw new CelloException("Unable to read " + file + ".", e);
+			}
+			md.update((byte) 1);
+		}
+		for (String str : strings) {
+			md.update(str == null ? new byte[] { 0 } : str.getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 1);
+		}
+		return DSGRNUtils.getHex(md.digest());
+	}
+
 	/**
 	 * Returns the configuation for the <i>DSGRN</i> application.
 	 *
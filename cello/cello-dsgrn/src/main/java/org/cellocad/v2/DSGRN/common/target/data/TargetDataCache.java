@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.common.target.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.results.netlist.BinaryJSONReader;
+import org.cellocad.v2.DSGRN.results.netlist.BinaryJSONWriter;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.target.data.TargetData;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * An on-disk cache of preprocessed target data. An entry holds the merged
+ * collections of the user constraints file, the input sensor file, and the
+ * output device file, together with the application configuration and its
+ * parsed stage objects, in the binary encoding of {@link BinaryJSONWriter}. A
+ * hit is decoded straight to the values that {@link TargetData} is built from,
+ * without reading or tokenizing the JSON text of the files, and with the
+ * repeated keys and names of the collections decoded once. Entries are keyed
+ * by {@link DSGRNUtils#getHash(List, List)} of the content of the files and the
+ * configuration, so an edited file simply misses the cache, and the least
+ * recently used entries are evicted once the cache holds more than its size
+ * limit.
+ *
+ * @author agent
+ *
+ * @date 2026-10-17
+ *
+ */
+public class TargetDataCache {
+
+	/**
+	 * Initializes a newly created {@link TargetDataCache}.
+	 *
+	 * @param dir  The cache directory.
+	 * @param size The maximum number of entries.
+	 * @throws CelloException Unable to create the cache directory.
+	 */
+	public TargetDataCache(File dir, int size) throws CelloException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new CelloException("Unable to create cache directory: " + dir);
+		}
+		this.dir = dir;
+		this.size = size;
+	}
+
+	private static JSONArray readArray(File file) throws CelloException {
+		JSONArray rtn = new JSONArray();
+		if (file == null) {
+			return rtn;
+		}
+		try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			rtn = (JSONArray) new JSONParser().parse(r);
+		} catch (IOException | ParseException | ClassCastException e) {
+			throw new CelloException("Unable to parse " + file + ".", e);
+		}
+		return rtn;
+	}
+
+	private File getEntryFile(String key) {
+		return new File(this.getDirectory(), key + S_EXTENSION);
+	}
+
+	/**
+	 * Returns the cached target data and configuration for the given files,
+	 * preprocessing and storing them first if they are not in the cache.
+	 *
+	 * @param ucf           The user constraints file.
+	 * @param inputSensor   The input sensor file, or {@code null}.
+	 * @param outputDevice  The output device file, or {@code null}.
+	 * @param configuration The application configuration.
+	 * @return The entry.
+	 * @throws CelloException Unable to read the files or the configuration, or to
+	 *                        write the entry.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized Entry get(File ucf, File inputSensor, File outputDevice, String configuration)
+	        throws CelloException {
+		String key = DSGRNUtils.getHash(Arrays.asList(ucf, inputSensor, outputDevice), Arrays.asList(configuration));
+		File file = this.getEntryFile(key);
+		JSONObject jsonTop = null;
+		if (file.isFile()) {
+			try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+				jsonTop = (JSONObject) new BinaryJSONReader(is).read();
+				if (!(jsonTop.get(S_TARGETDATA) instanceof JSONArray)
+				        || !(jsonTop.get(S_CONFIGURATION) instanceof String)
+				        || !(jsonTop.get(S_STAGES) instanceof JSONObject)) {
+					throw new IOException("Incomplete cache entry.");
+				}
+				file.setLastModified(System.currentTimeMillis());
+				getLogger().info("Loaded target data from cache entry " + key + ".");
+			} catch (IOException | ClassCastException e) {
+				// a damaged entry is replaced below
+				getLogger().warn("Ignoring damaged cache entry " + key + ".");
+				jsonTop = null;
+			}
+		}
+		if (jsonTop == null) {
+			JSONArray targetData = readArray(ucf);
+			targetData.addAll(readArray(inputSensor));
+			targetData.addAll(readArray(outputDevice));
+			JSONObject stages;
+			try {
+				stages = (JSONObject) new JSONParser().parse(configuration);
+			} catch (ParseException | ClassCastException e) {
+				throw new CelloException("Error with application configuration file.", e);
+			}
+			jsonTop = new JSONObject();
+			jsonTop.put(S_TARGETDATA, targetData);
+			jsonTop.put(S_CONFIGURATION, configuration);
+			jsonTop.put(S_STAGES, stages);
+			this.put(file, jsonTop);
+			this.evict();
+		}
+		return new Entry(key, new TargetData((JSONArray) jsonTop.get(S_TARGETDATA)),
+		        (String) jsonTop.get(S_CONFIGURATION), (JSONObject) jsonTop.get(S_STAGES));
+	}
+
+	/**
+	 * Write an entry to a temporary file and move it into place, so that readers in
+	 * other processes never see a partial entry.
+	 */
+	private void put(File file, JSONObject jsonTop) throws CelloException {
+		try {
+			File tmp = File.createTempFile("entry", ".tmp", this.getDirectory());
+			try (Writer w = new BinaryJSONWriter(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+				jsonTop.writeJSONString(w);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+			        StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new CelloException("Unable to write cache entry " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Delete the least recently used entries beyond the size limit.
+	 */
+	private void evict() {
+		File[] files = this.getDirectory().listFiles((d, name) -> name.endsWith(S_EXTENSION));
+		if (files == null || files.length <= this.getSize()) {
+			return;
+		}
+		List<File> entries = new ArrayList<>(Arrays.asList(files));
+		entries.sort(Comparator.comparingLong(File::lastModified).reversed());
+		for (File entry : entries.subList(this.getSize(), entries.size())) {
+			if (entry.delete()) {
+				getLogger().info("Evicted cache entry " + entry.getName() + ".");
+			}
+		}
+	}
+
+	/**
+	 * An entry of the cache.
+	 */
+	public static class Entry {
+
+		private Entry(String key, TargetData targetData, String configuration, JSONObject stages) {
+			this.key = key;
+			this.targetData = targetData;
+			this.configuration = configuration;
+			this.stages = stages;
+		}
+
+		/**
+		 * Getter for {@code key}, the hash of the content of the entry.
+		 *
+		 * @return The value of {@code key}.
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * Getter for {@code targetData}.
+		 *
+		 * @return The value of {@code targetData}.
+		 */
+		public TargetData getTargetData() {
+			return targetData;
+		}
+
+		/**
+		 * Getter for {@code configuration}.
+		 *
+		 * @return The value of {@code configuration}.
+		 */
+		public String getConfiguration() {
+			return configuration;
+		}
+
+		/**
+		 * Getter for {@code stages}, the parsed application configuration.
+		 *
+		 * @return The value of {@code stages}.
+		 */
+		public JSONObject getStages() {
+			return stages;
+		}
+
+		private String key;
+		private TargetData targetData;
+		private String configuration;
+		private JSONObject stages;
+
+	}
+
+	/**
+	 * Getter for {@code dir}.
+	 *
+	 * @return The value of {@code dir}.
+	 */
+	public File getDirectory() {
+		return dir;
+	}
+
+	/**
+	 * Getter for {@code size}.
+	 *
+	 * @return The value of {@code size}.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the logger for the {@link TargetDataCache} class.
+	 *
+	 * @return The logger.
+	 */
+	static protected Logger getLogger() {
+		return TargetDataCache.logger;
+	}
+
+	private File dir;
+	private int size;
+
+	private static final Logger logger = LogManager.getLogger(TargetDataCache.class);
+
+	private static final String S_EXTENSION = ".dsgrn";
+	private static final String S_TARGETDATA = "target_data";
+	private static final String S_CONFIGURATION = "configuration";
+	private static final String S_STAGES = "stages";
+
+}
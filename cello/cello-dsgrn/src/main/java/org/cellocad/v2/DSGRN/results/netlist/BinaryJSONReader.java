@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * Decodes the binary encoding of {@link BinaryJSONWriter} to the values that
+ * {@link org.json.simple.parser.JSONParser} returns for JSON text:
+ * {@link JSONObject}, {@link JSONArray}, {@link String}, {@link Long},
+ * {@link Double}, {@link Boolean}, and {@code null}.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class BinaryJSONReader {
+
+	/**
+	 * Initializes a newly created {@link BinaryJSONReader}.
+	 *
+	 * @param is The stream of the encoding. It should be buffered.
+	 */
+	public BinaryJSONReader(InputStream is) {
+		this.is = is;
+		this.strings = new ArrayList<>();
+	}
+
+	/**
+	 * Returns whether the given bytes start with the header of the encoding.
+	 *
+	 * @param bytes The first bytes of a file.
+	 * @return Whether the bytes start with the header.
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		int n = BinaryJSONWriter.MAGIC.length;
+		return bytes.length >= n && Arrays.equals(Arrays.copyOf(bytes, n), BinaryJSONWriter.MAGIC);
+	}
+
+	/**
+	 * Read the header and the value.
+	 *
+	 * @return The value.
+	 * @throws IOException Unable to read the stream, or not a valid encoding.
+	 */
+	public Object read() throws IOException {
+		byte[] magic = new byte[BinaryJSONWriter.MAGIC.length];
+		this.readFully(magic);
+		if (!isBinary(magic)) {
+			throw new IOException("Not a binary netlist.");
+		}
+		int version = this.readByte();
+		if (version != BinaryJSONWriter.VERSION) {
+			throw new IOException("Unsupported binary netlist version: " + version);
+		}
+		return this.readValue(this.readByte());
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readValue(int token) throws IOException {
+		Object rtn = null;
+		switch (token) {
+		case BinaryJSONWriter.OBJECT_START:
+			JSONObject obj = new JSONObject();
+			for (int t = this.readByte(); t != BinaryJSONWriter.OBJECT_END; t = this.readByte()) {
+				Object key = this.readValue(t);
+				if (!(key instanceof String)) {
+					throw new IOException("Object key is not a string.");
+				}
+				obj.put(key, this.readValue(this.readByte()));
+			}
+			rtn = obj;
+			break;
+		case BinaryJSONWriter.ARRAY_START:
+			JSONArray array = new JSONArray();
+			for (int t = this.readByte(); t != BinaryJSONWriter.ARRAY_END; t = this.readByte()) {
+				array.add(this.readValue(t));
+			}
+			rtn = array;
+			break;
+		case BinaryJSONWriter.STRING:
+			String str = new String(this.readBytes(), StandardCharsets.UTF_8);
+			if (this.strings.size() < BinaryJSONWriter.MAX_STRINGS) {
+				this.strings.add(str);
+			}
+			rtn = str;
+			break;
+		case BinaryJSONWriter.STRING_REF:
+			long index = this.readVarLong();
+			if (index >= this.strings.size()) {
+				throw new IOException("Invalid string reference: " + index);
+			}
+			rtn = this.strings.get((int) index);
+			break;
+		case BinaryJSONWriter.INTEGER:
+			long value = this.readVarLong();
+			rtn = (value >>> 1) ^ -(value & 1);
+			break;
+		case BinaryJSONWriter.NUMBER:
+			String number = new String(this.readBytes(), StandardCharsets.US_ASCII);
+			try {
+				rtn = Double.valueOf(number);
+			} catch (NumberFormatException e) {
+				throw new IOException("Invalid number: " + number, e);
+			}
+			break;
+		case BinaryJSONWriter.TRUE:
+			rtn = Boolean.TRUE;
+			break;
+		case BinaryJSONWriter.FALSE:
+			rtn = Boolean.FALSE;
+			break;
+		case BinaryJSONWriter.NULL:
+			rtn = null;
+			break;
+		default:
+			throw new IOException("Invalid token: " + token);
+		}
+		return rtn;
+	}
+
+	private int readByte() throws IOException {
+		int rtn = this.is.read();
+		if (rtn < 0) {
+			throw new EOFException("Truncated binary netlist.");
+		}
+		return rtn;
+	}
+
+	private void readFully(byte[] bytes) throws IOException {
+		int off = 0;
+		while (off < bytes.length) {
+			int n = this.is.read(bytes, off, bytes.length - off);
+			if (n < 0) {
+				throw new EOFException("Truncated binary netlist.");
+			}
+			off += n;
+		}
+	}
+
+	private byte[] readBytes() throws IOException {
+		long length = this.readVarLong();
+		if (length > Integer.MAX_VALUE) {
+			throw new IOException("Invalid length: " + length);
+		}
+		byte[] rtn = new byte[(int) length];
+		this.readFully(rtn);
+		return rtn;
+	}
+
+	private long readVarLong() throws IOException {
+		long rtn = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = this.readByte();
+			rtn |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return rtn;
+			}
+		}
+		throw new IOException("Invalid variable-length integer.");
+	}
+
+	private InputStream is;
+	private List<String> strings;
+
+}
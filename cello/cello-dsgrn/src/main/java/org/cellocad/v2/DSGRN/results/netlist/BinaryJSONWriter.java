@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link Writer} that reads JSON text as it is written and encodes it in a
+ * compact binary form, without holding the document in memory. Structure is
+ * kept as single-byte tokens, separators and whitespace are dropped, integers
+ * are written as variable-length integers, and each distinct string is written
+ * once and then referenced by its index, which removes most of the size of the
+ * repeated keys and names of a netlist. {@link BinaryJSONReader} decodes the
+ * result to the values that {@link org.json.simple.parser.JSONParser} returns
+ * for the original text.
+ * <p>
+ * The encoding is a magic number and version, followed by one value:
+ * <ul>
+ * <li>{@link #OBJECT_START}, alternating keys and values, {@link #OBJECT_END};</li>
+ * <li>{@link #ARRAY_START}, values, {@link #ARRAY_END};</li>
+ * <li>{@link #STRING} and its length and UTF-8 bytes, which also appends it to
+ * the table of strings while the table is not full, or {@link #STRING_REF} and
+ * the index of a string in the table;</li>
+ * <li>{@link #INTEGER} and a zig-zag variable-length integer, or
+ * {@link #NUMBER} and the length and text of any other number;</li>
+ * <li>{@link #TRUE}, {@link #FALSE}, or {@link #NULL}.</li>
+ * </ul>
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class BinaryJSONWriter extends Writer {
+
+	/**
+	 * Initializes a newly created {@link BinaryJSONWriter} and writes the header.
+	 *
+	 * @param os The stream of the encoding. It should be buffered.
+	 * @throws IOException Unable to write the header.
+	 */
+	public BinaryJSONWriter(OutputStream os) throws IOException {
+		this.os = os;
+		this.strings = new HashMap<>();
+		this.token = new StringBuilder();
+		this.state = S_VALUE;
+		os.write(MAGIC);
+		os.write(VERSION);
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		for (int i = off; i < off + len; i++) {
+			this.write(cbuf[i]);
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		for (int i = off; i < off + len; i++) {
+			this.write(str.charAt(i));
+		}
+	}
+
+	private void write(char c) throws IOException {
+		switch (this.state) {
+		case S_STRING:
+			if (c == '\\') {
+				this.state = S_ESCAPE;
+			} else if (c == '"') {
+				this.writeString(this.token.toString());
+				this.token.setLength(0);
+				this.state = S_VALUE;
+			} else {
+				this.token.append(c);
+			}
+			break;
+		case S_ESCAPE:
+			this.state = S_STRING;
+			switch (c) {
+			case 'b':
+				this.token.append('\b');
+				break;
+			case 'f':
+				this.token.append('\f');
+				break;
+			case 'n':
+				this.token.append('\n');
+				break;
+			case 'r':
+				this.token.append('\r');
+				break;
+			case 't':
+				this.token.append('\t');
+				break;
+			case 'u':
+				this.state = S_UNICODE;
+				this.unicode = 0;
+				this.digits = 0;
+				break;
+			default:
+				this.token.append(c);
+			}
+			break;
+		case S_UNICODE:
+			int digit = Character.digit(c, 16);
+			if (digit < 0) {
+				throw new IOException("Invalid unicode escape in JSON string.");
+			}
+			this.unicode = this.unicode * 16 + digit;
+			if (++this.digits == 4) {
+				this.token.append((char) this.unicode);
+				this.state = S_STRING;
+			}
+			break;
+		default:
+			switch (c) {
+			case '{':
+				this.endLiteral();
+				this.os.write(OBJECT_START);
+				break;
+			case '}':
+				this.endLiteral();
+				this.os.write(OBJECT_END);
+				break;
+			case '[':
+				this.endLiteral();
+				this.os.write(ARRAY_START);
+				break;
+			case ']':
+				this.endLiteral();
+				this.os.write(ARRAY_END);
+				break;
+			case '"':
+				this.endLiteral();
+				this.state = S_STRING;
+				break;
+			case ',':
+			case ':':
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\r':
+				this.endLiteral();
+				break;
+			default:
+				this.token.append(c);
+			}
+		}
+	}
+
+	/*
+	 * a number, true, false, or null
+	 */
+	private void endLiteral() throws IOException {
+		if (this.token.length() == 0) {
+			return;
+		}
+		String literal = this.token.toString();
+		this.token.setLength(0);
+		switch (literal) {
+		case "true":
+			this.os.write(TRUE);
+			return;
+		case "false":
+			this.os.write(FALSE);
+			return;
+		case "null":
+			this.os.write(NULL);
+			return;
+		default:
+			break;
+		}
+		if (literal.matches("-?(0|[1-9][0-9]{0,17})")) {
+			long value = Long.parseLong(literal);
+			this.os.write(INTEGER);
+			writeVarLong(this.os, (value << 1) ^ (value >> 63));
+		} else {
+			if (!literal.matches("-?[0-9.eE+-]+")) {
+				throw new IOException("Invalid JSON literal: " + literal);
+			}
+			this.os.write(NUMBER);
+			this.writeBytes(literal.getBytes(StandardCharsets.US_ASCII));
+		}
+	}
+
+	private void writeString(String str) throws IOException {
+		Integer index = this.strings.get(str);
+		if (index != null) {
+			this.os.write(STRING_REF);
+			writeVarLong(this.os, index);
+			return;
+		}
+		if (this.strings.size() < MAX_STRINGS) {
+			this.strings.put(str, this.strings.size());
+		}
+		this.os.write(STRING);
+		this.writeBytes(str.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		writeVarLong(this.os, bytes.length);
+		this.os.write(bytes);
+	}
+
+	static void writeVarLong(OutputStream os, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			os.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		os.write((int) value);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.os.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.state != S_VALUE) {
+			throw new IOException("Unterminated JSON string.");
+		}
+		try {
+			this.endLiteral();
+		} finally {
+			this.os.close();
+		}
+	}
+
+	private OutputStream os;
+	private Map<String, Integer> strings;
+	private StringBuilder token;
+	private int state;
+	private int unicode;
+	private int digits;
+
+	private static final int S_VALUE = 0;
+	private static final int S_STRING = 1;
+	private static final int S_ESCAPE = 2;
+	private static final int S_UNICODE = 3;
+
+	static final byte[] MAGIC = { 'D', 'S', 'G', 'R', 'N', 'B' };
+	static final int VERSION = 1;
+	static final int MAX_STRINGS = 1 << 16;
+
+	static final int OBJECT_START = 1;
+	static final int OBJECT_END = 2;
+	static final int ARRAY_START = 3;
+	static final int ARRAY_END = 4;
+	static final int STRING = 5;
+	static final int STRING_REF = 6;
+	static final int INTEGER = 7;
+	static final int NUMBER = 8;
+	static final int TRUE = 9;
+	static final int FALSE = 10;
+	static final int NULL = 11;
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.Utils;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Utility methods for netlists in the <i>DSGRN</i> application.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNNetlistUtils {
+
+	/**
+	 * Returns the JSON representation of a netlist as a string.
+	 *
+	 * @param netlist The netlist.
+	 * @return The JSON representation of the netlist.
+	 * @throws CelloException Unable to serialize the netlist.
+	 */
+	public static String getJSONString(Netlist netlist) throws CelloException {
+		StringWriter w = new StringWriter();
+		try {
+			w.write("{");
+			netlist.writeJSON(1, w);
+			w.write("}");
+		} catch (IOException e) {
+			throw new CelloException("Unable to serialize netlist.", e);
+		}
+		return w.toString();
+	}
+
+	/**
+	 * Returns the netlist of a JSON representation.
+	 *
+	 * @param json The JSON representation of the netlist.
+	 * @return The netlist.
+	 * @throws CelloException Unable to parse the netlist.
+	 */
+	public static Netlist getNetlist(String json) throws CelloException {
+		JSONObject jsonTop;
+		try {
+			jsonTop = (JSONObject) new JSONParser().parse(json);
+		} catch (ParseException e) {
+			throw new CelloException("Unable to parse netlist.", e);
+		}
+		return new Netlist(jsonTop);
+	}
+
+	/**
+	 * Returns the file extension of a netlist format.
+	 *
+	 * @param format The format: {@link #S_JSON}, {@link #S_JSONGZ}, or
+	 *               {@link #S_BINARY}.
+	 * @return The extension, without the leading dot.
+	 * @throws CelloException Unknown format.
+	 */
+	public static String getExtension(String format) throws CelloException {
+		String rtn = null;
+		if (format.equals(S_JSON) || format.equals(S_JSONGZ)) {
+			rtn = format;
+		} else if (format.equals(S_BINARY)) {
+			rtn = "dsgrn";
+		} else {
+			throw new CelloException("Unknown netlist format: " + format);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Write a netlist to a file, streaming the text of the netlist through a
+	 * buffered file channel without building the document in memory.
+	 *
+	 * @param netlist The netlist.
+	 * @param file    The file.
+	 * @param format  The format: {@link #S_JSON}, {@link #S_JSONGZ}, or
+	 *                {@link #S_BINARY}.
+	 * @throws CelloException Unknown format, or unable to write the file.
+	 */
+	public static void writeNetlist(Netlist netlist, File file, String format) throws CelloException {
+		DSGRNNetlistUtils.getExtension(format);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+		        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel), S_BUFFERSIZE);
+			try (Writer w = DSGRNNetlistUtils.getWriter(os, format)) {
+				w.write("{" + Utils.getNewLine());
+				netlist.writeJSON(1, w);
+				w.write("}" + Utils.getNewLine());
+			}
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	private static Writer getWriter(OutputStream os, String format) throws IOException {
+		Writer rtn = null;
+		if (format.equals(S_BINARY)) {
+			rtn = new BinaryJSONWriter(os);
+		} else if (format.equals(S_JSONGZ)) {
+			rtn = new OutputStreamWriter(new GZIPOutputStream(os, S_BUFFERSIZE), StandardCharsets.UTF_8);
+		} else {
+			rtn = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), S_BUFFERSIZE);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Read a netlist written by {@link #writeNetlist(Netlist, File, String)} in
+	 * any format, or by {@link org.cellocad.v2.results.netlist.NetlistUtils}. The
+	 * format is detected from the content of the file.
+	 *
+	 * @param file The file.
+	 * @return The netlist.
+	 * @throws CelloException Unable to read or parse the file.
+	 */
+	public static Netlist readNetlist(File file) throws CelloException {
+		Object json = null;
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()), S_BUFFERSIZE)) {
+			is.mark(S_HEADERSIZE);
+			byte[] header = new byte[S_HEADERSIZE];
+			int n = is.read(header);
+			is.reset();
+			header = Arrays.copyOf(header, Math.max(n, 0));
+			if (BinaryJSONReader.isBinary(header)) {
+				json = new BinaryJSONReader(is).read();
+			} else {
+				InputStream in = is;
+				if (n >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+					in = new GZIPInputStream(is, S_BUFFERSIZE);
+				}
+				json = new JSONParser().parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+			}
+		} catch (IOException | ParseException e) {
+			throw new CelloException("Unable to read " + file + ".", e);
+		}
+		if (!(json instanceof JSONObject)) {
+			throw new CelloException("Unable to read " + file + ": not a netlist.");
+		}
+		return new Netlist((JSONObject) json);
+	}
+
+	/**
+	 * Returns a deep copy of a netlist that shares no nodes, edges, or result data
+	 * with the original. Algorithm data attached by a stage is not copied.
+	 *
+	 * @param netlist The netlist.
+	 * @return The copy.
+	 * @throws CelloException Unable to copy the netlist.
+	 */
+	public static Netlist copy(Netlist netlist) throws CelloException {
+		Netlist rtn = DSGRNNetlistUtils.getNetlist(DSGRNNetlistUtils.getJSONString(netlist));
+		rtn.setInputFilename(netlist.getInputFilename());
+		return rtn;
+	}
+
+	private static final int S_BUFFERSIZE = 1 << 16;
+	private static final int S_HEADERSIZE = 8;
+
+	public static final String S_JSON = "json";
+	public static final String S_JSONGZ = "json.gz";
+	public static final String S_BINARY = "binary";
+
+}
@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * An on-disk cache of the netlists produced by the <i>technologyMapping</i> and
+ * <i>placing</i> stages, with an entry per stage. Entries are keyed by the
+ * canonical hash of the {@link NetlistTopology} of the converted netlist and by
+ * a salt for everything else the stages read, such as the target data,
+ * configuration and options, so that designs that differ only in their names
+ * share an entry. An entry also holds the circuit score of the design. A hit is
+ * renamed to the nodes and edges of the requesting netlist. The least recently
+ * used entries are evicted once the cache holds more than its size limit.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class NetlistResultCache {
+
+	/**
+	 * Initializes a newly created {@link NetlistResultCache}.
+	 *
+	 * @param dir  The cache directory.
+	 * @param size The maximum number of entries.
+	 * @param salt A hash of everything besides the netlist that the cached stages
+	 *             read.
+	 * @throws CelloException Unable to create the cache directory.
+	 */
+	public NetlistResultCache(File dir, int size, String salt) throws CelloException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new CelloException("Unable to create cache directory: " + dir);
+		}
+		this.dir = dir;
+		this.size = size;
+		this.salt = salt;
+	}
+
+	/**
+	 * Returns the key of a netlist converted from a design.
+	 *
+	 * @param netlist The netlist.
+	 * @return The key.
+	 * @throws CelloException Unable to compute the key.
+	 */
+	public String getKey(Netlist netlist) throws CelloException {
+		String topology = new NetlistTopology(netlist).getHash();
+		return DSGRNUtils.getHash(new ArrayList<>(), Arrays.asList(this.getSalt(), topology));
+	}
+
+	private File getEntryFile(String key, String stage) {
+		return new File(this.getDirectory(), key + "_" + stage + ".json.gz");
+	}
+
+	/**
+	 * Returns the cached result of a stage for a netlist, renamed to its nodes and
+	 * edges.
+	 *
+	 * @param key     The key of the netlist.
+	 * @param stage   The name of the stage.
+	 * @param netlist The netlist converted from the design.
+	 * @return The result, or {@code null} if the netlist is not in the cache.
+	 * @throws CelloException Unable to parse the renamed result.
+	 */
+	@SuppressWarnings("unchecked")
+	public Entry get(String key, String stage, Netlist netlist) throws CelloException {
+		File file = this.getEntryFile(key, stage);
+		JSONObject json = null;
+		synchronized (this) {
+			if (!file.isFile()) {
+				return null;
+			}
+			try (Reader r = new BufferedReader(new InputStreamReader(
+			        new GZIPInputStream(Files.newInputStream(file.toPath())), StandardCharsets.UTF_8))) {
+				json = (JSONObject) new JSONParser().parse(r);
+				file.setLastModified(System.currentTimeMillis());
+			} catch (IOException | ParseException | ClassCastException e) {
+				getLogger().warn("Ignoring damaged cache entry " + file.getName() + ".");
+				return null;
+			}
+		}
+		NetlistTopology cached = new NetlistTopology(json);
+		NetlistTopology topology = new NetlistTopology(netlist);
+		Map<String, String> mapping = cached.getMapping(topology);
+		if (mapping == null) {
+			// the hashes collide but the netlists are not isomorphic
+			getLogger().warn("Cache entry " + file.getName() + " does not match netlist " + netlist.getName() + ".");
+			return null;
+		}
+		JSONObject renamed = cached.rename(json, topology, mapping);
+		renamed.put(S_NAME, netlist.getName());
+		Object score = renamed.remove(S_SCORE);
+		Netlist result = new Netlist(renamed);
+		result.setInputFilename(netlist.getInputFilename());
+		getLogger().info("Loaded netlist " + netlist.getName() + " from cache entry " + file.getName() + ".");
+		return new Entry(result, score instanceof Number ? ((Number) score).doubleValue() : null);
+	}
+
+	/**
+	 * Store the result of a stage for a netlist.
+	 *
+	 * @param key     The key of the netlist converted from the design.
+	 * @param stage   The name of the stage.
+	 * @param netlist The result.
+	 * @param score   The circuit score of the result, or {@code null} if it has
+	 *                none.
+	 * @throws CelloException Unable to write the entry.
+	 */
+	public void put(String key, String stage, Netlist netlist, Double score) throws CelloException {
+		String json = DSGRNNetlistUtils.getJSONString(netlist);
+		if (score != null && !score.isNaN() && !score.isInfinite()) {
+			// the score is a member of the netlist object
+			json = "{\"" + S_SCORE + "\":" + score + "," + json.substring(1);
+		}
+		File file = this.getEntryFile(key, stage);
+		synchronized (this) {
+			try {
+				File tmp = File.createTempFile("entry", ".tmp", this.getDirectory());
+				try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(tmp.toPath()));
+				        Writer w = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8))) {
+					w.write(json);
+				}
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				        StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				throw new CelloException("Unable to write cache entry " + file + ".", e);
+			}
+			this.evict();
+		}
+	}
+
+	/**
+	 * The result of a stage for a netlist and its circuit score.
+	 */
+	public static class Entry {
+
+		/**
+		 * Initializes a newly created {@link Entry}.
+		 *
+		 * @param netlist The result.
+		 * @param score   The circuit score, or {@code null}.
+		 */
+		public Entry(Netlist netlist, Double score) {
+			this.netlist = netlist;
+			this.score = score;
+		}
+
+		/**
+		 * Getter for {@code netlist}.
+		 *
+		 * @return The value of {@code netlist}.
+		 */
+		public Netlist getNetlist() {
+			return netlist;
+		}
+
+		/**
+		 * Getter for {@code score}.
+		 *
+		 * @return The value of {@code score}, or {@code null} if the entry has no
+		 *         score.
+		 */
+		public Double getScore() {
+			return score;
+		}
+
+		private Netlist netlist;
+		private Double score;
+
+	}
+
+	/**
+	 * Delete the least recently used entries beyond the size limit.
+	 */
+	private void evict() {
+		File[] files = this.getDirectory().listFiles((d, name) -> name.endsWith(".json.gz"));
+		if (files == null || files.length <= this.getSize()) {
+			return;
+		}
+		List<File> entries = new ArrayList<>(Arrays.asList(files));
+		entries.sort(Comparator.comparingLong(File::lastModified).reversed());
+		for (File entry : entries.subList(this.getSize(), entries.size())) {
+			if (entry.delete()) {
+				getLogger().info("Evicted cache entry " + entry.getName() + ".");
+			}
+		}
+	}
+
+	/**
+	 * Getter for {@code dir}.
+	 *
+	 * @return The value of {@code dir}.
+	 */
+	public File getDirectory() {
+		return dir;
+	}
+
+	/**
+	 * Getter for {@code size}.
+	 *
+	 * @return The value of {@code size}.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Getter for {@code salt}.
+	 *
+	 * @return The value of {@code salt}.
+	 */
+	public String getSalt() {
+		return salt;
+	}
+
+	/**
+	 * Returns the logger for the {@link NetlistResultCache} class.
+	 *
+	 * @return The logger.
+	 */
+	static protected Logger getLogger() {
+		return NetlistResultCache.logger;
+	}
+
+	private File dir;
+	private int size;
+	private String salt;
+
+	private static final Logger logger = LogManager.getLogger(NetlistResultCache.class);
+
+	private static final String S_NAME = "name";
+	private static final String S_SCORE = "score";
+
+}
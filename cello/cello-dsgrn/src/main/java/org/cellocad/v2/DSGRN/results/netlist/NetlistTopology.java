@@ -0,0 +1,375 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * The topology of a netlist: its directed graph with each node labelled by its
+ * node type, and nothing else. Two netlists that differ only in the names of
+ * their nodes and edges have the same canonical hash, and a mapping between
+ * their nodes can be found.
+ * <p>
+ * The hash is computed by Weisfeiler-Lehman color refinement: each node starts
+ * with the color of its node type, and is recolored with its color and the
+ * sorted colors of its predecessors and successors until the number of colors no
+ * longer grows. The hash covers the sorted signatures of every round. Netlists
+ * with the same hash are very likely, but not certain, to be isomorphic, so
+ * {@link #getMapping(NetlistTopology)} checks every edge.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class NetlistTopology {
+
+	/**
+	 * Initializes a newly created {@link NetlistTopology} from a netlist.
+	 *
+	 * @param netlist The netlist.
+	 */
+	public NetlistTopology(Netlist netlist) {
+		int n = netlist.getNumVertex();
+		int m = netlist.getNumEdge();
+		Map<NetlistNode, Integer> index = new HashMap<>();
+		this.names = new String[n];
+		this.types = new String[n];
+		for (int i = 0; i < n; i++) {
+			NetlistNode node = netlist.getVertexAtIdx(i);
+			index.put(node, i);
+			this.names[i] = node.getName();
+			this.types[i] = node.getResultNetlistNodeData().getNodeType();
+		}
+		this.edgeNames = new String[m];
+		this.src = new int[m];
+		this.dst = new int[m];
+		for (int i = 0; i < m; i++) {
+			NetlistEdge edge = netlist.getEdgeAtIdx(i);
+			this.edgeNames[i] = edge.getName();
+			this.src[i] = index.get(edge.getSrc());
+			this.dst[i] = index.get(edge.getDst());
+		}
+		this.init();
+	}
+
+	/**
+	 * Initializes a newly created {@link NetlistTopology} from the JSON
+	 * representation of a netlist.
+	 *
+	 * @param json The JSON representation of the netlist.
+	 * @throws CelloException An edge references an unknown node.
+	 */
+	public NetlistTopology(JSONObject json) throws CelloException {
+		JSONArray nodes = getArray(json, S_NODES);
+		JSONArray edges = getArray(json, S_EDGES);
+		Map<String, Integer> index = new HashMap<>();
+		this.names = new String[nodes.size()];
+		this.types = new String[nodes.size()];
+		for (int i = 0; i < nodes.size(); i++) {
+			JSONObject node = (JSONObject) nodes.get(i);
+			this.names[i] = (String) node.get(S_NAME);
+			this.types[i] = (String) node.get(S_NODETYPE);
+			index.put(this.names[i], i);
+		}
+		this.edgeNames = new String[edges.size()];
+		this.src = new int[edges.size()];
+		this.dst = new int[edges.size()];
+		for (int i = 0; i < edges.size(); i++) {
+			JSONObject edge = (JSONObject) edges.get(i);
+			Integer s = index.get(edge.get(S_SRC));
+			Integer d = index.get(edge.get(S_DST));
+			if (s == null || d == null) {
+				throw new CelloException("Edge " + edge.get(S_NAME) + " references an unknown node.");
+			}
+			this.edgeNames[i] = (String) edge.get(S_NAME);
+			this.src[i] = s;
+			this.dst[i] = d;
+		}
+		this.init();
+	}
+
+	private static JSONArray getArray(JSONObject json, String key) {
+		Object value = json.get(key);
+		return value instanceof JSONArray ? (JSONArray) value : new JSONArray();
+	}
+
+	private void init() {
+		int n = this.names.length;
+		this.edgeCounts = new HashMap<>();
+		this.adjacency = new int[n][];
+		int[] degree = new int[n];
+		for (int i = 0; i < this.src.length; i++) {
+			this.edgeCounts.merge(this.getEdgeKey(this.src[i], this.dst[i]), 1, Integer::sum);
+			degree[this.src[i]]++;
+			degree[this.dst[i]]++;
+		}
+		for (int i = 0; i < n; i++) {
+			this.adjacency[i] = new int[degree[i]];
+			degree[i] = 0;
+		}
+		for (int i = 0; i < this.src.length; i++) {
+			this.adjacency[this.src[i]][degree[this.src[i]]++] = this.dst[i];
+			this.adjacency[this.dst[i]][degree[this.dst[i]]++] = this.src[i];
+		}
+		this.refine();
+	}
+
+	private long getEdgeKey(int s, int d) {
+		return (long) s * this.names.length + d;
+	}
+
+	private int getEdgeCount(int s, int d) {
+		Integer rtn = this.edgeCounts.get(this.getEdgeKey(s, d));
+		return rtn == null ? 0 : rtn;
+	}
+
+	/*
+	 * Weisfeiler-Lehman color refinement
+	 */
+	private void refine() {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		int n = this.names.length;
+		String[] signatures = new String[n];
+		for (int i = 0; i < n; i++) {
+			signatures[i] = String.valueOf(this.types[i]);
+		}
+		List<List<Integer>> in = new ArrayList<>();
+		List<List<Integer>> out = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			in.add(new ArrayList<>());
+			out.add(new ArrayList<>());
+		}
+		this.colors = new int[n];
+		int numColors = -1;
+		while (true) {
+			// colors are the ranks of the signatures, the same in isomorphic netlists
+			TreeMap<String, Integer> ranks = new TreeMap<>();
+			for (String signature : signatures) {
+				ranks.put(signature, 0);
+			}
+			int rank = 0;
+			for (Map.Entry<String, Integer> e : ranks.entrySet()) {
+				e.setValue(rank++);
+			}
+			String[] sorted = Arrays.copyOf(signatures, n);
+			Arrays.sort(sorted);
+			for (String signature : sorted) {
+				md.update(signature.getBytes(StandardCharsets.UTF_8));
+				md.update((byte) 0);
+			}
+			md.update((byte) 1);
+			for (int i = 0; i < n; i++) {
+				this.colors[i] = ranks.get(signatures[i]);
+			}
+			if (ranks.size() == numColors) {
+				break;
+			}
+			numColors = ranks.size();
+			for (int i = 0; i < n; i++) {
+				in.get(i).clear();
+				out.get(i).clear();
+			}
+			for (int i = 0; i < this.src.length; i++) {
+				out.get(this.src[i]).add(this.colors[this.dst[i]]);
+				in.get(this.dst[i]).add(this.colors[this.src[i]]);
+			}
+			for (int i = 0; i < n; i++) {
+				Collections.sort(in.get(i));
+				Collections.sort(out.get(i));
+				signatures[i] = this.colors[i] + ":" + in.get(i) + ":" + out.get(i);
+			}
+		}
+		md.update(String.valueOf(this.src.length).getBytes(StandardCharsets.UTF_8));
+		this.hash = DSGRNUtils.getHex(md.digest());
+	}
+
+	/**
+	 * Returns a mapping from the nodes of this topology to the nodes of another
+	 * topology that preserves node types and edges.
+	 *
+	 * @param other The other topology.
+	 * @return The name of the node of the other topology for the name of each node
+	 *         of this topology, or {@code null} if the topologies are not
+	 *         isomorphic.
+	 */
+	public Map<String, String> getMapping(NetlistTopology other) {
+		int n = this.names.length;
+		if (!this.getHash().equals(other.getHash()) || n != other.names.length
+		        || this.src.length != other.src.length) {
+			return null;
+		}
+		// match the nodes in order of their number of candidates, then along edges
+		Integer[] order = new Integer[n];
+		int[] classSizes = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+			classSizes[this.colors[i]]++;
+		}
+		Arrays.sort(order, (a, b) -> classSizes[this.colors[a]] != classSizes[this.colors[b]]
+		        ? Integer.compare(classSizes[this.colors[a]], classSizes[this.colors[b]])
+		        : Integer.compare(a, b));
+		int[] mapping = new int[n];
+		Arrays.fill(mapping, -1);
+		if (!this.match(other, order, 0, mapping, new boolean[n])) {
+			return null;
+		}
+		Map<String, String> rtn = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			rtn.put(this.names[i], other.names[mapping[i]]);
+		}
+		return rtn;
+	}
+
+	private boolean match(NetlistTopology other, Integer[] order, int depth, int[] mapping, boolean[] used) {
+		if (depth == order.length) {
+			return true;
+		}
+		int u = order[depth];
+		for (int v = 0; v < other.names.length; v++) {
+			if (used[v] || other.colors[v] != this.colors[u] || !this.isConsistent(other, u, v, mapping)) {
+				continue;
+			}
+			mapping[u] = v;
+			used[v] = true;
+			if (this.match(other, order, depth + 1, mapping, used)) {
+				return true;
+			}
+			mapping[u] = -1;
+			used[v] = false;
+		}
+		return false;
+	}
+
+	/*
+	 * the edges between u and the mapped nodes, and its self loops, are preserved
+	 */
+	private boolean isConsistent(NetlistTopology other, int u, int v, int[] mapping) {
+		if (this.getEdgeCount(u, u) != other.getEdgeCount(v, v)) {
+			return false;
+		}
+		for (int w : this.adjacency[u]) {
+			int x = mapping[w];
+			if (w == u || x < 0) {
+				continue;
+			}
+			if (this.getEdgeCount(u, w) != other.getEdgeCount(v, x)
+			        || this.getEdgeCount(w, u) != other.getEdgeCount(x, v)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the JSON representation of a netlist with the nodes and edges of this
+	 * topology renamed to those of another topology.
+	 *
+	 * @param json    The JSON representation of the netlist of this topology.
+	 * @param other   The other topology.
+	 * @param mapping The mapping from this topology to the other topology.
+	 * @return The renamed JSON representation.
+	 */
+	@SuppressWarnings("unchecked")
+	public JSONObject rename(JSONObject json, NetlistTopology other, Map<String, String> mapping) {
+		// the edges of the other topology between each pair of nodes, in order
+		Map<String, List<String>> edges = new HashMap<>();
+		for (int i = 0; i < other.src.length; i++) {
+			String key = other.names[other.src[i]] + "\t" + other.names[other.dst[i]];
+			edges.computeIfAbsent(key, k -> new ArrayList<>()).add(other.edgeNames[i]);
+		}
+		JSONObject rtn = new JSONObject();
+		rtn.putAll(json);
+		JSONArray nodes = new JSONArray();
+		for (Object o : getArray(json, S_NODES)) {
+			JSONObject node = new JSONObject();
+			node.putAll((JSONObject) o);
+			node.put(S_NAME, mapping.get(node.get(S_NAME)));
+			nodes.add(node);
+		}
+		rtn.put(S_NODES, nodes);
+		JSONArray renamed = new JSONArray();
+		for (Object o : getArray(json, S_EDGES)) {
+			JSONObject edge = new JSONObject();
+			edge.putAll((JSONObject) o);
+			String s = mapping.get(edge.get(S_SRC));
+			String d = mapping.get(edge.get(S_DST));
+			edge.put(S_SRC, s);
+			edge.put(S_DST, d);
+			List<String> names = edges.get(s + "\t" + d);
+			if (names != null && !names.isEmpty()) {
+				edge.put(S_NAME, names.remove(0));
+			}
+			renamed.add(edge);
+		}
+		rtn.put(S_EDGES, renamed);
+		return rtn;
+	}
+
+	/**
+	 * Getter for {@code hash}, the canonical hash of the topology.
+	 *
+	 * @return The value of {@code hash}.
+	 */
+	public String getHash() {
+		return hash;
+	}
+
+	private String[] names;
+	private String[] types;
+	private String[] edgeNames;
+	private int[] src;
+	private int[] dst;
+	private int[][] adjacency;
+	private Map<Long, Integer> edgeCounts;
+	private int[] colors;
+	private String hash;
+
+	private static final String S_NAME = "name";
+	private static final String S_NODETYPE = "nodeType";
+	private static final String S_NODES = "nodes";
+	private static final String S_EDGES = "edges";
+	private static final String S_SRC = "src";
+	private static final String S_DST = "dst";
+
+}
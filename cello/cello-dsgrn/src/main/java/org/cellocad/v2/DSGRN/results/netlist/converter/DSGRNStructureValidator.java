@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cellocad.v2.common.CelloException;
+
+/**
+ * A validator of the structure of a DSGRN design: exactly the invariants that
+ * the converters assume of a module definition, checked in a single pass over
+ * its parts in place of the generic validation of libSBOLj. The parts are added
+ * in the order of the {@link RegulatoryNetworkTable} of the design, and
+ * {@link #validate()} reports every violation at once, each naming the part it
+ * concerns.
+ * <p>
+ * A design is valid if it has a display identifier, each of its functional
+ * components has its own component definition with a display identifier, each
+ * interaction is either a stimulation or an inhibition with exactly one
+ * modified participant, and the participants
+ * of each interaction that take part in it are functional components of the
+ * design, the modifiers with a display identifier.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+final class DSGRNStructureValidator {
+
+	/**
+	 * Initializes a newly created {@link DSGRNStructureValidator} of a design.
+	 *
+	 * @param identity  The identity of the module definition of the design.
+	 * @param displayId The display identifier of the module definition.
+	 */
+	DSGRNStructureValidator(String identity, String displayId) {
+		this.identity = identity;
+		if (identity == null) {
+			this.addError("A module definition has no identity.");
+		} else if (displayId == null) {
+			this.addError("Module definition " + identity + " has no display identifier.");
+		}
+	}
+
+	/**
+	 * Add a node.
+	 *
+	 * @param identity   The identity of the functional component.
+	 * @param definition The identity of its definition, or {@code null}.
+	 * @param name       The display identifier of the definition, or {@code null}
+	 *                   for a definition that is not a component definition of
+	 *                   the document.
+	 */
+	void addNode(String identity, String definition, String name) {
+		if (definition == null) {
+			this.addError("Functional component " + identity + " has no definition.");
+			return;
+		}
+		if (name == null) {
+			this.addError("Definition " + definition + " of functional component " + identity
+			        + " is not a component definition with a display identifier.");
+			return;
+		}
+		String other = this.definitions.put(definition, identity);
+		if (other != null) {
+			this.addError("Functional components " + other + " and " + identity + " share definition " + definition
+			        + ".");
+		}
+		this.nodes.put(identity, definition);
+	}
+
+	/**
+	 * Add an interaction. The participations added next belong to it.
+	 *
+	 * @param identity The identity of the interaction.
+	 * @param types    The bit set of the interaction types.
+	 */
+	void addInteraction(String identity, int types) {
+		this.endInteraction();
+		this.interaction = identity;
+		this.modifiedRole = 0;
+		this.modifierRole = 0;
+		this.numModified = 0;
+		if (types == (RegulatoryNetworkTable.TYPE_STIMULATION | RegulatoryNetworkTable.TYPE_INHIBITION)) {
+			this.addError("Interaction " + identity + " is both a stimulation and an inhibition.");
+		} else if (types == RegulatoryNetworkTable.TYPE_STIMULATION) {
+			this.modifiedRole = RegulatoryNetworkTable.ROLE_STIMULATED;
+			this.modifierRole = RegulatoryNetworkTable.ROLE_STIMULATOR;
+		} else if (types == RegulatoryNetworkTable.TYPE_INHIBITION) {
+			this.modifiedRole = RegulatoryNetworkTable.ROLE_INHIBITED;
+			this.modifierRole = RegulatoryNetworkTable.ROLE_INHIBITOR;
+		} else {
+			this.addError("Interaction " + identity + " is neither a stimulation nor an inhibition.");
+		}
+	}
+
+	/**
+	 * Add a participation to the last interaction.
+	 *
+	 * @param identity    The identity of the participation.
+	 * @param displayId   The display identifier of the participation, or
+	 *                    {@code null}.
+	 * @param roles       The bit set of the roles of the participation.
+	 * @param participant The identity of the participant, a functional component,
+	 *                    or {@code null}.
+	 */
+	void addParticipation(String identity, String displayId, int roles, String participant) {
+		boolean modified = (roles & this.modifiedRole) != 0;
+		boolean modifier = (roles & this.modifierRole) != 0;
+		if (modified) {
+			this.numModified++;
+		}
+		if (!modified && !modifier) {
+			return;
+		}
+		if (participant == null || !this.nodes.containsKey(participant)) {
+			this.addError("Participant " + participant + " of participation " + identity
+			        + " is not a functional component of " + this.identity + ".");
+		}
+		if (modifier && displayId == null) {
+			this.addError("Participation " + identity + " has no display identifier.");
+		}
+	}
+
+	private void endInteraction() {
+		if (this.interaction != null && this.modifiedRole != 0 && this.numModified != 1) {
+			this.addError("Interaction " + this.interaction + " has " + this.numModified
+			        + " modified participants, expected exactly one.");
+		}
+		this.interaction = null;
+	}
+
+	/**
+	 * Validate the design.
+	 *
+	 * @throws CelloException The design violates one or more invariants, all of
+	 *                        which are named in the message.
+	 */
+	void validate() throws CelloException {
+		this.endInteraction();
+		if (!this.errors.isEmpty()) {
+			throw new CelloException("Invalid DSGRN design " + this.identity + ": " + String.join(" ", this.errors));
+		}
+	}
+
+	/**
+	 * Getter for {@code errors}.
+	 *
+	 * @return The value of {@code errors}.
+	 */
+	List<String> getErrors() {
+		return errors;
+	}
+
+	private void addError(String error) {
+		this.errors.add(error);
+	}
+
+	private String identity;
+	private Map<String, String> nodes = new HashMap<>();
+	private Map<String, String> definitions = new HashMap<>();
+	private String interaction;
+	private int modifiedRole;
+	private int modifierRole;
+	private int numModified;
+	private List<String> errors = new ArrayList<>();
+
+}
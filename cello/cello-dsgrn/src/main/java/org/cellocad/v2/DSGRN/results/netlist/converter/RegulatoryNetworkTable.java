@@ -0,0 +1,446 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.sbolstandard.core2.SystemsBiologyOntology;
+
+/**
+ * The converter core shared by the SBOL readers: a regulatory network as
+ * primitive tables of nodes, interactions and participations, classified and
+ * materialized as a netlist in one pass over the interactions. Nodes are
+ * referenced by the index returned by {@link #addNode(String)}, roles and
+ * interaction types are bit sets, and the logic annotation is a small code, so
+ * that the cost and the allocation of a conversion are linear in the size of the
+ * network.
+ * <p>
+ * The nodes and edges of the netlist are in the order in which the nodes,
+ * interactions and participations were added, and the last interaction added
+ * that modifies a gate sets its logic, so a reader that adds them in the order
+ * of its source reproduces the netlist of a direct conversion of that source.
+ * <p>
+ * A two-input gate whose interactions carry several logic annotations, or none
+ * that applies to the roles of its inputs, can be read as more than one gate
+ * type. {@link #getNetlists(int)} enumerates these readings as variants of the
+ * netlist.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+final class RegulatoryNetworkTable {
+
+	static final int TYPE_STIMULATION = 1;
+	static final int TYPE_INHIBITION = 2;
+
+	static final int ROLE_STIMULATOR = 1;
+	static final int ROLE_INHIBITOR = 2;
+	static final int ROLE_STIMULATED = 4;
+	static final int ROLE_INHIBITED = 8;
+
+	static final int LOGIC_NONE = 0;
+	static final int LOGIC_OR = 1;
+	static final int LOGIC_AND = 2;
+	static final int LOGIC_NOR = 3;
+	static final int LOGIC_NAND = 4;
+
+	private static final String S_STIMULATION = SystemsBiologyOntology.STIMULATION.toString();
+	private static final String S_INHIBITION = SystemsBiologyOntology.INHIBITION.toString();
+	private static final String S_STIMULATOR = SystemsBiologyOntology.STIMULATOR.toString();
+	private static final String S_INHIBITOR = SystemsBiologyOntology.INHIBITOR.toString();
+	private static final String S_STIMULATED = SystemsBiologyOntology.STIMULATED.toString();
+	private static final String S_INHIBITED = SystemsBiologyOntology.INHIBITED.toString();
+
+	private static final String S_LOGIC_OR = "https://www.openmath.org/cd/logic1#or";
+	private static final String S_LOGIC_AND = "https://www.openmath.org/cd/logic1#and";
+	private static final String S_LOGIC_NOR = "https://www.openmath.org/cd/logic1#nor";
+	private static final String S_LOGIC_NAND = "https://www.openmath.org/cd/logic1#nand";
+
+	/**
+	 * Returns the type bit of an interaction type.
+	 *
+	 * @param type The interaction type, a URI or its string.
+	 * @return The type bit, or 0 for other types.
+	 */
+	static int getType(Object type) {
+		String str = type.toString();
+		int rtn = 0;
+		if (str.equals(S_STIMULATION)) {
+			rtn = TYPE_STIMULATION;
+		} else if (str.equals(S_INHIBITION)) {
+			rtn = TYPE_INHIBITION;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the role bit of a participation role.
+	 *
+	 * @param role The participation role, a URI or its string.
+	 * @return The role bit, or 0 for other roles.
+	 */
+	static int getRole(Object role) {
+		String str = role.toString();
+		int rtn = 0;
+		if (str.equals(S_STIMULATOR)) {
+			rtn = ROLE_STIMULATOR;
+		} else if (str.equals(S_INHIBITOR)) {
+			rtn = ROLE_INHIBITOR;
+		} else if (str.equals(S_STIMULATED)) {
+			rtn = ROLE_STIMULATED;
+		} else if (str.equals(S_INHIBITED)) {
+			rtn = ROLE_INHIBITED;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the code of a {@code http://dsgrn_design.org#logic} annotation.
+	 *
+	 * @param value The value of the annotation, or {@code null}.
+	 * @return The code, {@link #LOGIC_NONE} for a missing or other value.
+	 */
+	static int getLogic(String value) {
+		int rtn = LOGIC_NONE;
+		if (S_LOGIC_OR.equals(value)) {
+			rtn = LOGIC_OR;
+		} else if (S_LOGIC_AND.equals(value)) {
+			rtn = LOGIC_AND;
+		} else if (S_LOGIC_NOR.equals(value)) {
+			rtn = LOGIC_NOR;
+		} else if (S_LOGIC_NAND.equals(value)) {
+			rtn = LOGIC_NAND;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Initializes a newly created {@link RegulatoryNetworkTable}.
+	 *
+	 * @param name The name of the netlist.
+	 */
+	RegulatoryNetworkTable(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Add a node.
+	 *
+	 * @param name The name of the node.
+	 * @return The index of the node.
+	 */
+	int addNode(String name) {
+		if (this.numNodes == this.nodeNames.length) {
+			this.nodeNames = Arrays.copyOf(this.nodeNames, this.numNodes * 2);
+		}
+		this.nodeNames[this.numNodes] = name;
+		return this.numNodes++;
+	}
+
+	/**
+	 * Add an interaction. The participations added next belong to it.
+	 *
+	 * @param types The bit set of the interaction types.
+	 * @param logic The code of the logic annotation.
+	 */
+	void addInteraction(int types, int logic) {
+		if (this.numInteractions == this.interactionTypes.length) {
+			int n = this.numInteractions * 2;
+			this.interactionTypes = Arrays.copyOf(this.interactionTypes, n);
+			this.interactionLogic = Arrays.copyOf(this.interactionLogic, n);
+			this.interactionStart = Arrays.copyOf(this.interactionStart, n + 1);
+		}
+		this.interactionTypes[this.numInteractions] = types;
+		this.interactionLogic[this.numInteractions] = logic;
+		this.interactionStart[this.numInteractions] = this.numParticipations;
+		this.numInteractions++;
+	}
+
+	/**
+	 * Add a participation to the last interaction.
+	 *
+	 * @param displayId The display identifier of the participation, the name of
+	 *                  its edge.
+	 * @param node      The index of the participant node, or a negative value for
+	 *                  an unknown participant.
+	 * @param roles     The bit set of the roles of the participation.
+	 */
+	void addParticipation(String displayId, int node, int roles) {
+		if (this.numParticipations == this.participationNodes.length) {
+			int n = this.numParticipations * 2;
+			this.participationNames = Arrays.copyOf(this.participationNames, n);
+			this.participationNodes = Arrays.copyOf(this.participationNodes, n);
+			this.participationRoles = Arrays.copyOf(this.participationRoles, n);
+		}
+		this.participationNames[this.numParticipations] = displayId;
+		this.participationNodes[this.numParticipations] = node;
+		this.participationRoles[this.numParticipations] = roles;
+		this.numParticipations++;
+	}
+
+	/**
+	 * Returns the netlist of the network. A node without incoming edges is a
+	 * primary input, a node without outgoing edges is a primary output, and any
+	 * other node is a gate whose type follows from the roles of its inputs and
+	 * outputs and the logic annotation of the last interaction that modifies it.
+	 *
+	 * @return The netlist.
+	 * @throws CelloException An interaction without exactly one modified
+	 *                        participant, or a participant that is not a node.
+	 */
+	Netlist getNetlist() throws CelloException {
+		return this.getNetlist(null, null);
+	}
+
+	/**
+	 * Returns the logic variants of the netlist of the network: one netlist per
+	 * assignment of gate types to the nodes that can be read as more than one gate
+	 * type, the reading of {@link #getNetlist()} first if it is a gate type. Each
+	 * variant is built from its own nodes and edges and is named after the network
+	 * and the index of the variant. A network without such nodes has a single
+	 * netlist, the one of {@link #getNetlist()}.
+	 *
+	 * @param maxVariants The maximum number of variants.
+	 * @return The variants.
+	 * @throws CelloException An interaction without exactly one modified
+	 *                        participant, or a participant that is not a node.
+	 */
+	List<Netlist> getNetlists(int maxVariants) throws CelloException {
+		List<Netlist> rtn = new ArrayList<>();
+		List<List<String>> alternatives = new ArrayList<>();
+		Netlist netlist = this.getNetlist(null, alternatives);
+		List<Integer> ambiguous = new ArrayList<>();
+		for (int i = 0; i < alternatives.size(); i++) {
+			if (alternatives.get(i).size() > 1) {
+				ambiguous.add(i);
+			}
+		}
+		if (ambiguous.isEmpty() || maxVariants <= 1) {
+			rtn.add(netlist);
+			return rtn;
+		}
+		// count through the assignments, the first node the fastest
+		int[] choice = new int[ambiguous.size()];
+		String[] types = new String[alternatives.size()];
+		for (int k = 0; k < maxVariants; k++) {
+			for (int i = 0; i < choice.length; i++) {
+				int node = ambiguous.get(i);
+				types[node] = alternatives.get(node).get(choice[i]);
+			}
+			Netlist variant = this.getNetlist(types, null);
+			variant.setName(this.name + SBOLMolecularModelToPoPSNetlistConverter.S_VARIANT + k);
+			rtn.add(variant);
+			int i = 0;
+			while (i < choice.length && ++choice[i] == alternatives.get(ambiguous.get(i)).size()) {
+				choice[i++] = 0;
+			}
+			if (i == choice.length) {
+				break;
+			}
+		}
+		return rtn;
+	}
+
+	/*
+	 * the netlist, with the gate type of each node given in gateTypes overriding its
+	 * reading, and the gate types each node can be read as added to alternatives
+	 */
+	private Netlist getNetlist(String[] gateTypes, List<List<String>> alternatives) throws CelloException {
+		int n = this.numNodes;
+		this.interactionStart[this.numInteractions] = this.numParticipations;
+		// per node: the number of inputs and outputs, whether all of them have a
+		// role, the roles of the first output, and the logic of its interaction
+		int[] numInputs = new int[n];
+		int[] numOutputs = new int[n];
+		boolean[] inputsStimulators = new boolean[n];
+		boolean[] inputsInhibitors = new boolean[n];
+		boolean[] outputsInhibitors = new boolean[n];
+		int[] firstOutputRoles = new int[n];
+		int[] logic = new int[n];
+		int[] logics = new int[n];
+		Arrays.fill(inputsStimulators, true);
+		Arrays.fill(inputsInhibitors, true);
+		Arrays.fill(outputsInhibitors, true);
+		Netlist rtn = new Netlist();
+		rtn.setName(this.name);
+		NetlistNode[] nodes = new NetlistNode[n];
+		for (int i = 0; i < n; i++) {
+			NetlistNode node = new NetlistNode();
+			node.setName(this.nodeNames[i]);
+			rtn.addVertex(node);
+			nodes[i] = node;
+		}
+		for (int i = 0; i < this.numInteractions; i++) {
+			int types = this.interactionTypes[i];
+			int modifiedRole = 0;
+			int modifierRole = 0;
+			if ((types & TYPE_STIMULATION) != 0) {
+				modifiedRole = ROLE_STIMULATED;
+				modifierRole = ROLE_STIMULATOR;
+			}
+			if ((types & TYPE_INHIBITION) != 0) {
+				modifiedRole = ROLE_INHIBITED;
+				modifierRole = ROLE_INHIBITOR;
+			}
+			int start = this.interactionStart[i];
+			int end = this.interactionStart[i + 1];
+			int dst = -1;
+			for (int j = start; j < end; j++) {
+				if ((this.participationRoles[j] & modifiedRole) != 0) {
+					if (dst >= 0) {
+						throw new CelloException("Cannot map node.");
+					}
+					dst = this.getParticipant(j);
+				}
+			}
+			if (dst < 0) {
+				throw new CelloException("Interaction without a modified participant in " + this.name + ".");
+			}
+			logic[dst] = this.interactionLogic[i];
+			logics[dst] |= 1 << this.interactionLogic[i];
+			for (int j = start; j < end; j++) {
+				int roles = this.participationRoles[j];
+				if ((roles & modifierRole) == 0) {
+					continue;
+				}
+				int src = this.getParticipant(j);
+				NetlistEdge edge = new NetlistEdge();
+				edge.setName(this.participationNames[j]);
+				edge.setSrc(nodes[src]);
+				nodes[src].addOutEdge(edge);
+				edge.setDst(nodes[dst]);
+				nodes[dst].addInEdge(edge);
+				rtn.addEdge(edge);
+				numInputs[dst]++;
+				inputsStimulators[dst] &= (roles & ROLE_STIMULATOR) != 0;
+				inputsInhibitors[dst] &= (roles & ROLE_INHIBITOR) != 0;
+				if (numOutputs[src]++ == 0) {
+					firstOutputRoles[src] = roles;
+				}
+				outputsInhibitors[src] &= (roles & ROLE_INHIBITOR) != 0;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			String type = null;
+			if (numInputs[i] == 0) {
+				type = LSResults.S_PRIMARYINPUT;
+			} else if (numOutputs[i] == 0) {
+				type = LSResults.S_PRIMARYOUTPUT;
+			} else {
+				type = getGateType(numInputs[i], inputsStimulators[i], inputsInhibitors[i], outputsInhibitors[i],
+				        firstOutputRoles[i], logic[i]);
+			}
+			if (alternatives != null) {
+				List<String> alternative = new ArrayList<>();
+				alternative.add(type);
+				if (numInputs[i] == 2 && numOutputs[i] > 0) {
+					// the other annotations, or any two-input gate without one
+					int codes = logics[i] & ~(1 << LOGIC_NONE);
+					for (int code = LOGIC_OR; code <= LOGIC_NAND; code++) {
+						String other = getGateType(2, inputsStimulators[i], inputsInhibitors[i],
+						        outputsInhibitors[i], firstOutputRoles[i], code);
+						boolean annotated = (codes & (1 << code)) != 0;
+						if (!other.isEmpty() && (annotated || type.isEmpty()) && !alternative.contains(other)) {
+							alternative.add(other);
+						}
+					}
+					if (alternative.size() > 1) {
+						alternative.remove("");
+					}
+				}
+				alternatives.add(alternative);
+			}
+			if (gateTypes != null && gateTypes[i] != null) {
+				type = gateTypes[i];
+			}
+			nodes[i].getResultNetlistNodeData().setNodeType(type);
+		}
+		return rtn;
+	}
+
+	private static String getGateType(int numInputs, boolean inputsStimulators, boolean inputsInhibitors,
+	        boolean outputsInhibitors, int firstOutputRoles, int logic) {
+		String rtn = "";
+		if (numInputs == 2) {
+			if (inputsStimulators && outputsInhibitors) {
+				if (logic == LOGIC_OR) {
+					rtn = LSResults.S_NOR;
+				}
+				if (logic == LOGIC_AND) {
+					rtn = LSResults.S_NAND;
+				}
+			}
+			if (inputsInhibitors && outputsInhibitors) {
+				if (logic == LOGIC_NOR) {
+					rtn = LSResults.S_NAND;
+				}
+				if (logic == LOGIC_NAND) {
+					rtn = LSResults.S_NOR;
+				}
+			}
+		}
+		if (numInputs == 1) {
+			if ((firstOutputRoles & ROLE_STIMULATOR) != 0) {
+				rtn = LSResults.S_BUF;
+			}
+			if ((firstOutputRoles & ROLE_INHIBITOR) != 0) {
+				rtn = LSResults.S_NOT;
+			}
+		}
+		return rtn;
+	}
+
+	private int getParticipant(int participation) throws CelloException {
+		int rtn = this.participationNodes[participation];
+		if (rtn < 0) {
+			throw new CelloException("Participant " + this.participationNames[participation]
+			        + " is not a component of " + this.name + ".");
+		}
+		return rtn;
+	}
+
+	private String name;
+
+	private int numNodes;
+	private String[] nodeNames = new String[S_CAPACITY];
+
+	private int numInteractions;
+	private int[] interactionTypes = new int[S_CAPACITY];
+	private int[] interactionLogic = new int[S_CAPACITY];
+	private int[] interactionStart = new int[S_CAPACITY + 1];
+
+	private int numParticipations;
+	private String[] participationNames = new String[S_CAPACITY];
+	private int[] participationNodes = new int[S_CAPACITY];
+	private int[] participationRoles = new int[S_CAPACITY];
+
+	private static final int S_CAPACITY = 16;
+
+}
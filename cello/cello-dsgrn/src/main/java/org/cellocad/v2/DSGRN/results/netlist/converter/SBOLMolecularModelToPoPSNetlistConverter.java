@@ -22,19 +22,20 @@ package org.cellocad.v2.DSGRN.results.netlist.converter;
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 
 import javax.xml.namespace.QName;
 
 import org.cellocad.v2.common.CelloException;
-import org.cellocad.v2.results.logicSynthesis.LSResults;
-import org.cellocad.v2.results.logicSynthesis.LSResultsUtils;
 import org.cellocad.v2.results.netlist.Netlist;
-import org.cellocad.v2.results.netlist.NetlistEdge;
-import org.cellocad.v2.results.netlist.NetlistNode;
 import org.sbolstandard.core2.Annotation;
 import org.sbolstandard.core2.ComponentDefinition;
 import org.sbolstandard.core2.FunctionalComponent;
@@ -42,7 +43,6 @@ import org.sbolstandard.core2.Interaction;
 import org.sbolstandard.core2.ModuleDefinition;
 import org.sbolstandard.core2.Participation;
 import org.sbolstandard.core2.SBOLDocument;
-import org.sbolstandard.core2.SystemsBiologyOntology;
 
 /**
  * Converts an SBOL representation of a regulatory network to a Cello-style
@@ -56,185 +56,132 @@ import org.sbolstandard.core2.SystemsBiologyOntology;
  */
 public class SBOLMolecularModelToPoPSNetlistConverter {
 
+	private static final QName S_LOGIC = new QName("http://dsgrn_design.org#", "logic");
+
 	/**
-	 * Add nodes derived from root module definition to the netlist.
-	 *
-	 * @param root    The root module definition.
-	 * @param netlist The netlist.
-	 * @return A map from a component definition to an associated netlist node.
+	 * Initializes a newly created {@link SBOLMolecularModelToPoPSNetlistConverter}
+	 * that converts each design to a single netlist.
 	 */
-	private static Map<ComponentDefinition, NetlistNode> addNodes(ModuleDefinition root, Netlist netlist) {
-		Map<ComponentDefinition, NetlistNode> rtn = new HashMap<>();
-		Collection<FunctionalComponent> functionalComponents = root.getFunctionalComponents();
-		for (FunctionalComponent functionalComponent : functionalComponents) {
-			ComponentDefinition definition = functionalComponent.getDefinition();
-			NetlistNode node = new NetlistNode();
-			node.setName(definition.getDisplayId());
-			netlist.addVertex(node);
-			rtn.put(definition, node);
-		}
-		return rtn;
+	public SBOLMolecularModelToPoPSNetlistConverter() {
+		this(1);
 	}
 
-	private static URI getModifiedRole(Collection<URI> types) {
-		URI rtn = null;
-		if (types.contains(SystemsBiologyOntology.STIMULATION))
-			rtn = SystemsBiologyOntology.STIMULATED;
-		if (types.contains(SystemsBiologyOntology.INHIBITION))
-			rtn = SystemsBiologyOntology.INHIBITED;
-		return rtn;
+	/**
+	 * Initializes a newly created {@link SBOLMolecularModelToPoPSNetlistConverter}
+	 * that converts each design to its logic variants, see
+	 * {@link #convertAll(SBOLDocument, Executor)}.
+	 *
+	 * @param maxVariants The maximum number of variants of a design.
+	 */
+	public SBOLMolecularModelToPoPSNetlistConverter(int maxVariants) {
+		this(maxVariants, false);
 	}
 
-	private static URI getModifierRole(Collection<URI> types) {
-		URI rtn = null;
-		if (types.contains(SystemsBiologyOntology.STIMULATION))
-			rtn = SystemsBiologyOntology.STIMULATOR;
-		if (types.contains(SystemsBiologyOntology.INHIBITION))
-			rtn = SystemsBiologyOntology.INHIBITOR;
-		return rtn;
+	/**
+	 * Initializes a newly created {@link SBOLMolecularModelToPoPSNetlistConverter}
+	 * that converts each design to its logic variants, and validates the structure
+	 * of each design before converting it if {@code validate} is true, see
+	 * {@link DSGRNStructureValidator}.
+	 *
+	 * @param maxVariants The maximum number of variants of a design.
+	 * @param validate    Whether to validate the structure of each design.
+	 */
+	public SBOLMolecularModelToPoPSNetlistConverter(int maxVariants, boolean validate) {
+		this.maxVariants = maxVariants;
+		this.validate = validate;
 	}
 
-	private static Participation getModifiedParticipation(Interaction interaction) {
-		Participation rtn = null;
-		Collection<Participation> participations = interaction.getParticipations();
-		URI modified = getModifiedRole(interaction.getTypes());
-		for (Participation participation : participations) {
-			if (participation.getRoles().contains(modified)) {
-				rtn = participation;
-				break;
-			}
-		}
-		return rtn;
+	/**
+	 * Convert a root module definition of a DSGRN document to a netlist.
+	 *
+	 * @param root The root module definition.
+	 * @return The netlist.
+	 * @throws CelloException Unable to convert the module definition.
+	 */
+	private Netlist convert(ModuleDefinition root) throws CelloException {
+		return this.getTable(root).getNetlist();
 	}
 
 	/**
-	 * Add edges derived from a root module definition to the netlist. Also set the
-	 * node types.
+	 * Validate the structure of a root module definition of a DSGRN document.
 	 *
-	 * @param root    The root module definition.
-	 * @param netlist The netlist.
-	 * @param map     A map from a component definition to an associated netlist
-	 *                node.
+	 * @param root The root module definition.
+	 * @throws CelloException The module definition is not a valid DSGRN design.
 	 */
-	private static void addEdges(ModuleDefinition root, Netlist netlist,
-	        Map<ComponentDefinition, NetlistNode> map) {
-		Collection<Interaction> interactions = root.getInteractions();
-		for (Interaction interaction : interactions) {
-			Participation modified = null;
-			modified = getModifiedParticipation(interaction);
-			if (modified == null) {
-				continue;
+	private void validate(ModuleDefinition root) throws CelloException {
+		DSGRNStructureValidator validator = new DSGRNStructureValidator(root.getIdentity().toString(),
+		        root.getDisplayId());
+		for (FunctionalComponent functionalComponent : root.getFunctionalComponents()) {
+			URI definitionURI = functionalComponent.getDefinitionURI();
+			ComponentDefinition definition = functionalComponent.getDefinition();
+			validator.addNode(functionalComponent.getIdentity().toString(),
+			        definitionURI == null ? null : definitionURI.toString(),
+			        definition == null ? null : definition.getDisplayId());
+		}
+		for (Interaction interaction : root.getInteractions()) {
+			int types = 0;
+			for (URI type : interaction.getTypes()) {
+				types |= RegulatoryNetworkTable.getType(type);
 			}
-			NetlistNode dst = map.get(modified.getParticipantDefinition());
+			validator.addInteraction(interaction.getIdentity().toString(), types);
 			for (Participation participation : interaction.getParticipations()) {
-				Collection<URI> roles = participation.getRoles();
-				if (roles.contains(getModifierRole(interaction.getTypes()))) {
-					Participation modifier = participation;
-					NetlistNode src = map.get(modifier.getParticipantDefinition());
-					NetlistEdge edge = new NetlistEdge();
-					edge.setName(modifier.getDisplayId());
-					edge.setSrc(src);
-					src.addOutEdge(edge);
-					edge.setDst(dst);
-					dst.addInEdge(edge);
-					netlist.addEdge(edge);
+				int roles = 0;
+				for (URI role : participation.getRoles()) {
+					roles |= RegulatoryNetworkTable.getRole(role);
 				}
+				URI participant = participation.getParticipantURI();
+				validator.addParticipation(participation.getIdentity().toString(), participation.getDisplayId(), roles,
+				        participant == null ? null : participant.toString());
 			}
 		}
+		validator.validate();
 	}
 
-	private void setNodeTypes(ModuleDefinition root, Netlist netlist, Map<ComponentDefinition, NetlistNode> map)
-	        throws CelloException {
-		Map<NetlistNode, Collection<Participation>> inputsMap = new HashMap<>();
-		Map<NetlistNode, Collection<Participation>> outputsMap = new HashMap<>();
-		Map<NetlistNode, Interaction> interactionsMap = new HashMap<>();
-		for (int i = 0; i < netlist.getNumVertex(); i++) {
-			NetlistNode node = netlist.getVertexAtIdx(i);
-			inputsMap.put(node, new ArrayList<>());
-			outputsMap.put(node, new ArrayList<>());
-			if (node.getNumInEdge() == 0) {
-				node.getResultNetlistNodeData().setNodeType(LSResults.S_PRIMARYINPUT);
-				continue;
-			}
-			if (node.getNumOutEdge() == 0) {
-				node.getResultNetlistNodeData().setNodeType(LSResults.S_PRIMARYOUTPUT);
-				continue;
-			}
+	private RegulatoryNetworkTable getTable(ModuleDefinition root) throws CelloException {
+		if (this.isValidate()) {
+			this.validate(root);
 		}
-		for (Interaction interaction : root.getInteractions()) {
-			URI modifiedRole = getModifiedRole(interaction.getTypes());
-			URI modifierRole = getModifierRole(interaction.getTypes());
-			Participation modified = null;
-			Collection<Participation> modifiers = new ArrayList<>();
-			for (Participation participation : interaction.getParticipations()) {
-				if (participation.getRoles().contains(modifiedRole)) {
-					if (modified == null) {
-						modified = participation;
-						NetlistNode node = map.get(modified.getParticipant().getDefinition());
-						interactionsMap.put(node, interaction);
-					} else {
-						throw new CelloException("Cannot map node.");
-					}
-				}
-				if (participation.getRoles().contains(modifierRole)) {
-					modifiers.add(participation);
-					NetlistNode node = map.get(participation.getParticipant().getDefinition());
-					outputsMap.get(node).add(participation);
-				}
+		// the parts are added in the order of the libSBOLj collections, on which the
+		// order of the nodes and edges and the interaction that sets the logic of a
+		// gate depend
+		RegulatoryNetworkTable table = new RegulatoryNetworkTable(root.getDisplayId());
+		// a node per functional component, found by the identity of its definition
+		Map<URI, Integer> nodes = new HashMap<>();
+		for (FunctionalComponent functionalComponent : root.getFunctionalComponents()) {
+			ComponentDefinition definition = functionalComponent.getDefinition();
+			if (definition == null) {
+				throw new CelloException("Unknown component definition " + functionalComponent.getDefinitionURI()
+				        + " in " + root.getIdentity() + ".");
 			}
-			NetlistNode node = map.get(modified.getParticipant().getDefinition());
-			inputsMap.get(node).addAll(modifiers);
+			nodes.put(functionalComponent.getDefinitionURI(), table.addNode(definition.getDisplayId()));
 		}
-		for (int i = 0; i < netlist.getNumVertex(); i++) {
-			NetlistNode node = netlist.getVertexAtIdx(i);
-			if (LSResultsUtils.isAllInput(node) || LSResultsUtils.isAllOutput(node))
-				continue;
-			Collection<Participation> inputs = inputsMap.get(node);
-			Collection<Participation> outputs = outputsMap.get(node);
-			Interaction interaction = interactionsMap.get(node);
-			QName qName = new QName("http://dsgrn_design.org#", "logic");
-			Annotation annotation = interaction.getAnnotation(qName);
-			String value = annotation.getStringValue();
-			String logic = "";
-			if (inputs.size() == 2) {
-				if (inputs.stream().allMatch(p -> p.getRoles().contains(SystemsBiologyOntology.STIMULATOR))
-				        &&
-				        outputs.stream().allMatch(p -> p.getRoles().contains(SystemsBiologyOntology.INHIBITOR))) {
-
-					if (value.equals("https://www.openmath.org/cd/logic1#or")) {
-						logic = LSResults.S_NOR;
-					}
-					if (value.equals("https://www.openmath.org/cd/logic1#and")) {
-						logic = LSResults.S_NAND;
-					}
-				}
-				if (inputs.stream().allMatch(p -> p.getRoles().contains(SystemsBiologyOntology.INHIBITOR))
-				        &&
-				        outputs.stream().allMatch(p -> p.getRoles().contains(SystemsBiologyOntology.INHIBITOR))) {
-					if (value.equals("https://www.openmath.org/cd/logic1#nor")) {
-						logic = LSResults.S_NAND;
-					}
-					if (value.equals("https://www.openmath.org/cd/logic1#nand")) {
-						logic = LSResults.S_NOR;
-					}
-				}
+		for (Interaction interaction : root.getInteractions()) {
+			int types = 0;
+			for (URI type : interaction.getTypes()) {
+				types |= RegulatoryNetworkTable.getType(type);
 			}
-			if (inputs.size() == 1) {
-				if (outputs.iterator().next().getRoles().contains(SystemsBiologyOntology.STIMULATOR)) {
-					logic = LSResults.S_BUF;
-				}
-				if (outputs.iterator().next().getRoles().contains(SystemsBiologyOntology.INHIBITOR)) {
-					logic = LSResults.S_NOT;
+			Annotation annotation = interaction.getAnnotation(S_LOGIC);
+			String logic = annotation == null ? null : annotation.getStringValue();
+			table.addInteraction(types, RegulatoryNetworkTable.getLogic(logic));
+			for (Participation participation : interaction.getParticipations()) {
+				int roles = 0;
+				for (URI role : participation.getRoles()) {
+					roles |= RegulatoryNetworkTable.getRole(role);
 				}
+				FunctionalComponent participant = participation.getParticipant();
+				Integer node = participant == null ? null : nodes.get(participant.getDefinitionURI());
+				table.addParticipation(participation.getDisplayId(), node == null ? -1 : node, roles);
 			}
-			node.getResultNetlistNodeData().setNodeType(logic);
 		}
+		return table;
 	}
 
 	/**
 	 * Convert an SBOL representation of a regulatory network to a Cello-style
 	 * polymerase flux netlist. The SBOL representation must be of the type produced
-	 * by the <a href="https://github.com/shaunharker/DSGRN">DSGRN</a> tool.
+	 * by the <a href="https://github.com/shaunharker/DSGRN">DSGRN</a> tool. Only the
+	 * first root module definition of the document is converted, use
+	 * {@link #convertAll(SBOLDocument)} to convert every design of a collection.
 	 *
 	 * @param document The document to convert.
 	 * @return The netlist.
@@ -243,16 +190,95 @@ public class SBOLMolecularModelToPoPSNetlistConverter {
 	public Netlist convert(SBOLDocument document) throws CelloException {
 		Netlist rtn = new Netlist();
 		Iterator<ModuleDefinition> it = document.getRootModuleDefinitions().iterator();
-		rtn = new Netlist();
 		if (!it.hasNext()) {
 			return rtn;
 		}
 		ModuleDefinition root = it.next();
-		rtn.setName(root.getDisplayId());
-		Map<ComponentDefinition, NetlistNode> map = addNodes(root, rtn);
-		addEdges(root, rtn, map);
-		setNodeTypes(root, rtn, map);
+		rtn = convert(root);
+		return rtn;
+	}
+
+	/**
+	 * Convert every root module definition of a document to a netlist, in parallel
+	 * on the common fork-join pool.
+	 *
+	 * @param document The document to convert.
+	 * @return One netlist per root module definition, or one per logic variant of
+	 *         each, ordered by the identity of the module definition.
+	 * @throws CelloException Unable to convert document.
+	 * @see #convertAll(SBOLDocument, Executor)
+	 */
+	public List<Netlist> convertAll(SBOLDocument document) throws CelloException {
+		return convertAll(document, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Convert every root module definition of a document to a netlist, in parallel
+	 * on the given executor. Each netlist is built from its own nodes and edges, so
+	 * the netlists can be processed independently. A converter with more than one
+	 * variant per design converts a module definition whose gates can be read as
+	 * more than one gate type to a netlist per reading. An executor that wraps the
+	 * conversion of each module definition can carry the context of the caller,
+	 * such as its log file, to the threads of the conversion.
+	 *
+	 * @param document The document to convert.
+	 * @param executor The executor on which to convert the module definitions.
+	 * @return One netlist per root module definition, or one per logic variant of
+	 *         each, ordered by the identity of the module definition.
+	 * @throws CelloException Unable to convert document.
+	 */
+	public List<Netlist> convertAll(SBOLDocument document, Executor executor) throws CelloException {
+		List<Netlist> rtn = new ArrayList<>();
+		List<ModuleDefinition> roots = new ArrayList<>(document.getRootModuleDefinitions());
+		roots.sort(Comparator.comparing(ModuleDefinition::getIdentity));
+		List<FutureTask<List<Netlist>>> tasks = new ArrayList<>();
+		for (ModuleDefinition root : roots) {
+			FutureTask<List<Netlist>> task = new FutureTask<>(
+			        () -> this.getTable(root).getNetlists(this.getMaxVariants()));
+			executor.execute(task);
+			tasks.add(task);
+		}
+		try {
+			for (FutureTask<List<Netlist>> task : tasks) {
+				rtn.addAll(task.get());
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CelloException) {
+				throw (CelloException) e.getCause();
+			}
+			throw new CelloException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CelloException(e);
+		}
 		return rtn;
 	}
 
+	/**
+	 * Getter for {@code maxVariants}.
+	 *
+	 * @return The value of {@code maxVariants}.
+	 */
+	public int getMaxVariants() {
+		return maxVariants;
+	}
+
+	/**
+	 * Getter for {@code validate}.
+	 *
+	 * @return The value of {@code validate}.
+	 */
+	public boolean isValidate() {
+		return validate;
+	}
+
+	private int maxVariants;
+	private boolean validate;
+
+	/**
+	 * The infix of the name of a logic variant: the {@code k}th variant of design
+	 * {@code d} is named {@code d_variant_k}.
+	 */
+	public static final String S_VARIANT = "_variant_";
+
 }
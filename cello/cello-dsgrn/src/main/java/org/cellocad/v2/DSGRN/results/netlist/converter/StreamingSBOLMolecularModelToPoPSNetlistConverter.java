@@ -0,0 +1,545 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+
+/**
+ * Converts an SBOL representation of a regulatory network to a Cello-style
+ * polymerase flux netlist in a single streaming pass over the RDF/XML, without
+ * building an {@link org.sbolstandard.core2.SBOLDocument}. Only the subset of
+ * SBOL produced by the <a href="https://github.com/shaunharker/DSGRN">DSGRN</a>
+ * tool is supported: module definitions with nested functional components,
+ * interactions, and participations, the {@code http://dsgrn_design.org#logic}
+ * annotation on interactions, and top level component definitions. Everything
+ * else in the document is skipped.
+ * <p>
+ * A root module definition is converted as soon as it and the component
+ * definitions of its functional components have been read, and its parts are
+ * released, so that a collection of many designs is not held in memory. A
+ * module definition is a root unless another module definition uses it as a
+ * submodule, which must then precede the point at which the submodule is
+ * complete.
+ * <p>
+ * The netlists are identical to those of
+ * {@link SBOLMolecularModelToPoPSNetlistConverter} except for the order of the
+ * nodes and edges, which here follows the document rather than the hash order
+ * of the libSBOLj collections.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class StreamingSBOLMolecularModelToPoPSNetlistConverter {
+
+	private static final String S_RDF = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+	private static final String S_SBOL = "http://sbols.org/v2#";
+	private static final String S_DSGRN = "http://dsgrn_design.org#";
+
+	/**
+	 * Initializes a newly created
+	 * {@link StreamingSBOLMolecularModelToPoPSNetlistConverter} that converts each
+	 * design to a single netlist.
+	 */
+	public StreamingSBOLMolecularModelToPoPSNetlistConverter() {
+		this(1);
+	}
+
+	/**
+	 * Initializes a newly created
+	 * {@link StreamingSBOLMolecularModelToPoPSNetlistConverter} that converts each
+	 * design to its logic variants.
+	 *
+	 * @param maxVariants The maximum number of variants of a design.
+	 */
+	public StreamingSBOLMolecularModelToPoPSNetlistConverter(int maxVariants) {
+		this(maxVariants, false);
+	}
+
+	/**
+	 * Initializes a newly created
+	 * {@link StreamingSBOLMolecularModelToPoPSNetlistConverter} that converts each
+	 * design to its logic variants, and validates the structure of each design
+	 * before converting it if {@code validate} is true, see
+	 * {@link DSGRNStructureValidator}.
+	 *
+	 * @param maxVariants The maximum number of variants of a design.
+	 * @param validate    Whether to validate the structure of each design.
+	 */
+	public StreamingSBOLMolecularModelToPoPSNetlistConverter(int maxVariants, boolean validate) {
+		this.maxVariants = maxVariants;
+		this.validate = validate;
+	}
+
+	/*
+	 * The parts of a module definition that are needed to build its netlist.
+	 */
+
+	private static class Design {
+		private String uri;
+		private String displayId;
+		private List<String[]> functionalComponents = new ArrayList<>();
+		private List<InteractionRecord> interactions = new ArrayList<>();
+		// the number of component definitions not read yet
+		private int missing;
+		// used as a submodule
+		private boolean submodule;
+	}
+
+	private static class InteractionRecord {
+		private String uri;
+		private int types;
+		private int logic;
+		private List<ParticipationRecord> participations = new ArrayList<>();
+	}
+
+	private static class ParticipationRecord {
+		private String uri;
+		private String displayId;
+		private int roles;
+		private String participant;
+	}
+
+	/*
+	 * Parsing
+	 */
+
+	private static XMLInputFactory getInputFactory() {
+		XMLInputFactory rtn = XMLInputFactory.newInstance();
+		rtn.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		rtn.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		rtn.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return rtn;
+	}
+
+	private static boolean is(XMLStreamReader reader, String namespace, String localName) {
+		return namespace.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+	}
+
+	private static String getAbout(XMLStreamReader reader) {
+		return reader.getAttributeValue(S_RDF, "about");
+	}
+
+	private static String getResource(XMLStreamReader reader) {
+		return reader.getAttributeValue(S_RDF, "resource");
+	}
+
+	/**
+	 * Advance to the next child element of the current element.
+	 *
+	 * @param reader The reader, positioned on a start element or a child of it.
+	 * @return True if positioned on the start of a child, false if positioned on
+	 *         the end of the parent.
+	 * @throws XMLStreamException Unable to read the document.
+	 */
+	private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			}
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Skip the current element and its descendants.
+	 *
+	 * @param reader The reader, positioned on a start element.
+	 * @throws XMLStreamException Unable to read the document.
+	 */
+	private static void skip(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a property element, either its {@code rdf:resource} or
+	 * its text, and leaves the reader on the end of the element.
+	 */
+	private static String getValue(XMLStreamReader reader) throws XMLStreamException {
+		String rtn = getResource(reader);
+		if (rtn != null) {
+			skip(reader);
+		} else {
+			rtn = reader.getElementText().trim();
+		}
+		return rtn;
+	}
+
+	private static ParticipationRecord readParticipation(XMLStreamReader reader) throws XMLStreamException {
+		ParticipationRecord rtn = new ParticipationRecord();
+		rtn.uri = getAbout(reader);
+		while (nextChild(reader)) {
+			if (is(reader, S_SBOL, "displayId")) {
+				rtn.displayId = getValue(reader);
+			} else if (is(reader, S_SBOL, "role")) {
+				rtn.roles |= RegulatoryNetworkTable.getRole(getValue(reader));
+			} else if (is(reader, S_SBOL, "participant")) {
+				rtn.participant = getValue(reader);
+			} else {
+				skip(reader);
+			}
+		}
+		return rtn;
+	}
+
+	private static InteractionRecord readInteraction(XMLStreamReader reader)
+	        throws XMLStreamException, CelloException {
+		InteractionRecord rtn = new InteractionRecord();
+		rtn.uri = getAbout(reader);
+		while (nextChild(reader)) {
+			if (is(reader, S_SBOL, "type")) {
+				rtn.types |= RegulatoryNetworkTable.getType(getValue(reader));
+			} else if (is(reader, S_DSGRN, "logic")) {
+				rtn.logic = RegulatoryNetworkTable.getLogic(getValue(reader));
+			} else if (is(reader, S_SBOL, "participation")) {
+				if (getResource(reader) != null) {
+					throw new CelloException("Participations must be nested in their interaction.");
+				}
+				while (nextChild(reader)) {
+					if (is(reader, S_SBOL, "Participation")) {
+						rtn.participations.add(readParticipation(reader));
+					} else {
+						skip(reader);
+					}
+				}
+			} else {
+				skip(reader);
+			}
+		}
+		return rtn;
+	}
+
+	private static String[] readFunctionalComponent(XMLStreamReader reader) throws XMLStreamException {
+		String[] rtn = new String[] { getAbout(reader), null };
+		while (nextChild(reader)) {
+			if (is(reader, S_SBOL, "definition")) {
+				rtn[1] = getValue(reader);
+			} else {
+				skip(reader);
+			}
+		}
+		return rtn;
+	}
+
+	private static Design readModuleDefinition(XMLStreamReader reader, Set<String> submodules)
+	        throws XMLStreamException, CelloException {
+		Design rtn = new Design();
+		rtn.uri = getAbout(reader);
+		while (nextChild(reader)) {
+			if (is(reader, S_SBOL, "displayId")) {
+				rtn.displayId = getValue(reader);
+			} else if (is(reader, S_SBOL, "functionalComponent")) {
+				if (getResource(reader) != null) {
+					throw new CelloException("Functional components must be nested in their module definition.");
+				}
+				while (nextChild(reader)) {
+					if (is(reader, S_SBOL, "FunctionalComponent")) {
+						rtn.functionalComponents.add(readFunctionalComponent(reader));
+					} else {
+						skip(reader);
+					}
+				}
+			} else if (is(reader, S_SBOL, "interaction")) {
+				if (getResource(reader) != null) {
+					throw new CelloException("Interactions must be nested in their module definition.");
+				}
+				while (nextChild(reader)) {
+					if (is(reader, S_SBOL, "Interaction")) {
+						rtn.interactions.add(readInteraction(reader));
+					} else {
+						skip(reader);
+					}
+				}
+			} else if (is(reader, S_SBOL, "module")) {
+				// the definition of a submodule is not a root module definition
+				while (nextChild(reader)) {
+					while (nextChild(reader)) {
+						if (is(reader, S_SBOL, "definition")) {
+							submodules.add(getValue(reader));
+						} else {
+							skip(reader);
+						}
+					}
+				}
+			} else {
+				skip(reader);
+			}
+		}
+		return rtn;
+	}
+
+	private static String readComponentDefinition(XMLStreamReader reader) throws XMLStreamException {
+		String rtn = null;
+		while (nextChild(reader)) {
+			if (is(reader, S_SBOL, "displayId")) {
+				rtn = getValue(reader);
+			} else {
+				skip(reader);
+			}
+		}
+		return rtn;
+	}
+
+	/*
+	 * Netlist
+	 */
+
+	/**
+	 * Validate the structure of a root module definition.
+	 *
+	 * @param design      The parts of the module definition.
+	 * @param definitions The display identifiers of the component definitions of
+	 *                    the document, by identity.
+	 * @throws CelloException The module definition is not a valid DSGRN design.
+	 */
+	private static void validate(Design design, Map<String, String> definitions) throws CelloException {
+		DSGRNStructureValidator validator = new DSGRNStructureValidator(design.uri, design.displayId);
+		for (String[] fc : design.functionalComponents) {
+			validator.addNode(fc[0], fc[1], definitions.get(fc[1]));
+		}
+		for (InteractionRecord interaction : design.interactions) {
+			validator.addInteraction(interaction.uri, interaction.types);
+			for (ParticipationRecord participation : interaction.participations) {
+				validator.addParticipation(participation.uri, participation.displayId, participation.roles,
+				        participation.participant);
+			}
+		}
+		validator.validate();
+	}
+
+	private List<Netlist> getNetlists(Design design, Map<String, String> definitions) throws CelloException {
+		if (this.isValidate()) {
+			validate(design, definitions);
+		}
+		RegulatoryNetworkTable table = new RegulatoryNetworkTable(design.displayId);
+		// a node per functional component, found by the identity of its definition
+		Map<String, String> fcToDefinition = new HashMap<>();
+		Map<String, Integer> nodes = new HashMap<>();
+		for (String[] fc : design.functionalComponents) {
+			String name = definitions.get(fc[1]);
+			if (name == null) {
+				throw new CelloException("Unknown component definition " + fc[1] + " in " + design.uri + ".");
+			}
+			fcToDefinition.put(fc[0], fc[1]);
+			nodes.put(fc[1], table.addNode(name));
+		}
+		for (InteractionRecord interaction : design.interactions) {
+			table.addInteraction(interaction.types, interaction.logic);
+			for (ParticipationRecord participation : interaction.participations) {
+				Integer node = nodes.get(fcToDefinition.get(participation.participant));
+				table.addParticipation(participation.displayId, node == null ? -1 : node, participation.roles);
+			}
+		}
+		return table.getNetlists(this.getMaxVariants());
+	}
+
+	/**
+	 * Convert every root module definition of an SBOL document to a netlist.
+	 *
+	 * @param is The RDF/XML serialization of the document.
+	 * @return One netlist per root module definition, or one per logic variant of
+	 *         each, ordered by the identity of the module definition.
+	 * @throws CelloException Unable to read or convert the document.
+	 */
+	public List<Netlist> convertAll(InputStream is) throws CelloException {
+		List<Netlist> rtn = new ArrayList<>();
+		Map<String, List<Netlist>> netlists = new TreeMap<>();
+		this.convertAll(is, netlists::put);
+		for (List<Netlist> value : netlists.values()) {
+			rtn.addAll(value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Convert every root module definition of an SBOL document to a netlist, and
+	 * pass the netlists of each to a consumer as soon as it is converted. The root
+	 * module definitions are passed in the order in which they are complete in the
+	 * document. Those with a component definition missing from the document are
+	 * converted, and fail, at its end.
+	 *
+	 * @param is       The RDF/XML serialization of the document.
+	 * @param consumer Receives the identity of each root module definition and its
+	 *                 netlist, or one netlist per logic variant.
+	 * @throws CelloException Unable to read or convert the document, or a module
+	 *                        definition used as a submodule after it was
+	 *                        converted.
+	 */
+	public void convertAll(InputStream is, BiConsumer<String, List<Netlist>> consumer) throws CelloException {
+		Map<String, String> definitions = new HashMap<>();
+		// the designs waiting for a component definition, by its identity
+		Map<String, List<Design>> waiting = new HashMap<>();
+		Map<String, Design> pending = new HashMap<>();
+		Set<String> converted = new HashSet<>();
+		Set<String> submodules = new HashSet<>();
+		XMLStreamReader reader = null;
+		try {
+			reader = getInputFactory().createXMLStreamReader(is);
+			// rdf:RDF
+			if (!nextChild(reader) || !is(reader, S_RDF, "RDF")) {
+				throw new CelloException("Not an SBOL RDF/XML document.");
+			}
+			while (nextChild(reader)) {
+				if (is(reader, S_SBOL, "ComponentDefinition")) {
+					String uri = getAbout(reader);
+					definitions.put(uri, readComponentDefinition(reader));
+					List<Design> designs = waiting.remove(uri);
+					if (designs == null) {
+						continue;
+					}
+					for (Design design : designs) {
+						if (--design.missing == 0 && !design.submodule) {
+							pending.remove(design.uri);
+							this.convert(design, definitions, converted, consumer);
+						}
+					}
+				} else if (is(reader, S_SBOL, "ModuleDefinition")) {
+					Set<String> uses = new HashSet<>();
+					Design design = readModuleDefinition(reader, uses);
+					for (String use : uses) {
+						if (converted.contains(use)) {
+							throw new CelloException(
+							        "Module definition " + use + " is used as a submodule after it was converted.");
+						}
+						Design submodule = pending.remove(use);
+						if (submodule != null) {
+							submodule.submodule = true;
+						}
+					}
+					submodules.addAll(uses);
+					if (submodules.contains(design.uri)) {
+						continue;
+					}
+					Set<String> missing = new HashSet<>();
+					for (String[] fc : design.functionalComponents) {
+						if (fc[1] == null) {
+							// never complete
+							design.missing++;
+						} else if (!definitions.containsKey(fc[1]) && missing.add(fc[1])) {
+							waiting.computeIfAbsent(fc[1], k -> new ArrayList<>()).add(design);
+						}
+					}
+					design.missing += missing.size();
+					if (design.missing == 0) {
+						this.convert(design, definitions, converted, consumer);
+					} else {
+						pending.put(design.uri, design);
+					}
+				} else {
+					skip(reader);
+				}
+			}
+		} catch (XMLStreamException e) {
+			throw new CelloException("Unable to read SBOL document.", e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					// nothing to release
+				}
+			}
+		}
+		// the designs with a missing component definition
+		List<Design> designs = new ArrayList<>(pending.values());
+		designs.sort((a, b) -> a.uri.compareTo(b.uri));
+		for (Design design : designs) {
+			this.convert(design, definitions, converted, consumer);
+		}
+	}
+
+	private void convert(Design design, Map<String, String> definitions, Set<String> converted,
+	        BiConsumer<String, List<Netlist>> consumer) throws CelloException {
+		consumer.accept(design.uri, this.getNetlists(design, definitions));
+		converted.add(design.uri);
+	}
+
+	/**
+	 * Convert every root module definition of an SBOL file to a netlist.
+	 *
+	 * @param file The RDF/XML file.
+	 * @return One netlist per root module definition, or one per logic variant of
+	 *         each, ordered by the identity of the module definition.
+	 * @throws CelloException Unable to read or convert the file.
+	 */
+	public List<Netlist> convertAll(File file) throws CelloException {
+		try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+			return convertAll(is);
+		} catch (IOException e) {
+			throw new CelloException("Unable to read " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Getter for {@code maxVariants}.
+	 *
+	 * @return The value of {@code maxVariants}.
+	 */
+	public int getMaxVariants() {
+		return maxVariants;
+	}
+
+	/**
+	 * Getter for {@code validate}.
+	 *
+	 * @return The value of {@code validate}.
+	 */
+	public boolean isValidate() {
+		return validate;
+	}
+
+	private int maxVariants;
+	private boolean validate;
+
+}
@@ -0,0 +1,670 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * A sink that streams the outputs of a batch into a single zip or tar archive
+ * in the output directory, so that the shared file system holds one file per
+ * batch rather than a few dozen per design.
+ * <p>
+ * The stages write the outputs of each file to a subdirectory of a scratch
+ * directory. When the file is done, its subdirectory is handed to a single
+ * writer thread through a bounded queue, and the writer appends its outputs to
+ * the archive through a buffered stream and deletes them. The log files of the
+ * designs are written asynchronously, so each is appended once the events
+ * logged before its file was done are written, see
+ * {@link DSGRNLogContext#isWritten()}. The last entry of the archive is a
+ * manifest, {@value #S_MANIFEST}, that lists the entries of each file.
+ * <p>
+ * The archive is written under a name ending in {@value #S_PART}, and renamed
+ * once it is closed, since neither format can be read in full before then: the
+ * central directory of a zip archive is written last. A worker JVM of a
+ * {@link DSGRNCoordinator} rolls its archive, named after the worker and
+ * numbered, whenever it is done with a shard of the batch, so that a worker that
+ * crashes loses the outputs of at most one shard, which the coordinator runs
+ * again.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNArchiveSink extends DSGRNOutputSink {
+
+	/**
+	 * An archive written as a stream of entries.
+	 */
+	abstract static class Archive implements AutoCloseable {
+
+		/**
+		 * Append an entry.
+		 *
+		 * @param name The name of the entry.
+		 * @param size The size of the entry.
+		 * @return The stream of the contents of the entry, to which exactly
+		 *         {@code size} bytes are written before the next entry.
+		 * @throws IOException Unable to write the entry.
+		 */
+		abstract OutputStream putEntry(String name, long size) throws IOException;
+
+		@Override
+		public abstract void close() throws IOException;
+
+		/**
+		 * Append an entry with the contents of a file.
+		 *
+		 * @param name The name of the entry.
+		 * @param file The file.
+		 * @throws IOException Unable to write the entry.
+		 */
+		void put(String name, Path file) throws IOException {
+			Files.copy(file, this.putEntry(name, Files.size(file)));
+		}
+
+		/**
+		 * Append an entry.
+		 *
+		 * @param name  The name of the entry.
+		 * @param bytes The contents of the entry.
+		 * @throws IOException Unable to write the entry.
+		 */
+		void put(String name, byte[] bytes) throws IOException {
+			this.putEntry(name, bytes.length).write(bytes);
+		}
+
+	}
+
+	/**
+	 * A zip archive.
+	 */
+	static class ZipArchive extends Archive {
+
+		ZipArchive(OutputStream os) {
+			this.zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		OutputStream putEntry(String name, long size) throws IOException {
+			this.zip.putNextEntry(new ZipEntry(name));
+			return this.zip;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.zip.close();
+		}
+
+		private ZipOutputStream zip;
+
+	}
+
+	/**
+	 * A POSIX (ustar) tar archive, with an extended header for a name that does
+	 * not fit in the header of its entry.
+	 */
+	static class TarArchive extends Archive {
+
+		TarArchive(OutputStream os) {
+			this.os = os;
+		}
+
+		@Override
+		OutputStream putEntry(String name, long size) throws IOException {
+			this.pad();
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			int split = TarArchive.getSplit(bytes);
+			if (split < 0) {
+				byte[] record = TarArchive.getRecord("path", name);
+				this.os.write(TarArchive.getHeader(new byte[0], "././@PaxHeader".getBytes(StandardCharsets.UTF_8),
+				        record.length, S_PAX));
+				this.os.write(record);
+				this.remaining = record.length;
+				this.pad();
+				split = 0;
+				bytes = Arrays.copyOf(bytes, Math.min(bytes.length, S_NAME));
+			}
+			this.os.write(TarArchive.getHeader(Arrays.copyOf(bytes, split),
+			        Arrays.copyOfRange(bytes, split == 0 ? 0 : split + 1, bytes.length), size, S_FILE));
+			this.remaining = size;
+			return new OutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					TarArchive.this.os.write(b);
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					TarArchive.this.os.write(b, off, len);
+				}
+			};
+		}
+
+		/**
+		 * Returns the index of the slash at which a name is split into the prefix and
+		 * the name fields of a header, 0 if the name fits in the name field, or -1 if
+		 * it fits in neither.
+		 */
+		static int getSplit(byte[] name) {
+			if (name.length <= S_NAME) {
+				return 0;
+			}
+			for (int i = Math.min(name.length - 1, S_PREFIX); i > 0; i--) {
+				if (name[i] == '/' && name.length - i - 1 <= S_NAME) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private static byte[] getRecord(String key, String value) {
+			byte[] field = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+			// the length of the record includes its own digits
+			int length = field.length + 1;
+			while (String.valueOf(length).length() + field.length != length) {
+				length++;
+			}
+			return (length + new String(field, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+		}
+
+		static byte[] getHeader(byte[] prefix, byte[] name, long size, byte type) {
+			byte[] rtn = new byte[S_BLOCK];
+			System.arraycopy(name, 0, rtn, 0, Math.min(name.length, S_NAME));
+			TarArchive.putOctal(rtn, 100, 8, 0644);
+			TarArchive.putOctal(rtn, 108, 8, 0);
+			TarArchive.putOctal(rtn, 116, 8, 0);
+			TarArchive.putOctal(rtn, 124, 12, size);
+			TarArchive.putOctal(rtn, 136, 12, System.currentTimeMillis() / 1000);
+			rtn[156] = type;
+			System.arraycopy(("ustar\0" + "00").getBytes(StandardCharsets.US_ASCII), 0, rtn, 257, 8);
+			System.arraycopy(prefix, 0, rtn, 345, Math.min(prefix.length, S_PREFIX));
+			// the checksum is computed with its own field set to spaces
+			Arrays.fill(rtn, 148, 156, (byte) ' ');
+			long checksum = 0;
+			for (byte b : rtn) {
+				checksum += b & 0xff;
+			}
+			TarArchive.putOctal(rtn, 148, 7, checksum);
+			return rtn;
+		}
+
+		private static void putOctal(byte[] header, int offset, int length, long value) {
+			String str = Long.toOctalString(value);
+			while (str.length() < length - 1) {
+				str = "0" + str;
+			}
+			System.arraycopy(str.getBytes(StandardCharsets.US_ASCII), 0, header, offset, length - 1);
+			header[offset + length - 1] = 0;
+		}
+
+		/**
+		 * Pad the last entry to a whole number of blocks.
+		 */
+		private void pad() throws IOException {
+			int padding = (int) ((S_BLOCK - this.remaining % S_BLOCK) % S_BLOCK);
+			this.os.write(new byte[padding]);
+			this.remaining = 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.pad();
+			this.os.write(new byte[2 * S_BLOCK]);
+			this.os.close();
+		}
+
+		private OutputStream os;
+		private long remaining;
+
+		private static final int S_BLOCK = 512;
+		private static final int S_NAME = 100;
+		private static final int S_PREFIX = 155;
+		private static final byte S_FILE = '0';
+		private static final byte S_PAX = 'x';
+
+	}
+
+	/**
+	 * The outputs of a file, or the end of the batch if {@code dir} is
+	 * {@code null}.
+	 */
+	private static class Item {
+
+		Item(File inputFile, File dir) {
+			this.inputFile = inputFile;
+			this.dir = dir;
+		}
+
+		private File inputFile;
+		private File dir;
+
+	}
+
+	/**
+	 * Initializes a newly created {@link DSGRNArchiveSink}: the archive and the
+	 * scratch directory are created, and the writer is started.
+	 *
+	 * @param runEnv    The runtime environment of the batch.
+	 * @param outputDir The output directory of the batch.
+	 * @param format    The format of the archive.
+	 * @throws CelloException Unable to create the archive.
+	 */
+	public DSGRNArchiveSink(DSGRNRuntimeEnv runEnv, File outputDir, String format) throws CelloException {
+		super(outputDir);
+		this.runEnv = runEnv;
+		this.format = format;
+		this.logName = DSGRNLogContext.getLogFile(runEnv).getName();
+		this.file = this.getArchiveFile();
+		try {
+			Files.createDirectories(outputDir.toPath());
+			Path scratch = DSGRNArchiveSink.getScratchDir(runEnv).toPath();
+			Files.createDirectories(scratch);
+			this.scratchDir = Files.createTempDirectory(scratch, "cello_").toFile();
+			this.open();
+		} catch (IOException e) {
+			throw new CelloException("Unable to create archive: " + this.file, e);
+		}
+		this.startWriter();
+	}
+
+	/**
+	 * Returns the archive to which the outputs are written: the archive of the
+	 * batch, or the numbered archive of a worker JVM.
+	 */
+	private File getArchiveFile() {
+		String workerId = this.getRuntimeEnv().getOptionValue(DSGRNArgString.WORKERID);
+		String name = S_ARCHIVE;
+		if (workerId != null) {
+			name = DSGRNCoordinator.S_WORKER + workerId + "_" + (this.rolls + 1);
+		}
+		return new File(this.getOutputDir(), name + "." + this.format);
+	}
+
+	/**
+	 * Returns the file to which the archive is written until it is closed.
+	 */
+	private File getPartFile() {
+		return new File(this.file.getPath() + S_PART);
+	}
+
+	/**
+	 * Create the archive.
+	 */
+	private void open() throws IOException {
+		OutputStream os = new BufferedOutputStream(Files.newOutputStream(this.getPartFile().toPath()), S_BUFFER);
+		this.archive = this.format.equals(S_ZIP) ? new ZipArchive(os) : new TarArchive(os);
+	}
+
+	private void startWriter() {
+		this.writer = new Thread(this::write, S_THREAD);
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Wait for the writer to append the outputs handed to it.
+	 */
+	private void stopWriter() throws CelloException {
+		try {
+			this.queue.put(new Item(null, null));
+			this.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CelloException("Interrupted while archiving.", e);
+		}
+	}
+
+	/**
+	 * Returns the directory under which the outputs are written before they are
+	 * archived, as requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The directory, by default the temporary directory of the JVM.
+	 */
+	public static File getScratchDir(DSGRNRuntimeEnv runEnv) {
+		String value = runEnv.getOptionValue(DSGRNArgString.SCRATCHDIR);
+		if (value == null) {
+			value = System.getProperty("java.io.tmpdir");
+		}
+		return new File(value);
+	}
+
+	@Override
+	public File getOutputDir(File dir) {
+		Path path = this.getOutputDir().getAbsoluteFile().toPath().relativize(dir.getAbsoluteFile().toPath());
+		if (path.toString().isEmpty() || path.startsWith("..")) {
+			path = dir.toPath().getFileName();
+		}
+		return new File(this.scratchDir, path.toString());
+	}
+
+	@Override
+	public void add(File inputFile, File dir) throws CelloException {
+		if (this.error != null) {
+			throw new CelloException("Unable to write archive: " + this.file, this.error);
+		}
+		try {
+			this.queue.put(new Item(inputFile, dir));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CelloException("Interrupted while archiving: " + dir, e);
+		}
+	}
+
+	@Override
+	public String getLocation(File file) {
+		String entry = this.getEntry(file.getAbsoluteFile().toPath());
+		if (entry.startsWith("..")) {
+			return file.getAbsolutePath();
+		}
+		return this.file.getAbsolutePath() + "!/" + entry;
+	}
+
+	@Override
+	public boolean isArchive() {
+		return true;
+	}
+
+	private String getEntry(Path path) {
+		Path relative = this.scratchDir.getAbsoluteFile().toPath().relativize(path);
+		List<String> names = new ArrayList<>();
+		for (Path p : relative) {
+			names.add(p.toString());
+		}
+		return String.join("/", names);
+	}
+
+	/**
+	 * Append the outputs of each file handed to the writer, and the log files that
+	 * are written, until the writer is stopped.
+	 */
+	private void write() {
+		DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+		try {
+			while (true) {
+				Item item = this.queue.poll(S_POLL, TimeUnit.MILLISECONDS);
+				if (item != null && item.dir == null) {
+					break;
+				}
+				if (this.error != null) {
+					continue;
+				}
+				try {
+					if (item != null) {
+						this.write(item);
+					}
+					if (!this.logs.isEmpty() && DSGRNLogContext.isWritten()) {
+						this.writeLogs();
+					}
+				} catch (IOException e) {
+					getLogger().error("Unable to write archive " + this.file + ": " + e.getMessage());
+					this.error = e;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			log.close();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void write(Item item) throws IOException {
+		JSONObject record = new JSONObject();
+		record.put(S_DESIGN, this.getEntry(item.dir.getAbsoluteFile().toPath()));
+		record.put(S_INPUT, item.inputFile.getAbsolutePath());
+		JSONArray entries = new JSONArray();
+		record.put(S_ENTRIES, entries);
+		this.manifest.add(record);
+		if (!item.dir.isDirectory()) {
+			return;
+		}
+		List<Path> files;
+		try (Stream<Path> s = Files.walk(item.dir.toPath())) {
+			files = s.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+		for (Path file : files) {
+			String entry = this.getEntry(file.toAbsolutePath());
+			entries.add(entry);
+			if (file.getFileName().toString().equals(this.logName)) {
+				// the events of the designs of the file may not be written yet
+				this.logs.put(file, item.dir.toPath());
+				continue;
+			}
+			this.archive.put(entry, file);
+			Files.delete(file);
+		}
+		DSGRNArchiveSink.delete(item.dir.toPath(), false);
+	}
+
+	/**
+	 * Append the log files of the designs whose events are written, and delete
+	 * them.
+	 */
+	private void writeLogs() throws IOException {
+		for (Map.Entry<Path, Path> e : this.logs.entrySet()) {
+			Path log = e.getKey();
+			DSGRNLogContext.close(log.toFile());
+			this.archive.put(this.getEntry(log.toAbsolutePath()), log);
+			Files.delete(log);
+			DSGRNArchiveSink.delete(e.getValue(), false);
+		}
+		this.logs.clear();
+	}
+
+	/**
+	 * Delete the empty directories of a tree, or the whole tree.
+	 */
+	private static void delete(Path root, boolean files) throws IOException {
+		List<Path> paths;
+		try (Stream<Path> s = Files.walk(root)) {
+			paths = s.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+		}
+		for (Path path : paths) {
+			if (!Files.isDirectory(path)) {
+				if (files) {
+					Files.delete(path);
+				}
+				continue;
+			}
+			try (Stream<Path> s = Files.list(path)) {
+				if (!s.findAny().isPresent()) {
+					Files.delete(path);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Wait for the writer, then append the log files of the designs and the
+	 * manifest, and close the archive.
+	 *
+	 * @param always Whether the archive is closed even without outputs.
+	 * @throws CelloException Unable to write the archive.
+	 */
+	@SuppressWarnings("unchecked")
+	private void complete(boolean always) throws CelloException {
+		this.stopWriter();
+		if (this.error == null && (always || !this.manifest.isEmpty())) {
+			getLogger().info("Writing archive " + this.file + " of " + this.manifest.size() + " files.");
+			try {
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(S_LOGSECONDS);
+				while (!this.logs.isEmpty() && !DSGRNLogContext.isWritten() && System.nanoTime() < deadline) {
+					Thread.sleep(S_POLL);
+				}
+				this.writeLogs();
+				JSONObject manifest = new JSONObject();
+				manifest.put(S_DESIGNS, this.manifest);
+				this.archive.put(S_MANIFEST, manifest.toJSONString().getBytes(StandardCharsets.UTF_8));
+				this.archive.close();
+				this.archive = null;
+				Files.move(this.getPartFile().toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				this.manifest.clear();
+			} catch (IOException e) {
+				this.error = e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CelloException("Interrupted while archiving.", e);
+			}
+		}
+		if (this.error == null) {
+			return;
+		}
+		try {
+			if (this.archive != null) {
+				this.archive.close();
+			}
+		} catch (IOException e) {
+			// the first error is reported
+		}
+		throw new CelloException("Unable to write archive " + this.file + ", the outputs not yet archived are in "
+		        + this.scratchDir + ".", this.error);
+	}
+
+	/**
+	 * Close the archive, once the outputs added so far are appended, and continue
+	 * with the next archive of the worker JVM. Nothing is done without outputs.
+	 *
+	 * @throws CelloException Unable to write the archive. The outputs not yet
+	 *                        archived are left in the scratch directory.
+	 */
+	@Override
+	public void roll() throws CelloException {
+		this.complete(false);
+		if (this.archive == null) {
+			this.rolls++;
+			this.file = this.getArchiveFile();
+			try {
+				this.open();
+			} catch (IOException e) {
+				this.error = e;
+			}
+		}
+		this.startWriter();
+	}
+
+	/**
+	 * Close the archive, once the outputs added so far are appended. The archive
+	 * of a worker JVM is only kept if there are outputs since it last rolled.
+	 *
+	 * @throws CelloException Unable to write the archive. The outputs not yet
+	 *                        archived are left in the scratch directory.
+	 */
+	@Override
+	public void close() throws CelloException {
+		this.complete(this.getRuntimeEnv().getOptionValue(DSGRNArgString.WORKERID) == null);
+		try {
+			if (this.archive != null) {
+				this.archive.close();
+				Files.delete(this.getPartFile().toPath());
+			}
+			DSGRNArchiveSink.delete(this.scratchDir.toPath(), true);
+		} catch (IOException e) {
+			throw new CelloException("Unable to remove " + this.scratchDir + ".", e);
+		}
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code file}.
+	 *
+	 * @return The value of {@code file}.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNArchiveSink} class.
+	 *
+	 * @return The logger for the {@link DSGRNArchiveSink} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNArchiveSink.logger;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private String format;
+	private String logName;
+	private volatile File file;
+	private int rolls;
+	private File scratchDir;
+	private Thread writer;
+	private BlockingQueue<Item> queue = new ArrayBlockingQueue<>(S_QUEUE);
+	private volatile IOException error;
+	// accessed by the writer, then by roll and close once the writer is stopped
+	private Archive archive;
+	private List<JSONObject> manifest = new ArrayList<>();
+	private Map<Path, Path> logs = new LinkedHashMap<>();
+
+	private static final Logger logger = LogManager.getLogger(DSGRNArchiveSink.class);
+
+	private static final int S_BUFFER = 1 << 20;
+	private static final int S_QUEUE = 64;
+	private static final long S_POLL = 100;
+	private static final long S_LOGSECONDS = 10;
+	private static final String S_THREAD = "dsgrn-archive";
+	public static final String S_ARCHIVE = "results";
+	public static final String S_PART = ".part";
+	public static final String S_MANIFEST = "manifest.json";
+	public static final String S_DESIGNS = "designs";
+	public static final String S_DESIGN = "design";
+	public static final String S_INPUT = "input";
+	public static final String S_ENTRIES = "entries";
+
+}
@@ -0,0 +1,632 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.results.netlist.Netlist;
+
+/**
+ * Runs the <i>DSGRN</i> application on many designs in one JVM. The
+ * configuration, target data, and netlist constraints are loaded once and
+ * shared, and the designs are processed concurrently on a fixed pool of
+ * workers, or by step with a {@link DSGRNScheduler}. Each design writes to its
+ * own subdirectory of the output directory, or of the scratch directory of a
+ * {@link DSGRNArchiveSink} that archives it once it is done.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNBatch {
+
+	/**
+	 * Initializes a newly created {@link DSGRNBatch}.
+	 *
+	 * @param runEnv The runtime environment of the batch.
+	 * @throws CelloException Unable to load the shared data.
+	 */
+	public DSGRNBatch(DSGRNRuntimeEnv runEnv) throws CelloException {
+		this.runEnv = runEnv;
+		DSGRNContext context = null;
+		if (DSGRNPipeline.isContextRequired(runEnv)) {
+			context = new DSGRNContext(runEnv);
+		}
+		this.pipeline = new DSGRNPipeline(context, new DSGRNRenderer(runEnv));
+		this.outputSink = DSGRNOutputSink.getOutputSink(runEnv);
+		this.executor = Executors.newFixedThreadPool(DSGRNBatch.getThreads(runEnv), r -> {
+			Thread rtn = new Thread(r, "dsgrn-design");
+			rtn.setDaemon(true);
+			return rtn;
+		});
+	}
+
+	/**
+	 * Returns the SBOL files referenced by a batch specification, which is one of:
+	 * <ul>
+	 * <li>a directory, in which case every {@code .xml} or {@code .sbol} file in
+	 * the directory is returned;</li>
+	 * <li>a glob such as {@code designs/**}{@code /*.xml};</li>
+	 * <li>a manifest file with one path per line. Blank lines and lines starting
+	 * with {@code #} are ignored, and relative paths are resolved against the
+	 * directory containing the manifest.</li>
+	 * </ul>
+	 *
+	 * @param spec The batch specification.
+	 * @return The SBOL files, sorted by path.
+	 * @throws CelloException Unable to resolve the specification.
+	 */
+	public static List<File> getInputFiles(String spec) throws CelloException {
+		List<File> rtn = new ArrayList<>();
+		Path path = Paths.get(spec);
+		try {
+			if (DSGRNBatch.isGlob(spec)) {
+				rtn.addAll(DSGRNBatch.getGlobFiles(spec));
+			} else if (Files.isDirectory(path)) {
+				try (Stream<Path> s = Files.list(path)) {
+					rtn.addAll(s.filter(DSGRNBatch::isSBOLFile).map(Path::toFile).collect(Collectors.toList()));
+				}
+			} else if (Files.isRegularFile(path)) {
+				rtn.addAll(DSGRNBatch.getManifestFiles(path));
+			} else {
+				throw new CelloException("Batch input does not exist: " + spec);
+			}
+		} catch (IOException e) {
+			throw new CelloException("Unable to read batch input: " + spec, e);
+		}
+		Collections.sort(rtn);
+		return rtn;
+	}
+
+	private static boolean isGlob(String spec) {
+		return spec.matches(".*[*?\\[{].*");
+	}
+
+	private static boolean isSBOLFile(Path path) {
+		String name = path.getFileName().toString().toLowerCase();
+		return Files.isRegularFile(path) && (name.endsWith(".xml") || name.endsWith(".sbol"));
+	}
+
+	private static List<File> getGlobFiles(String spec) throws IOException {
+		// walk from the deepest directory that precedes the first glob character
+		String prefix = spec.split("[*?\\[{]", 2)[0];
+		int idx = prefix.lastIndexOf(File.separatorChar);
+		Path base = Paths.get(idx < 0 ? "." : prefix.substring(0, idx + 1));
+		String pattern = idx < 0 ? base.resolve(spec).normalize().toString() : spec;
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		try (Stream<Path> s = Files.walk(base)) {
+			return s.map(Path::normalize).filter(p -> Files.isRegularFile(p) && matcher.matches(p))
+			        .map(Path::toFile).collect(Collectors.toList());
+		}
+	}
+
+	private static List<File> getManifestFiles(Path manifest) throws IOException {
+		List<File> rtn = new ArrayList<>();
+		Path dir = manifest.toAbsolutePath().getParent();
+		try (BufferedReader br = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				rtn.add(dir.resolve(line).normalize().toFile());
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns a name for the output subdirectory of each input file. The name is
+	 * the file name without its extension.
+	 *
+	 * @param files The input files.
+	 * @return The subdirectory names, in the order of the input files.
+	 * @see #getUniqueNames(List)
+	 */
+	public static List<String> getDesignNames(List<File> files) {
+		List<String> names = new ArrayList<>();
+		for (File file : files) {
+			names.add(file.getName().replaceFirst("\\.[^.]*$", ""));
+		}
+		return DSGRNBatch.getUniqueNames(names);
+	}
+
+	/**
+	 * Returns the given names, each suffixed with a counter when it would
+	 * otherwise repeat an earlier name.
+	 *
+	 * @param names The names.
+	 * @return The unique names, in the order of the given names.
+	 */
+	public static List<String> getUniqueNames(List<String> names) {
+		List<String> rtn = new ArrayList<>();
+		Set<String> used = new HashSet<>();
+		for (String base : names) {
+			String name = base;
+			for (int i = 1; !used.add(name); i++) {
+				name = base + "_" + i;
+			}
+			rtn.add(name);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the output directory of each netlist converted from one input file.
+	 * A file holding a single design writes to the given directory, and a
+	 * collection holding several designs writes each design to a subdirectory
+	 * named after the design.
+	 *
+	 * @param netlists  The netlists converted from the input file.
+	 * @param outputDir The output directory of the input file.
+	 * @return The output directories, in the order of the netlists.
+	 */
+	public static List<File> getOutputDirs(List<Netlist> netlists, File outputDir) {
+		List<File> rtn = new ArrayList<>();
+		if (netlists.size() == 1) {
+			rtn.add(outputDir);
+			return rtn;
+		}
+		List<String> names = new ArrayList<>();
+		for (Netlist netlist : netlists) {
+			names.add(netlist.getName());
+		}
+		for (String name : DSGRNBatch.getUniqueNames(names)) {
+			rtn.add(new File(outputDir, name));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Run jobs concurrently and wait for all of them. A failed job is logged and
+	 * does not stop the others.
+	 *
+	 * @param jobs    The jobs.
+	 * @param labels  A label for each job, used in log messages.
+	 * @param threads The number of workers.
+	 * @throws CelloException At least one job failed.
+	 */
+	public static void execute(List<Callable<Void>> jobs, List<String> labels, int threads) throws CelloException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			DSGRNBatch.execute(executor, jobs, labels);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Run jobs on an executor and wait for all of them. A failed job is logged
+	 * and does not stop the others.
+	 *
+	 * @param executor The executor, which may be shared with other jobs.
+	 * @param jobs     The jobs.
+	 * @param labels   A label for each job, used in log messages.
+	 * @throws CelloException At least one job failed.
+	 */
+	public static void execute(ExecutorService executor, List<Callable<Void>> jobs, List<String> labels)
+	        throws CelloException {
+		List<Future<Void>> futures = new ArrayList<>();
+		for (Callable<Void> job : jobs) {
+			futures.add(executor.submit(job));
+		}
+		int failed = 0;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				futures.get(i).get();
+			} catch (ExecutionException e) {
+				failed++;
+				Main.getLogger().error("Design " + labels.get(i) + " failed: " + e.getCause().getMessage(),
+				        e.getCause());
+			} catch (InterruptedException e) {
+				for (Future<Void> future : futures) {
+					future.cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				throw new CelloException("Batch interrupted.", e);
+			}
+		}
+		if (failed > 0) {
+			throw new CelloException(failed + " of " + jobs.size() + " designs failed.");
+		}
+	}
+
+	/**
+	 * Returns the number of workers requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The number of workers, by default the number of processors.
+	 * @throws CelloException Invalid number of workers.
+	 */
+	public static int getThreads(DSGRNRuntimeEnv runEnv) throws CelloException {
+		int rtn = Runtime.getRuntime().availableProcessors();
+		String value = runEnv.getOptionValue(DSGRNArgString.THREADS);
+		if (value == null) {
+			return rtn;
+		}
+		try {
+			rtn = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new CelloException("Invalid number of threads: " + value, e);
+		}
+		if (rtn < 1) {
+			throw new CelloException("Invalid number of threads: " + value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Process every design of the batch.
+	 *
+	 * @throws CelloException Unable to resolve the batch, or at least one design
+	 *                        failed.
+	 */
+	public void execute() throws CelloException {
+		try {
+			this.executeFiles();
+		} finally {
+			this.getDone().countDown();
+		}
+	}
+
+	/**
+	 * Cancel the batch: the technologyMapping stage of the designs in progress
+	 * keeps the best assignment found so far, and the files that did not start
+	 * are skipped.
+	 */
+	public void cancel() {
+		this.getPipeline().cancel();
+	}
+
+	/**
+	 * Cancel the batch, as {@link #cancel()} does, and wait until
+	 * {@link #execute()} returns, if it is running.
+	 */
+	public void stop() {
+		this.cancel();
+		try {
+			this.getDone().await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Process every input file of the batch.
+	 */
+	private void executeFiles() throws CelloException {
+		DSGRNRuntimeEnv runEnv = this.getRuntimeEnv();
+		List<File> files = DSGRNBatch.getInputFiles(runEnv.getOptionValue(DSGRNArgString.BATCH));
+		List<String> names = DSGRNBatch.getDesignNames(files);
+		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		int threads = DSGRNBatch.getThreads(runEnv);
+		Main.getLogger().info("Processing " + files.size() + " files with " + threads + " workers.");
+		if (DSGRNScheduler.isStaged(runEnv)) {
+			this.executeStaged(files, names, outputDir);
+			return;
+		}
+		List<Callable<Void>> jobs = new ArrayList<>();
+		List<String> labels = new ArrayList<>();
+		for (int i = 0; i < files.size(); i++) {
+			File file = files.get(i);
+			File designDir = new File(outputDir, names.get(i));
+			jobs.add(() -> {
+				// the events of the worker outside the designs go to the log file of the batch
+				DSGRNLogContext log = DSGRNLogContext.open(runEnv);
+				try {
+					if (this.getPipeline().isCancelled()) {
+						Main.getLogger().warn("Skipping " + file + ", the batch was cancelled.");
+						return null;
+					}
+					this.execute(file, designDir);
+				} finally {
+					log.close();
+				}
+				return null;
+			});
+			labels.add(file.getPath());
+		}
+		try {
+			DSGRNBatch.execute(jobs, labels, threads);
+		} finally {
+			this.shutdown();
+		}
+	}
+
+	/**
+	 * Stop the workers of the batch and close its output sink, once every file of
+	 * the batch is processed.
+	 *
+	 * @throws CelloException Unable to close the output sink.
+	 */
+	protected void shutdown() throws CelloException {
+		synchronized (this) {
+			if (this.scheduler != null) {
+				this.scheduler.shutdown();
+			}
+		}
+		this.getExecutor().shutdown();
+		this.getPipeline().getRenderer().shutdown();
+		this.getOutputSink().close();
+	}
+
+	/**
+	 * Process every design of the batch with a {@link DSGRNScheduler}. The outputs
+	 * of an input file go to the output sink as soon as its last design leaves the
+	 * pipeline.
+	 */
+	private void executeStaged(List<File> files, List<String> names, File outputDir) throws CelloException {
+		DSGRNScheduler scheduler = new DSGRNScheduler(this.getPipeline(), this.getRuntimeEnv());
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				File file = files.get(i);
+				File designDir = this.getOutputSink().getOutputDir(new File(outputDir, names.get(i)));
+				scheduler.submit(file.getPath(), () -> {
+					DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+					try {
+						if (this.getPipeline().isCancelled()) {
+							Main.getLogger().warn("Skipping " + file + ", the batch was cancelled.");
+							return null;
+						}
+						return this.getDesigns(file, designDir);
+					} finally {
+						log.close();
+					}
+				}, (designs, failed) -> this.write(file, designDir, designs));
+			}
+		} finally {
+			try {
+				scheduler.await();
+			} finally {
+				this.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Process the designs of one input file of the batch by step, on the
+	 * {@link DSGRNScheduler} of the batch, and wait until the outputs of the file
+	 * are in the output sink, so that a worker only reports the file, or rolls its
+	 * archive, once the file is archived.
+	 */
+	private void executeStaged(File inputFile, File outputDir) throws CelloException {
+		File designDir = this.getOutputSink().getOutputDir(outputDir);
+		CompletableFuture<Integer> done = new CompletableFuture<>();
+		this.getScheduler().submit(inputFile.getPath(), () -> {
+			DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+			try {
+				return this.getDesigns(inputFile, designDir);
+			} finally {
+				log.close();
+			}
+		}, (designs, failed) -> {
+			try {
+				this.write(inputFile, designDir, designs);
+				done.complete(failed);
+			} catch (CelloException | RuntimeException e) {
+				done.completeExceptionally(e);
+			}
+		});
+		int failed;
+		try {
+			failed = done.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CelloException) {
+				throw (CelloException) e.getCause();
+			}
+			throw new CelloException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CelloException("Interrupted while waiting for " + inputFile + ".", e);
+		}
+		if (failed > 0) {
+			throw new CelloException(failed + " designs of " + inputFile + " failed.");
+		}
+	}
+
+	/**
+	 * Write the variants of the designs of an input file, and hand the outputs of
+	 * the file to the output sink.
+	 *
+	 * @param inputFile The SBOL file.
+	 * @param designDir The output directory of the file in the output sink.
+	 * @param designs   The designs of the file, or {@code null} if it has none.
+	 * @throws CelloException Unable to write the variants or the outputs.
+	 */
+	private void write(File inputFile, File designDir, List<DSGRNDesign> designs) throws CelloException {
+		try {
+			if (designs != null) {
+				DSGRNVariants.write(designs, this.getRuntimeEnv(), designDir, inputFile.getAbsolutePath());
+			}
+		} finally {
+			if (this.getOutputSink().isArchive()) {
+				// the graphs of the designs may still be rendered to the directory
+				this.getPipeline().getRenderer().await(designDir);
+			}
+			this.getOutputSink().add(inputFile, designDir);
+		}
+	}
+
+	/**
+	 * Process the designs of one input file of the batch. The designs of the file,
+	 * such as its logic variants, are processed concurrently on the workers of
+	 * the batch that process designs.
+	 *
+	 * @param inputFile The SBOL file.
+	 * @param outputDir The output directory of the file.
+	 * @throws CelloException Unable to process a design.
+	 */
+	protected void execute(File inputFile, File outputDir) throws CelloException {
+		if (DSGRNScheduler.isStaged(this.getRuntimeEnv())) {
+			this.executeStaged(inputFile, outputDir);
+			return;
+		}
+		File designDir = this.getOutputSink().getOutputDir(outputDir);
+		List<DSGRNDesign> designs = null;
+		try {
+			designs = this.getDesigns(inputFile, designDir);
+			List<Callable<Void>> jobs = new ArrayList<>();
+			List<String> labels = new ArrayList<>();
+			for (DSGRNDesign design : designs) {
+				jobs.add(() -> {
+					DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+					try {
+						Main.getLogger().info(
+						        "Processing design " + design.getName() + " of " + design.getInputFilePath() + ".");
+						this.getPipeline().execute(design);
+					} finally {
+						log.close();
+					}
+					return null;
+				});
+				labels.add(design.getName());
+			}
+			DSGRNBatch.execute(this.getExecutor(), jobs, labels);
+		} finally {
+			this.write(inputFile, designDir, designs);
+		}
+	}
+
+	/**
+	 * Convert the designs of one input file of the batch.
+	 *
+	 * @param inputFile The SBOL file.
+	 * @param outputDir The output directory of the file.
+	 * @return The designs, each with its own output directory.
+	 * @throws CelloException Unable to convert the file.
+	 */
+	protected List<DSGRNDesign> getDesigns(File inputFile, File outputDir) throws CelloException {
+		List<DSGRNDesign> rtn = new ArrayList<>();
+		String inputFilePath = inputFile.getAbsolutePath();
+		DSGRNMetrics metrics = new DSGRNMetrics(inputFile.getName());
+		List<Netlist> netlists = DSGRNPipeline.convert(inputFile, this.getRuntimeEnv(), metrics);
+		List<File> outputDirs = DSGRNBatch.getOutputDirs(netlists, outputDir);
+		for (int i = 0; i < netlists.size(); i++) {
+			Netlist netlist = netlists.get(i);
+			File designDir = outputDirs.get(i);
+			if (!designDir.isDirectory() && !designDir.mkdirs()) {
+				throw new CelloException("Unable to create output directory: " + designDir);
+			}
+			netlist.setInputFilename(inputFilePath);
+			DSGRNRuntimeEnv designEnv = this.getRuntimeEnv().getDesignRuntimeEnv(inputFilePath, designDir);
+			DSGRNDesign design = new DSGRNDesign(netlist, designEnv, inputFilePath,
+			        new DSGRNMetrics(netlist.getName(), metrics));
+			design.setOutputSink(this.getOutputSink());
+			rtn.add(design);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code pipeline}.
+	 *
+	 * @return The value of {@code pipeline}.
+	 */
+	protected DSGRNPipeline getPipeline() {
+		return pipeline;
+	}
+
+	/**
+	 * Getter for {@code outputSink}.
+	 *
+	 * @return The value of {@code outputSink}.
+	 */
+	protected DSGRNOutputSink getOutputSink() {
+		return outputSink;
+	}
+
+	/**
+	 * Getter for {@code executor}.
+	 *
+	 * @return The value of {@code executor}.
+	 */
+	protected ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns the scheduler of the files processed one at a time with
+	 * {@link #execute(File, File)}, which is created on first use.
+	 *
+	 * @return The scheduler.
+	 * @throws CelloException Invalid pool sizes.
+	 */
+	protected synchronized DSGRNScheduler getScheduler() throws CelloException {
+		if (this.scheduler == null) {
+			this.scheduler = new DSGRNScheduler(this.getPipeline(), this.getRuntimeEnv());
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Getter for {@code done}, released once {@link #execute()} returns.
+	 *
+	 * @return The value of {@code done}.
+	 */
+	protected CountDownLatch getDone() {
+		return done;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private DSGRNPipeline pipeline;
+	private DSGRNOutputSink outputSink;
+	private ExecutorService executor;
+	private DSGRNScheduler scheduler;
+	private CountDownLatch done = new CountDownLatch(1);
+
+}
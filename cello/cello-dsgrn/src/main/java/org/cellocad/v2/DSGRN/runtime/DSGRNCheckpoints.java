@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * The checkpoints of a design: the netlist after each stage, written to its own
+ * file, and a manifest mapping each stage to its file and the SHA-256 hash of
+ * the content of the file. A checkpoint whose file no longer matches its hash is
+ * not read.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNCheckpoints {
+
+	/**
+	 * Initializes a newly created {@link DSGRNCheckpoints}, reading the manifest
+	 * if it exists.
+	 *
+	 * @param outputDir The output directory of the design.
+	 * @param name      The name of the design.
+	 * @throws CelloException Unable to read the manifest.
+	 */
+	public DSGRNCheckpoints(File outputDir, String name) throws CelloException {
+		this.outputDir = outputDir;
+		this.name = name;
+		this.manifest = new JSONObject();
+		File file = this.getManifestFile();
+		if (file.isFile()) {
+			try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+				this.manifest = (JSONObject) new JSONParser().parse(r);
+			} catch (IOException | ParseException | ClassCastException e) {
+				throw new CelloException("Unable to read " + file + ".", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the manifest file.
+	 *
+	 * @return The manifest file.
+	 */
+	public File getManifestFile() {
+		return new File(this.getOutputDir(), this.getName() + "_checkpoints.json");
+	}
+
+	private File getCheckpointFile(String stage) {
+		return new File(this.getOutputDir(), this.getName() + "_" + stage + "_checkpoint.json");
+	}
+
+	private static String getHash(byte[] bytes) {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		return DSGRNUtils.getHex(md.digest(bytes));
+	}
+
+	private static byte[] read(File file) throws CelloException {
+		try {
+			return Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			throw new CelloException("Unable to read " + file + ".", e);
+		}
+	}
+
+	private static void write(File file, byte[] bytes) throws CelloException {
+		try {
+			File tmp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+			Files.write(tmp.toPath(), bytes);
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+			        StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Write the checkpoint of a stage.
+	 *
+	 * @param stage   The stage.
+	 * @param netlist The netlist after the stage.
+	 * @throws CelloException Unable to write the checkpoint.
+	 */
+	public void write(String stage, Netlist netlist) throws CelloException {
+		File file = this.getCheckpointFile(stage);
+		byte[] bytes = DSGRNNetlistUtils.getJSONString(netlist).getBytes(StandardCharsets.UTF_8);
+		DSGRNCheckpoints.write(file, bytes);
+		this.put(stage, file, DSGRNCheckpoints.getHash(bytes));
+	}
+
+	/**
+	 * Record a file already written as the checkpoint of a stage.
+	 *
+	 * @param stage The stage.
+	 * @param file  The netlist file of the stage.
+	 * @throws CelloException Unable to read the file or write the manifest.
+	 */
+	public void add(String stage, File file) throws CelloException {
+		this.put(stage, file, DSGRNCheckpoints.getHash(DSGRNCheckpoints.read(file)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void put(String stage, File file, String hash) throws CelloException {
+		JSONObject checkpoint = new JSONObject();
+		checkpoint.put(S_FILE, file.getAbsolutePath());
+		checkpoint.put(S_SHA256, hash);
+		this.getManifest().put(stage, checkpoint);
+		byte[] bytes = this.getManifest().toJSONString().getBytes(StandardCharsets.UTF_8);
+		DSGRNCheckpoints.write(this.getManifestFile(), bytes);
+	}
+
+	/**
+	 * Remove the checkpoint of a stage from the manifest. The file of the
+	 * checkpoint is kept.
+	 *
+	 * @param stage The stage.
+	 * @throws CelloException Unable to write the manifest.
+	 */
+	public synchronized void remove(String stage) throws CelloException {
+		if (this.getManifest().remove(stage) != null) {
+			byte[] bytes = this.getManifest().toJSONString().getBytes(StandardCharsets.UTF_8);
+			DSGRNCheckpoints.write(this.getManifestFile(), bytes);
+		}
+	}
+
+	/**
+	 * Returns whether there is a checkpoint of a stage in the manifest.
+	 *
+	 * @param stage The stage.
+	 * @return Whether there is a checkpoint of the stage.
+	 */
+	public synchronized boolean contains(String stage) {
+		return this.getManifest().containsKey(stage);
+	}
+
+	/**
+	 * Read the checkpoint of a stage.
+	 *
+	 * @param stage The stage.
+	 * @return The netlist after the stage.
+	 * @throws CelloException No checkpoint of the stage, or the checkpoint file was
+	 *                        modified.
+	 */
+	public synchronized Netlist read(String stage) throws CelloException {
+		JSONObject checkpoint = (JSONObject) this.getManifest().get(stage);
+		if (checkpoint == null) {
+			throw new CelloException("No checkpoint of stage " + stage + " in " + this.getManifestFile() + ".");
+		}
+		File file = new File((String) checkpoint.get(S_FILE));
+		if (!file.isFile()) {
+			throw new CelloException("Checkpoint " + file + " is missing.");
+		}
+		byte[] bytes = DSGRNCheckpoints.read(file);
+		if (!DSGRNCheckpoints.getHash(bytes).equals(checkpoint.get(S_SHA256))) {
+			throw new CelloException("Checkpoint " + file + " was modified.");
+		}
+		return DSGRNNetlistUtils.getNetlist(new String(bytes, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Getter for {@code outputDir}.
+	 *
+	 * @return The value of {@code outputDir}.
+	 */
+	public File getOutputDir() {
+		return outputDir;
+	}
+
+	/**
+	 * Getter for {@code name}.
+	 *
+	 * @return The value of {@code name}.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for {@code manifest}.
+	 *
+	 * @return The value of {@code manifest}.
+	 */
+	protected JSONObject getManifest() {
+		return manifest;
+	}
+
+	private File outputDir;
+	private String name;
+	private JSONObject manifest;
+
+	private static final String S_FILE = "file";
+	private static final String S_SHA256 = "sha256";
+
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.common.target.data.TargetDataCache;
+import org.cellocad.v2.DSGRN.results.netlist.NetlistResultCache;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.application.ApplicationConfiguration;
+import org.cellocad.v2.common.application.ApplicationUtils;
+import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraint;
+import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraintUtils;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.common.target.data.TargetData;
+import org.cellocad.v2.common.target.data.TargetDataUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * The data shared by every design processed in a run of the <i>DSGRN</i>
+ * application: the application configuration, the target data, and the netlist
+ * constraints. These are loaded once and then only read by the stages.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNContext {
+
+	/**
+	 * Initializes a newly created {@link DSGRNContext} from the files referenced by
+	 * the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @throws CelloException Unable to load the configuration or target data.
+	 */
+	public DSGRNContext(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String config;
+		try {
+			config = DSGRNUtils.getApplicationConfiguration();
+		} catch (IOException e) {
+			throw new RuntimeException("Error with application configuration file.");
+		}
+		// a configuration file given in the runtime environment replaces the bundled
+		// one, for the stage objects as for the stages themselves
+		String options = runEnv.getOptionValue(ArgString.OPTIONS);
+		if (options != null) {
+			try {
+				config = new String(Files.readAllBytes(Paths.get(options)), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new CelloException("Unable to read " + options + ".", e);
+			}
+		}
+		this.config = config;
+		// get TargetData
+		this.targetDataFiles = Arrays.asList(getFile(runEnv, ArgString.USERCONSTRAINTSFILE),
+		        getFile(runEnv, ArgString.INPUTSENSORFILE), getFile(runEnv, ArgString.OUTPUTDEVICEFILE));
+		TargetData td = null;
+		JSONObject configuration = null;
+		String cacheDir = runEnv.getOptionValue(DSGRNArgString.TARGETDATACACHEDIR);
+		if (cacheDir != null) {
+			int size = S_TARGETDATACACHESIZE;
+			String value = runEnv.getOptionValue(DSGRNArgString.TARGETDATACACHESIZE);
+			if (value != null) {
+				size = Integer.parseInt(value);
+			}
+			TargetDataCache cache = new TargetDataCache(new File(cacheDir), size);
+			TargetDataCache.Entry entry = cache.get(this.targetDataFiles.get(0), this.targetDataFiles.get(1),
+			        this.targetDataFiles.get(2), config);
+			td = entry.getTargetData();
+			configuration = entry.getStages();
+			// the key of the entry is the hash of the same files and configuration
+			this.targetDataHash = entry.getKey();
+		} else {
+			td = TargetDataUtils.getTargetTargetData(runEnv, ArgString.USERCONSTRAINTSFILE,
+			        ArgString.INPUTSENSORFILE, ArgString.OUTPUTDEVICEFILE);
+		}
+		if (!td.isValid()) {
+			throw new CelloException("TargetData is invalid!");
+		}
+		this.targetData = td;
+		// ApplicationConfiguration
+		ApplicationConfiguration appCfg;
+		try {
+			appCfg = ApplicationUtils.getApplicationConfiguration(runEnv, ArgString.OPTIONS, config);
+		} catch (IOException e) {
+			throw new RuntimeException("Error with application configuration file.");
+		}
+		if (!appCfg.isValid()) {
+			throw new RuntimeException("ApplicationConfiguration is invalid!");
+		}
+		this.applicationConfiguration = appCfg;
+		// NetlistConstraint
+		NetlistConstraint netlistConstraint = NetlistConstraintUtils.getNetlistConstraintData(runEnv,
+		        ArgString.NETLISTCONSTRAINTFILE);
+		if (netlistConstraint == null) {
+			netlistConstraint = new NetlistConstraint();
+		}
+		this.netlistConstraint = netlistConstraint;
+		// the stage objects of the configuration, for settings specific to DSGRN
+		if (configuration == null) {
+			try {
+				configuration = (JSONObject) new JSONParser().parse(config);
+			} catch (ParseException e) {
+				throw new CelloException("Error with application configuration file.", e);
+			}
+		}
+		this.configuration = configuration;
+		// results of the stages, which also depend on the netlist constraints and
+		// on the options that the stages read
+		String resultCacheDir = runEnv.getOptionValue(DSGRNArgString.RESULTCACHEDIR);
+		if (resultCacheDir != null) {
+			int size = S_RESULTCACHESIZE;
+			String value = runEnv.getOptionValue(DSGRNArgString.RESULTCACHESIZE);
+			if (value != null) {
+				size = Integer.parseInt(value);
+			}
+			List<String> strings = new ArrayList<>();
+			strings.add(this.getTargetDataHash());
+			for (String option : S_RESULTOPTIONS) {
+				strings.add(runEnv.getOptionValue(option));
+			}
+			String salt = DSGRNUtils.getHash(Arrays.asList(getFile(runEnv, ArgString.NETLISTCONSTRAINTFILE),
+			        getFile(runEnv, ArgString.OPTIONS)), strings);
+			this.resultCache = new NetlistResultCache(new File(resultCacheDir), size, salt);
+		}
+	}
+
+	private static File getFile(DSGRNRuntimeEnv runEnv, String option) {
+		File rtn = null;
+		String value = runEnv.getOptionValue(option);
+		if (value != null) {
+			rtn = new File(value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the JSON object of a stage in the configuration of the <i>DSGRN</i>
+	 * application, which may hold settings that the stage itself does not read.
+	 *
+	 * @param name The name of the stage.
+	 * @return The JSON object of the stage, or an empty object if there is no such
+	 *         stage.
+	 */
+	public JSONObject getStageConfiguration(String name) {
+		JSONObject rtn = new JSONObject();
+		Object stages = this.configuration.get("stages");
+		if (stages instanceof JSONArray) {
+			for (Object stage : (JSONArray) stages) {
+				if (stage instanceof JSONObject && name.equals(((JSONObject) stage).get("name"))) {
+					rtn = (JSONObject) stage;
+				}
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns a hash of the content of the target data files and the application
+	 * configuration. Unless the target data cache already computed it, the files
+	 * are only read on the first call, since the hash is only needed for cached
+	 * results and the results index.
+	 *
+	 * @return The hash.
+	 * @throws CelloException Unable to read the target data files.
+	 */
+	public synchronized String getTargetDataHash() throws CelloException {
+		if (this.targetDataHash == null) {
+			this.targetDataHash = DSGRNUtils.getHash(this.targetDataFiles, Arrays.asList(this.config));
+		}
+		return targetDataHash;
+	}
+
+	/**
+	 * Getter for {@code resultCache}.
+	 *
+	 * @return The value of {@code resultCache}, or {@code null} if results are not
+	 *         cached.
+	 */
+	public NetlistResultCache getResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * Getter for {@code applicationConfiguration}.
+	 *
+	 * @return The value of {@code applicationConfiguration}.
+	 */
+	public ApplicationConfiguration getApplicationConfiguration() {
+		return applicationConfiguration;
+	}
+
+	/**
+	 * Getter for {@code targetData}.
+	 *
+	 * @return The value of {@code targetData}.
+	 */
+	public TargetData getTargetData() {
+		return targetData;
+	}
+
+	/**
+	 * Getter for {@code netlistConstraint}.
+	 *
+	 * @return The value of {@code netlistConstraint}.
+	 */
+	public NetlistConstraint getNetlistConstraint() {
+		return netlistConstraint;
+	}
+
+	private ApplicationConfiguration applicationConfiguration;
+	private TargetData targetData;
+	private NetlistConstraint netlistConstraint;
+	private JSONObject configuration;
+	private List<File> targetDataFiles;
+	private String config;
+	private String targetDataHash;
+	private NetlistResultCache resultCache;
+
+	private static final int S_TARGETDATACACHESIZE = 16;
+	private static final int S_RESULTCACHESIZE = 256;
+	private static final List<String> S_RESULTOPTIONS = Arrays.asList(DSGRNArgString.TMTIMEBUDGET);
+
+}
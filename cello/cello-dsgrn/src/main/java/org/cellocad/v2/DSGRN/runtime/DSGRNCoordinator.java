@@ -0,0 +1,756 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ProcessBuilder.Redirect;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+/**
+ * Runs the <i>DSGRN</i> application on the files of a batch in several local
+ * worker JVMs, so that a sweep is not bound by the heap of one JVM and a design
+ * that crashes its JVM does not end the sweep. The files are split into shards
+ * of consecutive files, and each worker takes the files of one shard at a time
+ * from the coordinator over a loopback connection, see {@link DSGRNWorker}. A
+ * worker that runs out of shards takes the later half of the largest shard of
+ * another worker.
+ * <p>
+ * A worker that exits before the batch is done is replaced, and the file it was
+ * processing is retried up to a maximum number of attempts, while a design that
+ * fails in a worker is reported as it is by {@link DSGRNBatch}. The workers
+ * write to the output directory of the batch as {@link DSGRNBatch} does, each
+ * with a log file and a file of its console output of its own, and the outcome
+ * of each file is written to {@link #S_SUMMARY}.
+ * <p>
+ * If the outputs are archived, see {@link DSGRNArchiveSink}, a file only has an
+ * outcome once the archive that holds its outputs is closed: a worker is told to
+ * roll its archive before it moves on to another shard, and the files of a lost
+ * worker whose archive was not closed are run again.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNCoordinator {
+
+	/**
+	 * Initializes a newly created {@link DSGRNCoordinator}.
+	 *
+	 * @param runEnv The runtime environment of the batch.
+	 */
+	public DSGRNCoordinator(DSGRNRuntimeEnv runEnv) {
+		this.runEnv = runEnv;
+	}
+
+	/**
+	 * Returns the number of worker JVMs requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The number of worker JVMs, or 0 to run the batch in this JVM.
+	 */
+	public static int getWorkers(DSGRNRuntimeEnv runEnv) {
+		int rtn = 0;
+		String value = runEnv.getOptionValue(DSGRNArgString.WORKERS);
+		if (value != null) {
+			rtn = Math.max(0, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns whether the runtime environment requests a batch shared among worker
+	 * JVMs, which then run the stages in place of this one.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return Whether the runtime environment requests a coordinator.
+	 */
+	public static boolean isCoordinator(DSGRNRuntimeEnv runEnv) {
+		return runEnv.getOptionValue(DSGRNArgString.BATCH) != null && DSGRNCoordinator.getWorkers(runEnv) > 0;
+	}
+
+	/**
+	 * Returns the number of files per shard requested in the runtime environment.
+	 *
+	 * @param runEnv  The runtime environment.
+	 * @param files   The number of files of the batch.
+	 * @param workers The number of worker JVMs.
+	 * @return The number of files per shard, by default a quarter of the files per
+	 *         worker.
+	 */
+	public static int getShardSize(DSGRNRuntimeEnv runEnv, int files, int workers) {
+		int rtn = (files + 4 * workers - 1) / (4 * workers);
+		String value = runEnv.getOptionValue(DSGRNArgString.SHARDSIZE);
+		if (value != null) {
+			rtn = Integer.parseInt(value);
+		}
+		return Math.max(1, rtn);
+	}
+
+	/**
+	 * Returns the maximum number of attempts at a file requested in the runtime
+	 * environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The maximum number of attempts, by default {@link #S_MAXATTEMPTS}.
+	 */
+	public static int getMaxAttempts(DSGRNRuntimeEnv runEnv) {
+		int rtn = S_MAXATTEMPTS;
+		String value = runEnv.getOptionValue(DSGRNArgString.MAXATTEMPTS);
+		if (value != null) {
+			rtn = Math.max(1, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the JVM options of a worker: the options of this JVM but those of a
+	 * debugger, which listens on a port of its own, and an exit on the first out
+	 * of memory error, so that the worker is replaced rather than left degraded.
+	 *
+	 * @param options The JVM options of this JVM.
+	 * @return The JVM options of a worker.
+	 */
+	static List<String> getJVMOptions(List<String> options) {
+		List<String> rtn = new ArrayList<>();
+		for (String option : options) {
+			if (option.startsWith("-agentlib:jdwp") || option.startsWith("-Xrunjdwp") || option.equals("-Xdebug")) {
+				continue;
+			}
+			rtn.add(option);
+		}
+		if (!rtn.contains(S_EXITONOOM)) {
+			rtn.add(S_EXITONOOM);
+		}
+		return rtn;
+	}
+
+	/**
+	 * A file of the batch with its outcome.
+	 */
+	static class Job {
+
+		Job(int id, File input, File outputDir) {
+			this.id = id;
+			this.input = input;
+			this.outputDir = outputDir;
+		}
+
+		/**
+		 * Getter for {@code input}.
+		 *
+		 * @return The value of {@code input}.
+		 */
+		File getInput() {
+			return input;
+		}
+
+		/**
+		 * Getter for {@code attempts}.
+		 *
+		 * @return The value of {@code attempts}.
+		 */
+		int getAttempts() {
+			return attempts;
+		}
+
+		/**
+		 * Getter for {@code status}.
+		 *
+		 * @return The value of {@code status}, or {@code null} without an outcome.
+		 */
+		String getStatus() {
+			return status;
+		}
+
+		private int id;
+		private File input;
+		private File outputDir;
+		private int attempts;
+		private String status;
+		private String error;
+
+	}
+
+	/**
+	 * The shards of a batch and the jobs taken from them by the workers. Each
+	 * worker owns at most one shard at a time and processes at most one job at a
+	 * time. Workers are told apart by an object of their own, their connection.
+	 */
+	static class WorkQueue {
+
+		/**
+		 * Initializes a newly created {@link WorkQueue}.
+		 *
+		 * @param jobs        The jobs, in order.
+		 * @param shardSize   The number of consecutive jobs per shard.
+		 * @param maxAttempts The maximum number of attempts at a job whose worker is
+		 *                    lost.
+		 */
+		WorkQueue(List<Job> jobs, int shardSize, int maxAttempts) {
+			this(jobs, shardSize, maxAttempts, false);
+		}
+
+		/**
+		 * Initializes a newly created {@link WorkQueue}.
+		 *
+		 * @param jobs        The jobs, in order.
+		 * @param shardSize   The number of consecutive jobs per shard.
+		 * @param maxAttempts The maximum number of attempts at a job whose worker is
+		 *                    lost.
+		 * @param archived    Whether the outputs of a job are only kept once the
+		 *                    worker rolls its archive.
+		 */
+		WorkQueue(List<Job> jobs, int shardSize, int maxAttempts, boolean archived) {
+			this.jobs = jobs;
+			this.maxAttempts = maxAttempts;
+			this.archived = archived;
+			this.remaining = jobs.size();
+			for (int i = 0; i < jobs.size(); i += shardSize) {
+				this.pending.add(new ArrayDeque<>(jobs.subList(i, Math.min(i + shardSize, jobs.size()))));
+			}
+		}
+
+		/**
+		 * Returns the next job of a worker: the next job of its shard, of the next
+		 * pending shard, or of the later half of the largest shard of another worker.
+		 * Waits while there is no such job but jobs of other workers may yet be
+		 * retried. A worker done with its shard rolls its archive first.
+		 *
+		 * @param worker The worker.
+		 * @return The job, {@link #S_ROLL} if the worker is to roll its archive, or
+		 *         {@code null} when every job has an outcome.
+		 * @throws InterruptedException Interrupted while waiting.
+		 */
+		synchronized Job take(Object worker) throws InterruptedException {
+			while (this.remaining > 0) {
+				Deque<Job> shard = this.owned.get(worker);
+				if (shard == null || shard.isEmpty()) {
+					if (this.unarchived.containsKey(worker)) {
+						return S_ROLL;
+					}
+					shard = this.pending.poll();
+					if (shard == null) {
+						shard = this.steal(worker);
+					}
+					if (shard == null) {
+						this.owned.remove(worker);
+					} else {
+						this.owned.put(worker, shard);
+					}
+				}
+				if (shard != null && !shard.isEmpty()) {
+					Job rtn = shard.poll();
+					rtn.attempts++;
+					this.running.put(worker, rtn);
+					return rtn;
+				}
+				this.wait();
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the later half of the largest shard of another worker, or
+		 * {@code null} if every other shard is empty.
+		 */
+		private Deque<Job> steal(Object worker) {
+			Deque<Job> victim = null;
+			for (Map.Entry<Object, Deque<Job>> e : this.owned.entrySet()) {
+				if (e.getKey() != worker && (victim == null || e.getValue().size() > victim.size())) {
+					victim = e.getValue();
+				}
+			}
+			if (victim == null || victim.isEmpty()) {
+				return null;
+			}
+			Deque<Job> rtn = new ArrayDeque<>();
+			for (int n = (victim.size() + 1) / 2; n > 0; n--) {
+				rtn.addFirst(victim.pollLast());
+			}
+			return rtn;
+		}
+
+		/**
+		 * Record the outcome of the job of a worker.
+		 *
+		 * @param worker The worker.
+		 * @param error  The error of the job, or {@code null} if it completed.
+		 * @return The job, or {@code null} if the worker has no job.
+		 */
+		synchronized Job complete(Object worker, String error) {
+			Job rtn = this.running.remove(worker);
+			if (rtn == null) {
+				return null;
+			}
+			if (this.archived) {
+				// the outcome waits for the archive of the worker
+				rtn.error = error;
+				this.unarchived.computeIfAbsent(worker, k -> new ArrayList<>()).add(rtn);
+			} else {
+				this.setOutcome(rtn, error);
+			}
+			return rtn;
+		}
+
+		/**
+		 * Record the outcome of the jobs of a worker whose outputs are in the archive
+		 * it closed.
+		 *
+		 * @param worker The worker.
+		 */
+		synchronized void archive(Object worker) {
+			List<Job> jobs = this.unarchived.remove(worker);
+			if (jobs != null) {
+				for (Job job : jobs) {
+					this.setOutcome(job, job.error);
+				}
+			}
+		}
+
+		/**
+		 * Return the shard and the job of a lost worker to the pending shards, with
+		 * the jobs whose outputs were not archived. A job fails once it has been
+		 * attempted the maximum number of times.
+		 *
+		 * @param worker The worker.
+		 * @return The job of the worker, or {@code null} if it had none.
+		 */
+		synchronized Job release(Object worker) {
+			Job rtn = this.running.remove(worker);
+			Deque<Job> shard = this.owned.remove(worker);
+			if (shard != null && !shard.isEmpty()) {
+				this.pending.addFirst(shard);
+			}
+			List<Job> lost = this.unarchived.remove(worker);
+			if (lost == null) {
+				lost = new ArrayList<>();
+			}
+			if (rtn != null) {
+				lost.add(rtn);
+			}
+			Deque<Job> retry = new ArrayDeque<>();
+			for (Job job : lost) {
+				job.error = null;
+				if (job.attempts >= this.maxAttempts) {
+					this.setOutcome(job, "The worker was lost on each of " + job.attempts + " attempts.");
+				} else {
+					retry.add(job);
+				}
+			}
+			if (!retry.isEmpty()) {
+				this.pending.addFirst(retry);
+			}
+			this.notifyAll();
+			return rtn;
+		}
+
+		/**
+		 * Fail every job without an outcome.
+		 *
+		 * @param error The error of the jobs.
+		 */
+		synchronized void abort(String error) {
+			for (Job job : this.jobs) {
+				this.setOutcome(job, error);
+			}
+		}
+
+		private void setOutcome(Job job, String error) {
+			if (job.status != null) {
+				return;
+			}
+			job.status = error == null ? S_COMPLETED : S_FAILED;
+			job.error = error;
+			this.remaining--;
+			this.notifyAll();
+		}
+
+		/**
+		 * Wait until every job has an outcome.
+		 *
+		 * @throws InterruptedException Interrupted while waiting.
+		 */
+		synchronized void await() throws InterruptedException {
+			while (this.remaining > 0) {
+				this.wait();
+			}
+		}
+
+		/**
+		 * Returns true if every job has an outcome.
+		 *
+		 * @return True if every job has an outcome.
+		 */
+		synchronized boolean isDone() {
+			return this.remaining == 0;
+		}
+
+		private List<Job> jobs;
+		private int maxAttempts;
+		private boolean archived;
+		private int remaining;
+		private Deque<Deque<Job>> pending = new ArrayDeque<>();
+		private Map<Object, Deque<Job>> owned = new HashMap<>();
+		private Map<Object, Job> running = new HashMap<>();
+		private Map<Object, List<Job>> unarchived = new HashMap<>();
+
+		/**
+		 * The job that tells a worker to roll its archive.
+		 */
+		static final Job S_ROLL = new Job(-1, null, null);
+
+	}
+
+	/**
+	 * Process every file of the batch in the worker JVMs.
+	 *
+	 * @throws CelloException Unable to resolve the batch or to start the workers,
+	 *                        or at least one file failed.
+	 */
+	public void execute() throws CelloException {
+		DSGRNRuntimeEnv runEnv = this.getRuntimeEnv();
+		List<File> files = DSGRNBatch.getInputFiles(runEnv.getOptionValue(DSGRNArgString.BATCH));
+		List<String> names = DSGRNBatch.getDesignNames(files);
+		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+			throw new CelloException("Unable to create output directory: " + outputDir);
+		}
+		List<Job> jobs = new ArrayList<>();
+		for (int i = 0; i < files.size(); i++) {
+			jobs.add(new Job(i, files.get(i), new File(outputDir, names.get(i))));
+		}
+		int workers = Math.min(DSGRNCoordinator.getWorkers(runEnv), files.size());
+		int shardSize = DSGRNCoordinator.getShardSize(runEnv, files.size(), Math.max(1, workers));
+		boolean archived = !DSGRNOutputSink.getFormat(runEnv).equals(DSGRNOutputSink.S_NONE);
+		this.queue = new WorkQueue(jobs, shardSize, DSGRNCoordinator.getMaxAttempts(runEnv), archived);
+		getLogger().info("Processing " + files.size() + " files in shards of " + shardSize + " with " + workers
+		        + " worker JVMs.");
+		try (ServerSocket server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+			this.address = server.getInetAddress().getHostAddress() + ":" + server.getLocalPort();
+			Thread acceptor = new Thread(() -> this.accept(server), S_THREAD);
+			acceptor.setDaemon(true);
+			acceptor.start();
+			synchronized (this) {
+				for (int i = 0; i < workers; i++) {
+					this.startWorker();
+				}
+			}
+			this.getQueue().await();
+		} catch (IOException e) {
+			throw new CelloException("Unable to listen for workers.", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.getQueue().abort("Batch interrupted.");
+		} finally {
+			this.stopWorkers();
+		}
+		this.writeSummary(jobs, new File(outputDir, S_SUMMARY));
+		int failed = 0;
+		for (Job job : jobs) {
+			if (S_FAILED.equals(job.status)) {
+				failed++;
+			}
+		}
+		if (failed > 0) {
+			throw new CelloException(failed + " of " + jobs.size() + " files failed.");
+		}
+	}
+
+	/**
+	 * Start a worker JVM, watched by a thread that replaces it if it exits before
+	 * the batch is done.
+	 */
+	private synchronized void startWorker() {
+		int id = ++this.numWorkers;
+		File outputDir = new File(this.getRuntimeEnv().getOptionValue(ArgString.OUTPUTDIR));
+		String name = S_WORKER + id;
+		List<String> command = new ArrayList<>();
+		command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+		command.addAll(DSGRNCoordinator.getJVMOptions(ManagementFactory.getRuntimeMXBean().getInputArguments()));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(Main.class.getName());
+		command.addAll(Arrays.asList(this.getRuntimeEnv().getWorkerArgs(this.address, id, name + S_LOG)));
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(Redirect.appendTo(new File(outputDir, name + S_OUT)));
+		Process process;
+		try {
+			process = builder.start();
+		} catch (IOException e) {
+			getLogger().error("Unable to start worker " + id + ": " + e.getMessage());
+			this.getQueue().abort("Unable to start a worker JVM.");
+			return;
+		}
+		this.processes.add(process);
+		Thread watcher = new Thread(() -> {
+			DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+			try {
+				this.watch(id, process);
+			} finally {
+				log.close();
+			}
+		}, S_THREAD);
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * Wait for a worker JVM to exit, and replace it if the batch is not done. The
+	 * batch is aborted once too many workers exited before saying hello.
+	 */
+	private void watch(int id, Process process) {
+		int code;
+		try {
+			code = process.waitFor();
+		} catch (InterruptedException e) {
+			return;
+		}
+		synchronized (this) {
+			this.processes.remove(process);
+			if (this.getQueue().isDone()) {
+				return;
+			}
+			getLogger().warn("Worker " + id + " exited with code " + code + ", see " + S_WORKER + id + S_OUT + ".");
+			if (!this.connected.contains(String.valueOf(id)) && ++this.startupFailures >= S_STARTUPFAILURES) {
+				this.getQueue().abort(this.startupFailures + " worker JVMs exited before taking a file.");
+				return;
+			}
+			this.startWorker();
+		}
+	}
+
+	/**
+	 * Stop the worker JVMs: the workers are told to stop when they next take a
+	 * file, and those still running after {@link #S_STOPSECONDS} are destroyed.
+	 */
+	private void stopWorkers() {
+		List<Process> processes;
+		synchronized (this) {
+			processes = new ArrayList<>(this.processes);
+		}
+		for (Process process : processes) {
+			try {
+				if (!process.waitFor(S_STOPSECONDS, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	/**
+	 * Accept the connections of the workers until the server is closed.
+	 */
+	private void accept(ServerSocket server) {
+		while (!server.isClosed()) {
+			Socket socket;
+			try {
+				socket = server.accept();
+			} catch (IOException e) {
+				return;
+			}
+			Thread thread = new Thread(() -> {
+				// the events of the coordinator go to the log file of the batch
+				DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+				try {
+					this.serve(socket);
+				} finally {
+					log.close();
+				}
+			}, S_THREAD);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Serve the connection of a worker: hand it jobs until every job has an
+	 * outcome, and release its jobs if it is lost.
+	 */
+	@SuppressWarnings("unchecked")
+	private void serve(Socket socket) {
+		String id = null;
+		try (Socket s = socket;
+		        BufferedReader reader = new BufferedReader(
+		                new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+		        Writer writer = new BufferedWriter(
+		                new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+			JSONObject hello = DSGRNWorker.read(reader);
+			if (hello == null || !DSGRNWorker.S_HELLO.equals(hello.get(DSGRNWorker.S_TYPE))) {
+				return;
+			}
+			id = String.valueOf(hello.get(DSGRNWorker.S_WORKER));
+			synchronized (this) {
+				this.connected.add(id);
+			}
+			JSONObject message;
+			while ((message = DSGRNWorker.read(reader)) != null) {
+				Object type = message.get(DSGRNWorker.S_TYPE);
+				if (DSGRNWorker.S_RESULT.equals(type)) {
+					String error = (String) message.get(DSGRNWorker.S_ERROR);
+					Job job = this.getQueue().complete(socket, error);
+					if (job != null && error != null) {
+						getLogger().error("Design " + job.input + " failed in worker " + id + ": " + error);
+					}
+				} else if (DSGRNWorker.S_ARCHIVED.equals(type)) {
+					this.getQueue().archive(socket);
+				} else if (DSGRNWorker.S_TAKE.equals(type)) {
+					Job job = this.getQueue().take(socket);
+					if (job == null) {
+						DSGRNWorker.write(writer, DSGRNWorker.getMessage(DSGRNWorker.S_STOP));
+						break;
+					}
+					if (job == WorkQueue.S_ROLL) {
+						DSGRNWorker.write(writer, DSGRNWorker.getMessage(DSGRNWorker.S_ROLL));
+						continue;
+					}
+					JSONObject reply = DSGRNWorker.getMessage(DSGRNWorker.S_JOB);
+					reply.put(DSGRNWorker.S_ID, job.id);
+					reply.put(DSGRNWorker.S_INPUT, job.input.getAbsolutePath());
+					reply.put(DSGRNWorker.S_OUTPUTDIR, job.outputDir.getAbsolutePath());
+					DSGRNWorker.write(writer, reply);
+				}
+			}
+		} catch (IOException e) {
+			getLogger().warn("Lost worker " + id + ": " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// the job may be taken again as soon as it is released
+			synchronized (this.getQueue()) {
+				Job job = this.getQueue().release(socket);
+				if (job != null) {
+					getLogger().warn("Worker " + id + " was lost while processing " + job.input + ", attempt "
+					        + job.attempts + ".");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the outcome of each file.
+	 */
+	private void writeSummary(List<Job> jobs, File file) {
+		List<Map<String, Object>> summary = new ArrayList<>();
+		for (Job job : jobs) {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put(DSGRNWorker.S_INPUT, job.input.getAbsolutePath());
+			entry.put(DSGRNWorker.S_OUTPUTDIR, job.outputDir.getAbsolutePath());
+			entry.put(S_STATUS, job.status);
+			entry.put(S_ATTEMPTS, job.attempts);
+			entry.put(DSGRNWorker.S_ERROR, job.error);
+			summary.add(entry);
+		}
+		try {
+			Files.write(file.toPath(), JSONValue.toJSONString(summary).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			getLogger().warn("Unable to write " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code queue}.
+	 *
+	 * @return The value of {@code queue}.
+	 */
+	protected WorkQueue getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNCoordinator} class.
+	 *
+	 * @return The logger for the {@link DSGRNCoordinator} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNCoordinator.logger;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private WorkQueue queue;
+	private String address;
+	private int numWorkers;
+	private int startupFailures;
+	private List<Process> processes = new ArrayList<>();
+	private Set<String> connected = new HashSet<>();
+
+	private static final Logger logger = LogManager.getLogger(DSGRNCoordinator.class);
+
+	private static final int S_MAXATTEMPTS = 3;
+	private static final int S_STARTUPFAILURES = 3;
+	private static final long S_STOPSECONDS = 60;
+	private static final String S_EXITONOOM = "-XX:+ExitOnOutOfMemoryError";
+	private static final String S_THREAD = "dsgrn-coordinator";
+	public static final String S_WORKER = "worker_";
+	private static final String S_LOG = ".log";
+	private static final String S_OUT = ".out";
+
+	public static final String S_SUMMARY = "batch_summary.json";
+	public static final String S_STATUS = "status";
+	public static final String S_ATTEMPTS = "attempts";
+	public static final String S_COMPLETED = "completed";
+	public static final String S_FAILED = "failed";
+
+}
@@ -0,0 +1,368 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.MultiStartTechnologyMapping;
+import org.cellocad.v2.DSGRN.technologyMapping.TMProgressListener;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.results.common.Results;
+import org.cellocad.v2.results.netlist.Netlist;
+
+/**
+ * The state of a single design as it moves through the steps of a
+ * {@link DSGRNPipeline}: its netlist, runtime environment, output, and
+ * checkpoints. A design is only used by one step at a time.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNDesign {
+
+	/**
+	 * Initializes a newly created {@link DSGRNDesign}.
+	 *
+	 * @param netlist       The netlist converted from the design.
+	 * @param runEnv        The runtime environment of the design.
+	 * @param inputFilePath The path of the design.
+	 * @param metrics       The metrics of the design.
+	 */
+	public DSGRNDesign(Netlist netlist, DSGRNRuntimeEnv runEnv, String inputFilePath, DSGRNMetrics metrics) {
+		this.netlist = netlist;
+		this.runEnv = runEnv;
+		this.inputFilePath = inputFilePath;
+		this.metrics = metrics;
+		this.outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		this.name = netlist.getName();
+		this.stop = DSGRNPipeline.S_STAGES.size() - 1;
+	}
+
+	/**
+	 * Getter for {@code name}.
+	 *
+	 * @return The value of {@code name}.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for {@code netlist}.
+	 *
+	 * @return The value of {@code netlist}.
+	 */
+	public Netlist getNetlist() {
+		return netlist;
+	}
+
+	/**
+	 * Setter for {@code netlist}.
+	 *
+	 * @param netlist The value to set {@code netlist}.
+	 */
+	protected void setNetlist(Netlist netlist) {
+		this.netlist = netlist;
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	public DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code inputFilePath}.
+	 *
+	 * @return The value of {@code inputFilePath}.
+	 */
+	public String getInputFilePath() {
+		return inputFilePath;
+	}
+
+	/**
+	 * Getter for {@code metrics}.
+	 *
+	 * @return The value of {@code metrics}.
+	 */
+	public DSGRNMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Getter for {@code outputDir}.
+	 *
+	 * @return The value of {@code outputDir}.
+	 */
+	public File getOutputDir() {
+		return outputDir;
+	}
+
+	/**
+	 * Getter for {@code results}.
+	 *
+	 * @return The value of {@code results}.
+	 */
+	protected Results getResults() {
+		return results;
+	}
+
+	/**
+	 * Setter for {@code results}.
+	 *
+	 * @param results The value to set {@code results}.
+	 */
+	protected void setResults(Results results) {
+		this.results = results;
+	}
+
+	/**
+	 * Getter for {@code checkpoints}.
+	 *
+	 * @return The value of {@code checkpoints}.
+	 */
+	protected DSGRNCheckpoints getCheckpoints() {
+		return checkpoints;
+	}
+
+	/**
+	 * Setter for {@code checkpoints}.
+	 *
+	 * @param checkpoints The value to set {@code checkpoints}.
+	 */
+	protected void setCheckpoints(DSGRNCheckpoints checkpoints) {
+		this.checkpoints = checkpoints;
+	}
+
+	/**
+	 * Getter for {@code resume}, the index of the first stage to execute.
+	 *
+	 * @return The value of {@code resume}.
+	 */
+	protected int getResume() {
+		return resume;
+	}
+
+	/**
+	 * Setter for {@code resume}.
+	 *
+	 * @param resume The value to set {@code resume}.
+	 */
+	protected void setResume(int resume) {
+		this.resume = resume;
+	}
+
+	/**
+	 * Getter for {@code stop}, the index of the last stage to execute.
+	 *
+	 * @return The value of {@code stop}.
+	 */
+	protected int getStop() {
+		return stop;
+	}
+
+	/**
+	 * Setter for {@code stop}.
+	 *
+	 * @param stop The value to set {@code stop}.
+	 */
+	protected void setStop(int stop) {
+		this.stop = stop;
+	}
+
+	/**
+	 * Returns whether a stage is in the range of stages to execute on this design.
+	 *
+	 * @param stage The stage, one of {@link DSGRNPipeline#S_STAGES}.
+	 * @return Whether the stage is to be executed.
+	 */
+	protected boolean isExecuted(String stage) {
+		int index = DSGRNPipeline.S_STAGES.indexOf(stage);
+		return index >= this.getResume() && index <= this.getStop();
+	}
+
+	/**
+	 * Getter for {@code cacheKey}, the key of the netlist in the result cache.
+	 *
+	 * @return The value of {@code cacheKey}, or {@code null} if the result is not
+	 *         to be cached.
+	 */
+	protected String getCacheKey() {
+		return cacheKey;
+	}
+
+	/**
+	 * Setter for {@code cacheKey}.
+	 *
+	 * @param cacheKey The value to set {@code cacheKey}.
+	 */
+	protected void setCacheKey(String cacheKey) {
+		this.cacheKey = cacheKey;
+	}
+
+	/**
+	 * Getter for {@code cached}, the last stage whose result was loaded from the
+	 * result cache.
+	 *
+	 * @return The value of {@code cached}, or {@code null} if no result was loaded.
+	 */
+	protected String getCached() {
+		return cached;
+	}
+
+	/**
+	 * Setter for {@code cached}.
+	 *
+	 * @param cached The value to set {@code cached}.
+	 */
+	protected void setCached(String cached) {
+		this.cached = cached;
+	}
+
+	/**
+	 * Returns whether the result of a stage was loaded from the result cache.
+	 *
+	 * @param stage The name of the stage.
+	 * @return Whether the result of the stage was loaded from the result cache.
+	 */
+	protected boolean isCached(String stage) {
+		return this.getCached() != null
+		        && DSGRNPipeline.S_STAGES.indexOf(stage) <= DSGRNPipeline.S_STAGES.indexOf(this.getCached());
+	}
+
+	/**
+	 * Getter for {@code score}, the circuit score of the technologyMapping stage.
+	 *
+	 * @return The value of {@code score}, or {@code null} if the stage did not run
+	 *         on this design.
+	 */
+	public Double getScore() {
+		return score;
+	}
+
+	/**
+	 * Setter for {@code score}.
+	 *
+	 * @param score The value to set {@code score}.
+	 */
+	protected void setScore(Double score) {
+		this.score = score;
+	}
+
+	/**
+	 * Getter for {@code outputSink}.
+	 *
+	 * @return The value of {@code outputSink}.
+	 */
+	public DSGRNOutputSink getOutputSink() {
+		return outputSink;
+	}
+
+	/**
+	 * Setter for {@code outputSink}.
+	 *
+	 * @param outputSink The value to set {@code outputSink}.
+	 */
+	protected void setOutputSink(DSGRNOutputSink outputSink) {
+		this.outputSink = outputSink;
+	}
+
+	/**
+	 * Add a listener to the progress of the technologyMapping stage of this
+	 * design.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addListener(TMProgressListener listener) {
+		this.getListeners().add(listener);
+	}
+
+	/**
+	 * Getter for {@code listeners}.
+	 *
+	 * @return The value of {@code listeners}.
+	 */
+	protected List<TMProgressListener> getListeners() {
+		return listeners;
+	}
+
+	/**
+	 * Stop the technologyMapping stage of this design after its current round of
+	 * chains, or after its first round if it has not started. The stage keeps the
+	 * best assignment found so far, and the later stages run as usual.
+	 */
+	public synchronized void cancel() {
+		this.cancelled = true;
+		if (this.technologyMapping != null) {
+			this.technologyMapping.cancel();
+		}
+	}
+
+	/**
+	 * Returns whether {@link #cancel()} was called.
+	 *
+	 * @return Whether the design was cancelled.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Setter for {@code technologyMapping}, the technologyMapping stage in
+	 * progress on this design. A stage set on a cancelled design is cancelled.
+	 *
+	 * @param technologyMapping The value to set {@code technologyMapping}, or
+	 *                          {@code null} once the stage is done.
+	 */
+	protected synchronized void setTechnologyMapping(MultiStartTechnologyMapping technologyMapping) {
+		this.technologyMapping = technologyMapping;
+		if (technologyMapping != null && this.isCancelled()) {
+			technologyMapping.cancel();
+		}
+	}
+
+	private String name;
+	private Netlist netlist;
+	private DSGRNRuntimeEnv runEnv;
+	private String inputFilePath;
+	private DSGRNMetrics metrics;
+	private File outputDir;
+	private Results results;
+	private DSGRNCheckpoints checkpoints;
+	private int resume;
+	private int stop;
+	private String cacheKey;
+	private String cached;
+	private Double score;
+	private DSGRNOutputSink outputSink;
+	private List<TMProgressListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile boolean cancelled;
+	private MultiStartTechnologyMapping technologyMapping;
+
+}
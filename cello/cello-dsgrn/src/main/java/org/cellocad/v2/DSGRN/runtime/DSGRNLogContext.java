@@ -0,0 +1,226 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+
+/**
+ * The log file of the current thread. The logging configuration of the
+ * <i>DSGRN</i> application routes each event to the file named in the thread
+ * context under {@link #S_LOGFILE}, so that designs processed at the same time
+ * each write their own log file without a global setting. Events logged by a
+ * thread without a log file go to the console.
+ * <p>
+ * A context is opened for the duration of the work of a design, and restores the
+ * log file of the thread when closed, so that contexts can be nested:
+ *
+ * <pre>
+ * try (DSGRNLogContext log = DSGRNLogContext.open(design.getRuntimeEnv())) {
+ * 	...
+ * }
+ * </pre>
+ *
+ * A task submitted to another thread, such as a pool shared by every design,
+ * takes the log file of the thread that submits it with
+ * {@link #wrap(Callable)} or {@link #wrap(Runnable)}.
+ * <p>
+ * The events are written asynchronously, so a log file may not be complete
+ * when the work of its design is done: once {@link #isWritten()}, the events
+ * logged until then are written, and the log file can be closed with
+ * {@link #close(File)}.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNLogContext implements AutoCloseable {
+
+	private DSGRNLogContext(String previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the log file of a runtime environment: the log file name of the
+	 * runtime environment, by default {@code log.log}, in its output directory.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The log file.
+	 */
+	public static File getLogFile(DSGRNRuntimeEnv runEnv) {
+		String logfile = runEnv.getOptionValue(ArgString.LOGFILENAME);
+		if (logfile == null) {
+			logfile = S_LOGFILEDEFAULT;
+		}
+		return new File(runEnv.getOptionValue(ArgString.OUTPUTDIR), logfile);
+	}
+
+	/**
+	 * Route the events of the current thread to a log file until the returned
+	 * context is closed.
+	 *
+	 * @param file The log file.
+	 * @return The context.
+	 */
+	public static DSGRNLogContext open(File file) {
+		return DSGRNLogContext.open(file.getAbsolutePath());
+	}
+
+	/**
+	 * Route the events of the current thread to a log file, or to the console if
+	 * the path is {@code null}, until the returned context is closed.
+	 */
+	private static DSGRNLogContext open(String path) {
+		DSGRNLogContext rtn = new DSGRNLogContext(ThreadContext.get(S_LOGFILE));
+		rtn.restore(path);
+		return rtn;
+	}
+
+	/**
+	 * Route the events of the current thread to the log file of a runtime
+	 * environment until the returned context is closed.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The context.
+	 * @see #getLogFile(DSGRNRuntimeEnv)
+	 */
+	public static DSGRNLogContext open(DSGRNRuntimeEnv runEnv) {
+		return DSGRNLogContext.open(DSGRNLogContext.getLogFile(runEnv));
+	}
+
+	/**
+	 * Returns a task that runs with the log file of the current thread, wherever
+	 * it runs.
+	 *
+	 * @param <T>  The type of the result of the task.
+	 * @param task The task.
+	 * @return The task with the log file of the current thread.
+	 */
+	public static <T> Callable<T> wrap(Callable<T> task) {
+		String path = ThreadContext.get(S_LOGFILE);
+		return () -> {
+			DSGRNLogContext log = DSGRNLogContext.open(path);
+			try {
+				return task.call();
+			} finally {
+				log.close();
+			}
+		};
+	}
+
+	/**
+	 * Returns a task that runs with the log file of the current thread, wherever
+	 * it runs.
+	 *
+	 * @param task The task.
+	 * @return The task with the log file of the current thread.
+	 */
+	public static Runnable wrap(Runnable task) {
+		String path = ThreadContext.get(S_LOGFILE);
+		return () -> {
+			DSGRNLogContext log = DSGRNLogContext.open(path);
+			try {
+				task.run();
+			} finally {
+				log.close();
+			}
+		};
+	}
+
+	/**
+	 * Returns whether every event logged so far has been handed to its log file.
+	 *
+	 * @return Whether no event is waiting to be written.
+	 */
+	public static boolean isWritten() {
+		LoggerContext context = LoggerContext.getContext(false);
+		Configuration config = context.getConfiguration();
+		RingBufferAdmin admin = null;
+		if (context instanceof AsyncLoggerContext) {
+			admin = ((AsyncLoggerContext) context).createRingBufferAdmin();
+		} else if (config.getRootLogger() instanceof AsyncLoggerConfig) {
+			admin = config.getAsyncLoggerConfigDelegate().createRingBufferAdmin(context.getName(),
+			        LogManager.ROOT_LOGGER_NAME);
+		}
+		return admin == null || admin.getRemainingCapacity() == admin.getBufferSize();
+	}
+
+	/**
+	 * Close a log file: its pending output is written and the file is released. A
+	 * later event routed to the log file opens it again.
+	 *
+	 * @param file The log file.
+	 * @see #isWritten()
+	 */
+	public static void close(File file) {
+		Appender appender = LoggerContext.getContext(false).getConfiguration().getAppender(S_ROUTING);
+		if (appender instanceof RoutingAppender) {
+			((RoutingAppender) appender).deleteAppender(file.getAbsolutePath());
+		}
+	}
+
+	/**
+	 * Restore the log file of the current thread from before this context was
+	 * opened.
+	 */
+	@Override
+	public void close() {
+		this.restore(this.previous);
+	}
+
+	/**
+	 * Set the log file of the current thread.
+	 */
+	private void restore(String path) {
+		if (path == null) {
+			ThreadContext.remove(S_LOGFILE);
+		} else {
+			ThreadContext.put(S_LOGFILE, path);
+		}
+	}
+
+	private String previous;
+
+	/**
+	 * The key of the log file in the thread context, used by the routing appender
+	 * of the logging configuration.
+	 */
+	public static final String S_LOGFILE = "dsgrn.logfile";
+	private static final String S_LOGFILEDEFAULT = "log.log";
+	/**
+	 * The name of the routing appender of the logging configuration.
+	 */
+	private static final String S_ROUTING = "Designs";
+
+}
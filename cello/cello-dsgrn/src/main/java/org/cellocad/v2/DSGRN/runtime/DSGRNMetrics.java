@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * Measures the phases of the processing of a design: wall time, CPU time and
+ * allocated bytes of the calling thread, and the number and duration of the
+ * garbage collections of the whole process during the phase. Repeated phases
+ * of the same name are summed. Each phase is also recorded as a
+ * {@code org.cellocad.v2.DSGRN.Phase} Flight Recorder event when the runtime
+ * supports it.
+ * <p>
+ * Work done by other threads, such as the chains of the technology mapping, is
+ * in the wall time of the phase that waits for it but not in its CPU time or
+ * allocation. Background rendering is measured on its own thread, as a phase of
+ * its own.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNMetrics {
+
+	/**
+	 * Initializes a newly created {@link DSGRNMetrics}.
+	 *
+	 * @param name The name of the design.
+	 */
+	public DSGRNMetrics(String name) {
+		this.name = name;
+		this.phases = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Initializes a newly created {@link DSGRNMetrics} with the phases already
+	 * measured for the input file of the design, such as its conversion.
+	 *
+	 * @param name   The name of the design.
+	 * @param shared The metrics of the input file.
+	 */
+	public DSGRNMetrics(String name, DSGRNMetrics shared) {
+		this(name);
+		synchronized (shared) {
+			for (Map.Entry<String, long[]> e : shared.phases.entrySet()) {
+				this.phases.put(e.getKey(), e.getValue().clone());
+			}
+		}
+	}
+
+	/**
+	 * Start measuring a phase. The phase ends when the returned object is closed,
+	 * on the same thread.
+	 *
+	 * @param phase The name of the phase.
+	 * @return The running phase.
+	 */
+	public Phase start(String phase) {
+		return new Phase(phase);
+	}
+
+	/**
+	 * A running phase.
+	 */
+	public class Phase implements AutoCloseable {
+
+		private Phase(String phase) {
+			this.phase = phase;
+			if (S_EVENT != null) {
+				this.event = S_EVENT.start();
+			}
+			this.gc = getGarbageCollection();
+			this.allocated = getAllocatedBytes();
+			this.cpu = getCpuTime();
+			this.wall = System.nanoTime();
+		}
+
+		@Override
+		public void close() {
+			long[] values = new long[S_NUMVALUES];
+			values[S_COUNT] = 1;
+			values[S_WALL] = System.nanoTime() - this.wall;
+			values[S_CPU] = getCpuTime() - this.cpu;
+			values[S_ALLOCATED] = getAllocatedBytes() - this.allocated;
+			long[] gc = getGarbageCollection();
+			values[S_GCCOUNT] = gc[0] - this.gc[0];
+			values[S_GCTIME] = gc[1] - this.gc[1];
+			if (this.event != null) {
+				S_EVENT.finish(this.event, DSGRNMetrics.this.getName(), this.phase, values[S_CPU],
+				        values[S_ALLOCATED]);
+			}
+			DSGRNMetrics.this.add(this.phase, values);
+		}
+
+		private String phase;
+		private Object event;
+		private long wall;
+		private long cpu;
+		private long allocated;
+		private long[] gc;
+
+	}
+
+	private synchronized void add(String phase, long[] values) {
+		long[] total = this.phases.get(phase);
+		if (total == null) {
+			this.phases.put(phase, values);
+			return;
+		}
+		for (int i = 0; i < S_NUMVALUES; i++) {
+			total[i] += values[i];
+		}
+	}
+
+	private static long getCpuTime() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		return bean.isCurrentThreadCpuTimeSupported() ? bean.getCurrentThreadCpuTime() : 0;
+	}
+
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		long rtn = 0;
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			rtn = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return Math.max(rtn, 0);
+	}
+
+	/*
+	 * the number and the duration in milliseconds of the collections so far
+	 */
+	private static long[] getGarbageCollection() {
+		long[] rtn = new long[2];
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			rtn[0] += Math.max(bean.getCollectionCount(), 0);
+			rtn[1] += Math.max(bean.getCollectionTime(), 0);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the metrics as JSON.
+	 *
+	 * @return The metrics as JSON.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized JSONObject getJSON() {
+		JSONObject rtn = new JSONObject();
+		rtn.put("design", this.getName());
+		JSONArray phases = new JSONArray();
+		long[] total = new long[S_NUMVALUES];
+		for (Map.Entry<String, long[]> e : this.phases.entrySet()) {
+			phases.add(getJSON(e.getKey(), e.getValue()));
+			for (int i = 0; i < S_NUMVALUES; i++) {
+				total[i] += e.getValue()[i];
+			}
+		}
+		rtn.put("phases", phases);
+		rtn.put("total", getJSON("total", total));
+		return rtn;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONObject getJSON(String phase, long[] values) {
+		JSONObject rtn = new JSONObject();
+		rtn.put("phase", phase);
+		rtn.put("count", values[S_COUNT]);
+		rtn.put("wall_time_ms", values[S_WALL] / 1e6);
+		rtn.put("cpu_time_ms", values[S_CPU] / 1e6);
+		rtn.put("allocated_bytes", values[S_ALLOCATED]);
+		rtn.put("gc_count", values[S_GCCOUNT]);
+		rtn.put("gc_time_ms", values[S_GCTIME]);
+		return rtn;
+	}
+
+	/**
+	 * Write the metrics as JSON.
+	 *
+	 * @param file The file.
+	 * @throws CelloException Unable to write the file.
+	 */
+	public void write(File file) throws CelloException {
+		try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			this.getJSON().writeJSONString(w);
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Getter for {@code name}.
+	 *
+	 * @return The value of {@code name}.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	private String name;
+	private Map<String, long[]> phases;
+
+	private static final DSGRNPhaseEvent S_EVENT = DSGRNPhaseEvent.getInstance();
+
+	private static final int S_COUNT = 0;
+	private static final int S_WALL = 1;
+	private static final int S_CPU = 2;
+	private static final int S_ALLOCATED = 3;
+	private static final int S_GCCOUNT = 4;
+	private static final int S_GCTIME = 5;
+	private static final int S_NUMVALUES = 6;
+
+	public static final String S_METRICS = "metrics.json";
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+
+/**
+ * The destination of the outputs of the files of a batch. The stages write the
+ * outputs of a file to a directory, which the sink provides, and the file is
+ * added to the sink once it is done. This sink leaves the outputs of each file
+ * in its subdirectory of the output directory, and a {@link DSGRNArchiveSink}
+ * streams them into a single archive. The format is selected in the runtime
+ * environment:
+ * <ul>
+ * <li>{@code none} (default): a subdirectory of the output directory per
+ * file;</li>
+ * <li>{@code zip}: a zip archive in the output directory;</li>
+ * <li>{@code tar}: a tar archive in the output directory.</li>
+ * </ul>
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNOutputSink implements AutoCloseable {
+
+	/**
+	 * Initializes a newly created {@link DSGRNOutputSink}.
+	 *
+	 * @param outputDir The output directory of the batch.
+	 */
+	protected DSGRNOutputSink(File outputDir) {
+		this.outputDir = outputDir;
+	}
+
+	/**
+	 * Returns the sink requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment of the batch.
+	 * @return The sink.
+	 * @throws CelloException Unknown format, or unable to create the archive.
+	 */
+	public static DSGRNOutputSink getOutputSink(DSGRNRuntimeEnv runEnv) throws CelloException {
+		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		String format = DSGRNOutputSink.getFormat(runEnv);
+		if (format.equals(S_NONE)) {
+			return new DSGRNOutputSink(outputDir);
+		}
+		return new DSGRNArchiveSink(runEnv, outputDir, format);
+	}
+
+	/**
+	 * Returns the format of the outputs requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The format, by default {@value #S_NONE}.
+	 * @throws CelloException Unknown format.
+	 */
+	public static String getFormat(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String rtn = runEnv.getOptionValue(DSGRNArgString.OUTPUTARCHIVE);
+		if (rtn == null) {
+			rtn = S_NONE;
+		}
+		if (!(rtn.equals(S_NONE) || rtn.equals(S_ZIP) || rtn.equals(S_TAR))) {
+			throw new CelloException("Unknown output archive: " + rtn);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the directory to which the outputs of a file are written.
+	 *
+	 * @param dir The subdirectory of the output directory for the file.
+	 * @return The directory.
+	 */
+	public File getOutputDir(File dir) {
+		return dir;
+	}
+
+	/**
+	 * Add the outputs of a file once it is done.
+	 *
+	 * @param inputFile The input file.
+	 * @param dir       The directory of its outputs, as returned by
+	 *                  {@link #getOutputDir(File)}.
+	 * @throws CelloException Unable to add the outputs.
+	 */
+	public void add(File inputFile, File dir) throws CelloException {
+	}
+
+	/**
+	 * Returns the location of an output once it is added.
+	 *
+	 * @param file The output, in a directory returned by
+	 *             {@link #getOutputDir(File)}.
+	 * @return The location of the output.
+	 */
+	public String getLocation(File file) {
+		return file.getAbsolutePath();
+	}
+
+	/**
+	 * Returns whether the outputs leave their directory when added.
+	 *
+	 * @return Whether the outputs leave their directory when added.
+	 */
+	public boolean isArchive() {
+		return false;
+	}
+
+	/**
+	 * Complete the outputs added so far, so that they are kept should this JVM
+	 * exit before the sink is closed.
+	 *
+	 * @throws CelloException Unable to complete the outputs.
+	 */
+	public void roll() throws CelloException {
+	}
+
+	/**
+	 * Complete the outputs of the batch.
+	 *
+	 * @throws CelloException Unable to complete the outputs.
+	 */
+	@Override
+	public void close() throws CelloException {
+	}
+
+	/**
+	 * Getter for {@code outputDir}.
+	 *
+	 * @return The value of {@code outputDir}.
+	 */
+	public File getOutputDir() {
+		return outputDir;
+	}
+
+	private File outputDir;
+
+	public static final String S_NONE = "none";
+	public static final String S_ZIP = "zip";
+	public static final String S_TAR = "tar";
+
+}
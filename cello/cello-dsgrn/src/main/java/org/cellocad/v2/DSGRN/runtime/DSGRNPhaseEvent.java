@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Flight Recorder event for a phase of the processing of a design. The event
+ * type is defined when the class is initialized, with the
+ * {@code jdk.jfr.EventFactory} of the runtime. Flight Recorder is only reached
+ * through reflection, so this class compiles for Java 8 and loads on runtimes
+ * without Flight Recorder, where {@link #getInstance()} returns {@code null}.
+ * Only used through {@link DSGRNMetrics}.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+final class DSGRNPhaseEvent {
+
+	private DSGRNPhaseEvent() throws ReflectiveOperationException {
+		Class<?> annotation = Class.forName(S_JFR + "AnnotationElement");
+		Constructor<?> element = annotation.getConstructor(Class.class, Object.class);
+		Constructor<?> field = Class.forName(S_JFR + "ValueDescriptor").getConstructor(Class.class, String.class,
+		        List.class);
+		Class<?> label = Class.forName(S_JFR + "Label");
+		List<Object> annotations = Arrays.asList(
+		        element.newInstance(Class.forName(S_JFR + "Name"), "org.cellocad.v2.DSGRN.Phase"),
+		        element.newInstance(label, "DSGRN Phase"),
+		        element.newInstance(Class.forName(S_JFR + "Category"), new String[] { "Cello", "DSGRN" }),
+		        element.newInstance(Class.forName(S_JFR + "Description"), "A phase of the processing of a design"));
+		// in the order of the arguments of finish
+		List<Object> fields = Arrays.asList(
+		        field.newInstance(String.class, "design",
+		                Collections.singletonList(element.newInstance(label, "Design"))),
+		        field.newInstance(String.class, "phase",
+		                Collections.singletonList(element.newInstance(label, "Phase"))),
+		        field.newInstance(long.class, "cpuTime",
+		                Arrays.asList(element.newInstance(label, "CPU Time"),
+		                        element.newInstance(Class.forName(S_JFR + "Timespan"), "NANOSECONDS"))),
+		        field.newInstance(long.class, "allocatedBytes",
+		                Arrays.asList(element.newInstance(label, "Allocated"),
+		                        element.newInstance(Class.forName(S_JFR + "DataAmount"), "BYTES"))));
+		Class<?> factory = Class.forName(S_JFR + "EventFactory");
+		this.factory = factory.getMethod("create", List.class, List.class).invoke(null, annotations, fields);
+		this.newEvent = factory.getMethod("newEvent");
+		Class<?> event = Class.forName(S_JFR + "Event");
+		this.begin = event.getMethod("begin");
+		this.end = event.getMethod("end");
+		this.shouldCommit = event.getMethod("shouldCommit");
+		this.set = event.getMethod("set", int.class, Object.class);
+		this.commit = event.getMethod("commit");
+	}
+
+	/**
+	 * Returns the event type of the runtime.
+	 *
+	 * @return The event type, or {@code null} if the runtime does not support
+	 *         Flight Recorder.
+	 */
+	static DSGRNPhaseEvent getInstance() {
+		return S_INSTANCE;
+	}
+
+	private static DSGRNPhaseEvent create() {
+		DSGRNPhaseEvent rtn = null;
+		try {
+			rtn = new DSGRNPhaseEvent();
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			rtn = null;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Start an event.
+	 *
+	 * @return The event, or {@code null} if it could not be started.
+	 */
+	Object start() {
+		Object rtn = null;
+		try {
+			rtn = this.newEvent.invoke(this.factory);
+			this.begin.invoke(rtn);
+		} catch (ReflectiveOperationException e) {
+			rtn = null;
+		}
+		return rtn;
+	}
+
+	/**
+	 * End an event, and commit it if it is recorded.
+	 *
+	 * @param event          The event, as returned by {@link #start()}.
+	 * @param design         The name of the design.
+	 * @param phase          The name of the phase.
+	 * @param cpuTime        The CPU time of the phase, in nanoseconds.
+	 * @param allocatedBytes The bytes allocated in the phase.
+	 */
+	void finish(Object event, String design, String phase, long cpuTime, long allocatedBytes) {
+		if (event == null) {
+			return;
+		}
+		try {
+			this.end.invoke(event);
+			if ((Boolean) this.shouldCommit.invoke(event)) {
+				this.set.invoke(event, 0, design);
+				this.set.invoke(event, 1, phase);
+				this.set.invoke(event, 2, cpuTime);
+				this.set.invoke(event, 3, allocatedBytes);
+				this.commit.invoke(event);
+			}
+		} catch (ReflectiveOperationException e) {
+			// the event is lost, not the phase
+		}
+	}
+
+	private Object factory;
+	private Method newEvent;
+	private Method begin;
+	private Method end;
+	private Method shouldCommit;
+	private Method set;
+	private Method commit;
+
+	private static final String S_JFR = "jdk.jfr.";
+	private static final DSGRNPhaseEvent S_INSTANCE = DSGRNPhaseEvent.create();
+
+}
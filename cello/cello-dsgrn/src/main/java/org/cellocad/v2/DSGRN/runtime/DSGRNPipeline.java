@@ -0,0 +1,766 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.results.netlist.NetlistResultCache;
+import org.cellocad.v2.DSGRN.results.netlist.converter.SBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.DSGRN.results.netlist.converter.StreamingSBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.InfeasibleNetlistException;
+import org.cellocad.v2.DSGRN.technologyMapping.MultiStartTechnologyMapping;
+import org.cellocad.v2.DSGRN.technologyMapping.TMFeasibility;
+import org.cellocad.v2.DSGRN.technologyMapping.TMProgressListener;
+import org.cellocad.v2.DSGRN.technologyMapping.TMScoreUtils;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.Utils;
+import org.cellocad.v2.common.stage.Stage;
+import org.cellocad.v2.export.runtime.EXRuntimeObject;
+import org.cellocad.v2.placing.runtime.PLRuntimeObject;
+import org.cellocad.v2.results.common.Results;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONValue;
+import org.sbolstandard.core2.SBOLConversionException;
+import org.sbolstandard.core2.SBOLDocument;
+import org.sbolstandard.core2.SBOLReader;
+import org.sbolstandard.core2.SBOLValidate;
+import org.sbolstandard.core2.SBOLValidationException;
+
+/**
+ * The stages of the <i>DSGRN</i> application applied to a single converted
+ * design: technologyMapping, placing, and export.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNPipeline {
+
+	/**
+	 * Initializes a newly created {@link DSGRNPipeline} with the data shared by
+	 * every design.
+	 *
+	 * @param context  The shared data, or {@code null} if no stage after the import
+	 *                 is executed.
+	 * @param renderer The renderer of the netlist graphs.
+	 */
+	public DSGRNPipeline(DSGRNContext context, DSGRNRenderer renderer) {
+		this.context = context;
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Read an SBOL file and convert each of its designs to a netlist, with the
+	 * reader selected in the runtime environment.
+	 *
+	 * @param inputFile The SBOL file.
+	 * @param runEnv    The runtime environment.
+	 * @return One netlist per design in the file.
+	 * @throws CelloException Unable to read or convert the file.
+	 */
+	public static List<Netlist> convert(File inputFile, DSGRNRuntimeEnv runEnv) throws CelloException {
+		return DSGRNPipeline.convert(inputFile, runEnv, new DSGRNMetrics(inputFile.getName()));
+	}
+
+	/**
+	 * Returns the validation level of the input SBOL selected in the runtime
+	 * environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The validation level, by default {@link #S_NONE}.
+	 * @throws CelloException Unknown validation level.
+	 */
+	public static String getSBOLValidation(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String rtn = runEnv.getOptionValue(DSGRNArgString.SBOLVALIDATION);
+		if (rtn == null) {
+			rtn = S_NONE;
+		}
+		if (!rtn.equals(S_FULL) && !rtn.equals(S_DSGRN) && !rtn.equals(S_NONE)) {
+			throw new CelloException("Unknown SBOL validation: " + rtn);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the SBOL reader selected in the runtime environment: the reader
+	 * given, or else the stream reader when a validation level other than
+	 * {@link #S_FULL} is given, since only the libSBOLj reader validates the
+	 * document.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The reader, by default {@link #S_LIBSBOLJ}.
+	 * @throws CelloException Full validation with a reader other than libSBOLj.
+	 */
+	public static String getSBOLReader(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String rtn = runEnv.getOptionValue(DSGRNArgString.SBOLREADER);
+		String validation = runEnv.getOptionValue(DSGRNArgString.SBOLVALIDATION);
+		if (rtn == null) {
+			rtn = validation == null || validation.equals(S_FULL) ? S_LIBSBOLJ : S_STREAM;
+		}
+		if (S_FULL.equals(validation) && !rtn.equals(S_LIBSBOLJ)) {
+			throw new CelloException("Full SBOL validation requires the " + S_LIBSBOLJ + " reader.");
+		}
+		return rtn;
+	}
+
+	/**
+	 * Validate an SBOL document with every rule of libSBOLj that applies to a
+	 * complete and compliant document. The errors of the validator are shared by
+	 * its callers, so documents are validated one at a time.
+	 *
+	 * @param document  The document.
+	 * @param inputFile The file of the document.
+	 * @throws CelloException The document is invalid.
+	 */
+	private static void validate(SBOLDocument document, File inputFile) throws CelloException {
+		List<String> errors;
+		synchronized (SBOLValidate.class) {
+			SBOLValidate.clearErrors();
+			SBOLValidate.validateSBOL(document, true, true, false);
+			errors = new ArrayList<>(SBOLValidate.getErrors());
+			SBOLValidate.clearErrors();
+		}
+		if (!errors.isEmpty()) {
+			throw new CelloException("Invalid SBOL document " + inputFile + ": " + String.join(" ", errors));
+		}
+	}
+
+	/**
+	 * Read an SBOL file and convert each of its designs to a netlist, with the
+	 * reader and the validation level selected in the runtime environment, and
+	 * measure the reading, the validation, and the conversion. The streaming
+	 * reader converts while reading, so both are measured as the conversion.
+	 *
+	 * @param inputFile The SBOL file.
+	 * @param runEnv    The runtime environment.
+	 * @param metrics   The metrics of the file.
+	 * @return One netlist per design in the file.
+	 * @throws CelloException Unable to read or convert the file.
+	 */
+	public static List<Netlist> convert(File inputFile, DSGRNRuntimeEnv runEnv, DSGRNMetrics metrics)
+	        throws CelloException {
+		List<Netlist> rtn = null;
+		String validation = DSGRNPipeline.getSBOLValidation(runEnv);
+		String reader = DSGRNPipeline.getSBOLReader(runEnv);
+		// the structure of the designs is checked unless no validation is requested
+		boolean validate = !validation.equals(S_NONE);
+		if (reader.equals(S_LIBSBOLJ)) {
+			SBOLDocument document;
+			DSGRNMetrics.Phase read = metrics.start(S_READSBOL);
+			try {
+				document = SBOLReader.read(inputFile);
+			} catch (SBOLValidationException | IOException | SBOLConversionException e) {
+				throw new CelloException("Unable to read " + inputFile + ".", e);
+			} finally {
+				read.close();
+			}
+			if (validation.equals(S_FULL)) {
+				DSGRNMetrics.Phase check = metrics.start(S_VALIDATESBOL);
+				try {
+					DSGRNPipeline.validate(document, inputFile);
+				} finally {
+					check.close();
+				}
+			}
+			SBOLMolecularModelToPoPSNetlistConverter converter = new SBOLMolecularModelToPoPSNetlistConverter(
+			        DSGRNVariants.getMaxVariants(runEnv), validate);
+			DSGRNMetrics.Phase conversion = metrics.start(S_CONVERT);
+			try {
+				// the conversion logs to the log file of the design
+				rtn = converter.convertAll(document,
+				        task -> ForkJoinPool.commonPool().execute(DSGRNLogContext.wrap(task)));
+			} finally {
+				conversion.close();
+			}
+		} else if (reader.equals(S_STREAM)) {
+			StreamingSBOLMolecularModelToPoPSNetlistConverter converter = new StreamingSBOLMolecularModelToPoPSNetlistConverter(
+			        DSGRNVariants.getMaxVariants(runEnv), validate);
+			DSGRNMetrics.Phase conversion = metrics.start(S_CONVERT);
+			try {
+				rtn = converter.convertAll(inputFile);
+			} finally {
+				conversion.close();
+			}
+		} else {
+			throw new CelloException("Unknown SBOL reader: " + reader);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the index of the first stage to execute, from the stage to resume
+	 * from in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The index of the first stage to execute in {@link #S_STAGES}.
+	 * @throws CelloException Unknown stage.
+	 */
+	public static int getResumeIndex(DSGRNRuntimeEnv runEnv) throws CelloException {
+		int rtn = 0;
+		String stage = runEnv.getOptionValue(DSGRNArgString.RESUMEFROM);
+		if (stage != null) {
+			rtn = S_STAGES.indexOf(stage);
+			if (rtn < 0) {
+				throw new CelloException("Unknown stage to resume from: " + stage);
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the index of the last stage to execute, from the stage to stop after
+	 * in the runtime environment. Together with the stage to resume from, it
+	 * selects the range of stages to execute, so that the later stages of a
+	 * shortlist of designs can be executed from their checkpoints.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The index of the last stage to execute in {@link #S_STAGES}, by
+	 *         default the last stage.
+	 * @throws CelloException Unknown stage, or a stage before the stage to resume
+	 *                        from.
+	 */
+	public static int getStopIndex(DSGRNRuntimeEnv runEnv) throws CelloException {
+		int rtn = S_STAGES.size() - 1;
+		String stage = runEnv.getOptionValue(DSGRNArgString.STOPAFTER);
+		if (stage != null) {
+			rtn = S_STAGES.indexOf(stage);
+			if (rtn < 0) {
+				throw new CelloException("Unknown stage to stop after: " + stage);
+			}
+			if (rtn < DSGRNPipeline.getResumeIndex(runEnv)) {
+				throw new CelloException("Stage to stop after " + stage + " is before the stage to resume from.");
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns whether the stages executed in the runtime environment need the data
+	 * shared by every design. Only the stages after the import use the target data,
+	 * so a run that stops after the import does not load it.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return Whether a stage after the import is executed.
+	 * @throws CelloException Unknown stage.
+	 */
+	public static boolean isContextRequired(DSGRNRuntimeEnv runEnv) throws CelloException {
+		return DSGRNPipeline.getStopIndex(runEnv) > S_STAGES.indexOf(S_IMPORT);
+	}
+
+	/**
+	 * Returns the format of the output netlist selected in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The format, by default {@link DSGRNNetlistUtils#S_JSON}.
+	 * @throws CelloException Unknown format.
+	 */
+	public static String getNetlistFormat(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String rtn = runEnv.getOptionValue(DSGRNArgString.NETLISTFORMAT);
+		if (rtn == null) {
+			rtn = DSGRNNetlistUtils.S_JSON;
+		}
+		DSGRNNetlistUtils.getExtension(rtn);
+		return rtn;
+	}
+
+	/**
+	 * Execute the stages on a netlist. All output is written to the output
+	 * directory of the runtime environment. The netlist after each stage is
+	 * checkpointed, and when the runtime environment names a stage to resume from,
+	 * the stages before it are skipped and the netlist is read from the checkpoint
+	 * of the stage before it. When the context has a result cache, the
+	 * technologyMapping and placing of a netlist isomorphic to an earlier one are
+	 * replaced by the cached result. A netlist that cannot be mapped to the target
+	 * data at all fails with an {@link InfeasibleNetlistException} before
+	 * technologyMapping.
+	 *
+	 * @param netlist       The netlist converted from the design.
+	 * @param runEnv        The runtime environment of the design.
+	 * @param inputFilePath The path of the design.
+	 * @return The netlist after the last stage.
+	 * @throws CelloException Unable to execute a stage, or no valid checkpoint to
+	 *                        resume from.
+	 */
+	public Netlist execute(Netlist netlist, DSGRNRuntimeEnv runEnv, String inputFilePath) throws CelloException {
+		return this.execute(netlist, runEnv, inputFilePath, new DSGRNMetrics(netlist.getName()));
+	}
+
+	/**
+	 * Execute the stages on a netlist as {@link #execute(Netlist, DSGRNRuntimeEnv, String)}
+	 * does, and measure each stage, rendering and checkpoint. The metrics are
+	 * written to {@link DSGRNMetrics#S_METRICS} in the output directory, also when a
+	 * stage fails.
+	 *
+	 * @param netlist       The netlist converted from the design.
+	 * @param runEnv        The runtime environment of the design.
+	 * @param inputFilePath The path of the design.
+	 * @param metrics       The metrics of the design.
+	 * @return The netlist after the last stage.
+	 * @throws CelloException Unable to execute a stage, or no valid checkpoint to
+	 *                        resume from.
+	 */
+	public Netlist execute(Netlist netlist, DSGRNRuntimeEnv runEnv, String inputFilePath, DSGRNMetrics metrics)
+	        throws CelloException {
+		return this.execute(new DSGRNDesign(netlist, runEnv, inputFilePath, metrics));
+	}
+
+	/**
+	 * Execute every step on a design, one after another, with the events logged
+	 * meanwhile written to the log file of the design.
+	 *
+	 * @param design The design.
+	 * @return The netlist after the last stage.
+	 * @throws CelloException Unable to execute a stage, or no valid checkpoint to
+	 *                        resume from.
+	 */
+	public Netlist execute(DSGRNDesign design) throws CelloException {
+		DSGRNLogContext log = DSGRNLogContext.open(design.getRuntimeEnv());
+		try {
+			try {
+				this.prepare(design);
+				this.technologyMapping(design);
+				this.placing(design);
+				this.export(design);
+				this.write(design);
+			} finally {
+				this.writeMetrics(design);
+			}
+		} finally {
+			log.close();
+		}
+		return design.getNetlist();
+	}
+
+	/**
+	 * The first step of a design: read the checkpoint to resume from, checkpoint
+	 * the imported netlist, check that it can be mapped, and look up the result
+	 * cache.
+	 *
+	 * @param design The design.
+	 * @throws CelloException No valid checkpoint to resume from, or the netlist
+	 *                        cannot be mapped.
+	 */
+	public void prepare(DSGRNDesign design) throws CelloException {
+		DSGRNMetrics metrics = design.getMetrics();
+		File outputDir = design.getOutputDir();
+		Netlist netlist = design.getNetlist();
+		// Results
+		design.setResults(new Results(outputDir));
+		// Checkpoints
+		DSGRNCheckpoints checkpoints = new DSGRNCheckpoints(outputDir, netlist.getName());
+		design.setCheckpoints(checkpoints);
+		int resume = DSGRNPipeline.getResumeIndex(design.getRuntimeEnv());
+		design.setResume(resume);
+		design.setStop(DSGRNPipeline.getStopIndex(design.getRuntimeEnv()));
+		if (resume > 0) {
+			DSGRNMetrics.Phase phase = metrics.start(S_CHECKPOINT);
+			try {
+				netlist = checkpoints.read(S_STAGES.get(resume - 1));
+			} finally {
+				phase.close();
+			}
+			netlist.setInputFilename(design.getInputFilePath());
+			design.setNetlist(netlist);
+			Main.getLogger().info("Resuming " + netlist.getName() + " from stage " + S_STAGES.get(resume) + ".");
+		}
+		// checkpoints of the stages to execute are stale
+		for (String stage : S_STAGES.subList(resume, S_STAGES.size())) {
+			checkpoints.remove(stage);
+		}
+		if (resume <= S_STAGES.indexOf(S_IMPORT)) {
+			this.checkpoint(design, S_IMPORT);
+			File importDotFile = new File(outputDir, netlist.getName() + "_dsgrn_import" + ".dot");
+			this.render(netlist, importDotFile, metrics);
+		}
+		if (!design.isExecuted(S_TECHNOLOGYMAPPING)) {
+			return;
+		}
+		/*
+		 * netlists that cannot be mapped fail before technologyMapping
+		 */
+		DSGRNMetrics.Phase feasibility = metrics.start(S_FEASIBILITY);
+		try {
+			this.checkFeasibility(netlist, outputDir);
+		} finally {
+			feasibility.close();
+		}
+		/*
+		 * result of the technologyMapping and placing of an isomorphic netlist
+		 */
+		NetlistResultCache cache = this.getContext().getResultCache();
+		if (cache == null) {
+			return;
+		}
+		NetlistResultCache.Entry cached = null;
+		String stage = null;
+		DSGRNMetrics.Phase lookup = metrics.start(S_RESULTCACHE);
+		try {
+			design.setCacheKey(cache.getKey(netlist));
+			// the placed netlist also stands for the mapped one
+			for (String s : Arrays.asList(S_PLACING, S_TECHNOLOGYMAPPING)) {
+				cached = cache.get(design.getCacheKey(), s, netlist);
+				if (cached != null) {
+					stage = s;
+					break;
+				}
+			}
+		} finally {
+			lookup.close();
+		}
+		if (cached != null) {
+			design.setNetlist(cached.getNetlist());
+			design.setCached(stage);
+			design.setScore(cached.getScore());
+			if (design.getScore() != null) {
+				DSGRNPipeline.writeScore(design);
+			}
+			this.checkpoint(design, S_TECHNOLOGYMAPPING);
+			File tmDotFile = new File(outputDir, design.getNetlist().getName() + "_technologyMapping" + ".dot");
+			this.render(design.getNetlist(), tmDotFile, metrics);
+			if (design.isCached(S_PLACING) && design.isExecuted(S_PLACING)) {
+				this.checkpoint(design, S_PLACING);
+			}
+		}
+	}
+
+	/**
+	 * The technologyMapping step of a design.
+	 *
+	 * @param design The prepared design.
+	 * @throws CelloException Unable to execute the stage.
+	 */
+	public void technologyMapping(DSGRNDesign design) throws CelloException {
+		if (design.isCached(S_TECHNOLOGYMAPPING) || !design.isExecuted(S_TECHNOLOGYMAPPING)) {
+			return;
+		}
+		DSGRNMetrics metrics = design.getMetrics();
+		MultiStartTechnologyMapping TM = new MultiStartTechnologyMapping(this.getContext(), design.getRuntimeEnv());
+		for (TMProgressListener listener : design.getListeners()) {
+			TM.addListener(listener);
+		}
+		// a design that starts after the pipeline was cancelled is cancelled
+		this.getRunning().add(design);
+		if (this.isCancelled()) {
+			design.cancel();
+		}
+		design.setTechnologyMapping(TM);
+		DSGRNMetrics.Phase phase = metrics.start(S_TECHNOLOGYMAPPING);
+		try {
+			design.setNetlist(TM.execute(design.getNetlist(), design.getResults()));
+		} finally {
+			phase.close();
+			design.setTechnologyMapping(null);
+			this.getRunning().remove(design);
+		}
+		design.setScore(TMScoreUtils.getScore(design.getNetlist()));
+		DSGRNPipeline.writeScore(design);
+		this.checkpoint(design, S_TECHNOLOGYMAPPING);
+		this.cache(design, S_TECHNOLOGYMAPPING);
+		Netlist netlist = design.getNetlist();
+		File tmDotFile = new File(design.getOutputDir(), netlist.getName() + "_technologyMapping" + ".dot");
+		this.render(netlist, tmDotFile, metrics);
+	}
+
+	/**
+	 * The placing step of a design.
+	 *
+	 * @param design The mapped design.
+	 * @throws CelloException Unable to execute the stage.
+	 */
+	public void placing(DSGRNDesign design) throws CelloException {
+		if (design.isCached(S_PLACING) || !design.isExecuted(S_PLACING)) {
+			return;
+		}
+		DSGRNContext ctx = this.getContext();
+		DSGRNMetrics metrics = design.getMetrics();
+		Stage currentStage = ctx.getApplicationConfiguration().getStageByName(S_PLACING);
+		PLRuntimeObject PL = new PLRuntimeObject(currentStage, ctx.getTargetData(), ctx.getNetlistConstraint(),
+		        design.getNetlist(), design.getResults(), design.getRuntimeEnv());
+		DSGRNMetrics.Phase phase = metrics.start(S_PLACING);
+		try {
+			PL.execute();
+		} finally {
+			phase.close();
+		}
+		this.checkpoint(design, S_PLACING);
+		this.cache(design, S_PLACING);
+	}
+
+	/**
+	 * Store the result of a stage in the result cache, if the design has a key.
+	 */
+	private void cache(DSGRNDesign design, String stage) throws CelloException {
+		if (design.getCacheKey() == null) {
+			return;
+		}
+		DSGRNMetrics.Phase phase = design.getMetrics().start(S_RESULTCACHE);
+		try {
+			this.getContext().getResultCache().put(design.getCacheKey(), stage, design.getNetlist(),
+			        design.getScore());
+		} finally {
+			phase.close();
+		}
+	}
+
+	/**
+	 * The export step of a design.
+	 *
+	 * @param design The placed design.
+	 * @throws CelloException Unable to execute the stage.
+	 */
+	public void export(DSGRNDesign design) throws CelloException {
+		if (!design.isExecuted(S_EXPORT)) {
+			return;
+		}
+		DSGRNContext ctx = this.getContext();
+		Stage currentStage = ctx.getApplicationConfiguration().getStageByName(S_EXPORT);
+		EXRuntimeObject EX = new EXRuntimeObject(currentStage, ctx.getTargetData(), ctx.getNetlistConstraint(),
+		        design.getNetlist(), design.getResults(), design.getRuntimeEnv());
+		DSGRNMetrics.Phase phase = design.getMetrics().start(S_EXPORT);
+		try {
+			EX.execute();
+		} finally {
+			phase.close();
+		}
+	}
+
+	/**
+	 * The last step of a design: write the output netlist, which is the checkpoint
+	 * of the last stage. A design stopped before the export stage has no output
+	 * netlist.
+	 *
+	 * @param design The exported design.
+	 * @throws CelloException Unable to write the netlist.
+	 */
+	public void write(DSGRNDesign design) throws CelloException {
+		if (!design.isExecuted(S_EXPORT)) {
+			return;
+		}
+		DSGRNMetrics.Phase phase = design.getMetrics().start(S_WRITENETLIST);
+		try {
+			String outputNetlistFilePath = Main.getOutputNetlistFilePath(design.getRuntimeEnv(),
+			        design.getInputFilePath());
+			DSGRNNetlistUtils.writeNetlist(design.getNetlist(), new File(outputNetlistFilePath),
+			        DSGRNPipeline.getNetlistFormat(design.getRuntimeEnv()));
+			design.getCheckpoints().add(S_EXPORT, new File(outputNetlistFilePath));
+		} finally {
+			phase.close();
+		}
+	}
+
+	/**
+	 * Write the metrics of a design to {@link DSGRNMetrics#S_METRICS} in its output
+	 * directory, once its graphs are rendered, and append the record of the design
+	 * to the results index, if any.
+	 * A failure is only logged, so that it does not hide the failure of a stage.
+	 *
+	 * @param design The design.
+	 */
+	public void writeMetrics(DSGRNDesign design) {
+		// the graphs rendered in the background are part of the metrics
+		this.getRenderer().await(design.getOutputDir());
+		try {
+			design.getMetrics().write(new File(design.getOutputDir(), DSGRNMetrics.S_METRICS));
+		} catch (CelloException e) {
+			getLogger().warn(e.getMessage());
+		}
+		DSGRNResultsIndex index = DSGRNResultsIndex.getResultsIndex(design.getRuntimeEnv());
+		if (index == null) {
+			return;
+		}
+		try {
+			index.append(DSGRNResultsIndex.getRecord(design, this.getContext()));
+		} catch (CelloException e) {
+			getLogger().warn(e.getMessage());
+		}
+	}
+
+	/**
+	 * Write the score record of a mapped design: a single line with the name of the
+	 * design, its input file, and its circuit score.
+	 *
+	 * @param design The mapped design.
+	 * @throws CelloException Unable to write the record.
+	 */
+	static void writeScore(DSGRNDesign design) throws CelloException {
+		Map<String, Object> record = new LinkedHashMap<>();
+		record.put(S_DESIGN, design.getName());
+		record.put(S_INPUT, design.getInputFilePath());
+		record.put(S_SCORE, design.getScore());
+		File file = new File(design.getOutputDir(), design.getName() + S_SCOREFILE);
+		try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			w.write(JSONValue.toJSONString(record) + Utils.getNewLine());
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Check that a netlist can be mapped to the target data, and write the reasons
+	 * why it cannot to the output directory.
+	 */
+	private void checkFeasibility(Netlist netlist, File outputDir) throws CelloException {
+		TMFeasibility feasibility = new TMFeasibility(this.getContext().getTargetData(),
+		        this.getContext().getNetlistConstraint());
+		try {
+			feasibility.check(netlist);
+		} catch (InfeasibleNetlistException e) {
+			File file = new File(outputDir, netlist.getName() + "_feasibility.json");
+			try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				e.getReasons().writeJSONString(w);
+			} catch (IOException ioe) {
+				getLogger().warn("Unable to write " + file + ".");
+			}
+			throw e;
+		}
+	}
+
+	private void checkpoint(DSGRNDesign design, String stage) throws CelloException {
+		DSGRNMetrics.Phase phase = design.getMetrics().start(S_CHECKPOINT);
+		try {
+			design.getCheckpoints().write(stage, design.getNetlist());
+		} finally {
+			phase.close();
+		}
+	}
+
+	private void render(Netlist netlist, File dotFile, DSGRNMetrics metrics) {
+		DSGRNMetrics.Phase phase = metrics.start(S_RENDER);
+		try {
+			this.getRenderer().render(netlist, dotFile, metrics);
+		} finally {
+			phase.close();
+		}
+	}
+
+	/**
+	 * Cancel the technologyMapping stage of every design in progress, and of every
+	 * design that reaches it later, as {@link DSGRNDesign#cancel()} does.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+		for (DSGRNDesign design : this.getRunning()) {
+			design.cancel();
+		}
+	}
+
+	/**
+	 * Returns whether {@link #cancel()} was called.
+	 *
+	 * @return Whether the pipeline was cancelled.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Getter for {@code running}, the designs in their technologyMapping stage.
+	 *
+	 * @return The value of {@code running}.
+	 */
+	protected Set<DSGRNDesign> getRunning() {
+		return running;
+	}
+
+	/**
+	 * Getter for {@code context}.
+	 *
+	 * @return The value of {@code context}.
+	 */
+	public DSGRNContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Getter for {@code renderer}.
+	 *
+	 * @return The value of {@code renderer}.
+	 */
+	public DSGRNRenderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNPipeline} class.
+	 *
+	 * @return The logger for the {@link DSGRNPipeline} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNPipeline.logger;
+	}
+
+	private DSGRNContext context;
+	private DSGRNRenderer renderer;
+	private Set<DSGRNDesign> running = ConcurrentHashMap.newKeySet();
+	private volatile boolean cancelled;
+
+	private static final Logger logger = LogManager.getLogger(DSGRNPipeline.class);
+
+	public static final String S_IMPORT = "import";
+	public static final String S_TECHNOLOGYMAPPING = "technologyMapping";
+	public static final String S_PLACING = "placing";
+	public static final String S_EXPORT = "export";
+	public static final List<String> S_STAGES = Collections
+	        .unmodifiableList(Arrays.asList(S_IMPORT, S_TECHNOLOGYMAPPING, S_PLACING, S_EXPORT));
+
+	public static final String S_READSBOL = "readSBOL";
+	public static final String S_VALIDATESBOL = "validateSBOL";
+	public static final String S_CONVERT = "convert";
+	public static final String S_TARGETDATA = "targetData";
+	public static final String S_RENDER = "render";
+	public static final String S_RENDERPDF = "renderPDF";
+	public static final String S_CHECKPOINT = "checkpoint";
+	public static final String S_RESULTCACHE = "resultCache";
+	public static final String S_FEASIBILITY = "feasibility";
+	public static final String S_WRITENETLIST = "writeNetlist";
+
+	private static final String S_DESIGN = "design";
+	private static final String S_INPUT = "input";
+	private static final String S_SCORE = "score";
+	private static final String S_SCOREFILE = "_score.json";
+
+	public static final String S_LIBSBOLJ = "libSBOLj";
+	public static final String S_STREAM = "stream";
+
+	public static final String S_FULL = "full";
+	public static final String S_DSGRN = "dsgrn";
+	public static final String S_NONE = "none";
+
+}
@@ -0,0 +1,451 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.json.simple.JSONObject;
+
+/**
+ * A pool of persistent Python processes that run the Python scripts of the
+ * stages, which would otherwise each start a new interpreter and import
+ * matplotlib and the other modules of the plotting scripts again. The
+ * processes are started on demand, up to the number requested in the runtime
+ * environment, and each is replaced after a number of scripts, as soon as a
+ * script fails, or, killed, when a script runs for longer than the timeout of
+ * the runtime environment.
+ * <p>
+ * The stages invoke the Python interpreter of the runtime environment, so the
+ * pool stands in for it: {@link #start(DSGRNRuntimeEnv)} returns a runtime
+ * environment whose interpreter is a small executable of the pool. The
+ * executable sends the script and its arguments to the pool over a loopback
+ * connection, and returns the output and exit code of the script as its own.
+ * The pool hands the script to an idle process over the stdin of the process,
+ * and reads the outcome from its stdout, one JSON object per line. Any other
+ * invocation of the interpreter is passed through to the interpreter itself.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNPythonPool implements AutoCloseable {
+
+	/**
+	 * A persistent Python process of the pool.
+	 */
+	private static class PythonProcess {
+
+		PythonProcess(Process process) {
+			this.process = process;
+			this.reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+			this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+		}
+
+		void destroy() {
+			try {
+				// the process exits at the end of its requests
+				this.writer.close();
+			} catch (IOException e) {
+				// the process is gone
+			}
+			this.process.destroy();
+		}
+
+		private Process process;
+		private BufferedReader reader;
+		private Writer writer;
+		private int jobs;
+
+	}
+
+	/**
+	 * Initializes a newly created {@link DSGRNPythonPool}: the scripts of the pool
+	 * are written to a temporary directory, and the pool listens for scripts on a
+	 * loopback port. No Python process is started until a script is run.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @throws CelloException Unable to start the pool.
+	 */
+	public DSGRNPythonPool(DSGRNRuntimeEnv runEnv) throws CelloException {
+		this.runEnv = runEnv;
+		this.python = DSGRNPythonPool.getPython(runEnv);
+		this.maxJobs = DSGRNPythonPool.getMaxJobs(runEnv);
+		this.timeout = DSGRNPythonPool.getTimeout(runEnv);
+		this.permits = new Semaphore(Math.max(1, DSGRNPythonPool.getWorkers(runEnv)), true);
+		try {
+			this.dir = Files.createTempDirectory("cello_python_").toFile();
+			this.worker = this.copy(S_WORKER);
+			File client = this.copy(S_CLIENT);
+			this.server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+			this.shim = new File(this.dir, "python");
+			Files.write(this.shim.toPath(), DSGRNPythonPool
+			        .getShim(this.python, client.getAbsolutePath(), this.server.getLocalPort())
+			        .getBytes(StandardCharsets.UTF_8));
+			if (!this.shim.setExecutable(true)) {
+				throw new IOException("Unable to make executable: " + this.shim);
+			}
+		} catch (IOException e) {
+			this.close();
+			throw new CelloException("Unable to start the Python pool.", e);
+		}
+		Thread acceptor = new Thread(this::accept, S_THREAD);
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Start a pool of persistent Python processes if one is requested in the
+	 * runtime environment. The pool is closed when the JVM exits.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The runtime environment whose Python interpreter is that of the pool,
+	 *         or {@code runEnv} if no pool is requested.
+	 * @throws CelloException Unable to start the pool.
+	 */
+	public static DSGRNRuntimeEnv start(DSGRNRuntimeEnv runEnv) throws CelloException {
+		if (DSGRNPythonPool.getWorkers(runEnv) <= 0) {
+			return runEnv;
+		}
+		DSGRNPythonPool pool = new DSGRNPythonPool(runEnv);
+		Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+		getLogger().info("Running the Python scripts in up to " + DSGRNPythonPool.getWorkers(runEnv)
+		        + " persistent Python processes.");
+		Map<String, String> options = new HashMap<>();
+		options.put(ArgString.PYTHONENV, pool.getShim().getAbsolutePath());
+		return runEnv.getRuntimeEnv(options);
+	}
+
+	/**
+	 * Returns the maximum number of persistent Python processes requested in the
+	 * runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The maximum number of processes, zero if none is requested.
+	 */
+	public static int getWorkers(DSGRNRuntimeEnv runEnv) {
+		int rtn = 0;
+		String value = runEnv.getOptionValue(DSGRNArgString.PYTHONWORKERS);
+		if (value != null) {
+			rtn = Math.max(0, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the number of scripts a persistent Python process runs before it is
+	 * replaced, as requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The number of scripts, by default {@value #S_MAXJOBS}.
+	 */
+	public static int getMaxJobs(DSGRNRuntimeEnv runEnv) {
+		int rtn = S_MAXJOBS;
+		String value = runEnv.getOptionValue(DSGRNArgString.PYTHONMAXJOBS);
+		if (value != null) {
+			rtn = Math.max(1, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the time a persistent Python process may take to run a script before
+	 * it is killed, as requested in the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The time in seconds, by default {@value #S_TIMEOUT}, zero for no
+	 *         limit.
+	 */
+	public static int getTimeout(DSGRNRuntimeEnv runEnv) {
+		int rtn = S_TIMEOUT;
+		String value = runEnv.getOptionValue(DSGRNArgString.PYTHONTIMEOUT);
+		if (value != null) {
+			rtn = Math.max(0, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the Python interpreter of the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The Python interpreter, by default {@value #S_PYTHON}.
+	 */
+	public static String getPython(DSGRNRuntimeEnv runEnv) {
+		String rtn = runEnv.getOptionValue(ArgString.PYTHONENV);
+		if (rtn == null) {
+			rtn = S_PYTHON;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the executable that stands in for the Python interpreter.
+	 *
+	 * @param python The Python interpreter.
+	 * @param client The path of the client script of the pool.
+	 * @param port   The port of the pool.
+	 * @return The contents of the executable, a shell script.
+	 */
+	static String getShim(String python, String client, int port) {
+		// the client needs only the standard library, hence no site packages
+		return "#!/bin/sh\nexec " + quote(python) + " -S " + quote(client) + " " + port + " " + quote(python)
+		        + " \"$@\"\n";
+	}
+
+	private static String quote(String str) {
+		return "'" + str.replace("'", "'\\''") + "'";
+	}
+
+	private File copy(String resource) throws IOException {
+		File rtn = new File(this.dir, new File(resource).getName());
+		try (InputStream is = DSGRNUtils.getResource(resource).openStream()) {
+			Files.copy(is, rtn.toPath());
+		}
+		return rtn;
+	}
+
+	private void accept() {
+		DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+		try {
+			while (!this.closed) {
+				Socket socket;
+				try {
+					socket = this.server.accept();
+				} catch (IOException e) {
+					break;
+				}
+				Thread thread = new Thread(() -> {
+					DSGRNLogContext context = DSGRNLogContext.open(this.getRuntimeEnv());
+					try {
+						this.serve(socket);
+					} finally {
+						context.close();
+					}
+				}, S_THREAD);
+				thread.setDaemon(true);
+				thread.start();
+			}
+		} finally {
+			log.close();
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (Socket s = socket;
+		        BufferedReader reader = new BufferedReader(
+		                new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+		        Writer writer = new BufferedWriter(
+		                new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+			JSONObject request = DSGRNWorker.read(reader);
+			if (request != null) {
+				DSGRNWorker.write(writer, this.execute(request));
+			}
+		} catch (IOException e) {
+			getLogger().warn("Lost a Python script: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Run a Python script in an idle process of the pool, started if there is none.
+	 * The process is replaced if the script fails or it has run the maximum number
+	 * of scripts, and killed if the script does not end within the timeout.
+	 *
+	 * @param request The script: its arguments and its working directory.
+	 * @return The outcome of the script: its exit code, output, and error output.
+	 * @throws InterruptedException Interrupted while waiting for a process.
+	 */
+	@SuppressWarnings("unchecked")
+	JSONObject execute(JSONObject request) throws InterruptedException {
+		this.permits.acquire();
+		PythonProcess process = null;
+		boolean reuse = false;
+		ScheduledFuture<?> kill = null;
+		try {
+			process = this.idle.poll();
+			if (process == null) {
+				process = this.startProcess();
+			}
+			if (this.timeout > 0) {
+				Process hung = process.process;
+				kill = S_TIMER.schedule(() -> {
+					hung.destroyForcibly();
+				}, this.timeout, TimeUnit.SECONDS);
+			}
+			DSGRNWorker.write(process.writer, request);
+			JSONObject rtn = DSGRNWorker.read(process.reader);
+			if (kill != null && !kill.cancel(false)) {
+				throw new IOException("The Python process was killed after " + this.timeout + " s.");
+			}
+			if (rtn == null) {
+				throw new IOException("The Python process exited with " + process.process.waitFor() + ".");
+			}
+			process.jobs++;
+			Object code = rtn.get(S_CODE);
+			reuse = Long.valueOf(0).equals(code) && process.jobs < this.maxJobs;
+			return rtn;
+		} catch (IOException e) {
+			getLogger().warn("Python script " + request.get(S_ARGV) + " failed: " + e.getMessage());
+			JSONObject rtn = new JSONObject();
+			rtn.put(S_CODE, 1);
+			rtn.put(S_STDOUT, "");
+			rtn.put(S_STDERR, e.getMessage() + "\n");
+			return rtn;
+		} finally {
+			if (kill != null) {
+				kill.cancel(false);
+			}
+			if (process != null) {
+				if (reuse && !this.closed) {
+					this.idle.add(process);
+				} else {
+					process.destroy();
+				}
+			}
+			this.permits.release();
+		}
+	}
+
+	private PythonProcess startProcess() throws IOException {
+		ProcessBuilder builder = new ProcessBuilder(this.python, "-u", this.worker.getAbsolutePath());
+		builder.redirectError(Redirect.INHERIT);
+		PythonProcess rtn = new PythonProcess(builder.start());
+		getLogger().debug("Started a Python process.");
+		return rtn;
+	}
+
+	/**
+	 * Stop the pool: its processes exit and its scripts are removed.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		try {
+			if (this.server != null) {
+				this.server.close();
+			}
+		} catch (IOException e) {
+			// already closed
+		}
+		PythonProcess process;
+		while ((process = this.idle.poll()) != null) {
+			process.destroy();
+		}
+		if (this.dir != null) {
+			File[] files = this.dir.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			this.dir.delete();
+		}
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code shim}.
+	 *
+	 * @return The value of {@code shim}.
+	 */
+	public File getShim() {
+		return shim;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNPythonPool} class.
+	 *
+	 * @return The logger for the {@link DSGRNPythonPool} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNPythonPool.logger;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private String python;
+	private int maxJobs;
+	private int timeout;
+	private Semaphore permits;
+	private ConcurrentLinkedQueue<PythonProcess> idle = new ConcurrentLinkedQueue<>();
+	private File dir;
+	private File worker;
+	private File shim;
+	private ServerSocket server;
+	private volatile boolean closed;
+
+	private static final Logger logger = LogManager.getLogger(DSGRNPythonPool.class);
+
+	public static final String S_PYTHON = "python";
+	public static final int S_MAXJOBS = 50;
+	public static final int S_TIMEOUT = 600;
+	public static final String S_WORKER = "python/worker.py";
+	public static final String S_CLIENT = "python/client.py";
+	public static final String S_ARGV = "argv";
+	public static final String S_CODE = "code";
+	public static final String S_STDOUT = "stdout";
+	public static final String S_STDERR = "stderr";
+	private static final String S_THREAD = "dsgrn-python";
+
+	private static final ScheduledExecutorService S_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread rtn = new Thread(r, S_THREAD);
+		rtn.setDaemon(true);
+		return rtn;
+	});
+
+}
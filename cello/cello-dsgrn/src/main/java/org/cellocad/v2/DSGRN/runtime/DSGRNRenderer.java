@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.file.dot.utils.Dot2Pdf;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistUtils;
+
+/**
+ * Renders netlists to DOT and PDF files. The mode is selected in the runtime
+ * environment:
+ * <ul>
+ * <li>{@code off}: nothing is written;</li>
+ * <li>{@code dot}: only the DOT file is written;</li>
+ * <li>{@code pdf} (default): the DOT file is written and converted to PDF before
+ * returning;</li>
+ * <li>{@code async}: the DOT file is written before returning, and converted to
+ * PDF by background workers.</li>
+ * </ul>
+ * The DOT file is always written before returning because the stages modify the
+ * netlist. Only the call to Graphviz is moved off the stages. When the queue of
+ * the workers is full the caller converts the file itself, which bounds the
+ * pending work, and so does a caller after {@link #shutdown()}.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNRenderer {
+
+	/**
+	 * Initializes a newly created {@link DSGRNRenderer} with the mode and number of
+	 * workers of the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @throws CelloException Unknown mode or invalid number of workers.
+	 */
+	public DSGRNRenderer(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String mode = runEnv.getOptionValue(DSGRNArgString.RENDER);
+		if (mode == null) {
+			mode = S_PDF;
+		}
+		if (!(mode.equals(S_OFF) || mode.equals(S_DOT) || mode.equals(S_PDF) || mode.equals(S_ASYNC))) {
+			throw new CelloException("Unknown render mode: " + mode);
+		}
+		this.mode = mode;
+		if (mode.equals(S_ASYNC)) {
+			int threads = DSGRNRenderer.getRenderThreads(runEnv);
+			// unlike CallerRunsPolicy, a render is never discarded after shutdown, so
+			// that its pending count is released
+			this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+			        new ArrayBlockingQueue<>(S_QUEUE), (task, executor) -> task.run());
+		}
+	}
+
+	/**
+	 * Returns the number of workers that convert DOT files to PDF in the
+	 * {@code async} mode.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The number of workers.
+	 * @throws CelloException Invalid number.
+	 */
+	public static int getRenderThreads(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String value = runEnv.getOptionValue(DSGRNArgString.RENDERTHREADS);
+		if (value == null) {
+			return S_THREADS;
+		}
+		int rtn;
+		try {
+			rtn = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new CelloException("Invalid number of render threads: " + value, e);
+		}
+		if (rtn < 1) {
+			throw new CelloException("Invalid number of render threads: " + value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Render a netlist. A conversion to PDF in the background is measured as the
+	 * {@value DSGRNPipeline#S_RENDERPDF} phase of the given metrics, on the thread
+	 * that converts the file.
+	 *
+	 * @param netlist The netlist.
+	 * @param dotFile The DOT file. The PDF file is written next to it.
+	 * @param metrics The metrics of the design.
+	 */
+	public void render(Netlist netlist, File dotFile, DSGRNMetrics metrics) {
+		if (this.getMode().equals(S_OFF)) {
+			return;
+		}
+		NetlistUtils.writeDotFileForGraph(netlist, dotFile.getAbsolutePath());
+		if (this.getMode().equals(S_PDF)) {
+			Dot2Pdf.dot2pdf(dotFile);
+		} else if (this.getMode().equals(S_ASYNC)) {
+			File dir = dotFile.getAbsoluteFile().getParentFile();
+			this.update(dir, 1);
+			// the render logs to the log file of the design
+			this.getExecutor().execute(DSGRNLogContext.wrap(() -> {
+				DSGRNMetrics.Phase phase = metrics.start(DSGRNPipeline.S_RENDERPDF);
+				try {
+					Dot2Pdf.dot2pdf(dotFile);
+				} catch (RuntimeException e) {
+					getLogger().warn("Unable to render " + dotFile + ": " + e.getMessage());
+				} finally {
+					phase.close();
+					this.update(dir, -1);
+				}
+			}));
+		}
+	}
+
+	/**
+	 * Update the number of pending renders to a directory.
+	 */
+	private void update(File dir, int delta) {
+		synchronized (this.pending) {
+			int count = this.pending.getOrDefault(dir, 0) + delta;
+			if (count == 0) {
+				this.pending.remove(dir);
+				this.pending.notifyAll();
+			} else {
+				this.pending.put(dir, count);
+			}
+		}
+	}
+
+	/**
+	 * Wait for the pending renders to a directory or its subdirectories.
+	 *
+	 * @param dir The directory.
+	 */
+	public void await(File dir) {
+		Path path = dir.getAbsoluteFile().toPath();
+		synchronized (this.pending) {
+			try {
+				while (this.pending.keySet().stream().anyMatch(f -> f.toPath().startsWith(path))) {
+					this.pending.wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Wait for the pending renders. A render requested afterwards converts the
+	 * file on the calling thread.
+	 */
+	public void shutdown() {
+		if (this.getExecutor() == null) {
+			return;
+		}
+		this.getExecutor().shutdown();
+		try {
+			this.getExecutor().awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Getter for {@code mode}.
+	 *
+	 * @return The value of {@code mode}.
+	 */
+	public String getMode() {
+		return mode;
+	}
+
+	/**
+	 * Getter for {@code executor}.
+	 *
+	 * @return The value of {@code executor}.
+	 */
+	protected ThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNRenderer} class.
+	 *
+	 * @return The logger for the {@link DSGRNRenderer} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNRenderer.logger;
+	}
+
+	private String mode;
+	private ThreadPoolExecutor executor;
+	private Map<File, Integer> pending = new HashMap<>();
+
+	private static final Logger logger = LogManager.getLogger(DSGRNRenderer.class);
+
+	private static final int S_THREADS = 2;
+	private static final int S_QUEUE = 64;
+
+	public static final String S_OFF = "off";
+	public static final String S_DOT = "dot";
+	public static final String S_PDF = "pdf";
+	public static final String S_ASYNC = "async";
+
+}
@@ -0,0 +1,570 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.MultiStartTechnologyMapping;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.Utils;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * An index of the results of many runs of the <i>DSGRN</i> application: a file
+ * to which a summary record of each design is appended as a line of JSON, so
+ * that the designs of a sweep can be ranked and filtered without reading their
+ * output directories. Appends are serialized within the JVM and locked against
+ * other processes, so that the runs of a sweep can share one index.
+ * <p>
+ * A record holds the name and input file of the design, the SHA-256 hashes of
+ * the input file and of the target data, the last stage completed, the circuit
+ * score, the gate assigned to each node, the wall time of each phase, and the
+ * paths of the outputs, or their entries in the archive of the batch written as
+ * {@code archive!/entry}. The outputs include the summary of the
+ * <i>technologyMapping</i> chains, which names the output directory of the
+ * results of each chain and of the best chain.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNResultsIndex {
+
+	/**
+	 * Initializes a newly created {@link DSGRNResultsIndex} with its file.
+	 *
+	 * @param file The file of the index.
+	 */
+	public DSGRNResultsIndex(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns the results index of the runtime environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The results index, or {@code null} if there is none.
+	 */
+	public static DSGRNResultsIndex getResultsIndex(DSGRNRuntimeEnv runEnv) {
+		DSGRNResultsIndex rtn = null;
+		String value = runEnv.getOptionValue(DSGRNArgString.RESULTSINDEX);
+		if (value != null) {
+			rtn = new DSGRNResultsIndex(new File(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the record of a design, after its last stage or its failure.
+	 *
+	 * @param design  The design.
+	 * @param context The data shared by every design, or {@code null} if it was not
+	 *                loaded.
+	 * @return The record.
+	 * @throws CelloException Unable to read the input file.
+	 */
+	@SuppressWarnings("unchecked")
+	public static JSONObject getRecord(DSGRNDesign design, DSGRNContext context) throws CelloException {
+		JSONObject rtn = new JSONObject();
+		rtn.put(S_DESIGN, design.getName());
+		rtn.put(S_INPUT, design.getInputFilePath());
+		rtn.put(S_INPUTHASH, DSGRNUtils.getHash(Arrays.asList(new File(design.getInputFilePath())),
+		        Collections.emptyList()));
+		rtn.put(S_TARGETDATAHASH, context == null ? null : context.getTargetDataHash());
+		// the last stage with a checkpoint
+		String stage = null;
+		DSGRNCheckpoints checkpoints = design.getCheckpoints();
+		for (String s : DSGRNPipeline.S_STAGES) {
+			if (checkpoints != null && checkpoints.contains(s)) {
+				stage = s;
+			}
+		}
+		rtn.put(S_STAGE, stage);
+		rtn.put(S_COMPLETED, stage != null && stage.equals(DSGRNPipeline.S_STAGES.get(design.getStop())));
+		rtn.put(S_SCORE, design.getScore());
+		rtn.put(S_GATES, DSGRNResultsIndex.getGates(design.getNetlist()));
+		// the wall time of each phase
+		JSONObject metrics = design.getMetrics().getJSON();
+		JSONObject timings = new JSONObject();
+		for (Object phase : (JSONArray) metrics.get("phases")) {
+			timings.put(((JSONObject) phase).get("phase"), ((JSONObject) phase).get("wall_time_ms"));
+		}
+		rtn.put(S_TIMINGS, timings);
+		rtn.put(S_TOTAL, ((JSONObject) metrics.get("total")).get("wall_time_ms"));
+		// the outputs
+		JSONObject outputs = new JSONObject();
+		outputs.put(S_OUTPUTDIR, DSGRNResultsIndex.getLocation(design, design.getOutputDir()));
+		String netlist = Main.getOutputNetlistFilePath(design.getRuntimeEnv(), design.getInputFilePath());
+		if (new File(netlist).isFile()) {
+			outputs.put(S_NETLIST, DSGRNResultsIndex.getLocation(design, new File(netlist)));
+		}
+		outputs.put(S_LOG, DSGRNResultsIndex.getLocation(design, DSGRNLogContext.getLogFile(design.getRuntimeEnv())));
+		// the results of the technologyMapping chains are in their own directories
+		File chains = MultiStartTechnologyMapping.getSummaryFile(design.getOutputDir(), design.getName());
+		if (chains.isFile()) {
+			outputs.put(S_CHAINS, DSGRNResultsIndex.getLocation(design, chains));
+		}
+		rtn.put(S_OUTPUTS, outputs);
+		rtn.put(S_TIME, System.currentTimeMillis());
+		return rtn;
+	}
+
+	/**
+	 * Returns the location of an output of a design: its path, or its entry in the
+	 * archive of the batch.
+	 */
+	private static String getLocation(DSGRNDesign design, File file) {
+		DSGRNOutputSink sink = design.getOutputSink();
+		if (sink == null) {
+			return file.getAbsolutePath();
+		}
+		return sink.getLocation(file);
+	}
+
+	/**
+	 * Returns the gate assigned to each node of a netlist that is not a primary
+	 * input or output, by name.
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSONObject getGates(Netlist netlist) {
+		JSONObject rtn = new JSONObject();
+		for (int i = 0; i < netlist.getNumVertex(); i++) {
+			NetlistNode node = netlist.getVertexAtIdx(i);
+			String type = node.getResultNetlistNodeData().getNodeType();
+			String device = node.getResultNetlistNodeData().getDeviceName();
+			if (!LSResults.S_PRIMARYINPUT.equals(type) && !LSResults.S_PRIMARYOUTPUT.equals(type) && device != null
+			        && !device.isEmpty()) {
+				rtn.put(node.getName(), device);
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Append a record to the index, and its entry to the sidecar file.
+	 *
+	 * @param record The record.
+	 * @throws CelloException Unable to write the index.
+	 */
+	public void append(JSONObject record) throws CelloException {
+		ByteBuffer line = ByteBuffer
+		        .wrap((record.toJSONString() + Utils.getNewLine()).getBytes(StandardCharsets.UTF_8));
+		// a file lock is held by the JVM, so the threads of the JVM are serialized
+		// before they lock the file against other processes
+		synchronized (DSGRNResultsIndex.class) {
+			try (FileChannel channel = FileChannel.open(this.getFile().toPath(), StandardOpenOption.CREATE,
+			        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			        FileChannel sidecar = FileChannel.open(this.getSidecarFile().toPath(), StandardOpenOption.CREATE,
+			                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+				// released when the channel is closed
+				channel.lock();
+				ByteBuffer entry = DSGRNResultsIndex.getEntry(record, channel.size(), line.remaining());
+				while (line.hasRemaining()) {
+					channel.write(line);
+				}
+				while (entry.hasRemaining()) {
+					sidecar.write(entry);
+				}
+			} catch (IOException e) {
+				throw new CelloException("Unable to write " + this.getFile() + ".", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the sidecar entry of a record: the offset and length of its line,
+	 * then its indexed fields.
+	 */
+	private static ByteBuffer getEntry(JSONObject record, long offset, int length) {
+		ByteBuffer rtn = ByteBuffer.allocate(S_ENTRY);
+		rtn.putLong(offset);
+		rtn.putInt(length);
+		rtn.putDouble(DSGRNResultsIndex.getNumber(record.get(S_SCORE), Double.NaN));
+		rtn.putDouble(DSGRNResultsIndex.getNumber(record.get(S_TOTAL), Double.NaN));
+		Object time = record.get(S_TIME);
+		rtn.putLong(time instanceof Number ? ((Number) time).longValue() : Long.MIN_VALUE);
+		rtn.put((byte) DSGRNPipeline.S_STAGES.indexOf(record.get(S_STAGE)));
+		rtn.put((byte) (Boolean.TRUE.equals(record.get(S_COMPLETED)) ? 1 : 0));
+		rtn.flip();
+		return rtn;
+	}
+
+	/**
+	 * Returns the indexed fields of a sidecar entry, positioned after its offset
+	 * and length.
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSONObject getFields(ByteBuffer entry) {
+		JSONObject rtn = new JSONObject();
+		double score = entry.getDouble();
+		rtn.put(S_SCORE, Double.isNaN(score) ? null : score);
+		double total = entry.getDouble();
+		rtn.put(S_TOTAL, Double.isNaN(total) ? null : total);
+		long time = entry.getLong();
+		rtn.put(S_TIME, time == Long.MIN_VALUE ? null : time);
+		byte stage = entry.get();
+		rtn.put(S_STAGE, stage < 0 ? null : DSGRNPipeline.S_STAGES.get(stage));
+		rtn.put(S_COMPLETED, entry.get() == 1);
+		return rtn;
+	}
+
+	/**
+	 * Returns the records of the index that match every condition, sorted. If the
+	 * conditions and the sort only use the fields of {@link #S_INDEXED}, they are
+	 * applied to the sidecar file, and only the records returned are read from the
+	 * index. Records after the last entry of the sidecar file are read from the
+	 * index, and so is every record if the sidecar file does not match the index.
+	 *
+	 * @param conditions The conditions, see {@link #getFilters(String)}.
+	 * @param sort       The field to sort by, prefixed with {@code -} for
+	 *                   descending order. Records without the field come last.
+	 * @param limit      The maximum number of records, or 0 for all.
+	 * @return The records.
+	 * @throws CelloException Invalid condition, or unable to read the index.
+	 */
+	public List<JSONObject> query(String conditions, String sort, int limit) throws CelloException {
+		List<Predicate<JSONObject>> filters = DSGRNResultsIndex.getFilters(conditions);
+		boolean descending = sort.startsWith("-");
+		String field = descending ? sort.substring(1) : sort;
+		List<String> fields = new ArrayList<>(DSGRNResultsIndex.getFields(conditions));
+		fields.add(field);
+		boolean indexed = S_INDEXED.containsAll(fields);
+		List<Entry> entries = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(this.getFile().toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			long start = 0;
+			if (indexed && this.getSidecarFile().isFile()) {
+				ByteBuffer sidecar = ByteBuffer.wrap(Files.readAllBytes(this.getSidecarFile().toPath()));
+				while (sidecar.remaining() >= S_ENTRY) {
+					Entry entry = new Entry();
+					entry.offset = sidecar.getLong();
+					entry.length = sidecar.getInt();
+					entry.fields = DSGRNResultsIndex.getFields(sidecar);
+					if (entry.offset != start || entry.offset + entry.length > size) {
+						// not an entry of this index
+						entries.clear();
+						start = 0;
+						break;
+					}
+					start = entry.offset + entry.length;
+					entries.add(entry);
+				}
+			}
+			// the records without an entry
+			channel.position(start);
+			BufferedReader r = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.name()));
+			JSONParser parser = new JSONParser();
+			String line;
+			while ((line = r.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				Entry entry = new Entry();
+				try {
+					entry.record = (JSONObject) parser.parse(line);
+				} catch (ParseException | ClassCastException e) {
+					// a record being appended by another process
+					continue;
+				}
+				entry.fields = entry.record;
+				entries.add(entry);
+			}
+			Comparator<Object> values = DSGRNResultsIndex::compare;
+			Comparator<Entry> order = Comparator.comparing(entry -> entry.key,
+			        Comparator.nullsLast(descending ? values.reversed() : values));
+			// the best records so far, the worst first
+			PriorityQueue<Entry> best = new PriorityQueue<>(order.reversed());
+			for (Entry entry : entries) {
+				if (!DSGRNResultsIndex.test(filters, entry.fields)) {
+					continue;
+				}
+				entry.key = DSGRNResultsIndex.getValue(entry.fields, field);
+				if (limit <= 0 || best.size() < limit) {
+					best.add(entry);
+				} else if (order.compare(entry, best.peek()) < 0) {
+					best.poll();
+					best.add(entry);
+				}
+			}
+			List<Entry> rtn = new ArrayList<>(best);
+			rtn.sort(order);
+			List<JSONObject> records = new ArrayList<>();
+			for (Entry entry : rtn) {
+				if (entry.record == null) {
+					String json = DSGRNResultsIndex.read(channel, entry.offset, entry.length);
+					entry.record = (JSONObject) parser.parse(json);
+				}
+				records.add(entry.record);
+			}
+			return records;
+		} catch (IOException | ParseException e) {
+			throw new CelloException("Unable to read " + this.getFile() + ".", e);
+		}
+	}
+
+	private static boolean test(List<Predicate<JSONObject>> filters, JSONObject record) {
+		for (Predicate<JSONObject> filter : filters) {
+			if (!filter.test(record)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the line of a record in the index.
+	 */
+	private static String read(FileChannel channel, long offset, int length) throws IOException {
+		ByteBuffer rtn = ByteBuffer.allocate(length);
+		while (rtn.hasRemaining()) {
+			if (channel.read(rtn, offset + rtn.position()) < 0) {
+				throw new EOFException("Record at " + offset + " is truncated.");
+			}
+		}
+		return new String(rtn.array(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A record of a query: its indexed fields and its position in the index, or
+	 * the whole record if it was read from the index, and its value to sort by.
+	 */
+	private static class Entry {
+
+		private long offset;
+		private int length;
+		private JSONObject fields;
+		private JSONObject record;
+		private Object key;
+
+	}
+
+	/**
+	 * Print the records of the index selected by the query of the runtime
+	 * environment, one line of JSON per record.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @param out    The stream to print to.
+	 * @throws CelloException No results index, an invalid query, or unable to read
+	 *                        the index.
+	 */
+	public static void query(DSGRNRuntimeEnv runEnv, PrintStream out) throws CelloException {
+		DSGRNResultsIndex index = DSGRNResultsIndex.getResultsIndex(runEnv);
+		if (index == null) {
+			throw new CelloException("A query needs a results index.");
+		}
+		String sort = runEnv.getOptionValue(DSGRNArgString.QUERYSORT);
+		if (sort == null) {
+			sort = "-" + S_SCORE;
+		}
+		int limit = S_LIMIT;
+		String value = runEnv.getOptionValue(DSGRNArgString.QUERYLIMIT);
+		if (value != null) {
+			limit = Integer.parseInt(value);
+		}
+		String conditions = runEnv.getOptionValue(DSGRNArgString.QUERY);
+		for (JSONObject record : index.query(conditions, sort, limit)) {
+			out.println(record.toJSONString());
+		}
+	}
+
+	/**
+	 * Returns the filters of a list of conditions separated by commas, each a
+	 * field, an operator, and a value. A field of a nested object is named by its
+	 * path, for example {@code gates.n1}. The value is compared as a number if both
+	 * sides are numbers, and as a string otherwise.
+	 *
+	 * @param conditions The conditions, or {@code *} for none.
+	 * @return The filters.
+	 * @throws CelloException Invalid condition.
+	 */
+	public static List<Predicate<JSONObject>> getFilters(String conditions) throws CelloException {
+		List<Predicate<JSONObject>> rtn = new ArrayList<>();
+		if (conditions == null || conditions.trim().equals("*")) {
+			return rtn;
+		}
+		for (String condition : conditions.split(",")) {
+			Matcher m = S_CONDITION.matcher(condition.trim());
+			if (!m.matches()) {
+				throw new CelloException("Invalid condition: " + condition);
+			}
+			String field = m.group(1);
+			String op = m.group(2);
+			// the value is parsed once, rather than for each record
+			Object value = m.group(3);
+			try {
+				value = Double.valueOf(m.group(3));
+			} catch (NumberFormatException e) {
+				// compared as a string
+			}
+			Object expected = value;
+			rtn.add(record -> {
+				Object actual = DSGRNResultsIndex.getValue(record, field);
+				if (actual == null) {
+					return op.equals("!=");
+				}
+				int c = DSGRNResultsIndex.compare(actual, expected);
+				switch (op) {
+				case "=":
+					return c == 0;
+				case "!=":
+					return c != 0;
+				case "<":
+					return c < 0;
+				case "<=":
+					return c <= 0;
+				case ">":
+					return c > 0;
+				default:
+					return c >= 0;
+				}
+			});
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the fields of a list of conditions.
+	 */
+	private static List<String> getFields(String conditions) throws CelloException {
+		List<String> rtn = new ArrayList<>();
+		if (conditions == null || conditions.trim().equals("*")) {
+			return rtn;
+		}
+		for (String condition : conditions.split(",")) {
+			Matcher m = S_CONDITION.matcher(condition.trim());
+			if (!m.matches()) {
+				throw new CelloException("Invalid condition: " + condition);
+			}
+			rtn.add(m.group(1));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the value of a field of a record, following the path of a nested
+	 * field.
+	 */
+	private static Object getValue(JSONObject record, String field) {
+		Object rtn = record;
+		for (String key : field.split("\\.")) {
+			if (!(rtn instanceof Map)) {
+				return null;
+			}
+			rtn = ((Map<?, ?>) rtn).get(key);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Compares two values as numbers if both are numbers, and as strings otherwise.
+	 */
+	private static int compare(Object a, Object b) {
+		if (a instanceof Number && b instanceof Number) {
+			return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+		}
+		return String.valueOf(a).compareTo(String.valueOf(b));
+	}
+
+	private static double getNumber(Object value, double missing) {
+		return value instanceof Number ? ((Number) value).doubleValue() : missing;
+	}
+
+	/**
+	 * Getter for {@code file}.
+	 *
+	 * @return The value of {@code file}.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the sidecar file of the index, with an entry of fixed size per
+	 * record: the offset and length of the record in the index, then the fields of
+	 * {@link #S_INDEXED}.
+	 *
+	 * @return The sidecar file.
+	 */
+	public File getSidecarFile() {
+		return new File(this.getFile().getPath() + S_SIDECAR);
+	}
+
+	private File file;
+
+	private static final Pattern S_CONDITION = Pattern.compile("([\\w.]+)\\s*(!=|<=|>=|=|<|>)\\s*(.*)");
+	private static final int S_LIMIT = 10;
+	private static final String S_SIDECAR = ".idx";
+	private static final int S_ENTRY = Long.BYTES + Integer.BYTES + 2 * Double.BYTES + Long.BYTES + 2;
+
+	public static final String S_DESIGN = "design";
+	public static final String S_INPUT = "input";
+	public static final String S_INPUTHASH = "input_sha256";
+	public static final String S_TARGETDATAHASH = "target_data_sha256";
+	public static final String S_STAGE = "stage";
+	public static final String S_COMPLETED = "completed";
+	public static final String S_SCORE = "score";
+	public static final String S_GATES = "gates";
+	public static final String S_TIMINGS = "timings_ms";
+	public static final String S_TOTAL = "total_ms";
+	public static final String S_OUTPUTS = "outputs";
+	public static final String S_OUTPUTDIR = "output_dir";
+	public static final String S_NETLIST = "netlist";
+	public static final String S_LOG = "log";
+	public static final String S_CHAINS = "technologyMapping_chains";
+	public static final String S_TIME = "time";
+
+	/**
+	 * The fields of a record in the sidecar file.
+	 */
+	public static final List<String> S_INDEXED = Collections
+	        .unmodifiableList(Arrays.asList(S_SCORE, S_TOTAL, S_TIME, S_STAGE, S_COMPLETED));
+
+}
@@ -0,0 +1,436 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+
+/**
+ * Runs the steps of a {@link DSGRNPipeline} on many designs as a staged
+ * pipeline: each step has its own pool of workers, and the pools are linked by
+ * bounded queues. While one design is annealed, the next can be converted and
+ * the previous one exported, so the throughput follows the slowest step rather
+ * than the sum of the steps. A worker that hands a design to a full queue waits,
+ * which bounds the designs in flight and slows the earlier steps down to the
+ * pace of the later ones.
+ * <p>
+ * The steps are {@code convert} (conversion and preparation), then
+ * {@code technologyMapping}, {@code placing}, {@code export}, and
+ * {@code writeNetlist}. The {@code technologyMapping} step has the number of workers
+ * of the batch by default and the others one. The defaults are overridden in
+ * the runtime environment, for example
+ * {@code -stageThreads technologyMapping=6,export=2}.
+ * <p>
+ * A {@link Listener} given with an input file is told once every design of the
+ * file has left the pipeline, so that the outputs of the file can be archived
+ * while the designs of other files are still processed.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNScheduler {
+
+	/**
+	 * Initializes a newly created {@link DSGRNScheduler} with the pools described
+	 * in the runtime environment.
+	 *
+	 * @param pipeline The pipeline.
+	 * @param runEnv   The runtime environment.
+	 * @throws CelloException Invalid pool sizes.
+	 */
+	public DSGRNScheduler(DSGRNPipeline pipeline, DSGRNRuntimeEnv runEnv) throws CelloException {
+		this.pipeline = pipeline;
+		Map<String, Integer> threads = DSGRNScheduler.getStageThreads(runEnv);
+		int queue = DSGRNScheduler.getStageQueue(runEnv);
+		this.executors = new HashMap<>();
+		for (String step : S_STEPS) {
+			int n = threads.get(step);
+			this.executors.put(step, new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+			        new ArrayBlockingQueue<>(queue), S_BLOCK));
+		}
+	}
+
+	/**
+	 * Returns the maximum number of designs waiting for each step.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The maximum number of designs waiting for each step.
+	 * @throws CelloException Invalid number.
+	 */
+	public static int getStageQueue(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String value = runEnv.getOptionValue(DSGRNArgString.STAGEQUEUE);
+		if (value == null) {
+			return S_QUEUE;
+		}
+		int rtn;
+		try {
+			rtn = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new CelloException("Invalid stage queue: " + value, e);
+		}
+		if (rtn < 1) {
+			throw new CelloException("Invalid stage queue: " + value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the number of workers of each step.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The number of workers of each step.
+	 * @throws CelloException Unknown step or invalid number.
+	 */
+	public static Map<String, Integer> getStageThreads(DSGRNRuntimeEnv runEnv) throws CelloException {
+		Map<String, Integer> rtn = new HashMap<>();
+		for (String step : S_STEPS) {
+			rtn.put(step, 1);
+		}
+		rtn.put(DSGRNPipeline.S_TECHNOLOGYMAPPING, DSGRNBatch.getThreads(runEnv));
+		String value = runEnv.getOptionValue(DSGRNArgString.STAGETHREADS);
+		if (value == null) {
+			return rtn;
+		}
+		for (String pair : value.split(",")) {
+			String[] tokens = pair.split("=");
+			if (tokens.length != 2 || !rtn.containsKey(tokens[0].trim())) {
+				throw new CelloException("Invalid stage threads: " + pair);
+			}
+			int n;
+			try {
+				n = Integer.parseInt(tokens[1].trim());
+			} catch (NumberFormatException e) {
+				throw new CelloException("Invalid stage threads: " + pair, e);
+			}
+			if (n < 1) {
+				throw new CelloException("Invalid stage threads: " + pair);
+			}
+			rtn.put(tokens[0].trim(), n);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns whether the runtime environment selects the staged scheduler.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return Whether the designs are scheduled by step.
+	 * @throws CelloException Unknown scheduler.
+	 */
+	public static boolean isStaged(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String value = runEnv.getOptionValue(DSGRNArgString.SCHEDULER);
+		if (value == null || value.equals(S_DESIGN)) {
+			return false;
+		}
+		if (!value.equals(S_STAGED)) {
+			throw new CelloException("Unknown scheduler: " + value);
+		}
+		return true;
+	}
+
+	/**
+	 * Queue the conversion of an input file. Waits while the queue of the
+	 * {@code convert} step is full.
+	 *
+	 * @param label   A label for the input file, used in log messages.
+	 * @param convert Converts the input file to designs.
+	 * @throws CelloException Interrupted while waiting.
+	 */
+	public void submit(String label, Callable<List<DSGRNDesign>> convert) throws CelloException {
+		this.submit(label, convert, null);
+	}
+
+	/**
+	 * Queue the conversion of an input file, and tell a listener once every design
+	 * of the file has left the pipeline. Waits while the queue of the
+	 * {@code convert} step is full.
+	 *
+	 * @param label    A label for the input file, used in log messages.
+	 * @param convert  Converts the input file to designs, or returns {@code null}
+	 *                 to skip the file.
+	 * @param listener The listener, or {@code null}.
+	 * @throws CelloException Interrupted while waiting.
+	 */
+	public void submit(String label, Callable<List<DSGRNDesign>> convert, Listener listener) throws CelloException {
+		this.begin();
+		try {
+			this.getExecutor(DSGRNPipeline.S_CONVERT).execute(() -> {
+				Group group = new Group(label, listener);
+				try {
+					List<DSGRNDesign> designs = convert.call();
+					group.designs = designs;
+					if (designs != null) {
+						for (DSGRNDesign design : designs) {
+							group.begin();
+							this.begin();
+							this.run(DSGRNPipeline.S_CONVERT, design, group);
+						}
+					}
+				} catch (Exception e) {
+					this.fail(label, e);
+					group.fail();
+				} finally {
+					this.end(group);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			this.end();
+			throw new CelloException("Interrupted while queueing " + label + ".", e);
+		}
+	}
+
+	/**
+	 * Execute a step on a design on the calling worker, with the events logged
+	 * meanwhile written to the log file of the design, and hand the design to the
+	 * next step.
+	 */
+	private void run(String step, DSGRNDesign design, Group group) {
+		boolean done = true;
+		DSGRNLogContext log = DSGRNLogContext.open(design.getRuntimeEnv());
+		try {
+			switch (step) {
+			case DSGRNPipeline.S_CONVERT:
+				this.getPipeline().prepare(design);
+				break;
+			case DSGRNPipeline.S_TECHNOLOGYMAPPING:
+				this.getPipeline().technologyMapping(design);
+				break;
+			case DSGRNPipeline.S_PLACING:
+				this.getPipeline().placing(design);
+				break;
+			case DSGRNPipeline.S_EXPORT:
+				this.getPipeline().export(design);
+				break;
+			case DSGRNPipeline.S_WRITENETLIST:
+				this.getPipeline().write(design);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown step: " + step);
+			}
+			int next = S_STEPS.indexOf(step) + 1;
+			if (next < S_STEPS.size()) {
+				String nextStep = S_STEPS.get(next);
+				this.getExecutor(nextStep).execute(() -> this.run(nextStep, design, group));
+				done = false;
+			}
+		} catch (Exception e) {
+			this.fail(design.getName(), e);
+			group.fail();
+		} finally {
+			if (done) {
+				this.getPipeline().writeMetrics(design);
+				this.end(group);
+			}
+			log.close();
+		}
+	}
+
+	/*
+	 * the listener of the file is told before the design counts as done, so that
+	 * await also waits for the listener
+	 */
+	private void end(Group group) {
+		try {
+			if (group.end() && group.listener != null) {
+				group.listener.done(group.designs, group.failed);
+			}
+		} catch (Exception e) {
+			this.fail(group.label, e);
+		} finally {
+			this.end();
+		}
+	}
+
+	private synchronized void begin() {
+		this.pending++;
+	}
+
+	private synchronized void end() {
+		if (--this.pending == 0) {
+			this.notifyAll();
+		}
+	}
+
+	private synchronized void fail(String label, Exception e) {
+		this.failed++;
+		getLogger().error("Design " + label + " failed: " + e.getMessage(), e);
+	}
+
+	/**
+	 * Wait for every design submitted so far, and stop the workers.
+	 *
+	 * @throws CelloException Interrupted, or at least one design failed.
+	 */
+	public void await() throws CelloException {
+		try {
+			synchronized (this) {
+				while (this.pending > 0) {
+					this.wait();
+				}
+			}
+		} catch (InterruptedException e) {
+			for (ThreadPoolExecutor executor : this.executors.values()) {
+				executor.shutdownNow();
+			}
+			Thread.currentThread().interrupt();
+			throw new CelloException("Interrupted while waiting for the designs.", e);
+		}
+		for (ThreadPoolExecutor executor : this.executors.values()) {
+			executor.shutdown();
+		}
+		synchronized (this) {
+			if (this.failed > 0) {
+				throw new CelloException(this.failed + " designs failed.");
+			}
+		}
+	}
+
+	/**
+	 * Is told once every design of an input file has left the pipeline.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called on the worker of the last design of the file to leave the pipeline,
+		 * or of the conversion if the file has no designs.
+		 *
+		 * @param designs The designs of the file, or {@code null} if the file was
+		 *                skipped or its conversion failed.
+		 * @param failed  The number of designs of the file that failed, counting a
+		 *                failed conversion as one.
+		 * @throws CelloException Unable to process the outputs of the file.
+		 */
+		void done(List<DSGRNDesign> designs, int failed) throws CelloException;
+
+	}
+
+	/*
+	 * the designs of an input file that have not left the pipeline, and the
+	 * conversion while it hands them to the pipeline
+	 */
+	private static class Group {
+
+		Group(String label, Listener listener) {
+			this.label = label;
+			this.listener = listener;
+			this.remaining = 1;
+		}
+
+		synchronized void begin() {
+			this.remaining++;
+		}
+
+		synchronized boolean end() {
+			return --this.remaining == 0;
+		}
+
+		synchronized void fail() {
+			this.failed++;
+		}
+
+		private String label;
+		private Listener listener;
+		private volatile List<DSGRNDesign> designs;
+		private int remaining;
+		private int failed;
+
+	}
+
+	/**
+	 * Stop the workers without waiting for the designs. The outcome of each
+	 * design is left to the listeners of the files.
+	 */
+	public void shutdown() {
+		for (ThreadPoolExecutor executor : this.executors.values()) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Getter for {@code pipeline}.
+	 *
+	 * @return The value of {@code pipeline}.
+	 */
+	public DSGRNPipeline getPipeline() {
+		return pipeline;
+	}
+
+	private ThreadPoolExecutor getExecutor(String step) {
+		return this.executors.get(step);
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNScheduler} class.
+	 *
+	 * @return The logger for the {@link DSGRNScheduler} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNScheduler.logger;
+	}
+
+	private DSGRNPipeline pipeline;
+	private Map<String, ThreadPoolExecutor> executors;
+	private int pending;
+	private int failed;
+
+	private static final Logger logger = LogManager.getLogger(DSGRNScheduler.class);
+
+	/*
+	 * a full queue makes the caller wait for room instead of failing
+	 */
+	private static final RejectedExecutionHandler S_BLOCK = (r, executor) -> {
+		if (executor.isShutdown()) {
+			throw new RejectedExecutionException("Scheduler stopped.");
+		}
+		try {
+			executor.getQueue().put(r);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(e);
+		}
+	};
+
+	private static final int S_QUEUE = 4;
+
+	public static final String S_DESIGN = "design";
+	public static final String S_STAGED = "staged";
+	public static final List<String> S_STEPS = Collections.unmodifiableList(Arrays.asList(DSGRNPipeline.S_CONVERT,
+	        DSGRNPipeline.S_TECHNOLOGYMAPPING, DSGRNPipeline.S_PLACING, DSGRNPipeline.S_EXPORT,
+	        DSGRNPipeline.S_WRITENETLIST));
+
+}
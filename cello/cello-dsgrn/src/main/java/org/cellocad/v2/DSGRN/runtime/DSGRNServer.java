@@ -0,0 +1,508 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.InfeasibleNetlistException;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A long running service for the <i>DSGRN</i> application, listening on a local
+ * HTTP port. A design is submitted by posting an SBOL document to
+ * {@code /designs}. The query string may name the design ({@code name}) and
+ * replace the target data files of the command line
+ * ({@code userConstraintsFile}, {@code inputSensorFile},
+ * {@code outputDeviceFile}). The response is a JSON object with the output
+ * directory of the design and the final netlist of each design in the
+ * document.<br>
+ * Designs are processed by a fixed number of workers. When the queue of waiting
+ * designs is full the service answers {@code 503} so that clients can retry
+ * later. The data loaded from the target data files is kept between requests.
+ * When the service stops, the technologyMapping stage of the designs in
+ * progress keeps the best assignment found so far.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNServer {
+
+	/**
+	 * Initializes a newly created {@link DSGRNServer}.
+	 *
+	 * @param runEnv The runtime environment of the service.
+	 * @throws CelloException Unable to open the port.
+	 */
+	public DSGRNServer(DSGRNRuntimeEnv runEnv) throws CelloException {
+		this.runEnv = runEnv;
+		this.outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		int threads = DSGRNBatch.getThreads(runEnv);
+		int queue = DSGRNServer.getQueue(runEnv);
+		this.renderer = new DSGRNRenderer(runEnv);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+		        new ArrayBlockingQueue<>(queue));
+		this.contexts = new LinkedHashMap<String, DSGRNContext>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, DSGRNContext> eldest) {
+				return this.size() > S_CONTEXTS;
+			}
+		};
+		int port = Integer.parseInt(runEnv.getOptionValue(DSGRNArgString.SERVER));
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		} catch (IOException e) {
+			throw new CelloException("Unable to listen on port " + port + ".", e);
+		}
+		this.server.createContext(S_DESIGNS, this::handle);
+		// request threads only wait for the workers, the queue bounds the work
+		this.server.setExecutor(Executors.newCachedThreadPool());
+	}
+
+	/**
+	 * Returns the maximum number of designs waiting for a worker.
+	 *
+	 * @param runEnv The runtime environment of the service.
+	 * @return The maximum number of designs waiting for a worker.
+	 * @throws CelloException Invalid number.
+	 */
+	public static int getQueue(DSGRNRuntimeEnv runEnv) throws CelloException {
+		String value = runEnv.getOptionValue(DSGRNArgString.SERVERQUEUE);
+		if (value == null) {
+			return S_QUEUE;
+		}
+		int rtn;
+		try {
+			rtn = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new CelloException("Invalid server queue: " + value, e);
+		}
+		if (rtn < 1) {
+			throw new CelloException("Invalid server queue: " + value);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Start accepting designs.
+	 */
+	public void start() {
+		this.getServer().start();
+		getLogger().info("Listening on " + this.getServer().getAddress() + " with "
+		        + this.getExecutor().getMaximumPoolSize() + " workers.");
+	}
+
+	/**
+	 * Stop accepting designs, cancel the technologyMapping stage of the designs in
+	 * progress and queued, and wait for them.
+	 */
+	public void stop() {
+		this.getServer().stop(0);
+		this.getExecutor().shutdown();
+		for (DSGRNPipeline pipeline : this.getPipelines()) {
+			pipeline.cancel();
+		}
+		try {
+			this.getExecutor().awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.getRenderer().shutdown();
+	}
+
+	/**
+	 * Returns the parameters of a raw query string.
+	 *
+	 * @param query The raw query string, or {@code null}.
+	 * @return The decoded parameters, by name.
+	 */
+	static Map<String, String> getParameters(String query) {
+		Map<String, String> rtn = new HashMap<>();
+		if (query == null) {
+			return rtn;
+		}
+		for (String pair : query.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int i = pair.indexOf('=');
+			String key = i < 0 ? pair : pair.substring(0, i);
+			String value = i < 0 ? "" : pair.substring(i + 1);
+			try {
+				rtn.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+			} catch (UnsupportedEncodingException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return rtn;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void handle(HttpExchange exchange) throws IOException {
+		JSONObject response = new JSONObject();
+		int status = 200;
+		try {
+			if (!exchange.getRequestMethod().equals("POST")) {
+				exchange.getResponseHeaders().add("Allow", "POST");
+				throw new RequestException(405, "Designs must be posted.");
+			}
+			Map<String, String> parameters = DSGRNServer.getParameters(exchange.getRequestURI().getRawQuery());
+			Future<JSONObject> future;
+			try {
+				future = this.submit(exchange.getRequestBody(), parameters);
+			} catch (RejectedExecutionException e) {
+				exchange.getResponseHeaders().add("Retry-After", "1");
+				throw new RequestException(503, "The queue of designs is full.");
+			}
+			try {
+				response = future.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof InfeasibleNetlistException) {
+					response.put(S_REASONS, ((InfeasibleNetlistException) e.getCause()).getReasons());
+					throw new RequestException(422, e.getCause().getMessage());
+				}
+				throw new RequestException(500, e.getCause().getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RequestException(503, "The service is stopping.");
+			}
+		} catch (RequestException e) {
+			status = e.getStatus();
+			response.put(S_ERROR, e.getMessage());
+		} catch (IOException | RuntimeException e) {
+			// the design could not be queued, every request still gets an answer
+			getLogger().error("Unable to submit design.", e);
+			response = new JSONObject();
+			status = 500;
+			response.put(S_ERROR, String.valueOf(e.getMessage()));
+		}
+		byte[] bytes = response.toJSONString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(bytes);
+		}
+	}
+
+	/**
+	 * Save a posted document in a new output directory, and queue its designs.
+	 */
+	private Future<JSONObject> submit(InputStream body, Map<String, String> parameters)
+	        throws IOException, RequestException {
+		String name = parameters.getOrDefault(S_NAME, S_DESIGN);
+		if (!name.matches("[\\w.-]+")) {
+			throw new RequestException(400, "Invalid design name: " + name);
+		}
+		Map<String, String> options = new HashMap<>();
+		for (String option : S_TARGETDATA) {
+			String value = parameters.get(option);
+			if (value != null) {
+				options.put(option, value);
+			}
+		}
+		// directories of an earlier run of the service are kept
+		File designDir = null;
+		do {
+			designDir = new File(this.getOutputDir(), name + "_" + this.getCount().incrementAndGet());
+		} while (designDir.exists());
+		if (!designDir.mkdirs()) {
+			throw new IOException("Unable to create output directory: " + designDir);
+		}
+		File inputFile = new File(designDir, name + ".xml");
+		try {
+			try {
+				Files.copy(body, inputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				throw new RequestException(400, "Unable to read the design: " + e.getMessage());
+			}
+			DSGRNRuntimeEnv designEnv = this.getRuntimeEnv().getDesignRuntimeEnv(inputFile.getAbsolutePath(),
+			        designDir, options);
+			return this.getExecutor().submit(() -> {
+				// the request is logged in its own output directory
+				DSGRNLogContext log = DSGRNLogContext.open(designEnv);
+				try {
+					return this.execute(inputFile, designEnv);
+				} finally {
+					log.close();
+				}
+			});
+		} catch (RequestException | RuntimeException e) {
+			// nothing was queued, so the directory holds at most the input file
+			inputFile.delete();
+			designDir.delete();
+			throw e;
+		}
+	}
+
+	/**
+	 * Convert and process the designs of a document, as {@link Main} does.
+	 *
+	 * @param inputFile The document.
+	 * @param runEnv    The runtime environment of the request.
+	 * @return The response to the request.
+	 * @throws CelloException Unable to process the designs.
+	 */
+	protected JSONObject execute(File inputFile, DSGRNRuntimeEnv runEnv) throws CelloException {
+		getLogger().info("Processing " + inputFile.getAbsolutePath() + ".");
+		DSGRNMetrics metrics = new DSGRNMetrics(inputFile.getName());
+		DSGRNPipeline pipeline = null;
+		DSGRNMetrics.Phase phase = metrics.start(DSGRNPipeline.S_TARGETDATA);
+		try {
+			pipeline = new DSGRNPipeline(this.getContext(runEnv), this.getRenderer());
+		} finally {
+			phase.close();
+		}
+		this.getPipelines().add(pipeline);
+		if (this.getExecutor().isShutdown()) {
+			pipeline.cancel();
+		}
+		try {
+			return this.execute(inputFile, runEnv, pipeline, metrics);
+		} finally {
+			this.getPipelines().remove(pipeline);
+		}
+	}
+
+	/**
+	 * Convert and process the designs of a document with a pipeline.
+	 */
+	@SuppressWarnings("unchecked")
+	private JSONObject execute(File inputFile, DSGRNRuntimeEnv runEnv, DSGRNPipeline pipeline,
+	        DSGRNMetrics metrics) throws CelloException {
+		String inputFilePath = inputFile.getAbsolutePath();
+		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		List<Netlist> netlists = DSGRNPipeline.convert(inputFile, runEnv, metrics);
+		List<File> outputDirs = DSGRNBatch.getOutputDirs(netlists, outputDir);
+		JSONArray results = new JSONArray();
+		for (int i = 0; i < netlists.size(); i++) {
+			Netlist netlist = netlists.get(i);
+			File designDir = outputDirs.get(i);
+			if (!designDir.isDirectory() && !designDir.mkdirs()) {
+				throw new CelloException("Unable to create output directory: " + designDir);
+			}
+			netlist.setInputFilename(inputFilePath);
+			DSGRNRuntimeEnv designEnv = runEnv;
+			if (netlists.size() > 1) {
+				designEnv = runEnv.getDesignRuntimeEnv(inputFilePath, designDir);
+			}
+			netlist = pipeline.execute(netlist, designEnv, inputFilePath, new DSGRNMetrics(netlist.getName(), metrics));
+			JSONObject result = new JSONObject();
+			result.put(S_OUTPUTDIR, designDir.getAbsolutePath());
+			try {
+				result.put(S_NETLIST, new JSONParser().parse(DSGRNNetlistUtils.getJSONString(netlist)));
+			} catch (ParseException e) {
+				throw new CelloException("Unable to write netlist.", e);
+			}
+			results.add(result);
+		}
+		JSONObject rtn = new JSONObject();
+		rtn.put(S_OUTPUTDIR, outputDir.getAbsolutePath());
+		rtn.put(S_RESULTS, results);
+		return rtn;
+	}
+
+	/**
+	 * Returns the shared data for the target data files of a runtime environment,
+	 * loading it only if the content of the files is not among the recently used.
+	 */
+	private DSGRNContext getContext(DSGRNRuntimeEnv runEnv) throws CelloException {
+		List<File> files = new ArrayList<>();
+		for (String option : S_TARGETDATA) {
+			String value = runEnv.getOptionValue(option);
+			files.add(value == null ? null : new File(value));
+		}
+		String key = DSGRNUtils.getHash(files, new ArrayList<>());
+		DSGRNContext rtn = null;
+		synchronized (this.contexts) {
+			rtn = this.contexts.get(key);
+		}
+		if (rtn == null) {
+			// concurrent misses may load the same data twice, the last one is kept
+			rtn = new DSGRNContext(runEnv);
+			synchronized (this.contexts) {
+				this.contexts.put(key, rtn);
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * An error to report to the client.
+	 */
+	private static class RequestException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+
+		int getStatus() {
+			return status;
+		}
+
+		private int status;
+
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code outputDir}.
+	 *
+	 * @return The value of {@code outputDir}.
+	 */
+	protected File getOutputDir() {
+		return outputDir;
+	}
+
+	/**
+	 * Getter for {@code server}.
+	 *
+	 * @return The value of {@code server}.
+	 */
+	public HttpServer getServer() {
+		return server;
+	}
+
+	/**
+	 * Getter for {@code renderer}.
+	 *
+	 * @return The value of {@code renderer}.
+	 */
+	protected DSGRNRenderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Getter for {@code executor}.
+	 *
+	 * @return The value of {@code executor}.
+	 */
+	protected ThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Getter for {@code pipelines}, the pipelines of the requests in progress.
+	 *
+	 * @return The value of {@code pipelines}.
+	 */
+	protected Set<DSGRNPipeline> getPipelines() {
+		return pipelines;
+	}
+
+	/**
+	 * Getter for {@code count}.
+	 *
+	 * @return The value of {@code count}.
+	 */
+	protected AtomicLong getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNServer} class.
+	 *
+	 * @return The logger for the {@link DSGRNServer} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNServer.logger;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private File outputDir;
+	private HttpServer server;
+	private ThreadPoolExecutor executor;
+	private DSGRNRenderer renderer;
+	private Map<String, DSGRNContext> contexts;
+	private AtomicLong count = new AtomicLong();
+	private Set<DSGRNPipeline> pipelines = ConcurrentHashMap.newKeySet();
+
+	private static final Logger logger = LogManager.getLogger(DSGRNServer.class);
+
+	private static final int S_QUEUE = 16;
+	private static final int S_CONTEXTS = 4;
+	private static final List<String> S_TARGETDATA = Arrays.asList(ArgString.USERCONSTRAINTSFILE,
+	        ArgString.INPUTSENSORFILE, ArgString.OUTPUTDEVICEFILE);
+
+	public static final String S_DESIGNS = "/designs";
+	public static final String S_NAME = "name";
+	public static final String S_DESIGN = "design";
+	public static final String S_OUTPUTDIR = "outputDir";
+	public static final String S_NETLIST = "netlist";
+	public static final String S_RESULTS = "designs";
+	public static final String S_ERROR = "error";
+	public static final String S_REASONS = "reasons";
+
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.results.netlist.converter.SBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.Utils;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistNode;
+
+/**
+ * The ranking of the logic variants of the designs of an input file. With more
+ * than one variant per design, the converters turn a design whose gates can be
+ * read as more than one gate type into a netlist per reading, the variants are
+ * processed like the designs of a collection, and the variants of each design
+ * are then ranked by their circuit score in a table written next to their
+ * output directories. Each row names the gate types of the variant that differ
+ * between the variants of the design.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNVariants {
+
+	/**
+	 * Returns the maximum number of variants of a design requested in the runtime
+	 * environment.
+	 *
+	 * @param runEnv The runtime environment.
+	 * @return The maximum number of variants, by default one.
+	 */
+	public static int getMaxVariants(DSGRNRuntimeEnv runEnv) {
+		int rtn = 1;
+		String value = runEnv.getOptionValue(DSGRNArgString.VARIANTS);
+		if (value != null) {
+			rtn = Math.max(1, Integer.parseInt(value));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the name of the design of which a design is a variant.
+	 *
+	 * @param design The design.
+	 * @return The name of the design without the suffix of the variant, or the
+	 *         name of the design if it is not a variant.
+	 */
+	public static String getSource(DSGRNDesign design) {
+		String rtn = design.getName();
+		int idx = rtn.lastIndexOf(SBOLMolecularModelToPoPSNetlistConverter.S_VARIANT);
+		if (idx > 0) {
+			String k = rtn.substring(idx + SBOLMolecularModelToPoPSNetlistConverter.S_VARIANT.length());
+			if (!k.isEmpty() && k.chars().allMatch(Character::isDigit)) {
+				rtn = rtn.substring(0, idx);
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the designs grouped by the design of which they are a variant.
+	 *
+	 * @param designs The designs.
+	 * @return The variants of each design, by the name of the design, in the order
+	 *         of the designs.
+	 */
+	public static Map<String, List<DSGRNDesign>> getVariants(List<DSGRNDesign> designs) {
+		Map<String, List<DSGRNDesign>> rtn = new LinkedHashMap<>();
+		for (DSGRNDesign design : designs) {
+			rtn.computeIfAbsent(DSGRNVariants.getSource(design), k -> new ArrayList<>()).add(design);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the gate type of each gate of a netlist, by name.
+	 */
+	private static Map<String, String> getGateTypes(Netlist netlist) {
+		Map<String, String> rtn = new LinkedHashMap<>();
+		for (int i = 0; i < netlist.getNumVertex(); i++) {
+			NetlistNode node = netlist.getVertexAtIdx(i);
+			String type = node.getResultNetlistNodeData().getNodeType();
+			if (!LSResults.S_PRIMARYINPUT.equals(type) && !LSResults.S_PRIMARYOUTPUT.equals(type)) {
+				rtn.put(node.getName(), type);
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the ranking of designs: the designs with a score from the highest
+	 * score to the lowest, then the designs without a score, each with the gate
+	 * types that differ between the designs.
+	 *
+	 * @param designs The designs, the variants of one design.
+	 * @return One row per design, with the columns {@link #S_COLUMNS}.
+	 */
+	public static List<List<String>> getRanking(List<DSGRNDesign> designs) {
+		List<List<String>> rtn = new ArrayList<>();
+		// the gates whose type differs between the designs
+		Map<DSGRNDesign, Map<String, String>> types = new HashMap<>();
+		Map<String, String> first = new HashMap<>();
+		Set<String> variable = new HashSet<>();
+		for (DSGRNDesign design : designs) {
+			Map<String, String> gates = DSGRNVariants.getGateTypes(design.getNetlist());
+			types.put(design, gates);
+			for (Map.Entry<String, String> gate : gates.entrySet()) {
+				String type = first.putIfAbsent(gate.getKey(), gate.getValue());
+				if (type != null && !type.equals(gate.getValue())) {
+					variable.add(gate.getKey());
+				}
+			}
+		}
+		List<DSGRNDesign> ranked = new ArrayList<>(designs);
+		ranked.sort(Comparator.comparing(DSGRNDesign::getScore, Comparator.nullsLast(Comparator.reverseOrder())));
+		for (int i = 0; i < ranked.size(); i++) {
+			DSGRNDesign design = ranked.get(i);
+			Double score = design.getScore();
+			List<String> gates = new ArrayList<>();
+			for (Map.Entry<String, String> gate : types.get(design).entrySet()) {
+				if (variable.contains(gate.getKey())) {
+					gates.add(gate.getKey() + "=" + gate.getValue());
+				}
+			}
+			List<String> row = new ArrayList<>();
+			row.add(score == null ? "" : String.valueOf(i + 1));
+			row.add(design.getName());
+			row.add(score == null ? "" : score.toString());
+			row.add(String.join(" ", gates));
+			rtn.add(row);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Write the ranking of designs to a CSV file.
+	 *
+	 * @param designs The designs, the variants of one design.
+	 * @param file    The file.
+	 * @throws CelloException Unable to write the file.
+	 */
+	public static void write(List<DSGRNDesign> designs, File file) throws CelloException {
+		try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			w.write(String.join(",", S_COLUMNS) + Utils.getNewLine());
+			for (List<String> row : DSGRNVariants.getRanking(designs)) {
+				w.write(String.join(",", row) + Utils.getNewLine());
+			}
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Write the ranking of the variants of each design of an input file to its
+	 * output directory if variants were requested in the runtime environment. A
+	 * failure is logged rather than thrown, so that it does not hide the failure
+	 * of a design.
+	 *
+	 * @param designs       The designs of the input file.
+	 * @param runEnv        The runtime environment.
+	 * @param outputDir     The output directory of the input file.
+	 * @param inputFilePath The path of the input file.
+	 */
+	public static void write(List<DSGRNDesign> designs, DSGRNRuntimeEnv runEnv, File outputDir,
+	        String inputFilePath) {
+		if (DSGRNVariants.getMaxVariants(runEnv) <= 1) {
+			return;
+		}
+		for (Map.Entry<String, List<DSGRNDesign>> entry : DSGRNVariants.getVariants(designs).entrySet()) {
+			List<DSGRNDesign> variants = entry.getValue();
+			if (variants.size() <= 1) {
+				continue;
+			}
+			File file = new File(outputDir, entry.getKey() + S_VARIANTS);
+			try {
+				DSGRNVariants.write(variants, file);
+			} catch (CelloException e) {
+				getLogger().warn(e.getMessage());
+				continue;
+			}
+			List<List<String>> ranking = DSGRNVariants.getRanking(variants);
+			if (!ranking.get(0).get(0).isEmpty()) {
+				getLogger().info("Best of " + variants.size() + " variants of " + entry.getKey() + " in "
+				        + Utils.getFilename(inputFilePath) + ": " + ranking.get(0).get(1) + " with score "
+				        + ranking.get(0).get(2) + ".");
+			}
+		}
+	}
+
+	/**
+	 * Returns the logger for {@link DSGRNVariants}.
+	 *
+	 * @return The logger for {@link DSGRNVariants}.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNVariants.logger;
+	}
+
+	private static final Logger logger = LogManager.getLogger(DSGRNVariants.class);
+
+	public static final String[] S_COLUMNS = { "rank", "design", "score", "gates" };
+	private static final String S_VARIANTS = "_variants.csv";
+
+}
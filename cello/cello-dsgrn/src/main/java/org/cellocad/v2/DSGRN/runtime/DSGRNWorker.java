@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * A worker JVM of a batch shared by a {@link DSGRNCoordinator}. The worker
+ * loads the configuration, target data, and netlist constraints once, connects
+ * to the coordinator, and then takes one file of the batch at a time until the
+ * coordinator stops it, processing each file as {@link DSGRNBatch} does.
+ * <p>
+ * The coordinator and its workers exchange JSON objects, one per line, each
+ * with a {@link #S_TYPE}: the worker says {@link #S_HELLO} with its identifier,
+ * then asks for a file with {@link #S_TAKE}, and is answered with a
+ * {@link #S_JOB} naming the input file and its output directory, or with
+ * {@link #S_STOP}. The outcome of each job is sent back as a {@link #S_RESULT}
+ * before the next file is taken. A worker told to {@link #S_ROLL} rolls the
+ * archive of its outputs and says {@link #S_ARCHIVED} before it asks again. Only the address of the coordinator ties a
+ * worker to it, so workers need not run on the same machine as long as they
+ * share the file system.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNWorker {
+
+	/**
+	 * Initializes a newly created {@link DSGRNWorker}.
+	 *
+	 * @param runEnv The runtime environment of the worker.
+	 * @throws CelloException Unable to load the shared data.
+	 */
+	public DSGRNWorker(DSGRNRuntimeEnv runEnv) throws CelloException {
+		this.runEnv = runEnv;
+		this.batch = new DSGRNBatch(runEnv);
+	}
+
+	/**
+	 * Returns a message of the protocol.
+	 *
+	 * @param type The type of the message.
+	 * @return The message.
+	 */
+	@SuppressWarnings("unchecked")
+	static JSONObject getMessage(String type) {
+		JSONObject rtn = new JSONObject();
+		rtn.put(S_TYPE, type);
+		return rtn;
+	}
+
+	/**
+	 * Write a message of the protocol.
+	 *
+	 * @param writer  The writer of the connection.
+	 * @param message The message.
+	 * @throws IOException Unable to write the message.
+	 */
+	static void write(Writer writer, JSONObject message) throws IOException {
+		writer.write(message.toJSONString());
+		writer.write('\n');
+		writer.flush();
+	}
+
+	/**
+	 * Read a message of the protocol.
+	 *
+	 * @param reader The reader of the connection.
+	 * @return The message, or {@code null} at the end of the connection.
+	 * @throws IOException Unable to read the message.
+	 */
+	static JSONObject read(BufferedReader reader) throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		try {
+			return (JSONObject) new JSONParser().parse(line);
+		} catch (ParseException | ClassCastException e) {
+			throw new IOException("Invalid message: " + line, e);
+		}
+	}
+
+	/**
+	 * Take and process files from the coordinator until it stops the worker.
+	 *
+	 * @throws CelloException Unable to reach the coordinator.
+	 */
+	@SuppressWarnings("unchecked")
+	public void execute() throws CelloException {
+		String address = this.getRuntimeEnv().getOptionValue(DSGRNArgString.WORKER);
+		int idx = address.lastIndexOf(':');
+		String host = address.substring(0, idx);
+		int port = Integer.parseInt(address.substring(idx + 1));
+		int processed = 0;
+		try (Socket socket = new Socket(host, port);
+		        BufferedReader reader = new BufferedReader(
+		                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		        Writer writer = new BufferedWriter(
+		                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+			JSONObject hello = getMessage(S_HELLO);
+			hello.put(S_WORKER, this.getRuntimeEnv().getOptionValue(DSGRNArgString.WORKERID));
+			write(writer, hello);
+			while (true) {
+				write(writer, getMessage(S_TAKE));
+				JSONObject job = read(reader);
+				if (job != null && S_ROLL.equals(job.get(S_TYPE))) {
+					this.getBatch().getOutputSink().roll();
+					write(writer, getMessage(S_ARCHIVED));
+					continue;
+				}
+				if (job == null || !S_JOB.equals(job.get(S_TYPE))) {
+					break;
+				}
+				File inputFile = new File((String) job.get(S_INPUT));
+				File outputDir = new File((String) job.get(S_OUTPUTDIR));
+				JSONObject result = getMessage(S_RESULT);
+				result.put(S_ID, job.get(S_ID));
+				DSGRNLogContext log = DSGRNLogContext.open(this.getRuntimeEnv());
+				try {
+					this.getBatch().execute(inputFile, outputDir);
+				} catch (CelloException | RuntimeException e) {
+					getLogger().error("Design " + inputFile + " failed: " + e.getMessage(), e);
+					result.put(S_ERROR, String.valueOf(e.getMessage()));
+				} finally {
+					log.close();
+				}
+				write(writer, result);
+				processed++;
+			}
+		} catch (IOException e) {
+			throw new CelloException("Lost the coordinator at " + address + ".", e);
+		} finally {
+			getLogger().info("Processed " + processed + " files.");
+			this.getBatch().shutdown();
+		}
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code batch}.
+	 *
+	 * @return The value of {@code batch}.
+	 */
+	protected DSGRNBatch getBatch() {
+		return batch;
+	}
+
+	/**
+	 * Returns the logger for the {@link DSGRNWorker} class.
+	 *
+	 * @return The logger for the {@link DSGRNWorker} class.
+	 */
+	protected static Logger getLogger() {
+		return DSGRNWorker.logger;
+	}
+
+	private DSGRNRuntimeEnv runEnv;
+	private DSGRNBatch batch;
+
+	private static final Logger logger = LogManager.getLogger(DSGRNWorker.class);
+
+	public static final String S_TYPE = "type";
+	public static final String S_HELLO = "hello";
+	public static final String S_TAKE = "take";
+	public static final String S_JOB = "job";
+	public static final String S_RESULT = "result";
+	public static final String S_STOP = "stop";
+	public static final String S_ROLL = "roll";
+	public static final String S_ARCHIVED = "archived";
+	public static final String S_WORKER = "worker";
+	public static final String S_ID = "id";
+	public static final String S_INPUT = "input";
+	public static final String S_OUTPUTDIR = "outputDir";
+	public static final String S_ERROR = "error";
+
+}
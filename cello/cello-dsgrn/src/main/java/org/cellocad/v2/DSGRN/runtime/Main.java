@@ -23,32 +23,20 @@ package org.cellocad.v2.DSGRN.runtime;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cellocad.v2.DSGRN.common.DSGRNUtils;
-import org.cellocad.v2.DSGRN.results.netlist.converter.SBOLMolecularModelToPoPSNetlistConverter;
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
 import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
 import org.cellocad.v2.common.CelloException;
 import org.cellocad.v2.common.Utils;
-import org.cellocad.v2.common.application.ApplicationConfiguration;
-import org.cellocad.v2.common.application.ApplicationUtils;
-import org.cellocad.v2.common.file.dot.utils.Dot2Pdf;
-import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraint;
-import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraintUtils;
 import org.cellocad.v2.common.runtime.environment.ArgString;
-import org.cellocad.v2.common.stage.Stage;
-import org.cellocad.v2.common.target.data.TargetData;
-import org.cellocad.v2.common.target.data.TargetDataUtils;
-import org.cellocad.v2.export.runtime.EXRuntimeObject;
-import org.cellocad.v2.placing.runtime.PLRuntimeObject;
-import org.cellocad.v2.results.common.Results;
 import org.cellocad.v2.results.netlist.Netlist;
-import org.cellocad.v2.results.netlist.NetlistUtils;
-import org.cellocad.v2.technologyMapping.runtime.TMRuntimeObject;
 import org.sbolstandard.core2.SBOLConversionException;
-import org.sbolstandard.core2.SBOLDocument;
-import org.sbolstandard.core2.SBOLReader;
 import org.sbolstandard.core2.SBOLValidationException;
 
 /**
@@ -81,88 +69,151 @@ public class Main {
 		if (!runEnv.isValid()) {
 			throw new RuntimeException("DSGRNRuntimeEnv is invalid!");
 		}
+		/*
+		 * Query of the results index
+		 */
+		if (runEnv.getOptionValue(DSGRNArgString.QUERY) != null) {
+			DSGRNResultsIndex.query(runEnv, System.out);
+			return;
+		}
 		/*
 		 * Setup Logger
 		 */
 		Main.setupLogger(runEnv);
+		/*
+		 * Python scripts of the stages, in persistent processes if requested
+		 */
+		if (!DSGRNCoordinator.isCoordinator(runEnv)) {
+			runEnv = DSGRNPythonPool.start(runEnv);
+		}
+		/*
+		 * Worker of a batch shared by a coordinator
+		 */
+		if (runEnv.getOptionValue(DSGRNArgString.WORKER) != null) {
+			DSGRNWorker worker = new DSGRNWorker(runEnv);
+			worker.execute();
+			return;
+		}
+		/*
+		 * Server
+		 */
+		if (runEnv.getOptionValue(DSGRNArgString.SERVER) != null) {
+			DSGRNServer server = new DSGRNServer(runEnv);
+			server.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+			return;
+		}
+		/*
+		 * Batch
+		 */
+		if (runEnv.getOptionValue(DSGRNArgString.BATCH) != null) {
+			if (DSGRNCoordinator.isCoordinator(runEnv)) {
+				DSGRNCoordinator coordinator = new DSGRNCoordinator(runEnv);
+				coordinator.execute();
+				return;
+			}
+			DSGRNBatch batch = new DSGRNBatch(runEnv);
+			// once terminated, the designs in progress finish with the best assignment so far
+			Runtime.getRuntime().addShutdownHook(new Thread(batch::stop));
+			batch.execute();
+			return;
+		}
 		/*
 		 * Application setup
 		 */
 		// Netlist
 		String inputFilePath = runEnv.getOptionValue(ArgString.INPUTNETLIST);
+		if (inputFilePath == null) {
+			throw new CelloException("Either an input netlist or a batch must be specified!");
+		}
 		File inputFile = new File(inputFilePath);
 		if (!(inputFile.exists() && !inputFile.isDirectory())) {
 			throw new CelloException("Input file does not exist!");
 		}
-		SBOLMolecularModelToPoPSNetlistConverter converter = new SBOLMolecularModelToPoPSNetlistConverter();
-		SBOLDocument document = SBOLReader.read(inputFile);
-		Netlist netlist = converter.convert(document);
-		netlist.setInputFilename(inputFilePath);
-		// ApplicationConfiguration
-		ApplicationConfiguration appCfg;
+		DSGRNMetrics metrics = new DSGRNMetrics(inputFile.getName());
+		List<Netlist> netlists = DSGRNPipeline.convert(inputFile, runEnv, metrics);
+		// ApplicationConfiguration, TargetData, NetlistConstraint
+		DSGRNContext context = null;
+		if (DSGRNPipeline.isContextRequired(runEnv)) {
+			DSGRNMetrics.Phase phase = metrics.start(DSGRNPipeline.S_TARGETDATA);
+			try {
+				context = new DSGRNContext(runEnv);
+			} finally {
+				phase.close();
+			}
+		}
+		/*
+		 * Stages
+		 */
+		DSGRNPipeline pipeline = new DSGRNPipeline(context, new DSGRNRenderer(runEnv));
 		try {
-			appCfg = ApplicationUtils.getApplicationConfiguration(runEnv, ArgString.OPTIONS,
-			        DSGRNUtils.getApplicationConfiguration());
-		} catch (IOException e) {
-			throw new RuntimeException("Error with application configuration file.");
+			Main.execute(pipeline, netlists, runEnv, inputFilePath, metrics);
+		} finally {
+			// wait for the graphs still being rendered
+			pipeline.getRenderer().shutdown();
 		}
-		if (!appCfg.isValid()) {
-			throw new RuntimeException("ApplicationConfiguration is invalid!");
+	}
+
+	private static void execute(DSGRNPipeline pipeline, List<Netlist> netlists, DSGRNRuntimeEnv runEnv,
+	        String inputFilePath, DSGRNMetrics metrics) throws CelloException {
+		if (netlists.size() == 1) {
+			Netlist netlist = netlists.get(0);
+			netlist.setInputFilename(inputFilePath);
+			pipeline.execute(netlist, runEnv, inputFilePath, new DSGRNMetrics(netlist.getName(), metrics));
+			return;
 		}
-		// get TargetData
-		TargetData td = TargetDataUtils.getTargetTargetData(runEnv, ArgString.USERCONSTRAINTSFILE,
-		        ArgString.INPUTSENSORFILE, ArgString.OUTPUTDEVICEFILE);
-		if (!td.isValid()) {
-			throw new CelloException("TargetData is invalid!");
+		// a collection of designs, each written to its own subdirectory
+		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
+		List<File> outputDirs = DSGRNBatch.getOutputDirs(netlists, outputDir);
+		List<DSGRNDesign> designs = new ArrayList<>();
+		for (int i = 0; i < netlists.size(); i++) {
+			Netlist netlist = netlists.get(i);
+			File designDir = outputDirs.get(i);
+			if (!designDir.isDirectory() && !designDir.mkdirs()) {
+				throw new CelloException("Unable to create output directory: " + designDir);
+			}
+			netlist.setInputFilename(inputFilePath);
+			DSGRNRuntimeEnv designEnv = runEnv.getDesignRuntimeEnv(inputFilePath, designDir);
+			DSGRNMetrics designMetrics = new DSGRNMetrics(netlist.getName(), metrics);
+			designs.add(new DSGRNDesign(netlist, designEnv, inputFilePath, designMetrics));
 		}
-		// NetlistConstraint
-		NetlistConstraint netlistConstraint = NetlistConstraintUtils.getNetlistConstraintData(runEnv,
-		        ArgString.NETLISTCONSTRAINTFILE);
-		if (netlistConstraint == null) {
-			netlistConstraint = new NetlistConstraint();
+		try {
+			if (DSGRNScheduler.isStaged(runEnv)) {
+				DSGRNScheduler scheduler = new DSGRNScheduler(pipeline, runEnv);
+				try {
+					scheduler.submit(inputFilePath, () -> designs);
+				} finally {
+					scheduler.await();
+				}
+				return;
+			}
+			List<Callable<Void>> jobs = new ArrayList<>();
+			List<String> labels = new ArrayList<>();
+			for (DSGRNDesign design : designs) {
+				jobs.add(() -> {
+					pipeline.execute(design);
+					return null;
+				});
+				labels.add(design.getName());
+			}
+			DSGRNBatch.execute(jobs, labels, DSGRNBatch.getThreads(runEnv));
+		} finally {
+			// the logic variants of the design, if any, by score
+			DSGRNVariants.write(designs, runEnv, outputDir, inputFilePath);
 		}
-		// Results
-		File outputDir = new File(runEnv.getOptionValue(ArgString.OUTPUTDIR));
-		Results results = new Results(outputDir);
-		// Write netlist
-		Main.writeJSONForNetlist(runEnv, netlist, inputFilePath);
-		File importDotFile = new File(outputDir, netlist.getName() + "_dsgrn_import" + ".dot");
-		NetlistUtils.writeDotFileForGraph(netlist, importDotFile.getAbsolutePath());
-		Dot2Pdf.dot2pdf(importDotFile);
-		/*
-		 * Stages
-		 */
-		Stage currentStage = null;
-		/*
-		 * technologyMapping
-		 */
-		currentStage = appCfg.getStageByName("technologyMapping");
-		TMRuntimeObject TM = new TMRuntimeObject(currentStage, td, netlistConstraint, netlist, results, runEnv);
-		TM.execute();
-		// Write netlist
-		Main.writeJSONForNetlist(runEnv, netlist, inputFilePath);
-		File tmDotFile = new File(outputDir, netlist.getName() + "_technologyMapping" + ".dot");
-		NetlistUtils.writeDotFileForGraph(netlist, tmDotFile.getAbsolutePath());
-		Dot2Pdf.dot2pdf(tmDotFile);
-		/*
-		 * placing
-		 */
-		currentStage = appCfg.getStageByName("placing");
-		PLRuntimeObject PL = new PLRuntimeObject(currentStage, td, netlistConstraint, netlist, results, runEnv);
-		PL.execute();
-		// Write netlist
-		Main.writeJSONForNetlist(runEnv, netlist, inputFilePath);
-		/*
-		 * export
-		 */
-		currentStage = appCfg.getStageByName("export");
-		EXRuntimeObject EX = new EXRuntimeObject(currentStage, td, netlistConstraint, netlist, results, runEnv);
-		EX.execute();
-		// Write netlist
-		Main.writeJSONForNetlist(runEnv, netlist, inputFilePath);
 	}
 
-	protected static void writeJSONForNetlist(DSGRNRuntimeEnv runEnv, Netlist netlist, String inputFilePath) {
+	/**
+	 * Returns the path of the output netlist: the path given in the runtime
+	 * environment, or a file named after the input file in the output directory.
+	 *
+	 * @param runEnv        The runtime environment.
+	 * @param inputFilePath The path of the input file.
+	 * @return The path of the output netlist.
+	 * @throws CelloException Unknown netlist format.
+	 */
+	protected static String getOutputNetlistFilePath(DSGRNRuntimeEnv runEnv, String inputFilePath)
+	        throws CelloException {
 		String outputNetlistFilePath = null;
 		outputNetlistFilePath = runEnv.getOptionValue(ArgString.OUTPUTNETLIST);
 		if (outputNetlistFilePath == null) {
@@ -171,26 +222,23 @@ public class Main {
 			outputNetlistFilePath += Utils.getFileSeparator();
 			outputNetlistFilePath += Utils.getFilename(inputFilePath);
 			outputNetlistFilePath += "_outputNetlist";
-			outputNetlistFilePath += ".json";
+			outputNetlistFilePath += ".";
+			outputNetlistFilePath += DSGRNNetlistUtils.getExtension(DSGRNPipeline.getNetlistFormat(runEnv));
 		}
-		NetlistUtils.writeJSONForNetlist(netlist, outputNetlistFilePath);
+		return outputNetlistFilePath;
 	}
 
 	/**
 	 * Setup the logger using the {@link DSGRNRuntimeEnv} defined by parameter
-	 * {@code runEnv}.
+	 * {@code runEnv}: the events of the main thread are written to the log file of
+	 * the runtime environment. The designs each write their own log file.
 	 *
 	 * @param runEnv The runtime environment.
+	 * @see DSGRNLogContext
 	 */
 	protected static void setupLogger(DSGRNRuntimeEnv runEnv) {
-		String logfile = runEnv.getOptionValue(ArgString.LOGFILENAME);
-		if (logfile == null) {
-			logfile = "log.log";
-		}
-		logfile = runEnv.getOptionValue(ArgString.OUTPUTDIR) + Utils.getFileSeparator() + logfile;
-		// the logger will write to the specified file
-		System.setProperty("logfile.name", logfile);
-		logger = LogManager.getLogger(Main.class);
+		// the main thread keeps this log file until it exits
+		DSGRNLogContext.open(runEnv);
 	}
 
 	/**
@@ -202,6 +250,6 @@ public class Main {
 		return Main.logger;
 	}
 
-	private static Logger logger;
+	private static final Logger logger = LogManager.getLogger(Main.class);
 
 }
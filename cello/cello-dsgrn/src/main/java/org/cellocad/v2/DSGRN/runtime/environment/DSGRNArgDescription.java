@@ -32,4 +32,39 @@ import org.cellocad.v2.common.application.runtime.environment.ApplicationArgDesc
  */
 public class DSGRNArgDescription extends ApplicationArgDescription {
 
+	public static final String BATCH_DESCRIPTION = "a directory, glob, or manifest file of SBOL designs to process in one run";
+	public static final String THREADS_DESCRIPTION = "number of designs to process concurrently in batch mode (default: number of processors)";
+	public static final String SBOLREADER_DESCRIPTION = "reader for the input SBOL: libSBOLj (default), or stream for a single pass reader of DSGRN documents that does not build an SBOL document";
+	public static final String SERVER_DESCRIPTION = "run as a service on the given local HTTP port, processing the designs posted to /designs";
+	public static final String SERVERQUEUE_DESCRIPTION = "maximum number of designs waiting for a worker in server mode (default: 16)";
+	public static final String RENDER_DESCRIPTION = "rendering of the netlist graphs: off, dot for DOT files only, pdf (default) for DOT and PDF files, or async to convert the DOT files to PDF in the background";
+	public static final String RENDERTHREADS_DESCRIPTION = "number of background PDF conversions in the async render mode (default: 2)";
+	public static final String RESUMEFROM_DESCRIPTION = "stage to resume from (technologyMapping, placing, or export), reading the netlist from the checkpoint of the stage before it in the output directory";
+	public static final String STOPAFTER_DESCRIPTION = "stage to stop after (import, technologyMapping, or placing), writing the checkpoint of the stage; technologyMapping also writes a score record of each design";
+	public static final String TARGETDATACACHEDIR_DESCRIPTION = "directory of a cache of preprocessed target data and configuration, keyed by the content of the target data files and the configuration";
+	public static final String TARGETDATACACHESIZE_DESCRIPTION = "maximum number of entries in the target data cache (default: 16)";
+	public static final String RESULTCACHEDIR_DESCRIPTION = "directory of the cache of technology mapping and placing results, shared by the designs with the same topology and gate types";
+	public static final String RESULTCACHESIZE_DESCRIPTION = "maximum number of entries in the result cache (default: 256)";
+	public static final String SCHEDULER_DESCRIPTION = "scheduling of multiple designs: design (default) to run all stages of a design on one worker, or staged to give each stage its own workers linked by bounded queues";
+	public static final String STAGETHREADS_DESCRIPTION = "workers of each stage with the staged scheduler, as stage=count pairs separated by commas (stages: convert, technologyMapping, placing, export, writeNetlist)";
+	public static final String STAGEQUEUE_DESCRIPTION = "maximum number of designs waiting for each stage with the staged scheduler (default: 4)";
+	public static final String NETLISTFORMAT_DESCRIPTION = "format of the output netlist: json (default), json.gz for compressed JSON, or binary for a compact binary encoding";
+	public static final String VARIANTS_DESCRIPTION = "maximum number of logic variants of each design to map and rank, for designs whose gates can be read as more than one gate type (default: 1)";
+	public static final String TMTIMEBUDGET_DESCRIPTION = "time budget of the technologyMapping stage of each design in seconds, to which the iterations of the chains of each round are fitted; the best assignment so far is kept";
+	public static final String RESULTSINDEX_DESCRIPTION = "results index: a file to which a summary record of each design is appended as a line of JSON, with its score, gate assignment, stage timings, and output paths";
+	public static final String QUERY_DESCRIPTION = "print the records of the results index that match every condition of a list separated by commas, each a field, an operator (=, !=, <, <=, >, >=), and a value, for example score>100,completed=true; * matches every record";
+	public static final String QUERYSORT_DESCRIPTION = "field to sort the records of a query by, prefixed with - for descending order (default: -score)";
+	public static final String QUERYLIMIT_DESCRIPTION = "maximum number of records printed by a query, or 0 for all (default: 10)";
+	public static final String SBOLVALIDATION_DESCRIPTION = "validation of the input SBOL: full for the complete validation of libSBOLj, dsgrn for a check of only the structure the conversion of DSGRN designs relies on, or none (default); dsgrn and none read with the stream reader unless another is given";
+	public static final String WORKERS_DESCRIPTION = "number of worker JVMs among which the files of a batch are shared, each started with the JVM options of this one; a crashed worker is replaced and its file retried";
+	public static final String SHARDSIZE_DESCRIPTION = "number of consecutive files of a batch handed to a worker JVM at a time (default: a quarter of the files per worker)";
+	public static final String MAXATTEMPTS_DESCRIPTION = "maximum number of attempts at a file of a batch whose worker JVM crashes (default: 3)";
+	public static final String WORKER_DESCRIPTION = "address of the coordinator from which a worker JVM takes the files of a batch, set by the coordinator";
+	public static final String WORKERID_DESCRIPTION = "identifier of a worker JVM, set by the coordinator";
+	public static final String PYTHONWORKERS_DESCRIPTION = "maximum number of persistent Python processes, started on demand with their imports loaded once, that run the Python scripts of the stages in place of a new interpreter each (default: 0, a new interpreter each)";
+	public static final String PYTHONMAXJOBS_DESCRIPTION = "number of scripts a persistent Python process runs before it is replaced (default: 50); a process whose script fails is replaced at once";
+	public static final String PYTHONTIMEOUT_DESCRIPTION = "seconds a persistent Python process may take to run a script before it is killed and replaced, 0 for no limit (default: 600)";
+	public static final String OUTPUTARCHIVE_DESCRIPTION = "archive of the outputs of a batch: none (default) for a directory per file, or zip or tar for a single archive in the output directory, one per shard of a worker JVM, into which the outputs of each file are streamed once it is done, with a manifest of the entries of each design";
+	public static final String SCRATCHDIR_DESCRIPTION = "directory in which the designs of a batch written to an archive are processed, preferably on a local disk (default: the temporary directory of the JVM)";
+
 }
@@ -33,4 +33,39 @@ import org.cellocad.v2.common.application.runtime.environment.ApplicationArgStri
  */
 public class DSGRNArgString extends ApplicationArgString {
 
+	public static final String BATCH = "batch";
+	public static final String THREADS = "threads";
+	public static final String SBOLREADER = "sbolReader";
+	public static final String SERVER = "server";
+	public static final String SERVERQUEUE = "serverQueue";
+	public static final String RENDER = "render";
+	public static final String RENDERTHREADS = "renderThreads";
+	public static final String RESUMEFROM = "resumeFrom";
+	public static final String STOPAFTER = "stopAfter";
+	public static final String TARGETDATACACHEDIR = "targetDataCacheDir";
+	public static final String TARGETDATACACHESIZE = "targetDataCacheSize";
+	public static final String RESULTCACHEDIR = "resultCacheDir";
+	public static final String RESULTCACHESIZE = "resultCacheSize";
+	public static final String SCHEDULER = "scheduler";
+	public static final String STAGETHREADS = "stageThreads";
+	public static final String STAGEQUEUE = "stageQueue";
+	public static final String NETLISTFORMAT = "netlistFormat";
+	public static final String VARIANTS = "variants";
+	public static final String TMTIMEBUDGET = "tmTimeBudget";
+	public static final String RESULTSINDEX = "resultsIndex";
+	public static final String QUERY = "query";
+	public static final String QUERYSORT = "querySort";
+	public static final String QUERYLIMIT = "queryLimit";
+	public static final String SBOLVALIDATION = "sbolValidation";
+	public static final String WORKERS = "workers";
+	public static final String SHARDSIZE = "shardSize";
+	public static final String MAXATTEMPTS = "maxAttempts";
+	public static final String WORKER = "worker";
+	public static final String WORKERID = "workerId";
+	public static final String PYTHONWORKERS = "pythonWorkers";
+	public static final String PYTHONMAXJOBS = "pythonMaxJobs";
+	public static final String PYTHONTIMEOUT = "pythonTimeout";
+	public static final String OUTPUTARCHIVE = "outputArchive";
+	public static final String SCRATCHDIR = "scratchDir";
+
 }
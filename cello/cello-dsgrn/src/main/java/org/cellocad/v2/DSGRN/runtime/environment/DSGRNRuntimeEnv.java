@@ -20,6 +20,15 @@
  */
 package org.cellocad.v2.DSGRN.runtime.environment;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
 import org.cellocad.v2.common.application.runtime.environment.ApplicationRuntimeEnv;
 
 /**
@@ -40,6 +49,287 @@ public class DSGRNRuntimeEnv extends ApplicationRuntimeEnv {
 	 */
 	public DSGRNRuntimeEnv(String[] args) {
 		super(args);
+		this.args = Arrays.copyOf(args, args.length);
+	}
+
+	/**
+	 * Returns a runtime environment for a single design of a batch: the command
+	 * line arguments of this instance with the input netlist and output directory
+	 * replaced, and the batch-only arguments removed.
+	 *
+	 * @param inputNetlist The input netlist of the design.
+	 * @param outputDir    The output directory of the design.
+	 * @return A runtime environment for the design.
+	 */
+	public DSGRNRuntimeEnv getDesignRuntimeEnv(String inputNetlist, File outputDir) {
+		return this.getDesignRuntimeEnv(inputNetlist, outputDir, new HashMap<>());
+	}
+
+	/**
+	 * Returns a runtime environment for a single design: the command line arguments
+	 * of this instance with the input netlist, the output directory, and the given
+	 * options replaced, and the batch and server arguments removed.
+	 *
+	 * @param inputNetlist The input netlist of the design.
+	 * @param outputDir    The output directory of the design.
+	 * @param options      Other options of the design, by name.
+	 * @return A runtime environment for the design.
+	 */
+	public DSGRNRuntimeEnv getDesignRuntimeEnv(String inputNetlist, File outputDir, Map<String, String> options) {
+		List<String> replaced = new ArrayList<>(Arrays.asList(DSGRNArgString.INPUTNETLIST,
+		        DSGRNArgString.OUTPUTDIR, DSGRNArgString.OUTPUTNETLIST, DSGRNArgString.BATCH, DSGRNArgString.THREADS,
+		        DSGRNArgString.SERVER, DSGRNArgString.SERVERQUEUE, DSGRNArgString.WORKERS, DSGRNArgString.WORKER,
+		        DSGRNArgString.WORKERID));
+		replaced.addAll(options.keySet());
+		List<String> args = this.getArgs(replaced);
+		args.add("-" + DSGRNArgString.INPUTNETLIST);
+		args.add(inputNetlist);
+		args.add("-" + DSGRNArgString.OUTPUTDIR);
+		args.add(outputDir.getAbsolutePath());
+		for (Map.Entry<String, String> option : options.entrySet()) {
+			args.add("-" + option.getKey());
+			args.add(option.getValue());
+		}
+		DSGRNRuntimeEnv rtn = new DSGRNRuntimeEnv(args.toArray(new String[0]));
+		rtn.setName(this.getName());
+		return rtn;
+	}
+
+	/**
+	 * Returns the command line arguments of a worker JVM of a batch: the command
+	 * line arguments of this instance with the batch and coordinator arguments
+	 * replaced by the address of the coordinator, the identifier of the worker,
+	 * and a log file of its own.
+	 *
+	 * @param coordinator The address of the coordinator, a host and a port.
+	 * @param id          The identifier of the worker.
+	 * @param logFilename The name of the log file of the worker.
+	 * @return The command line arguments of the worker.
+	 */
+	public String[] getWorkerArgs(String coordinator, int id, String logFilename) {
+		List<String> args = this.getArgs(Arrays.asList(DSGRNArgString.BATCH, DSGRNArgString.WORKERS,
+		        DSGRNArgString.SHARDSIZE, DSGRNArgString.MAXATTEMPTS, DSGRNArgString.WORKER, DSGRNArgString.WORKERID,
+		        DSGRNArgString.LOGFILENAME));
+		args.add("-" + DSGRNArgString.WORKER);
+		args.add(coordinator);
+		args.add("-" + DSGRNArgString.WORKERID);
+		args.add(String.valueOf(id));
+		args.add("-" + DSGRNArgString.LOGFILENAME);
+		args.add(logFilename);
+		return args.toArray(new String[0]);
+	}
+
+	/**
+	 * Returns a runtime environment with the command line arguments of this
+	 * instance, the given options replaced.
+	 *
+	 * @param options The options to replace, by name.
+	 * @return The runtime environment.
+	 */
+	public DSGRNRuntimeEnv getRuntimeEnv(Map<String, String> options) {
+		List<String> args = this.getArgs(new ArrayList<>(options.keySet()));
+		for (Map.Entry<String, String> option : options.entrySet()) {
+			args.add("-" + option.getKey());
+			args.add(option.getValue());
+		}
+		DSGRNRuntimeEnv rtn = new DSGRNRuntimeEnv(args.toArray(new String[0]));
+		rtn.setName(this.getName());
+		return rtn;
+	}
+
+	/**
+	 * Returns the command line arguments of this instance without the given
+	 * options and their values. The argument following a removed option is
+	 * removed only if the option takes a value.
+	 */
+	private List<String> getArgs(List<String> removed) {
+		List<String> rtn = new ArrayList<>();
+		for (int i = 0; i < this.args.length; i++) {
+			String arg = this.args[i];
+			String name = arg.replaceFirst("^--?", "");
+			if (!arg.startsWith("-") || !removed.contains(name)) {
+				rtn.add(arg);
+				continue;
+			}
+			Option option = this.getOptions().getOption(name);
+			if (option != null && option.hasArg()) {
+				i++;
+			}
+		}
+		return rtn;
+	}
+
+	private Option getBatchOption() {
+		Option rtn = new Option(DSGRNArgString.BATCH, true, DSGRNArgDescription.BATCH_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getThreadsOption() {
+		Option rtn = new Option(DSGRNArgString.THREADS, true, DSGRNArgDescription.THREADS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getSBOLReaderOption() {
+		Option rtn = new Option(DSGRNArgString.SBOLREADER, true, DSGRNArgDescription.SBOLREADER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getServerOption() {
+		Option rtn = new Option(DSGRNArgString.SERVER, true, DSGRNArgDescription.SERVER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getServerQueueOption() {
+		Option rtn = new Option(DSGRNArgString.SERVERQUEUE, true, DSGRNArgDescription.SERVERQUEUE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getRenderOption() {
+		Option rtn = new Option(DSGRNArgString.RENDER, true, DSGRNArgDescription.RENDER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getRenderThreadsOption() {
+		Option rtn = new Option(DSGRNArgString.RENDERTHREADS, true, DSGRNArgDescription.RENDERTHREADS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getResumeFromOption() {
+		Option rtn = new Option(DSGRNArgString.RESUMEFROM, true, DSGRNArgDescription.RESUMEFROM_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getStopAfterOption() {
+		Option rtn = new Option(DSGRNArgString.STOPAFTER, true, DSGRNArgDescription.STOPAFTER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getTargetDataCacheDirOption() {
+		Option rtn = new Option(DSGRNArgString.TARGETDATACACHEDIR, true,
+		        DSGRNArgDescription.TARGETDATACACHEDIR_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getTargetDataCacheSizeOption() {
+		Option rtn = new Option(DSGRNArgString.TARGETDATACACHESIZE, true,
+		        DSGRNArgDescription.TARGETDATACACHESIZE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getResultCacheDirOption() {
+		Option rtn = new Option(DSGRNArgString.RESULTCACHEDIR, true, DSGRNArgDescription.RESULTCACHEDIR_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getResultCacheSizeOption() {
+		Option rtn = new Option(DSGRNArgString.RESULTCACHESIZE, true,
+		        DSGRNArgDescription.RESULTCACHESIZE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getSchedulerOption() {
+		Option rtn = new Option(DSGRNArgString.SCHEDULER, true, DSGRNArgDescription.SCHEDULER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getStageThreadsOption() {
+		Option rtn = new Option(DSGRNArgString.STAGETHREADS, true, DSGRNArgDescription.STAGETHREADS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getStageQueueOption() {
+		Option rtn = new Option(DSGRNArgString.STAGEQUEUE, true, DSGRNArgDescription.STAGEQUEUE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getNetlistFormatOption() {
+		Option rtn = new Option(DSGRNArgString.NETLISTFORMAT, true, DSGRNArgDescription.NETLISTFORMAT_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getVariantsOption() {
+		Option rtn = new Option(DSGRNArgString.VARIANTS, true, DSGRNArgDescription.VARIANTS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getTMTimeBudgetOption() {
+		Option rtn = new Option(DSGRNArgString.TMTIMEBUDGET, true, DSGRNArgDescription.TMTIMEBUDGET_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getResultsIndexOption() {
+		Option rtn = new Option(DSGRNArgString.RESULTSINDEX, true, DSGRNArgDescription.RESULTSINDEX_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getQueryOption() {
+		Option rtn = new Option(DSGRNArgString.QUERY, true, DSGRNArgDescription.QUERY_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getQuerySortOption() {
+		Option rtn = new Option(DSGRNArgString.QUERYSORT, true, DSGRNArgDescription.QUERYSORT_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getQueryLimitOption() {
+		Option rtn = new Option(DSGRNArgString.QUERYLIMIT, true, DSGRNArgDescription.QUERYLIMIT_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getSBOLValidationOption() {
+		Option rtn = new Option(DSGRNArgString.SBOLVALIDATION, true, DSGRNArgDescription.SBOLVALIDATION_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getWorkersOption() {
+		Option rtn = new Option(DSGRNArgString.WORKERS, true, DSGRNArgDescription.WORKERS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getShardSizeOption() {
+		Option rtn = new Option(DSGRNArgString.SHARDSIZE, true, DSGRNArgDescription.SHARDSIZE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getMaxAttemptsOption() {
+		Option rtn = new Option(DSGRNArgString.MAXATTEMPTS, true, DSGRNArgDescription.MAXATTEMPTS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getWorkerOption() {
+		Option rtn = new Option(DSGRNArgString.WORKER, true, DSGRNArgDescription.WORKER_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getWorkerIdOption() {
+		Option rtn = new Option(DSGRNArgString.WORKERID, true, DSGRNArgDescription.WORKERID_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getPythonWorkersOption() {
+		Option rtn = new Option(DSGRNArgString.PYTHONWORKERS, true, DSGRNArgDescription.PYTHONWORKERS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getPythonMaxJobsOption() {
+		Option rtn = new Option(DSGRNArgString.PYTHONMAXJOBS, true, DSGRNArgDescription.PYTHONMAXJOBS_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getPythonTimeoutOption() {
+		Option rtn = new Option(DSGRNArgString.PYTHONTIMEOUT, true, DSGRNArgDescription.PYTHONTIMEOUT_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getOutputArchiveOption() {
+		Option rtn = new Option(DSGRNArgString.OUTPUTARCHIVE, true, DSGRNArgDescription.OUTPUTARCHIVE_DESCRIPTION);
+		return rtn;
+	}
+
+	private Option getScratchDirOption() {
+		Option rtn = new Option(DSGRNArgString.SCRATCHDIR, true, DSGRNArgDescription.SCRATCHDIR_DESCRIPTION);
+		return rtn;
 	}
 
 	/**
@@ -48,7 +338,48 @@ public class DSGRNRuntimeEnv extends ApplicationRuntimeEnv {
 	@Override
 	protected void setOptions() {
 		super.setOptions();
-		// uncomment the line below to add options
-		// Options options = this.getOptions();
+		Options options = this.getOptions();
+		// the input netlist is replaced by the batch option in batch mode
+		Option inputNetlist = options.getOption(DSGRNArgString.INPUTNETLIST);
+		if (inputNetlist != null) {
+			inputNetlist.setRequired(false);
+		}
+		options.addOption(this.getBatchOption());
+		options.addOption(this.getThreadsOption());
+		options.addOption(this.getSBOLReaderOption());
+		options.addOption(this.getServerOption());
+		options.addOption(this.getServerQueueOption());
+		options.addOption(this.getRenderOption());
+		options.addOption(this.getRenderThreadsOption());
+		options.addOption(this.getResumeFromOption());
+		options.addOption(this.getStopAfterOption());
+		options.addOption(this.getTargetDataCacheDirOption());
+		options.addOption(this.getTargetDataCacheSizeOption());
+		options.addOption(this.getResultCacheDirOption());
+		options.addOption(this.getResultCacheSizeOption());
+		options.addOption(this.getSchedulerOption());
+		options.addOption(this.getStageThreadsOption());
+		options.addOption(this.getStageQueueOption());
+		options.addOption(this.getNetlistFormatOption());
+		options.addOption(this.getVariantsOption());
+		options.addOption(this.getTMTimeBudgetOption());
+		options.addOption(this.getResultsIndexOption());
+		options.addOption(this.getQueryOption());
+		options.addOption(this.getQuerySortOption());
+		options.addOption(this.getQueryLimitOption());
+		options.addOption(this.getSBOLValidationOption());
+		options.addOption(this.getWorkersOption());
+		options.addOption(this.getShardSizeOption());
+		options.addOption(this.getMaxAttemptsOption());
+		options.addOption(this.getWorkerOption());
+		options.addOption(this.getWorkerIdOption());
+		options.addOption(this.getPythonWorkersOption());
+		options.addOption(this.getPythonMaxJobsOption());
+		options.addOption(this.getPythonTimeoutOption());
+		options.addOption(this.getOutputArchiveOption());
+		options.addOption(this.getScratchDirOption());
 	}
+
+	private String[] args;
+
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONArray;
+
+/**
+ * Thrown when a netlist cannot be mapped to the target data, before the
+ * <i>technologyMapping</i> stage is executed.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class InfeasibleNetlistException extends CelloException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Initializes a newly created {@link InfeasibleNetlistException}.
+	 *
+	 * @param message The message.
+	 * @param reasons The reasons, as returned by
+	 *                {@link TMFeasibility#getReasons(org.cellocad.v2.results.netlist.Netlist)}.
+	 */
+	public InfeasibleNetlistException(String message, JSONArray reasons) {
+		super(message);
+		this.reasons = reasons;
+	}
+
+	/**
+	 * Getter for {@code reasons}.
+	 *
+	 * @return The value of {@code reasons}.
+	 */
+	public JSONArray getReasons() {
+		return reasons;
+	}
+
+	private JSONArray reasons;
+
+}
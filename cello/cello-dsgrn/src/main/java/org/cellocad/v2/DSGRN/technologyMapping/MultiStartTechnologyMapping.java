@@ -0,0 +1,671 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.DSGRN.common.DSGRNUtils;
+import org.cellocad.v2.DSGRN.results.netlist.DSGRNNetlistUtils;
+import org.cellocad.v2.DSGRN.runtime.DSGRNContext;
+import org.cellocad.v2.DSGRN.runtime.DSGRNLogContext;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.application.ApplicationConfiguration;
+import org.cellocad.v2.common.application.ApplicationUtils;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.common.stage.Stage;
+import org.cellocad.v2.results.common.Results;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.technologyMapping.runtime.TMRuntimeObject;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+/**
+ * Runs several independent chains of the <i>technologyMapping</i> stage on
+ * copies of a netlist and keeps the assignment with the highest circuit score.
+ * The chains are configured by the {@code multistart} object of the
+ * <i>technologyMapping</i> stage in the application configuration, the bundled
+ * one or the one given with {@code -options}:
+ * <ul>
+ * <li>{@code chains}: the number of chains;</li>
+ * <li>{@code seeds}: the seed of each chain, chains without a seed use their
+ * index;</li>
+ * <li>{@code iterations}: if present, the number of iterations of every
+ * chain;</li>
+ * <li>{@code seed_parameter} and {@code iterations_parameter}: the names of the
+ * integer parameters of the algorithm that receive the seed and the number of
+ * iterations, which the profile of the algorithm must declare;</li>
+ * <li>{@code rounds}: the maximum number of rounds of chains;</li>
+ * <li>{@code patience}: if present, the number of rounds without a better
+ * score after which the stage has converged.</li>
+ * </ul>
+ * With a single chain and no overrides the stage runs on the netlist itself,
+ * exactly as without this class.
+ * <p>
+ * The stage is anytime: the chains run in rounds, each chain of a round with
+ * the next seed, and the best assignment so far is kept after each round. The
+ * rounds stop at the maximum number of rounds, on convergence, when
+ * {@link #cancel()} is called, or when no iteration of a further round would end
+ * within the time budget of the runtime environment. A single round runs unless
+ * a patience or a number of rounds is given.
+ * <p>
+ * A chain runs to the end of its annealing schedule, so with a time budget the
+ * iterations of the chains of each round are reduced to fit the time left. The
+ * time of an iteration is first estimated by a short pilot chain and then
+ * measured on each round, and the chains run the iterations of the
+ * configuration or, without those, the iterations of the algorithm profile. The
+ * progress is logged and reported to the {@link TMProgressListener} instances
+ * after each round.
+ * <p>
+ * The chains of every design in the JVM share a pool with a worker per
+ * processor, and the chains of a round run in the directories of the chains of
+ * the first round.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class MultiStartTechnologyMapping {
+
+	/**
+	 * Initializes a newly created {@link MultiStartTechnologyMapping}.
+	 *
+	 * @param context The data shared by every design.
+	 * @param runEnv  The runtime environment of the design.
+	 */
+	public MultiStartTechnologyMapping(DSGRNContext context, DSGRNRuntimeEnv runEnv) {
+		this(context, context.getStageConfiguration(S_STAGE).get(S_MULTISTART), runEnv);
+	}
+
+	/**
+	 * Initializes a newly created {@link MultiStartTechnologyMapping} with the
+	 * given {@code multistart} object.
+	 *
+	 * @param context       The data shared by every design.
+	 * @param configuration The {@code multistart} object, or {@code null}.
+	 * @param runEnv        The runtime environment of the design.
+	 */
+	protected MultiStartTechnologyMapping(DSGRNContext context, Object configuration, DSGRNRuntimeEnv runEnv) {
+		this.context = context;
+		this.runEnv = runEnv;
+		this.configuration = configuration instanceof JSONObject ? (JSONObject) configuration : new JSONObject();
+		this.listeners = new CopyOnWriteArrayList<>();
+		this.stages = new ConcurrentHashMap<>();
+		this.addListener(progress -> getLogger().info("technologyMapping: " + progress + "."));
+	}
+
+	/**
+	 * Add a listener to the progress of the stage.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addListener(TMProgressListener listener) {
+		this.getListeners().add(listener);
+	}
+
+	/**
+	 * Stop the stage after the current round of chains. The stage then returns the
+	 * best assignment found so far.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * Returns whether {@link #cancel()} was called.
+	 *
+	 * @return Whether the stage was cancelled.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	private Integer getInteger(String key) {
+		Integer rtn = null;
+		Object value = this.getConfiguration().get(key);
+		if (value instanceof Number) {
+			rtn = ((Number) value).intValue();
+		}
+		return rtn;
+	}
+
+	private String getString(String key, String defaultValue) {
+		String rtn = defaultValue;
+		Object value = this.getConfiguration().get(key);
+		if (value instanceof String) {
+			rtn = (String) value;
+		}
+		return rtn;
+	}
+
+	private JSONArray getSeeds() {
+		JSONArray rtn = new JSONArray();
+		Object value = this.getConfiguration().get(S_SEEDS);
+		if (value instanceof JSONArray) {
+			rtn = (JSONArray) value;
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the number of chains.
+	 *
+	 * @return The number of chains, at least one.
+	 */
+	public int getNumChains() {
+		Integer rtn = this.getInteger(S_CHAINS);
+		return rtn == null ? 1 : Math.max(1, rtn);
+	}
+
+	/**
+	 * Returns the seed of a chain.
+	 *
+	 * @param chain The index of the chain.
+	 * @return The seed.
+	 */
+	public int getSeed(int chain) {
+		int rtn = chain;
+		JSONArray seeds = this.getSeeds();
+		if (chain < seeds.size()) {
+			rtn = ((Number) seeds.get(chain)).intValue();
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the time budget of the stage requested in the runtime environment.
+	 *
+	 * @return The time budget in nanoseconds, or zero for no budget.
+	 */
+	public long getTimeBudget() {
+		long rtn = 0;
+		String value = this.getRuntimeEnv().getOptionValue(DSGRNArgString.TMTIMEBUDGET);
+		if (value != null) {
+			rtn = Math.max(0, (long) (Double.parseDouble(value) * 1e9));
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the number of rounds without a better score after which the stage
+	 * has converged.
+	 *
+	 * @return The number of rounds, or zero to never converge.
+	 */
+	public int getPatience() {
+		Integer rtn = this.getInteger(S_PATIENCE);
+		return rtn == null ? 0 : Math.max(0, rtn);
+	}
+
+	/**
+	 * Returns the maximum number of rounds of chains.
+	 *
+	 * @return The maximum number of rounds, by default one without a patience,
+	 *         and unbounded otherwise.
+	 */
+	public int getMaxRounds() {
+		Integer rtn = this.getInteger(S_ROUNDS);
+		if (rtn == null) {
+			rtn = this.getPatience() > 0 ? Integer.MAX_VALUE : 1;
+		}
+		return Math.max(1, rtn);
+	}
+
+	private boolean hasOverrides() {
+		return this.getNumChains() > 1 || this.getInteger(S_ITERATIONS) != null || !this.getSeeds().isEmpty()
+		        || this.getMaxRounds() > 1 || this.getTimeBudget() > 0;
+	}
+
+	/**
+	 * Returns the number of iterations of a chain without a time budget: the
+	 * iterations of the configuration, or else those of the algorithm profile.
+	 *
+	 * @return The number of iterations.
+	 * @throws CelloException The algorithm does not declare a positive number of
+	 *                        iterations, so they cannot be fitted to a budget.
+	 */
+	public int getIterations() throws CelloException {
+		Integer rtn = this.getInteger(S_ITERATIONS);
+		if (rtn == null) {
+			Stage stage = this.getApplicationConfiguration().getStageByName(S_STAGE);
+			rtn = stage.getAlgorithmProfile().getIntParameter(this.getString(S_ITERATIONS_PARAMETER, S_ITERATIONS))
+			        .getSecond();
+			if (rtn == null || rtn < 1) {
+				throw new CelloException("The " + stage.getAlgorithmName() + " algorithm has no number of iterations "
+				        + "to fit the technologyMapping chains to the time budget.");
+			}
+		}
+		return Math.max(1, rtn);
+	}
+
+	private ApplicationConfiguration getApplicationConfiguration() throws CelloException {
+		ApplicationConfiguration rtn;
+		try {
+			rtn = ApplicationUtils.getApplicationConfiguration(this.getRuntimeEnv(), ArgString.OPTIONS,
+			        DSGRNUtils.getApplicationConfiguration());
+		} catch (IOException e) {
+			throw new CelloException("Error with application configuration file.", e);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the stage of a chain with the seed of the chain. Each position of
+	 * the chains of a round has its own copy of the stage, so that each chain can
+	 * set its own algorithm parameters. The copy is read from the application
+	 * configuration for the first chain in its position and reused by the chains
+	 * of the later rounds, which only run after it.
+	 *
+	 * @param chain      The index of the chain.
+	 * @param iterations The number of iterations of the chain, or {@code null} for
+	 *                   those of the algorithm profile.
+	 * @return The stage.
+	 * @throws CelloException Unable to read the application configuration, or the
+	 *                        algorithm does not declare the seed parameter, in
+	 *                        which case every chain would run the same search, or
+	 *                        the iterations parameter.
+	 */
+	protected Stage getStage(int chain, Integer iterations) throws CelloException {
+		int slot = chain % this.getNumChains();
+		Stage rtn = this.getStages().get(slot);
+		if (rtn == null) {
+			rtn = this.getApplicationConfiguration().getStageByName(S_STAGE);
+			this.getStages().put(slot, rtn);
+		}
+		String seed = this.getString(S_SEED_PARAMETER, S_SEED);
+		if (!rtn.getAlgorithmProfile().getIntParameter(seed).getFirst()) {
+			throw new CelloException("The " + rtn.getAlgorithmName() + " algorithm has no integer parameter " + seed
+			        + " to seed the technologyMapping chains.");
+		}
+		rtn.getAlgorithmProfile().setIntParameter(seed, this.getSeed(chain));
+		if (iterations != null) {
+			String parameter = this.getString(S_ITERATIONS_PARAMETER, S_ITERATIONS);
+			if (!rtn.getAlgorithmProfile().getIntParameter(parameter).getFirst()) {
+				throw new CelloException("The " + rtn.getAlgorithmName() + " algorithm has no integer parameter "
+				        + parameter + " to set the iterations of the technologyMapping chains.");
+			}
+			rtn.getAlgorithmProfile().setIntParameter(parameter, iterations);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns the output directory of a chain. A chain of a later round reuses the
+	 * directory of the chain of the first round in the same position.
+	 *
+	 * @param chain     The index of the chain.
+	 * @param outputDir The output directory of the design.
+	 * @return The output directory of the chain.
+	 */
+	protected File getChainDir(int chain, File outputDir) {
+		return new File(outputDir, S_STAGE + "_chain_" + chain % this.getNumChains());
+	}
+
+	/**
+	 * Run one chain on its own copy of the netlist, in its own output directory.
+	 *
+	 * @param chain      The index of the chain.
+	 * @param iterations The number of iterations of the chain, or {@code null} for
+	 *                   those of the algorithm profile.
+	 * @param netlist    The netlist of the design.
+	 * @param outputDir  The output directory of the design.
+	 * @return The copy of the netlist with the assignment of the chain.
+	 * @throws CelloException Unable to execute the stage.
+	 */
+	protected Netlist execute(int chain, Integer iterations, Netlist netlist, File outputDir)
+	        throws CelloException {
+		Netlist rtn = DSGRNNetlistUtils.copy(netlist);
+		File chainDir = this.getChainDir(chain, outputDir);
+		if (!chainDir.isDirectory() && !chainDir.mkdirs()) {
+			throw new CelloException("Unable to create output directory: " + chainDir);
+		}
+		DSGRNRuntimeEnv chainEnv = this.getRuntimeEnv()
+		        .getDesignRuntimeEnv(this.getRuntimeEnv().getOptionValue(ArgString.INPUTNETLIST), chainDir);
+		DSGRNContext ctx = this.getContext();
+		TMRuntimeObject TM = new TMRuntimeObject(this.getStage(chain, iterations), ctx.getTargetData(),
+		        ctx.getNetlistConstraint(), rtn, new Results(chainDir), chainEnv);
+		TM.execute();
+		return rtn;
+	}
+
+	/**
+	 * Execute the <i>technologyMapping</i> stage.
+	 *
+	 * @param netlist The netlist.
+	 * @param results The results of the design.
+	 * @return The netlist with the best assignment. This is {@code netlist} itself
+	 *         when a single chain runs without overrides, and otherwise the copy
+	 *         of the winning chain.
+	 * @throws CelloException Unable to execute the stage.
+	 */
+	public Netlist execute(Netlist netlist, Results results) throws CelloException {
+		DSGRNContext ctx = this.getContext();
+		if (!this.hasOverrides()) {
+			Stage stage = ctx.getApplicationConfiguration().getStageByName(S_STAGE);
+			TMRuntimeObject TM = new TMRuntimeObject(stage, ctx.getTargetData(), ctx.getNetlistConstraint(),
+			        netlist, results, this.getRuntimeEnv());
+			TM.execute();
+			return netlist;
+		}
+		int chains = this.getNumChains();
+		File outputDir = new File(this.getRuntimeEnv().getOptionValue(ArgString.OUTPUTDIR));
+		long budget = this.getTimeBudget();
+		int patience = this.getPatience();
+		int maxRounds = this.getMaxRounds();
+		long start = System.nanoTime();
+		Integer iterations = this.getInteger(S_ITERATIONS);
+		Integer roundIterations = iterations;
+		if (budget > 0) {
+			iterations = this.getIterations();
+			double iterationTime = this.getIterationTime(netlist, outputDir, iterations);
+			// the first round runs at least one iteration
+			roundIterations = Math.max(1, getIterations(iterations, budget - (System.nanoTime() - start),
+			        iterationTime));
+		}
+		List<Long> times = new ArrayList<>();
+		List<Double> scores = new ArrayList<>();
+		Netlist best = null;
+		int bestChain = 0;
+		int rounds = 0;
+		int stale = 0;
+		String stop = null;
+		List<Future<Netlist>> futures = new ArrayList<>();
+		try {
+			while (stop == null) {
+				futures.clear();
+				long roundStart = System.nanoTime();
+				long[] roundTimes = new long[chains];
+				for (int i = 0; i < chains; i++) {
+					int chain = rounds * chains + i;
+					int slot = i;
+					Integer chainIterations = roundIterations;
+					// the chain logs to the log file of the design
+					futures.add(S_EXECUTOR.submit(DSGRNLogContext.wrap(() -> {
+						long chainStart = System.nanoTime();
+						Netlist rtn = this.execute(chain, chainIterations, netlist, outputDir);
+						roundTimes[slot] = System.nanoTime() - chainStart;
+						return rtn;
+					})));
+				}
+				boolean improved = false;
+				for (int i = 0; i < chains; i++) {
+					Netlist chainNetlist = futures.get(i).get();
+					double score = this.getScore(chainNetlist);
+					scores.add(score);
+					times.add(roundTimes[i]);
+					if (best == null || score > scores.get(bestChain)) {
+						best = chainNetlist;
+						bestChain = scores.size() - 1;
+						improved = true;
+					}
+				}
+				rounds++;
+				stale = improved ? 0 : stale + 1;
+				long elapsed = System.nanoTime() - start;
+				this.progress(new TMProgress(rounds, scores.size(), roundIterations, scores.get(bestChain),
+				        bestChain, elapsed));
+				if (budget > 0) {
+					double iterationTime = (double) (System.nanoTime() - roundStart) / roundIterations;
+					roundIterations = getIterations(iterations, budget - elapsed, iterationTime);
+				}
+				if (this.isCancelled()) {
+					stop = S_STOP_CANCELLED;
+				} else if (rounds >= maxRounds) {
+					stop = S_STOP_ROUNDS;
+				} else if (patience > 0 && stale >= patience) {
+					stop = S_STOP_CONVERGED;
+				} else if (budget > 0 && roundIterations < 1) {
+					// no iteration of the next round would end within the budget
+					stop = S_STOP_DEADLINE;
+				}
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CelloException) {
+				throw (CelloException) e.getCause();
+			}
+			throw new CelloException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CelloException(e);
+		} finally {
+			// the chains of a failed round stop, the pool is shared
+			for (Future<Netlist> future : futures) {
+				future.cancel(true);
+			}
+		}
+		getLogger().info("Best of " + scores.size() + " technologyMapping chains in " + rounds + " rounds: chain "
+		        + bestChain + " with score " + scores.get(bestChain) + ", stopped by " + stop + ".");
+		this.writeSummary(getSummaryFile(outputDir, netlist.getName()), outputDir, scores, times, bestChain,
+		        rounds, stop);
+		return best;
+	}
+
+	/**
+	 * Returns the time of an iteration of a round of chains, estimated from a
+	 * short pilot chain on the calling thread. The chains of a round share the
+	 * pool, so a round takes the time of a chain for each wave of chains that the
+	 * pool runs at once.
+	 */
+	private double getIterationTime(Netlist netlist, File outputDir, int iterations) throws CelloException {
+		int pilot = Math.max(1, iterations / S_PILOT);
+		long start = System.nanoTime();
+		this.execute(0, pilot, netlist, outputDir);
+		long time = System.nanoTime() - start;
+		int waves = (this.getNumChains() + S_THREADS - 1) / S_THREADS;
+		getLogger().info("technologyMapping: pilot chain of " + pilot + " iterations in " + time / 1000000 + " ms.");
+		return (double) time * waves / pilot;
+	}
+
+	/**
+	 * Returns the number of iterations of the chains of a round that fit in the
+	 * time left, at most the given number.
+	 */
+	private static int getIterations(int iterations, long remaining, double iterationTime) {
+		return (int) Math.min(iterations, Math.max(0, remaining / Math.max(1.0, iterationTime)));
+	}
+
+	/**
+	 * Returns the circuit score of the assignment of a chain.
+	 *
+	 * @param netlist The netlist of the chain.
+	 * @return The circuit score.
+	 */
+	protected double getScore(Netlist netlist) {
+		return TMScoreUtils.getScore(netlist);
+	}
+
+	private void progress(TMProgress progress) {
+		for (TMProgressListener listener : this.getListeners()) {
+			listener.progress(progress);
+		}
+	}
+
+	/**
+	 * Returns the summary of the chains of a design, which names the output
+	 * directory of each chain and the best chain.
+	 *
+	 * @param outputDir The output directory of the design.
+	 * @param name      The name of the design.
+	 * @return The file of the summary.
+	 */
+	public static File getSummaryFile(File outputDir, String name) {
+		return new File(outputDir, name + "_technologyMapping_chains.json");
+	}
+
+	/**
+	 * Write the score and output directory of each chain and the spread of the
+	 * scores.
+	 */
+	private void writeSummary(File file, File outputDir, List<Double> scores, List<Long> times, int best,
+	        int rounds, String stop) throws CelloException {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		double sum = 0.0;
+		List<Object> chains = new ArrayList<>();
+		for (int i = 0; i < scores.size(); i++) {
+			double score = scores.get(i);
+			min = Math.min(min, score);
+			max = Math.max(max, score);
+			sum += score;
+			Map<String, Object> chain = new LinkedHashMap<>();
+			chain.put("chain", i);
+			chain.put("seed", this.getSeed(i));
+			chain.put("score", score);
+			chain.put("time_ms", times.get(i) / 1000000);
+			chain.put("output_dir", this.getChainDir(i, outputDir).getName());
+			chains.add(chain);
+		}
+		double mean = sum / scores.size();
+		double var = 0.0;
+		for (double score : scores) {
+			var += (score - mean) * (score - mean);
+		}
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("best", best);
+		summary.put("best_output_dir", this.getChainDir(best, outputDir).getName());
+		summary.put("min", min);
+		summary.put("max", max);
+		summary.put("mean", mean);
+		summary.put("stddev", Math.sqrt(var / scores.size()));
+		summary.put("rounds", rounds);
+		summary.put("stop", stop);
+		summary.put("chains", chains);
+		try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			w.write(JSONValue.toJSONString(summary));
+		} catch (IOException e) {
+			throw new CelloException("Unable to write " + file + ".", e);
+		}
+	}
+
+	/**
+	 * Returns a worker of the pool of chains, which does not keep the JVM alive.
+	 */
+	private static Thread getThread(Runnable runnable) {
+		Thread rtn = new Thread(runnable, "dsgrn-chain");
+		rtn.setDaemon(true);
+		return rtn;
+	}
+
+	/**
+	 * Getter for {@code context}.
+	 *
+	 * @return The value of {@code context}.
+	 */
+	protected DSGRNContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Getter for {@code runEnv}.
+	 *
+	 * @return The value of {@code runEnv}.
+	 */
+	protected DSGRNRuntimeEnv getRuntimeEnv() {
+		return runEnv;
+	}
+
+	/**
+	 * Getter for {@code configuration}.
+	 *
+	 * @return The value of {@code configuration}.
+	 */
+	protected JSONObject getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Returns the logger for the {@link MultiStartTechnologyMapping} class.
+	 *
+	 * @return The logger.
+	 */
+	static protected Logger getLogger() {
+		return MultiStartTechnologyMapping.logger;
+	}
+
+	/**
+	 * Getter for {@code stages}, the stage of each position of the chains of a
+	 * round.
+	 *
+	 * @return The value of {@code stages}.
+	 */
+	protected Map<Integer, Stage> getStages() {
+		return stages;
+	}
+
+	/**
+	 * Getter for {@code listeners}.
+	 *
+	 * @return The value of {@code listeners}.
+	 */
+	protected List<TMProgressListener> getListeners() {
+		return listeners;
+	}
+
+	private DSGRNContext context;
+	private DSGRNRuntimeEnv runEnv;
+	private JSONObject configuration;
+	private List<TMProgressListener> listeners;
+	private Map<Integer, Stage> stages;
+	private volatile boolean cancelled;
+
+	private static final Logger logger = LogManager.getLogger(MultiStartTechnologyMapping.class);
+
+	private static final int S_THREADS = Runtime.getRuntime().availableProcessors();
+	private static final ExecutorService S_EXECUTOR = Executors.newFixedThreadPool(S_THREADS,
+	        MultiStartTechnologyMapping::getThread);
+	private static final int S_PILOT = 100;
+
+	private static final String S_STAGE = "technologyMapping";
+	private static final String S_MULTISTART = "multistart";
+	private static final String S_CHAINS = "chains";
+	private static final String S_SEEDS = "seeds";
+	private static final String S_SEED = "seed";
+	private static final String S_ITERATIONS = "iterations";
+	private static final String S_SEED_PARAMETER = "seed_parameter";
+	private static final String S_ITERATIONS_PARAMETER = "iterations_parameter";
+	private static final String S_ROUNDS = "rounds";
+	private static final String S_PATIENCE = "patience";
+
+	private static final String S_STOP_ROUNDS = "rounds";
+	private static final String S_STOP_CONVERGED = "convergence";
+	private static final String S_STOP_DEADLINE = "deadline";
+	private static final String S_STOP_CANCELLED = "cancellation";
+
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraint;
+import org.cellocad.v2.common.target.data.TargetData;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * A check that a netlist can be mapped to the target data at all, run before
+ * the <i>technologyMapping</i> stage so that such designs fail in milliseconds
+ * rather than after the whole annealing schedule. The check compares:
+ * <ul>
+ * <li>the primary inputs with the input sensors, and the primary outputs with
+ * the output devices, less the devices pinned by the netlist constraints;</li>
+ * <li>the logic gates with the gates of the target data, where each gate group
+ * (repressor) can be used at most once and a gate can implement a node of its
+ * own type, or a {@code NOT} node if it is a {@code NOR} or {@code NAND}
+ * gate.</li>
+ * </ul>
+ * Passing the check does not guarantee a good or even a valid assignment, only
+ * that one is not ruled out by counting.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class TMFeasibility {
+
+	/**
+	 * Initializes a newly created {@link TMFeasibility}.
+	 *
+	 * @param td The target data.
+	 * @param nc The netlist constraints.
+	 */
+	public TMFeasibility(TargetData td, NetlistConstraint nc) {
+		this.inputSensors = getNames(td, S_INPUTSENSORS);
+		this.outputDevices = getNames(td, S_OUTPUTDEVICES);
+		this.groups = new LinkedHashMap<>();
+		for (int i = 0; i < td.getNumJSONObject(S_GATES); i++) {
+			JSONObject gate = td.getJSONObjectAtIdx(S_GATES, i);
+			Object group = gate.get(S_GROUP);
+			if (group == null) {
+				group = gate.get(S_NAME);
+			}
+			Object type = gate.get(S_GATETYPE);
+			this.groups.computeIfAbsent(String.valueOf(group), k -> new HashSet<>())
+			        .add(type == null ? S_ANY : String.valueOf(type));
+		}
+		this.inputConstraints = getConstraints(nc, S_INPUTCONSTRAINTS);
+		this.outputConstraints = getConstraints(nc, S_OUTPUTCONSTRAINTS);
+	}
+
+	private static Set<String> getNames(TargetData td, String collection) {
+		Set<String> rtn = new HashSet<>();
+		for (int i = 0; i < td.getNumJSONObject(collection); i++) {
+			rtn.add(String.valueOf(td.getJSONObjectAtIdx(collection, i).get(S_NAME)));
+		}
+		return rtn;
+	}
+
+	/*
+	 * the device pinned to each node
+	 */
+	private static Map<String, String> getConstraints(NetlistConstraint nc, String collection) {
+		Map<String, String> rtn = new TreeMap<>();
+		for (int i = 0; i < nc.getNumJSONObject(collection); i++) {
+			Object map = nc.getJSONObjectAtIdx(collection, i).get(S_MAP);
+			if (map instanceof JSONObject) {
+				for (Object o : ((JSONObject) map).entrySet()) {
+					Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+					rtn.put(String.valueOf(e.getKey()), String.valueOf(e.getValue()));
+				}
+			}
+		}
+		return rtn;
+	}
+
+	/**
+	 * Returns whether a gate of a type can implement a node of a type.
+	 *
+	 * @param gateType The type of the gate.
+	 * @param nodeType The type of the node.
+	 * @return Whether the gate can implement the node.
+	 */
+	public static boolean isCompatible(String gateType, String nodeType) {
+		return gateType.equals(S_ANY) || gateType.equals(nodeType) || (nodeType.equals(LSResults.S_NOT)
+		        && (gateType.equals(LSResults.S_NOR) || gateType.equals(LSResults.S_NAND)));
+	}
+
+	/**
+	 * Returns the reasons that a netlist cannot be mapped to the target data.
+	 *
+	 * @param netlist The netlist.
+	 * @return The reasons, each an object with a {@code reason} and details, empty
+	 *         if the netlist may be mapped.
+	 */
+	public JSONArray getReasons(Netlist netlist) {
+		JSONArray rtn = new JSONArray();
+		List<String> inputs = new ArrayList<>();
+		List<String> outputs = new ArrayList<>();
+		Map<String, List<String>> gates = new TreeMap<>();
+		for (int i = 0; i < netlist.getNumVertex(); i++) {
+			NetlistNode node = netlist.getVertexAtIdx(i);
+			String type = node.getResultNetlistNodeData().getNodeType();
+			if (LSResults.S_PRIMARYINPUT.equals(type)) {
+				inputs.add(node.getName());
+			} else if (LSResults.S_PRIMARYOUTPUT.equals(type)) {
+				outputs.add(node.getName());
+			} else {
+				gates.computeIfAbsent(type == null ? "" : type, k -> new ArrayList<>()).add(node.getName());
+			}
+		}
+		this.checkDevices(rtn, S_INPUTSENSORS, inputs, this.getInputSensors(), this.getInputConstraints());
+		this.checkDevices(rtn, S_OUTPUTDEVICES, outputs, this.getOutputDevices(), this.getOutputConstraints());
+		this.checkGates(rtn, gates);
+		return rtn;
+	}
+
+	/**
+	 * Check a netlist.
+	 *
+	 * @param netlist The netlist.
+	 * @throws InfeasibleNetlistException The netlist cannot be mapped to the target
+	 *                                    data.
+	 */
+	public void check(Netlist netlist) throws InfeasibleNetlistException {
+		JSONArray reasons = this.getReasons(netlist);
+		if (!reasons.isEmpty()) {
+			StringBuilder message = new StringBuilder();
+			message.append("Netlist " + netlist.getName() + " cannot be mapped to the target data:");
+			for (Object reason : reasons) {
+				message.append(" " + ((JSONObject) reason).get(S_MESSAGE));
+			}
+			throw new InfeasibleNetlistException(message.toString(), reasons);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONObject getReason(String reason, String message) {
+		JSONObject rtn = new JSONObject();
+		rtn.put(S_REASON, reason);
+		rtn.put(S_MESSAGE, message);
+		return rtn;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONArray getArray(List<String> values) {
+		JSONArray rtn = new JSONArray();
+		rtn.addAll(values);
+		return rtn;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void checkDevices(JSONArray reasons, String collection, List<String> nodes, Set<String> devices,
+	        Map<String, String> constraints) {
+		Map<String, String> pinned = new HashMap<>();
+		for (Map.Entry<String, String> e : constraints.entrySet()) {
+			String node = e.getKey();
+			String device = e.getValue();
+			if (!devices.contains(device)) {
+				JSONObject reason = getReason(S_UNKNOWNDEVICE,
+				        "Node " + node + " is constrained to " + device + ", which is not in " + collection + ".");
+				reason.put(S_COLLECTION, collection);
+				reason.put(S_NODE, node);
+				reason.put(S_DEVICE, device);
+				reasons.add(reason);
+			} else if (pinned.containsKey(device)) {
+				JSONObject reason = getReason(S_DEVICECONFLICT, "Nodes " + pinned.get(device) + " and " + node
+				        + " are both constrained to " + device + ".");
+				reason.put(S_COLLECTION, collection);
+				reason.put(S_NODES, getArray(Arrays.asList(pinned.get(device), node)));
+				reason.put(S_DEVICE, device);
+				reasons.add(reason);
+			} else {
+				pinned.put(device, node);
+			}
+		}
+		if (nodes.size() > devices.size()) {
+			JSONObject reason = getReason(S_TOOFEWDEVICES,
+			        nodes.size() + " nodes need " + collection + ", but only " + devices.size() + " are available.");
+			reason.put(S_COLLECTION, collection);
+			reason.put(S_REQUIRED, nodes.size());
+			reason.put(S_AVAILABLE, devices.size());
+			reasons.add(reason);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void checkGates(JSONArray reasons, Map<String, List<String>> gates) {
+		List<String> nodeTypes = new ArrayList<>();
+		for (Map.Entry<String, List<String>> e : gates.entrySet()) {
+			String type = e.getKey();
+			if (type.isEmpty()) {
+				JSONObject reason = getReason(S_UNKNOWNGATETYPE, "Nodes " + e.getValue() + " have no gate type.");
+				reason.put(S_NODES, getArray(e.getValue()));
+				reasons.add(reason);
+				continue;
+			}
+			// the groups with a gate of each type
+			int available = 0;
+			for (Set<String> groupTypes : this.getGroups().values()) {
+				for (String groupType : groupTypes) {
+					if (isCompatible(groupType, type)) {
+						available++;
+						break;
+					}
+				}
+			}
+			if (e.getValue().size() > available) {
+				JSONObject reason = getReason(S_TOOFEWGATES, e.getValue().size() + " " + type
+				        + " nodes need distinct gate groups, but only " + available + " groups have such a gate.");
+				reason.put(S_GATETYPE, type);
+				reason.put(S_REQUIRED, e.getValue().size());
+				reason.put(S_AVAILABLE, available);
+				reasons.add(reason);
+			}
+			nodeTypes.addAll(Collections.nCopies(e.getValue().size(), type));
+		}
+		// the types may each fit, but not together
+		int matched = this.getMaximumMatching(nodeTypes);
+		if (reasons.isEmpty() && matched < nodeTypes.size()) {
+			JSONObject reason = getReason(S_GROUPCONFLICT, nodeTypes.size() + " gate nodes need distinct gate groups,"
+			        + " but at most " + matched + " can be assigned together.");
+			reason.put(S_REQUIRED, nodeTypes.size());
+			reason.put(S_AVAILABLE, matched);
+			reasons.add(reason);
+		}
+	}
+
+	/*
+	 * the maximum number of nodes that can each be assigned a distinct group, by
+	 * augmenting paths
+	 */
+	private int getMaximumMatching(List<String> nodeTypes) {
+		List<Set<String>> groups = new ArrayList<>(this.getGroups().values());
+		int[] owner = new int[groups.size()];
+		Arrays.fill(owner, -1);
+		int rtn = 0;
+		for (int i = 0; i < nodeTypes.size(); i++) {
+			if (this.augment(i, nodeTypes, groups, owner, new boolean[groups.size()])) {
+				rtn++;
+			}
+		}
+		return rtn;
+	}
+
+	private boolean augment(int node, List<String> nodeTypes, List<Set<String>> groups, int[] owner,
+	        boolean[] visited) {
+		for (int g = 0; g < groups.size(); g++) {
+			if (visited[g] || !this.hasCompatible(groups.get(g), nodeTypes.get(node))) {
+				continue;
+			}
+			visited[g] = true;
+			if (owner[g] < 0 || this.augment(owner[g], nodeTypes, groups, owner, visited)) {
+				owner[g] = node;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasCompatible(Set<String> gateTypes, String nodeType) {
+		for (String gateType : gateTypes) {
+			if (isCompatible(gateType, nodeType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Getter for {@code inputSensors}.
+	 *
+	 * @return The value of {@code inputSensors}.
+	 */
+	protected Set<String> getInputSensors() {
+		return inputSensors;
+	}
+
+	/**
+	 * Getter for {@code outputDevices}.
+	 *
+	 * @return The value of {@code outputDevices}.
+	 */
+	protected Set<String> getOutputDevices() {
+		return outputDevices;
+	}
+
+	/**
+	 * Getter for {@code groups}.
+	 *
+	 * @return The value of {@code groups}.
+	 */
+	protected Map<String, Set<String>> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * Getter for {@code inputConstraints}.
+	 *
+	 * @return The value of {@code inputConstraints}.
+	 */
+	protected Map<String, String> getInputConstraints() {
+		return inputConstraints;
+	}
+
+	/**
+	 * Getter for {@code outputConstraints}.
+	 *
+	 * @return The value of {@code outputConstraints}.
+	 */
+	protected Map<String, String> getOutputConstraints() {
+		return outputConstraints;
+	}
+
+	private Set<String> inputSensors;
+	private Set<String> outputDevices;
+	private Map<String, Set<String>> groups;
+	private Map<String, String> inputConstraints;
+	private Map<String, String> outputConstraints;
+
+	private static final String S_GATES = "gates";
+	private static final String S_INPUTSENSORS = "input_sensors";
+	private static final String S_OUTPUTDEVICES = "output_devices";
+	private static final String S_INPUTCONSTRAINTS = "input_constraints";
+	private static final String S_OUTPUTCONSTRAINTS = "output_constraints";
+	private static final String S_NAME = "name";
+	private static final String S_GROUP = "group";
+	private static final String S_GATETYPE = "gate_type";
+	private static final String S_MAP = "map";
+	private static final String S_ANY = "*";
+
+	private static final String S_REASON = "reason";
+	private static final String S_MESSAGE = "message";
+	private static final String S_COLLECTION = "collection";
+	private static final String S_NODE = "node";
+	private static final String S_NODES = "nodes";
+	private static final String S_DEVICE = "device";
+	private static final String S_REQUIRED = "required";
+	private static final String S_AVAILABLE = "available";
+
+	public static final String S_TOOFEWDEVICES = "too_few_devices";
+	public static final String S_UNKNOWNDEVICE = "unknown_device";
+	public static final String S_DEVICECONFLICT = "device_conflict";
+	public static final String S_UNKNOWNGATETYPE = "unknown_gate_type";
+	public static final String S_TOOFEWGATES = "too_few_gates";
+	public static final String S_GROUPCONFLICT = "group_conflict";
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+/**
+ * The progress of a {@link MultiStartTechnologyMapping} after a round of
+ * chains: the number of rounds and chains completed, the best circuit score so
+ * far, and the throughput of the stage.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class TMProgress {
+
+	/**
+	 * Initializes a newly created {@link TMProgress}.
+	 *
+	 * @param rounds     The number of rounds completed.
+	 * @param chains     The number of chains completed.
+	 * @param iterations The number of iterations of each chain of the last
+	 *                   round, or {@code null} if it is left to the algorithm.
+	 * @param bestScore  The best circuit score so far.
+	 * @param bestChain  The index of the chain with the best circuit score.
+	 * @param elapsed    The time since the start of the stage, in nanoseconds.
+	 */
+	public TMProgress(int rounds, int chains, Integer iterations, double bestScore, int bestChain, long elapsed) {
+		this.rounds = rounds;
+		this.chains = chains;
+		this.iterations = iterations;
+		this.bestScore = bestScore;
+		this.bestChain = bestChain;
+		this.elapsed = elapsed;
+	}
+
+	/**
+	 * Returns the number of chains completed per second.
+	 *
+	 * @return The number of chains completed per second.
+	 */
+	public double getChainsPerSecond() {
+		return this.getChains() / Math.max(this.getElapsed() / 1e9, 1e-9);
+	}
+
+	/**
+	 * Returns the number of annealing iterations per second, over all chains.
+	 *
+	 * @return The number of iterations per second, or {@code NaN} if the number
+	 *         of iterations of a chain is left to the algorithm.
+	 */
+	public double getIterationsPerSecond() {
+		double rtn = Double.NaN;
+		if (this.getIterations() != null) {
+			rtn = this.getChainsPerSecond() * this.getIterations();
+		}
+		return rtn;
+	}
+
+	@Override
+	public String toString() {
+		String rtn = String.format("round %d, %d chains, best score %g (chain %d), %.1f s, %.2f chains/s",
+		        this.getRounds(), this.getChains(), this.getBestScore(), this.getBestChain(),
+		        this.getElapsed() / 1e9, this.getChainsPerSecond());
+		if (this.getIterations() != null) {
+			rtn += String.format(", %.0f iterations/s", this.getIterationsPerSecond());
+		}
+		return rtn;
+	}
+
+	/**
+	 * Getter for {@code rounds}.
+	 *
+	 * @return The value of {@code rounds}.
+	 */
+	public int getRounds() {
+		return rounds;
+	}
+
+	/**
+	 * Getter for {@code chains}.
+	 *
+	 * @return The value of {@code chains}.
+	 */
+	public int getChains() {
+		return chains;
+	}
+
+	/**
+	 * Getter for {@code iterations}.
+	 *
+	 * @return The value of {@code iterations}.
+	 */
+	public Integer getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Getter for {@code bestScore}.
+	 *
+	 * @return The value of {@code bestScore}.
+	 */
+	public double getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * Getter for {@code bestChain}.
+	 *
+	 * @return The value of {@code bestChain}.
+	 */
+	public int getBestChain() {
+		return bestChain;
+	}
+
+	/**
+	 * Getter for {@code elapsed}.
+	 *
+	 * @return The value of {@code elapsed}.
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	private int rounds;
+	private int chains;
+	private Integer iterations;
+	private double bestScore;
+	private int bestChain;
+	private long elapsed;
+
+}
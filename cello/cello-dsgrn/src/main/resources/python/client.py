@@ -0,0 +1,45 @@
+#
+# The stand-in for the Python interpreter of the DSGRN application when its
+# scripts run in persistent Python processes: a script with its arguments is
+# sent to the pool of the application listening on the given port, and its
+# output and exit code are those of the script. Any other invocation of the
+# interpreter, such as an option or code given on the command line, is handed
+# to the interpreter itself.
+#
+# usage: client.py PORT PYTHON [ARG...]
+#
+import json
+import os
+import socket
+import sys
+
+# options of the interpreter of no consequence to a script
+OPTIONS = ('-u', '-B', '-E', '-s')
+
+
+def main():
+    port = int(sys.argv[1])
+    python = sys.argv[2]
+    args = sys.argv[3:]
+    i = 0
+    while i < len(args) and args[i] in OPTIONS:
+        i += 1
+    script = args[i:]
+    if not script or not script[0].endswith('.py') or not os.path.isfile(script[0]):
+        os.execvp(python, [python] + args)
+    connection = socket.create_connection(('127.0.0.1', port))
+    stream = connection.makefile('rw', encoding='utf-8', newline='\n')
+    stream.write(json.dumps({'argv': script, 'cwd': os.getcwd()}) + '\n')
+    stream.flush()
+    line = stream.readline()
+    if not line:
+        sys.stderr.write('The Python pool closed the connection.\n')
+        sys.exit(1)
+    answer = json.loads(line)
+    sys.stdout.write(answer.get('stdout', ''))
+    sys.stderr.write(answer.get('stderr', ''))
+    sys.exit(answer.get('code', 1))
+
+
+if __name__ == '__main__':
+    main()
@@ -0,0 +1,96 @@
+#
+# A persistent Python process of the DSGRN application. The process imports
+# the modules of the plotting scripts once, then runs one script per request
+# read from stdin, each a JSON object on a line with the arguments and the
+# working directory of the script, and answers each on stdout with the exit
+# code and the output of the script. After each script, the modules it imported
+# are dropped and the plotting settings are reset, so that each script starts
+# from the state of the warmed process. Anything else written to the standard
+# output of the process goes to its standard error, so that stdout carries only
+# the answers.
+#
+import importlib
+import io
+import json
+import os
+import runpy
+import sys
+import traceback
+
+MODULES = ('numpy', 'matplotlib', 'matplotlib.pyplot', 'dnaplotlib')
+
+
+def warm():
+    os.environ.setdefault('MPLBACKEND', 'Agg')
+    for module in MODULES:
+        try:
+            __import__(module)
+        except Exception:
+            pass
+
+
+def get_code(e):
+    if e.code is None:
+        return 0
+    if isinstance(e.code, int):
+        return e.code
+    sys.stderr.write(str(e.code) + '\n')
+    return 1
+
+
+def run(request, modules):
+    argv = request['argv']
+    out = io.StringIO()
+    err = io.StringIO()
+    saved = (list(sys.argv), list(sys.path), os.getcwd(), sys.stdin, sys.stdout, sys.stderr)
+    code = 0
+    try:
+        os.chdir(request.get('cwd') or saved[2])
+        sys.argv = list(argv)
+        sys.path.insert(0, os.path.dirname(os.path.abspath(argv[0])))
+        # stdin carries the requests
+        sys.stdin = io.StringIO()
+        sys.stdout = out
+        sys.stderr = err
+        runpy.run_path(argv[0], run_name='__main__')
+    except SystemExit as e:
+        code = get_code(e)
+    except BaseException:
+        traceback.print_exc()
+        code = 1
+    finally:
+        sys.stdout.flush()
+        sys.stdin = saved[3]
+        sys.stdout = saved[4]
+        sys.stderr = saved[5]
+        sys.argv = saved[0]
+        sys.path[:] = saved[1]
+        os.chdir(saved[2])
+        # the figures of the script are not needed by the next one
+        pyplot = sys.modules.get('matplotlib.pyplot')
+        if pyplot is not None:
+            pyplot.close('all')
+        matplotlib = sys.modules.get('matplotlib')
+        if matplotlib is not None:
+            matplotlib.rcdefaults()
+        # the modules of the script are imported afresh by the next one
+        for module in set(sys.modules) - modules:
+            del sys.modules[module]
+        importlib.invalidate_caches()
+    return {'code': code, 'stdout': out.getvalue(), 'stderr': err.getvalue()}
+
+
+def main():
+    answers = os.fdopen(os.dup(1), 'w', encoding='utf-8')
+    os.dup2(2, 1)
+    warm()
+    modules = set(sys.modules)
+    for line in sys.stdin:
+        if not line.strip():
+            continue
+        answers.write(json.dumps(run(json.loads(line), modules)) + '\n')
+        answers.flush()
+
+
+if __name__ == '__main__':
+    main()
@@ -0,0 +1,92 @@
+#!/bin/sh
+#
+# Builds a class-data-sharing archive for the jar of the DSGRN application: the
+# classes loaded by a training run on each given design are dumped into an
+# archive that the launcher maps at startup instead of loading them from the jar.
+# The archive only matches the JVM that builds it and the jar at the same path,
+# so it is built where it is used. It needs Java 11 or later.
+#
+# Usage: appcds.sh JAR ARCHIVE LIB DESIGN...
+#
+# LIB is the directory of the target data of the training runs, such as
+# src/test/resources/lib/files/v2, with the SC1C1G1T1 UCF, input and output
+# files. The script fails if no training run succeeds. Once the archive is
+# built, it reports the startup time of an import of the first design without
+# and with the archive.
+#
+set -e
+if [ $# -lt 4 ]; then
+	echo "Usage: $0 JAR ARCHIVE LIB DESIGN..." >&2
+	exit 1
+fi
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+ARCHIVE=$2
+LIB=$3
+shift 3
+UCF=$LIB/ucf/SC/SC1C1G1T1.UCF.json
+INPUT=$LIB/input/SC/SC1C1G1T1.input.json
+OUTPUT=$LIB/output/SC/SC1C1G1T1.output.json
+for FILE in "$UCF" "$INPUT" "$OUTPUT"; do
+	if [ ! -f "$FILE" ]; then
+		echo "Target data file $FILE does not exist." >&2
+		exit 1
+	fi
+done
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+# runs the jar on a design with the target data: run DESIGN DIR ARGS JVMOPTION...
+run() {
+	RUN_DESIGN=$1
+	RUN_DIR=$2
+	RUN_ARGS=$3
+	shift 3
+	mkdir -p "$RUN_DIR"
+	"$JAVA" "$@" -jar "$JAR" \
+		-inputNetlist "$RUN_DESIGN" \
+		-userConstraintsFile "$UCF" \
+		-inputSensorFile "$INPUT" \
+		-outputDeviceFile "$OUTPUT" \
+		-outputDir "$RUN_DIR" \
+		-pythonEnv python \
+		-render off $RUN_ARGS
+}
+i=0
+passed=0
+for DESIGN in "$@"; do
+	i=$((i + 1))
+	# a failed run still lists the classes it loaded
+	if run "$DESIGN" "$WORK/training$i" "" -XX:DumpLoadedClassList="$WORK/classes$i.lst" \
+		> "$WORK/training$i.log" 2>&1; then
+		passed=$((passed + 1))
+	else
+		echo "Training run on $DESIGN failed:" >&2
+		tail -n 20 "$WORK/training$i.log" >&2
+	fi
+done
+if [ "$passed" -eq 0 ]; then
+	echo "No training run succeeded, not archiving." >&2
+	exit 1
+fi
+cat "$WORK"/classes*.lst | sort -u > "$WORK/classes.lst"
+echo "Archiving $(wc -l < "$WORK/classes.lst") classes of $passed of $i training runs in $ARCHIVE."
+"$JAVA" -Xshare:dump -XX:SharedClassListFile="$WORK/classes.lst" -XX:SharedArchiveFile="$ARCHIVE" -cp "$JAR"
+# the startup time in milliseconds of an import of the first design: startup JVMOPTION...
+startup() {
+	START=$(date +%s%N)
+	if ! run "$FIRST" "$WORK/startup" "-stopAfter import" "$@" > "$WORK/startup.log" 2>&1; then
+		echo "Startup run with $* failed:" >&2
+		tail -n 20 "$WORK/startup.log" >&2
+		return 1
+	fi
+	echo $((($(date +%s%N) - START) / 1000000))
+}
+if [ "$(date +%N)" = "N" ]; then
+	echo "The startup times need a date with nanoseconds, not reported." >&2
+	exit 0
+fi
+FIRST=$1
+BEFORE=$(startup -Xshare:off)
+# -Xshare:on fails rather than timing the jar if the archive does not match
+AFTER=$(startup -XX:SharedArchiveFile="$ARCHIVE" -Xshare:on)
+echo "Startup of an import of $FIRST: $BEFORE ms without the archive, $AFTER ms with it."
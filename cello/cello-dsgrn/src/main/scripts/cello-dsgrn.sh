@@ -0,0 +1,23 @@
+#!/bin/sh
+#
+# Runs the DSGRN application with the class-data-sharing archive of its jar, if
+# there is one. The JVM loads the classes from the jar as usual if the archive
+# does not match it.
+#
+# Usage: cello-dsgrn.sh ARG...
+#
+# The jar is DSGRN_JAR, by default app.jar next to this script, and the archive
+# is DSGRN_ARCHIVE, by default the jar with the extension .jsa. The options of
+# the JVM are JAVA_OPTS.
+#
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=${DSGRN_JAR:-$(dirname "$0")/app.jar}
+# the path of the jar must be the one the archive was built with
+JAR=$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")
+ARCHIVE=${DSGRN_ARCHIVE:-${JAR%.jar}.jsa}
+if [ -f "$ARCHIVE" ]; then
+	set -- -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto $JAVA_OPTS -jar "$JAR" "$@"
+else
+	set -- $JAVA_OPTS -jar "$JAR" "$@"
+fi
+exec "$JAVA" "$@"
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.cellocad.v2.common.CelloException;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNUtils} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNUtilsTest {
+
+	@Test
+	public void getHash_SameContent_ShouldReturnSameHash() throws CelloException, IOException {
+		File a = File.createTempFile("cello_", ".json");
+		File b = File.createTempFile("cello_", ".json");
+		Files.write(a.toPath(), "[]".getBytes(StandardCharsets.UTF_8));
+		Files.write(b.toPath(), "[]".getBytes(StandardCharsets.UTF_8));
+		assertEquals(DSGRNUtils.getHash(Arrays.asList(a), Arrays.asList("{}")),
+		        DSGRNUtils.getHash(Arrays.asList(b), Arrays.asList("{}")));
+		assertNotEquals(DSGRNUtils.getHash(Arrays.asList(a), Arrays.asList("{}")),
+		        DSGRNUtils.getHash(Arrays.asList(a), Arrays.asList("{\"stages\": []}")));
+	}
+
+	@Test
+	public void getHash_AbsentFile_ShouldChangeHash() throws CelloException, IOException {
+		File a = File.createTempFile("cello_", ".json");
+		Files.write(a.toPath(), "[]".getBytes(StandardCharsets.UTF_8));
+		assertNotEquals(DSGRNUtils.getHash(Arrays.asList(a), Collections.emptyList()),
+		        DSGRNUtils.getHash(Arrays.asList(a, null), Collections.emptyList()));
+		assertEquals(64, DSGRNUtils.getHash(Collections.emptyList(), Collections.emptyList()).length());
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.common.target.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.cellocad.v2.DSGRN.results.netlist.BinaryJSONReader;
+import org.cellocad.v2.common.CelloException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TargetDataCache} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-17
+ *
+ */
+public class TargetDataCacheTest {
+
+	@BeforeClass
+	public static void init() throws IOException {
+		dir = Files.createTempDirectory("cello_");
+		ucf = dir.resolve("ucf.json").toFile();
+		Files.write(ucf.toPath(), Arrays.asList("[{\"collection\": \"gates\", \"name\": \"A1_AmtR\"}]"),
+		        StandardCharsets.UTF_8);
+	}
+
+	private static File getEntryFile(TargetDataCache cache, TargetDataCache.Entry entry) {
+		return new File(cache.getDirectory(), entry.getKey() + ".dsgrn");
+	}
+
+	@Test
+	public void get_SameFiles_ShouldLoadEntry() throws CelloException, IOException {
+		TargetDataCache cache = new TargetDataCache(dir.resolve("same").toFile(), 4);
+		TargetDataCache.Entry a = cache.get(ucf, null, null, "{\"stages\": []}");
+		TargetDataCache.Entry b = cache.get(ucf, null, null, "{\"stages\": []}");
+		assertEquals(a.getKey(), b.getKey());
+		assertEquals("{\"stages\": []}", b.getConfiguration());
+		assertEquals(a.getStages(), b.getStages());
+		assertEquals(1, b.getTargetData().getNumJSONObject("gates"));
+		assertEquals("A1_AmtR", b.getTargetData().getJSONObjectAtIdx("gates", 0).get("name"));
+		assertEquals(1, cache.getDirectory().list().length);
+		assertTrue(BinaryJSONReader.isBinary(Files.readAllBytes(getEntryFile(cache, b).toPath())));
+	}
+
+	@Test
+	public void get_DifferentConfiguration_ShouldReturnDifferentKey() throws CelloException {
+		TargetDataCache cache = new TargetDataCache(dir.resolve("different").toFile(), 4);
+		TargetDataCache.Entry a = cache.get(ucf, null, null, "{}");
+		TargetDataCache.Entry b = cache.get(ucf, null, null, "{\"stages\": []}");
+		assertNotEquals(a.getKey(), b.getKey());
+	}
+
+	@Test
+	public void get_DamagedEntry_ShouldReplaceEntry() throws CelloException, IOException {
+		TargetDataCache cache = new TargetDataCache(dir.resolve("damaged").toFile(), 4);
+		TargetDataCache.Entry a = cache.get(ucf, null, null, "{}");
+		File entry = getEntryFile(cache, a);
+		Files.write(entry.toPath(), Arrays.asList("[]"), StandardCharsets.UTF_8);
+		TargetDataCache.Entry b = cache.get(ucf, null, null, "{}");
+		assertEquals(1, b.getTargetData().getNumJSONObject("gates"));
+		assertTrue(BinaryJSONReader.isBinary(Files.readAllBytes(entry.toPath())));
+	}
+
+	@Test
+	public void get_MoreEntriesThanSize_ShouldEvictLeastRecentlyUsed() throws CelloException {
+		TargetDataCache cache = new TargetDataCache(dir.resolve("evict").toFile(), 1);
+		TargetDataCache.Entry a = cache.get(ucf, null, null, "{}");
+		File entry = getEntryFile(cache, a);
+		assertTrue(entry.setLastModified(0));
+		TargetDataCache.Entry b = cache.get(ucf, null, null, "{\"stages\": []}");
+		assertFalse(entry.exists());
+		assertTrue(getEntryFile(cache, b).exists());
+	}
+
+	private static Path dir;
+	private static File ucf;
+
+}
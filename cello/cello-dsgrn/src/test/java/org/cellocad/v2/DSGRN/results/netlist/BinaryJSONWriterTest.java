@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link BinaryJSONWriter} and {@link BinaryJSONReader} classes.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class BinaryJSONWriterTest {
+
+	private static byte[] encode(String json, int chunk) throws IOException {
+		ByteArrayOutputStream rtn = new ByteArrayOutputStream();
+		try (Writer w = new BinaryJSONWriter(rtn)) {
+			// the netlist is written in many small pieces
+			for (int i = 0; i < json.length(); i += chunk) {
+				w.write(json, i, Math.min(chunk, json.length() - i));
+			}
+		}
+		return rtn.toByteArray();
+	}
+
+	private static Object decode(byte[] bytes) throws IOException {
+		return new BinaryJSONReader(new ByteArrayInputStream(bytes)).read();
+	}
+
+	@Test
+	public void read_WrittenNetlist_ShouldEqualParsedText() throws IOException, ParseException {
+		String json = "{\n\t\"name\": \"and\",\n\t\"nodes\": [\n\t\t{\"name\": \"a\", \"nodeType\": \"PRIMARY_INPUT\","
+		        + " \"partitionID\": -1},\n\t\t{\"name\": \"b\", \"nodeType\": \"PRIMARY_INPUT\","
+		        + " \"partitionID\": -1}\n\t],\n\t\"edges\": [],\n\t\"score\": 1.5e-3,\n"
+		        + "\t\"placed\": true, \"group\": null, \"note\": \"a \\\"quoted\\\"\\n\\u00e9 \\\\ name\"\n}\n";
+		Object expected = new JSONParser().parse(json);
+		assertEquals(expected, decode(encode(json, 1)));
+		assertEquals(expected, decode(encode(json, 7)));
+	}
+
+	@Test
+	public void write_RepeatedStrings_ShouldBeSmallerThanText() throws IOException, ParseException {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			json.append(i == 0 ? "" : ",").append("{\"nodeType\": \"NOR\", \"partitionID\": ").append(i).append("}");
+		}
+		json.append("]");
+		byte[] bytes = encode(json.toString(), 64);
+		assertTrue(bytes.length * 3 < json.toString().getBytes(StandardCharsets.UTF_8).length);
+		assertEquals(new JSONParser().parse(json.toString()), decode(bytes));
+	}
+
+	@Test
+	public void isBinary_Binary_ShouldBeTrue() throws IOException {
+		assertTrue(BinaryJSONReader.isBinary(encode("{}", 1)));
+	}
+
+	@Test
+	public void isBinary_Text_ShouldBeFalse() {
+		assertFalse(BinaryJSONReader.isBinary("{\"name\": \"and\"}".getBytes(StandardCharsets.UTF_8)));
+		assertFalse(BinaryJSONReader.isBinary(new byte[0]));
+	}
+
+}
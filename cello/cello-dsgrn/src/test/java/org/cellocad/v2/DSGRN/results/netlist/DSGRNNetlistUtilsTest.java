@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNNetlistUtils} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNNetlistUtilsTest {
+
+	/*
+	 * write a netlist in a format and read it back
+	 */
+	private static Netlist roundTrip(Netlist netlist, String format) throws CelloException, IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		File file = new File(dir, "and." + DSGRNNetlistUtils.getExtension(format));
+		DSGRNNetlistUtils.writeNetlist(netlist, file, format);
+		return DSGRNNetlistUtils.readNetlist(file);
+	}
+
+	private static Netlist getNetlist() {
+		Netlist rtn = NetlistTopologyTest.getNetlist("a", "b", "c", "d", LSResults.S_NOR);
+		rtn.setName("and");
+		return rtn;
+	}
+
+	@Test
+	public void readNetlist_JSON_ShouldEqualWrittenNetlist() throws CelloException, IOException {
+		Netlist netlist = getNetlist();
+		assertEquals(DSGRNNetlistUtils.getJSONString(netlist),
+		        DSGRNNetlistUtils.getJSONString(roundTrip(netlist, DSGRNNetlistUtils.S_JSON)));
+	}
+
+	@Test
+	public void readNetlist_JSONGZ_ShouldEqualWrittenNetlist() throws CelloException, IOException {
+		Netlist netlist = getNetlist();
+		File file = new File(Files.createTempDirectory("cello_").toFile(), "and.json.gz");
+		DSGRNNetlistUtils.writeNetlist(netlist, file, DSGRNNetlistUtils.S_JSONGZ);
+		// the file is a gzip stream
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+			assertTrue(is.read() >= 0);
+		}
+		assertEquals(DSGRNNetlistUtils.getJSONString(netlist),
+		        DSGRNNetlistUtils.getJSONString(DSGRNNetlistUtils.readNetlist(file)));
+	}
+
+	@Test
+	public void readNetlist_Binary_ShouldEqualWrittenNetlist() throws CelloException, IOException {
+		Netlist netlist = getNetlist();
+		assertEquals(DSGRNNetlistUtils.getJSONString(netlist),
+		        DSGRNNetlistUtils.getJSONString(roundTrip(netlist, DSGRNNetlistUtils.S_BINARY)));
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.cellocad.v2.DSGRN.runtime.DSGRNPipeline;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link NetlistResultCache} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class NetlistResultCacheTest {
+
+	/*
+	 * two inputs into a gate into an output, with the given names
+	 */
+	private static Netlist getNetlist(String name, String a, String b, String gate, String out, String type) {
+		Netlist rtn = new Netlist();
+		rtn.setName(name);
+		Map<String, NetlistNode> nodes = new HashMap<>();
+		String[][] spec = { { a, LSResults.S_PRIMARYINPUT }, { b, LSResults.S_PRIMARYINPUT }, { gate, type },
+		        { out, LSResults.S_PRIMARYOUTPUT } };
+		for (String[] s : spec) {
+			NetlistNode node = new NetlistNode();
+			node.setName(s[0]);
+			node.getResultNetlistNodeData().setNodeType(s[1]);
+			nodes.put(s[0], node);
+			rtn.addVertex(node);
+		}
+		String[][] edges = { { a, gate }, { b, gate }, { gate, out } };
+		for (String[] e : edges) {
+			NetlistEdge edge = new NetlistEdge();
+			edge.setName(e[0] + "_" + e[1]);
+			edge.setSrc(nodes.get(e[0]));
+			edge.setDst(nodes.get(e[1]));
+			nodes.get(e[0]).addOutEdge(edge);
+			nodes.get(e[1]).addInEdge(edge);
+			rtn.addEdge(edge);
+		}
+		return rtn;
+	}
+
+	private static NetlistResultCache getCache(int size, String salt) throws CelloException, IOException {
+		return new NetlistResultCache(Files.createTempDirectory("cello_").toFile(), size, salt);
+	}
+
+	@Test
+	public void get_IsomorphicNetlist_ShouldReturnRenamedResult() throws CelloException, IOException {
+		NetlistResultCache cache = getCache(4, "salt");
+		Netlist stored = getNetlist("and", "a", "b", "c", "d", LSResults.S_NOR);
+		cache.put(cache.getKey(stored), DSGRNPipeline.S_PLACING, stored, 12.5);
+		Netlist netlist = getNetlist("or", "x1", "x2", "x3", "x4", LSResults.S_NOR);
+		assertEquals(cache.getKey(stored), cache.getKey(netlist));
+		NetlistResultCache.Entry entry = cache.get(cache.getKey(netlist), DSGRNPipeline.S_PLACING, netlist);
+		assertNotNull(entry);
+		assertEquals(Double.valueOf(12.5), entry.getScore());
+		Netlist rtn = entry.getNetlist();
+		assertEquals("or", rtn.getName());
+		assertEquals("x3", rtn.getEdgeAtIdx(2).getSrc().getName());
+		assertEquals("x3_x4", rtn.getEdgeAtIdx(2).getName());
+	}
+
+	@Test
+	public void get_EntryWithoutScore_ShouldHaveNoScore() throws CelloException, IOException {
+		NetlistResultCache cache = getCache(4, "salt");
+		Netlist stored = getNetlist("and", "a", "b", "c", "d", LSResults.S_NOR);
+		cache.put(cache.getKey(stored), DSGRNPipeline.S_TECHNOLOGYMAPPING, stored, null);
+		NetlistResultCache.Entry entry = cache.get(cache.getKey(stored), DSGRNPipeline.S_TECHNOLOGYMAPPING, stored);
+		assertNull(entry.getScore());
+		assertEquals(stored.getNumVertex(), entry.getNetlist().getNumVertex());
+	}
+
+	@Test
+	public void get_OtherStageOrTopology_ShouldMiss() throws CelloException, IOException {
+		NetlistResultCache cache = getCache(4, "salt");
+		Netlist stored = getNetlist("and", "a", "b", "c", "d", LSResults.S_NOR);
+		cache.put(cache.getKey(stored), DSGRNPipeline.S_TECHNOLOGYMAPPING, stored, null);
+		assertNull(cache.get(cache.getKey(stored), DSGRNPipeline.S_PLACING, stored));
+		Netlist nand = getNetlist("and", "a", "b", "c", "d", LSResults.S_NAND);
+		assertNull(cache.get(cache.getKey(nand), DSGRNPipeline.S_TECHNOLOGYMAPPING, nand));
+	}
+
+	@Test
+	public void getKey_OtherSalt_ShouldDiffer() throws CelloException, IOException {
+		Netlist netlist = getNetlist("and", "a", "b", "c", "d", LSResults.S_NOR);
+		assertNotEquals(getCache(4, "salt").getKey(netlist), getCache(4, "other").getKey(netlist));
+	}
+
+	@Test
+	public void put_MoreEntriesThanSize_ShouldEvictLeastRecentlyUsed() throws CelloException, IOException {
+		NetlistResultCache cache = getCache(1, "salt");
+		Netlist nor = getNetlist("and", "a", "b", "c", "d", LSResults.S_NOR);
+		cache.put(cache.getKey(nor), DSGRNPipeline.S_PLACING, nor, null);
+		File[] files = cache.getDirectory().listFiles();
+		assertEquals(1, files.length);
+		assertTrue(files[0].setLastModified(0));
+		Netlist nand = getNetlist("and", "a", "b", "c", "d", LSResults.S_NAND);
+		cache.put(cache.getKey(nand), DSGRNPipeline.S_PLACING, nand, null);
+		assertFalse(files[0].exists());
+		assertEquals(1, cache.getDirectory().listFiles().length);
+		assertNull(cache.get(cache.getKey(nor), DSGRNPipeline.S_PLACING, nor));
+		assertNotNull(cache.get(cache.getKey(nand), DSGRNPipeline.S_PLACING, nand));
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link NetlistTopology} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class NetlistTopologyTest {
+
+	/*
+	 * two inputs into a NOR gate into an output, with the given names
+	 */
+	static Netlist getNetlist(String a, String b, String nor, String out, String type) {
+		Netlist rtn = new Netlist();
+		Map<String, NetlistNode> nodes = new HashMap<>();
+		String[][] spec = { { a, LSResults.S_PRIMARYINPUT }, { b, LSResults.S_PRIMARYINPUT }, { nor, type },
+		        { out, LSResults.S_PRIMARYOUTPUT } };
+		for (String[] s : spec) {
+			NetlistNode node = new NetlistNode();
+			node.setName(s[0]);
+			node.getResultNetlistNodeData().setNodeType(s[1]);
+			nodes.put(s[0], node);
+			rtn.addVertex(node);
+		}
+		String[][] edges = { { a, nor }, { b, nor }, { nor, out } };
+		for (String[] e : edges) {
+			NetlistEdge edge = new NetlistEdge();
+			edge.setName(e[0] + "_" + e[1]);
+			edge.setSrc(nodes.get(e[0]));
+			edge.setDst(nodes.get(e[1]));
+			nodes.get(e[0]).addOutEdge(edge);
+			nodes.get(e[1]).addInEdge(edge);
+			rtn.addEdge(edge);
+		}
+		return rtn;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JSONObject getJSON(Netlist netlist) {
+		JSONObject rtn = new JSONObject();
+		JSONArray nodes = new JSONArray();
+		for (int i = 0; i < netlist.getNumVertex(); i++) {
+			JSONObject node = new JSONObject();
+			node.put("name", netlist.getVertexAtIdx(i).getName());
+			node.put("nodeType", netlist.getVertexAtIdx(i).getResultNetlistNodeData().getNodeType());
+			nodes.add(node);
+		}
+		JSONArray edges = new JSONArray();
+		for (int i = 0; i < netlist.getNumEdge(); i++) {
+			JSONObject edge = new JSONObject();
+			edge.put("name", netlist.getEdgeAtIdx(i).getName());
+			edge.put("src", netlist.getEdgeAtIdx(i).getSrc().getName());
+			edge.put("dst", netlist.getEdgeAtIdx(i).getDst().getName());
+			edges.add(edge);
+		}
+		rtn.put("nodes", nodes);
+		rtn.put("edges", edges);
+		return rtn;
+	}
+
+	@Test
+	public void getHash_RenamedNetlist_ShouldBeEqual() {
+		NetlistTopology t1 = new NetlistTopology(getNetlist("a", "b", "c", "d", LSResults.S_NOR));
+		NetlistTopology t2 = new NetlistTopology(getNetlist("x1", "x2", "x3", "x4", LSResults.S_NOR));
+		assertEquals(t1.getHash(), t2.getHash());
+	}
+
+	@Test
+	public void getHash_DifferentGateType_ShouldNotBeEqual() {
+		NetlistTopology t1 = new NetlistTopology(getNetlist("a", "b", "c", "d", LSResults.S_NOR));
+		NetlistTopology t2 = new NetlistTopology(getNetlist("a", "b", "c", "d", LSResults.S_NAND));
+		assertNotEquals(t1.getHash(), t2.getHash());
+		assertNull(t1.getMapping(t2));
+	}
+
+	@Test
+	public void rename_IsomorphicNetlist_ShouldRenameNodesAndEdges() throws CelloException {
+		JSONObject json = getJSON(getNetlist("a", "b", "c", "d", LSResults.S_NOR));
+		NetlistTopology cached = new NetlistTopology(json);
+		NetlistTopology topology = new NetlistTopology(getNetlist("x1", "x2", "x3", "x4", LSResults.S_NOR));
+		Map<String, String> mapping = cached.getMapping(topology);
+		assertNotNull(mapping);
+		assertEquals("x3", mapping.get("c"));
+		assertEquals("x4", mapping.get("d"));
+		JSONObject renamed = cached.rename(json, topology, mapping);
+		JSONObject edge = (JSONObject) ((JSONArray) renamed.get("edges")).get(2);
+		assertEquals("x3", edge.get("src"));
+		assertEquals("x4", edge.get("dst"));
+		assertEquals("x3_x4", edge.get("name"));
+		assertEquals(topology.getHash(), new NetlistTopology(renamed).getHash());
+	}
+
+}
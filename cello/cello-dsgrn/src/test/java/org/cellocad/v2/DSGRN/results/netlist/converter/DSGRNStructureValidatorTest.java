@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.cellocad.v2.common.CelloException;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNStructureValidator} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNStructureValidatorTest {
+
+	private static final int INHIBITION = RegulatoryNetworkTable.TYPE_INHIBITION;
+	private static final int INHIBITOR = RegulatoryNetworkTable.ROLE_INHIBITOR;
+	private static final int INHIBITED = RegulatoryNetworkTable.ROLE_INHIBITED;
+
+	/*
+	 * a and b inhibit x
+	 */
+	private static DSGRNStructureValidator getValidator() {
+		DSGRNStructureValidator rtn = new DSGRNStructureValidator("network", "network");
+		rtn.addNode("a_fc", "a", "a");
+		rtn.addNode("b_fc", "b", "b");
+		rtn.addNode("x_fc", "x", "x");
+		rtn.addInteraction("x_inhibition", INHIBITION);
+		rtn.addParticipation("x_inhibited", "x_inhibited", INHIBITED, "x_fc");
+		rtn.addParticipation("a_inhibitor", "a_inhibitor", INHIBITOR, "a_fc");
+		rtn.addParticipation("b_inhibitor", "b_inhibitor", INHIBITOR, "b_fc");
+		return rtn;
+	}
+
+	@Test
+	public void validate_ValidDesign_ShouldNotThrow() throws CelloException {
+		DSGRNStructureValidator validator = getValidator();
+		validator.validate();
+		assertTrue(validator.getErrors().isEmpty());
+	}
+
+	@Test
+	public void validate_TwoModifiedParticipants_ShouldNameInteraction() {
+		DSGRNStructureValidator validator = getValidator();
+		validator.addInteraction("ab_inhibition", INHIBITION);
+		validator.addParticipation("a_inhibited", "a_inhibited", INHIBITED, "a_fc");
+		validator.addParticipation("b_inhibited", "b_inhibited", INHIBITED, "b_fc");
+		try {
+			validator.validate();
+		} catch (CelloException e) {
+			assertTrue(e.getMessage().contains("Interaction ab_inhibition has 2 modified participants"));
+			return;
+		}
+		fail("Expected a CelloException.");
+	}
+
+	@Test
+	public void validate_SeveralViolations_ShouldReportEach() {
+		DSGRNStructureValidator validator = getValidator();
+		validator.addNode("y_fc", "y", null);
+		validator.addInteraction("y_inhibition", INHIBITION);
+		validator.addParticipation("y_inhibited", "y_inhibited", INHIBITED, "y_fc");
+		validator.addParticipation("x_inhibitor", null, INHIBITOR, "x_fc");
+		validator.addInteraction("z_regulation", INHIBITION | RegulatoryNetworkTable.TYPE_STIMULATION);
+		try {
+			validator.validate();
+		} catch (CelloException e) {
+			assertEquals(4, validator.getErrors().size());
+			return;
+		}
+		fail("Expected a CelloException.");
+	}
+
+}
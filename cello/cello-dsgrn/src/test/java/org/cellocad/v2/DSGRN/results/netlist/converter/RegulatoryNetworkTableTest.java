@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link RegulatoryNetworkTable} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class RegulatoryNetworkTableTest {
+
+	private static final int INHIBITION = RegulatoryNetworkTable.TYPE_INHIBITION;
+	private static final int INHIBITOR = RegulatoryNetworkTable.ROLE_INHIBITOR;
+	private static final int INHIBITED = RegulatoryNetworkTable.ROLE_INHIBITED;
+
+	/*
+	 * a and b inhibit x with the nor logic, x inhibits y, y inhibits z
+	 */
+	private static RegulatoryNetworkTable getTable() {
+		return getTable(RegulatoryNetworkTable.getLogic("https://www.openmath.org/cd/logic1#nor"));
+	}
+
+	/*
+	 * a and b inhibit x with the given logic, x inhibits y, y inhibits z
+	 */
+	private static RegulatoryNetworkTable getTable(int logic) {
+		RegulatoryNetworkTable rtn = new RegulatoryNetworkTable("network");
+		int a = rtn.addNode("a");
+		int b = rtn.addNode("b");
+		int x = rtn.addNode("x");
+		int y = rtn.addNode("y");
+		int z = rtn.addNode("z");
+		rtn.addInteraction(INHIBITION, logic);
+		rtn.addParticipation("x_inhibited", x, INHIBITED);
+		rtn.addParticipation("a_inhibitor", a, INHIBITOR);
+		rtn.addParticipation("b_inhibitor", b, INHIBITOR);
+		rtn.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NONE);
+		rtn.addParticipation("y_inhibited", y, INHIBITED);
+		rtn.addParticipation("x_inhibitor", x, INHIBITOR);
+		rtn.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NONE);
+		rtn.addParticipation("z_inhibited", z, INHIBITED);
+		rtn.addParticipation("y_inhibitor", y, INHIBITOR);
+		return rtn;
+	}
+
+	private static String getNodeType(Netlist netlist, int i) {
+		return netlist.getVertexAtIdx(i).getResultNetlistNodeData().getNodeType();
+	}
+
+	@Test
+	public void getNetlist_InhibitionNetwork_ShouldClassifyNodes() throws CelloException {
+		Netlist netlist = getTable().getNetlist();
+		assertEquals("network", netlist.getName());
+		assertEquals(5, netlist.getNumVertex());
+		assertEquals(4, netlist.getNumEdge());
+		assertEquals("a_inhibitor", netlist.getEdgeAtIdx(0).getName());
+		assertEquals(LSResults.S_PRIMARYINPUT, getNodeType(netlist, 0));
+		assertEquals(LSResults.S_PRIMARYINPUT, getNodeType(netlist, 1));
+		assertEquals(LSResults.S_NAND, getNodeType(netlist, 2));
+		assertEquals(LSResults.S_NOT, getNodeType(netlist, 3));
+		assertEquals(LSResults.S_PRIMARYOUTPUT, getNodeType(netlist, 4));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getNetlist_TwoModifiedParticipants_ShouldThrowCelloException() throws CelloException {
+		RegulatoryNetworkTable table = getTable();
+		table.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NONE);
+		table.addParticipation("a_inhibited", 0, INHIBITED);
+		table.addParticipation("b_inhibited", 1, INHIBITED);
+		table.getNetlist();
+	}
+
+	@Test(expected = CelloException.class)
+	public void getNetlist_UnknownParticipant_ShouldThrowCelloException() throws CelloException {
+		RegulatoryNetworkTable table = getTable();
+		table.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NONE);
+		table.addParticipation("a_inhibited", 0, INHIBITED);
+		table.addParticipation("unknown_inhibitor", -1, INHIBITOR);
+		table.getNetlist();
+	}
+
+	@Test
+	public void getNetlists_SingleReading_ShouldReturnNetlist() throws CelloException {
+		List<Netlist> netlists = getTable().getNetlists(8);
+		assertEquals(1, netlists.size());
+		assertEquals("network", netlists.get(0).getName());
+		assertEquals(LSResults.S_NAND, getNodeType(netlists.get(0), 2));
+	}
+
+	@Test
+	public void getNetlists_MissingLogic_ShouldReturnEachGateType() throws CelloException {
+		List<Netlist> netlists = getTable(RegulatoryNetworkTable.LOGIC_NONE).getNetlists(8);
+		assertEquals(2, netlists.size());
+		assertEquals("network_variant_0", netlists.get(0).getName());
+		assertEquals(LSResults.S_NAND, getNodeType(netlists.get(0), 2));
+		assertEquals(LSResults.S_NOR, getNodeType(netlists.get(1), 2));
+		assertEquals(LSResults.S_NOT, getNodeType(netlists.get(1), 3));
+		assertEquals(1, getTable(RegulatoryNetworkTable.LOGIC_NONE).getNetlists(1).size());
+	}
+
+	@Test
+	public void getNetlists_SeveralAnnotations_ShouldStartWithLastAnnotation() throws CelloException {
+		RegulatoryNetworkTable table = new RegulatoryNetworkTable("network");
+		int a = table.addNode("a");
+		int b = table.addNode("b");
+		int x = table.addNode("x");
+		int y = table.addNode("y");
+		table.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NOR);
+		table.addParticipation("x_inhibited_a", x, INHIBITED);
+		table.addParticipation("a_inhibitor", a, INHIBITOR);
+		table.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NAND);
+		table.addParticipation("x_inhibited_b", x, INHIBITED);
+		table.addParticipation("b_inhibitor", b, INHIBITOR);
+		table.addInteraction(INHIBITION, RegulatoryNetworkTable.LOGIC_NONE);
+		table.addParticipation("y_inhibited", y, INHIBITED);
+		table.addParticipation("x_inhibitor", x, INHIBITOR);
+		List<Netlist> netlists = table.getNetlists(8);
+		assertEquals(2, netlists.size());
+		assertEquals(LSResults.S_NOR, getNodeType(netlists.get(0), 2));
+		assertEquals(LSResults.S_NAND, getNodeType(netlists.get(1), 2));
+	}
+
+}
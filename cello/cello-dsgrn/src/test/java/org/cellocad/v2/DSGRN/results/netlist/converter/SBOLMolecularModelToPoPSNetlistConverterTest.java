@@ -20,9 +20,12 @@
  */
 package org.cellocad.v2.DSGRN.results.netlist.converter;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.util.List;
 
 import org.cellocad.v2.common.CelloException;
 import org.cellocad.v2.common.Utils;
@@ -75,6 +78,29 @@ public class SBOLMolecularModelToPoPSNetlistConverterTest {
 		SBOLMolecularModelToPoPSNetlistConverter conv = new SBOLMolecularModelToPoPSNetlistConverter();
 		Netlist netlist = conv.convert(document);
 		netlist.setInputFilename(file);
+		// compare
+		assertEquals(getReference(), getJSON(netlist));
+	}
+
+	/**
+	 * Test {@link SBOLMolecularModelToPoPSNetlistConverter#convertAll(SBOLDocument)}
+	 * on a DSGRN collection with a single design.
+	 *
+	 * @throws CelloException Unable to convert sample network.
+	 * @throws IOException
+	 */
+	@Test
+	public void convertAll_DSGRNVoigtNetwork_ShouldReturnValidNetlist() throws CelloException, IOException {
+		SBOLMolecularModelToPoPSNetlistConverter conv = new SBOLMolecularModelToPoPSNetlistConverter();
+		List<Netlist> netlists = conv.convertAll(document);
+		assertEquals(1, netlists.size());
+		Netlist netlist = netlists.get(0);
+		netlist.setInputFilename(file);
+		// compare
+		assertEquals(getReference(), getJSON(netlist));
+	}
+
+	private static String getJSON(Netlist netlist) throws IOException {
 		// write to String
 		StringWriter w = new StringWriter();
 		w.write(JSONUtils.getStartEntryString());
@@ -82,12 +108,13 @@ public class SBOLMolecularModelToPoPSNetlistConverterTest {
 		w.write(JSONUtils.getEndEntryString());
 		w.flush();
 		w.close();
-		String result = w.toString();
+		return w.toString();
+	}
+
+	private static String getReference() throws IOException {
 		// reference result
 		String referenceFile = "convert_DSGRNVoigtNetwork_ShouldReturnValidNetlist.json";
-		String ref = Utils.getResourceAsString(path + Utils.getFileSeparator() + referenceFile);
-		// compare
-		assert (result.equals(ref));
+		return Utils.getResourceAsString(path + Utils.getFileSeparator() + referenceFile);
 	}
 
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.results.netlist.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.Utils;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+import org.sbolstandard.core2.SBOLConversionException;
+import org.sbolstandard.core2.SBOLReader;
+import org.sbolstandard.core2.SBOLValidationException;
+
+/**
+ * Tests for the {@link StreamingSBOLMolecularModelToPoPSNetlistConverter}
+ * class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class StreamingSBOLMolecularModelToPoPSNetlistConverterTest {
+
+	private static String path = SBOLMolecularModelToPoPSNetlistConverterTest.class.getName()
+	        .replaceAll("\\.", Utils.getFileSeparator()) + "_class";
+	private static String voigt = "DSGRN_Design_Voigt_Network_1_2020_04_17T17_11_04_105248_collection.xml";
+	private static String threeNode = "DSGRN_Design_Three_Node_Network_1_2020_04_16T14_24_15_504070_collection.xml";
+
+	private static List<Netlist> convert(String file) throws CelloException, IOException {
+		StreamingSBOLMolecularModelToPoPSNetlistConverter conv = new StreamingSBOLMolecularModelToPoPSNetlistConverter();
+		try (InputStream is = Utils.getResourceAsStream(path + Utils.getFileSeparator() + file)) {
+			return conv.convertAll(is);
+		}
+	}
+
+	/*
+	 * The nodes and edges of a netlist, independent of their order.
+	 */
+
+	private static Set<String> getNodes(Netlist netlist) {
+		Set<String> rtn = new HashSet<>();
+		for (int i = 0; i < netlist.getNumVertex(); i++) {
+			NetlistNode node = netlist.getVertexAtIdx(i);
+			rtn.add(node.getName() + " " + node.getResultNetlistNodeData().getNodeType());
+		}
+		return rtn;
+	}
+
+	private static Set<String> getEdges(Netlist netlist) {
+		Set<String> rtn = new HashSet<>();
+		for (int i = 0; i < netlist.getNumEdge(); i++) {
+			NetlistEdge edge = netlist.getEdgeAtIdx(i);
+			rtn.add(edge.getName() + " " + edge.getSrc().getName() + " " + edge.getDst().getName());
+		}
+		return rtn;
+	}
+
+	@Test
+	public void convertAll_DSGRNVoigtNetwork_ShouldMatchReference() throws CelloException, IOException, ParseException {
+		List<Netlist> netlists = convert(voigt);
+		assertEquals(1, netlists.size());
+		Netlist netlist = netlists.get(0);
+		// reference result
+		String referenceFile = "convert_DSGRNVoigtNetwork_ShouldReturnValidNetlist.json";
+		String ref = Utils.getResourceAsString(path + Utils.getFileSeparator() + referenceFile);
+		// the reference is written as an entry, drop the trailing separator
+		JSONObject json = (JSONObject) new JSONParser().parse(ref.trim().replaceFirst(",$", ""));
+		Set<String> nodes = new HashSet<>();
+		for (Object o : (JSONArray) json.get("nodes")) {
+			JSONObject node = (JSONObject) o;
+			nodes.add(node.get("name") + " " + node.get("nodeType"));
+		}
+		Set<String> edges = new HashSet<>();
+		for (Object o : (JSONArray) json.get("edges")) {
+			JSONObject edge = (JSONObject) o;
+			edges.add(edge.get("name") + " " + edge.get("src") + " " + edge.get("dst"));
+		}
+		// compare
+		assertEquals(json.get("name"), netlist.getName());
+		assertEquals(nodes, getNodes(netlist));
+		assertEquals(edges, getEdges(netlist));
+	}
+
+	@Test
+	public void convertAll_DSGRNThreeNodeNetwork_ShouldMatchSBOLConverter() throws CelloException, IOException,
+	        SBOLValidationException, SBOLConversionException {
+		List<Netlist> netlists = convert(threeNode);
+		assertEquals(1, netlists.size());
+		Netlist netlist = netlists.get(0);
+		// reference result
+		List<Netlist> ref;
+		try (InputStream is = Utils.getResourceAsStream(path + Utils.getFileSeparator() + threeNode)) {
+			ref = new SBOLMolecularModelToPoPSNetlistConverter().convertAll(SBOLReader.read(is));
+		}
+		// compare
+		assertEquals(1, ref.size());
+		assertEquals(ref.get(0).getName(), netlist.getName());
+		assertEquals(getNodes(ref.get(0)), getNodes(netlist));
+		assertEquals(getEdges(ref.get(0)), getEdges(netlist));
+	}
+
+	@Test
+	public void convertAll_ErrorAfterDesign_ShouldEmitDesignFirst() throws IOException {
+		String document = Utils.getResourceAsString(path + Utils.getFileSeparator() + voigt);
+		// the design and its component definitions, then a malformed element
+		String truncated = document.substring(0, document.indexOf("<sbol:Attachment")) + "<sbol:Attachment";
+		List<String> designs = new ArrayList<>();
+		StreamingSBOLMolecularModelToPoPSNetlistConverter conv = new StreamingSBOLMolecularModelToPoPSNetlistConverter();
+		try (InputStream is = new ByteArrayInputStream(truncated.getBytes(StandardCharsets.UTF_8))) {
+			conv.convertAll(is, (uri, netlists) -> designs.add(netlists.get(0).getName()));
+			fail("The document is malformed.");
+		} catch (CelloException e) {
+			assertEquals(Arrays.asList("dsgrn_design_2020_04_17T17_11_04_105248"), designs);
+		}
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.cellocad.v2.DSGRN.runtime.DSGRNArchiveSink.TarArchive;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNArchiveSink} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNArchiveSinkTest {
+
+	/**
+	 * Returns the contents of each entry of a tar archive.
+	 */
+	private static Map<String, String> readTar(File file) throws IOException {
+		Map<String, String> rtn = new LinkedHashMap<>();
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		String path = null;
+		int offset = 0;
+		while (offset + 512 <= bytes.length && bytes[offset] != 0) {
+			String name = getString(bytes, offset, 100);
+			String prefix = getString(bytes, offset + 345, 155);
+			int size = Integer.parseInt(getString(bytes, offset + 124, 12), 8);
+			String contents = new String(bytes, offset + 512, size, StandardCharsets.UTF_8);
+			if (bytes[offset + 156] == 'x') {
+				// the name of the next entry, as "<length> path=<name>\n"
+				path = contents.substring(contents.indexOf("path=") + 5, contents.length() - 1);
+			} else {
+				if (path == null) {
+					path = prefix.isEmpty() ? name : prefix + "/" + name;
+				}
+				rtn.put(path, contents);
+				path = null;
+			}
+			offset += 512 + (size + 511) / 512 * 512;
+		}
+		return rtn;
+	}
+
+	private static String getString(byte[] bytes, int offset, int length) {
+		int end = offset;
+		while (end < offset + length && bytes[end] != 0) {
+			end++;
+		}
+		return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+	}
+
+	private static List<String> getZipEntries(File file) throws IOException {
+		List<String> rtn = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(file)) {
+			for (ZipEntry entry : Collections.list(zip.entries())) {
+				rtn.add(entry.getName());
+			}
+		}
+		return rtn;
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void close_ZipArchive_ShouldHoldOutputsAndManifest() throws CelloException, IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		File outputDir = new File(dir, "out");
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", outputDir.getPath(),
+		        "-outputArchive", "zip", "-scratchDir", new File(dir, "scratch").getPath() });
+		DSGRNOutputSink sink = DSGRNOutputSink.getOutputSink(runEnv);
+		File designDir = sink.getOutputDir(new File(outputDir, "design"));
+		assertFalse(designDir.toPath().startsWith(outputDir.toPath()));
+		File netlist = new File(designDir, "sub/netlist.json");
+		netlist.getParentFile().mkdirs();
+		Files.write(netlist.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+		assertEquals(new File(outputDir, "results.zip").getAbsolutePath() + "!/design/sub/netlist.json",
+		        sink.getLocation(netlist));
+		sink.add(new File("design.xml"), designDir);
+		sink.close();
+		// the scratch directory is removed
+		assertArrayEquals(new File[0], new File(dir, "scratch").listFiles());
+		assertEquals(Arrays.asList("design/sub/netlist.json", DSGRNArchiveSink.S_MANIFEST),
+		        getZipEntries(new File(outputDir, "results.zip")));
+	}
+
+	@Test
+	public void close_TarArchive_ShouldReadBackOutputsAndLogFile() throws CelloException, IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		File outputDir = new File(dir, "out");
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", outputDir.getPath(),
+		        "-outputArchive", "tar", "-scratchDir", new File(dir, "scratch").getPath() });
+		DSGRNOutputSink sink = DSGRNOutputSink.getOutputSink(runEnv);
+		File designDir = sink.getOutputDir(new File(outputDir, "design"));
+		// a name split into the prefix and name fields, and a name too long for both
+		String split = String.join("", Collections.nCopies(120, "d")) + "/netlist.json";
+		String pax = String.join("", Collections.nCopies(120, "n")) + ".json";
+		write(new File(designDir, split), "{}");
+		write(new File(designDir, pax), "[]");
+		write(new File(designDir, "log.log"), "Designed.\n");
+		sink.add(new File("design.xml"), designDir);
+		sink.close();
+		assertArrayEquals(new String[0], outputDir.list((d, name) -> name.endsWith(DSGRNArchiveSink.S_PART)));
+		Map<String, String> entries = readTar(new File(outputDir, "results.tar"));
+		assertEquals(Arrays.asList("design/" + split, "design/" + pax, "design/log.log", DSGRNArchiveSink.S_MANIFEST),
+		        new ArrayList<>(entries.keySet()));
+		assertEquals("{}", entries.get("design/" + split));
+		assertEquals("[]", entries.get("design/" + pax));
+		assertEquals("Designed.\n", entries.get("design/log.log"));
+	}
+
+	@Test
+	public void roll_WorkerArchive_ShouldCloseArchiveOfOutputsSoFar() throws CelloException, IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		File outputDir = new File(dir, "out");
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", outputDir.getPath(),
+		        "-outputArchive", "zip", "-workerId", "2", "-scratchDir", new File(dir, "scratch").getPath() });
+		DSGRNOutputSink sink = DSGRNOutputSink.getOutputSink(runEnv);
+		File first = sink.getOutputDir(new File(outputDir, "first"));
+		write(new File(first, "netlist.json"), "{}");
+		sink.add(new File("first.xml"), first);
+		sink.roll();
+		// the archive is closed, and another roll without outputs does nothing
+		assertEquals(Arrays.asList("first/netlist.json", DSGRNArchiveSink.S_MANIFEST),
+		        getZipEntries(new File(outputDir, "worker_2_1.zip")));
+		sink.roll();
+		File second = sink.getOutputDir(new File(outputDir, "second"));
+		write(new File(second, "netlist.json"), "{}");
+		assertEquals(new File(outputDir, "worker_2_2.zip").getAbsolutePath() + "!/second/netlist.json",
+		        sink.getLocation(new File(second, "netlist.json")));
+		sink.add(new File("second.xml"), second);
+		sink.close();
+		assertEquals(Arrays.asList("second/netlist.json", DSGRNArchiveSink.S_MANIFEST),
+		        getZipEntries(new File(outputDir, "worker_2_2.zip")));
+		String[] archives = outputDir.list();
+		Arrays.sort(archives);
+		assertArrayEquals(new String[] { "worker_2_1.zip", "worker_2_2.zip" }, archives);
+	}
+
+	@Test
+	public void getSplit_LongName_ShouldUsePrefixOrExtendedHeader() {
+		String dir = String.join("", Collections.nCopies(90, "d"));
+		String name = String.join("", Collections.nCopies(90, "n"));
+		assertEquals(0, TarArchive.getSplit(name.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(90, TarArchive.getSplit((dir + "/" + name).getBytes(StandardCharsets.UTF_8)));
+		assertEquals(-1, TarArchive.getSplit((dir + name + "/" + name).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void getHeader_File_ShouldHaveValidChecksum() {
+		byte[] header = TarArchive.getHeader(new byte[0], "a.txt".getBytes(StandardCharsets.UTF_8), 6, (byte) '0');
+		assertEquals(512, header.length);
+		assertEquals("ustar", new String(header, 257, 5, StandardCharsets.US_ASCII));
+		assertEquals("00000000006", new String(header, 124, 11, StandardCharsets.US_ASCII));
+		long checksum = 0;
+		for (int i = 0; i < header.length; i++) {
+			checksum += i >= 148 && i < 156 ? ' ' : header[i] & 0xff;
+		}
+		assertEquals(checksum, Long.parseLong(new String(header, 148, 6, StandardCharsets.US_ASCII), 8));
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNBatch} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNBatchTest {
+
+	@BeforeClass
+	public static void init() throws IOException {
+		dir = Files.createTempDirectory("cello_");
+		Files.createDirectory(dir.resolve("a"));
+		Files.createDirectory(dir.resolve("b"));
+		Files.createFile(dir.resolve("a").resolve("net1.xml"));
+		Files.createFile(dir.resolve("a").resolve("net2.xml"));
+		Files.createFile(dir.resolve("a").resolve("notes.txt"));
+		Files.createFile(dir.resolve("b").resolve("net1.xml"));
+		Files.write(dir.resolve("manifest.txt"),
+		        Arrays.asList("# designs", "a/net2.xml", "", "b/net1.xml"), StandardCharsets.UTF_8);
+		glob = dir.toString() + File.separator + "*" + File.separator + "net1.xml";
+	}
+
+	@Test
+	public void getInputFiles_Directory_ShouldReturnSBOLFiles() throws CelloException {
+		List<File> files = DSGRNBatch.getInputFiles(dir.resolve("a").toString());
+		assertEquals(Arrays.asList(dir.resolve("a").resolve("net1.xml").toFile(),
+		        dir.resolve("a").resolve("net2.xml").toFile()), files);
+	}
+
+	@Test
+	public void getInputFiles_Glob_ShouldReturnMatchingFiles() throws CelloException {
+		List<File> files = DSGRNBatch.getInputFiles(glob);
+		assertEquals(Arrays.asList(dir.resolve("a").resolve("net1.xml").toFile(),
+		        dir.resolve("b").resolve("net1.xml").toFile()), files);
+	}
+
+	@Test
+	public void getInputFiles_Manifest_ShouldReturnListedFiles() throws CelloException {
+		List<File> files = DSGRNBatch.getInputFiles(dir.resolve("manifest.txt").toString());
+		assertEquals(Arrays.asList(dir.resolve("a").resolve("net2.xml").toFile(),
+		        dir.resolve("b").resolve("net1.xml").toFile()), files);
+	}
+
+	@Test
+	public void getDesignNames_DuplicateFileNames_ShouldReturnUniqueNames() throws CelloException {
+		List<File> files = DSGRNBatch.getInputFiles(glob);
+		assertEquals(Arrays.asList("net1", "net1_1"), DSGRNBatch.getDesignNames(files));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getThreads_Zero_ShouldThrow() throws CelloException {
+		DSGRNBatch.getThreads(new DSGRNRuntimeEnv(new String[] { "-threads", "0", "-outputDir", "/tmp" }));
+	}
+
+	private static Path dir;
+	private static String glob;
+
+}
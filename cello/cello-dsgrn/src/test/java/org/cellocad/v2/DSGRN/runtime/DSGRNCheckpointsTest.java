@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.cellocad.v2.common.CelloException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNCheckpoints} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNCheckpointsTest {
+
+	@Before
+	public void init() throws IOException {
+		dir = Files.createTempDirectory("cello_");
+		file = dir.resolve("and_outputNetlist.json").toFile();
+		Files.write(file.toPath(), Arrays.asList("{\"name\": \"and\", \"nodes\": [], \"edges\": []}"),
+		        StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void read_AddedCheckpoint_ShouldReturnNetlist() throws CelloException {
+		DSGRNCheckpoints checkpoints = new DSGRNCheckpoints(dir.toFile(), "and");
+		checkpoints.add(DSGRNPipeline.S_PLACING, file);
+		assertTrue(checkpoints.getManifestFile().isFile());
+		// the manifest is read again by a later run
+		assertNotNull(new DSGRNCheckpoints(dir.toFile(), "and").read(DSGRNPipeline.S_PLACING));
+	}
+
+	@Test(expected = CelloException.class)
+	public void read_ModifiedCheckpoint_ShouldThrowCelloException() throws CelloException, IOException {
+		DSGRNCheckpoints checkpoints = new DSGRNCheckpoints(dir.toFile(), "and");
+		checkpoints.add(DSGRNPipeline.S_PLACING, file);
+		Files.write(file.toPath(), Arrays.asList("{}"), StandardCharsets.UTF_8);
+		checkpoints.read(DSGRNPipeline.S_PLACING);
+	}
+
+	@Test(expected = CelloException.class)
+	public void read_RemovedCheckpoint_ShouldThrowCelloException() throws CelloException {
+		DSGRNCheckpoints checkpoints = new DSGRNCheckpoints(dir.toFile(), "and");
+		checkpoints.add(DSGRNPipeline.S_PLACING, file);
+		checkpoints.remove(DSGRNPipeline.S_PLACING);
+		new DSGRNCheckpoints(dir.toFile(), "and").read(DSGRNPipeline.S_PLACING);
+	}
+
+	private Path dir;
+	private File file;
+
+}
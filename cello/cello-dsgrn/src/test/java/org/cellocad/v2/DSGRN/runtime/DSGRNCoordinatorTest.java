@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.Option;
+import org.cellocad.v2.DSGRN.runtime.DSGRNCoordinator.Job;
+import org.cellocad.v2.DSGRN.runtime.DSGRNCoordinator.WorkQueue;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNArgString;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNCoordinator} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNCoordinatorTest {
+
+	private static List<Job> getJobs(int n) {
+		List<Job> rtn = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			rtn.add(new Job(i, new File("design_" + i + ".xml"), new File("design_" + i)));
+		}
+		return rtn;
+	}
+
+	private static String getName(Job job) {
+		return job.getInput().getName();
+	}
+
+	@Test
+	public void take_IdleWorker_ShouldStealLaterHalfOfLargestShard() throws InterruptedException {
+		WorkQueue queue = new WorkQueue(getJobs(6), 6, 3);
+		Object a = new Object();
+		Object b = new Object();
+		assertEquals("design_0.xml", getName(queue.take(a)));
+		// b finds no pending shard and takes design_3 to design_5 from a
+		assertEquals("design_3.xml", getName(queue.take(b)));
+		queue.complete(a, null);
+		assertEquals("design_1.xml", getName(queue.take(a)));
+		queue.complete(b, null);
+		assertEquals("design_4.xml", getName(queue.take(b)));
+	}
+
+	@Test
+	public void release_LostWorker_ShouldRetryJobUntilMaxAttempts() throws InterruptedException {
+		List<Job> jobs = getJobs(2);
+		WorkQueue queue = new WorkQueue(jobs, 1, 2);
+		Object a = new Object();
+		Object b = new Object();
+		assertEquals("design_0.xml", getName(queue.take(a)));
+		assertEquals("design_0.xml", getName(queue.release(a)));
+		// the lost job is retried before the pending shards
+		assertEquals("design_0.xml", getName(queue.take(b)));
+		queue.release(b);
+		assertEquals(DSGRNCoordinator.S_FAILED, jobs.get(0).getStatus());
+		assertEquals(2, jobs.get(0).getAttempts());
+		Object c = new Object();
+		assertEquals("design_1.xml", getName(queue.take(c)));
+		assertFalse(queue.isDone());
+		queue.complete(c, null);
+		assertEquals(DSGRNCoordinator.S_COMPLETED, jobs.get(1).getStatus());
+		assertTrue(queue.isDone());
+		assertNull(queue.take(c));
+	}
+
+	@Test
+	public void take_ArchivedJobs_ShouldRollBeforeNextShardAndRetryUnarchivedJobsOfLostWorker()
+	        throws InterruptedException {
+		List<Job> jobs = getJobs(3);
+		WorkQueue queue = new WorkQueue(jobs, 2, 3, true);
+		Object a = new Object();
+		Object b = new Object();
+		assertEquals("design_0.xml", getName(queue.take(a)));
+		queue.complete(a, null);
+		// no outcome until the archive is rolled
+		assertNull(jobs.get(0).getStatus());
+		assertEquals("design_1.xml", getName(queue.take(a)));
+		queue.complete(a, "failed");
+		assertSame(WorkQueue.S_ROLL, queue.take(a));
+		queue.archive(a);
+		assertEquals(DSGRNCoordinator.S_COMPLETED, jobs.get(0).getStatus());
+		assertEquals(DSGRNCoordinator.S_FAILED, jobs.get(1).getStatus());
+		assertEquals("design_2.xml", getName(queue.take(a)));
+		queue.complete(a, null);
+		// the worker is lost before its archive is closed
+		assertNull(queue.release(a));
+		assertEquals("design_2.xml", getName(queue.take(b)));
+		assertEquals(2, jobs.get(2).getAttempts());
+		queue.complete(b, null);
+		assertFalse(queue.isDone());
+		assertSame(WorkQueue.S_ROLL, queue.take(b));
+		queue.archive(b);
+		assertTrue(queue.isDone());
+		assertNull(queue.take(b));
+	}
+
+	@Test
+	public void getJVMOptions_Debugger_ShouldDropDebuggerAndExitOnOutOfMemory() {
+		List<String> options = DSGRNCoordinator.getJVMOptions(
+		        Arrays.asList("-Xmx2g", "-agentlib:jdwp=transport=dt_socket,server=y,address=5005"));
+		assertEquals(Arrays.asList("-Xmx2g", "-XX:+ExitOnOutOfMemoryError"), options);
+	}
+
+	@Test
+	public void getWorkerArgs_Batch_ShouldReplaceBatchByCoordinator() {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-batch", "designs", "-workers", "4", "-outputDir", "/tmp/sweep" });
+		List<String> args = Arrays.asList(runEnv.getWorkerArgs("127.0.0.1:4000", 2, "worker_2.log"));
+		assertEquals(Arrays.asList("-outputDir", "/tmp/sweep", "-worker", "127.0.0.1:4000", "-workerId", "2",
+		        "-logFilename", "worker_2.log"), args);
+		assertEquals(4, DSGRNCoordinator.getWorkers(runEnv));
+		assertEquals(2, DSGRNCoordinator.getShardSize(runEnv, 30, 4));
+	}
+
+	@Test
+	public void getWorkerArgs_RemovedFlag_ShouldKeepNextArgument() {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-workers", "-outputDir", "/tmp/sweep", "-batch", "designs", "-threads", "2" }) {
+			@Override
+			protected void setOptions() {
+				super.setOptions();
+				// a removed option without a value
+				this.getOptions().addOption(new Option(DSGRNArgString.WORKERS, false, ""));
+			}
+		};
+		List<String> args = Arrays.asList(runEnv.getWorkerArgs("127.0.0.1:4000", 0, "worker_0.log"));
+		assertEquals(Arrays.asList("-outputDir", "/tmp/sweep", "-threads", "2", "-worker", "127.0.0.1:4000",
+		        "-workerId", "0", "-logFilename", "worker_0.log"), args);
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNLogContext} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNLogContextTest {
+
+	@Test
+	public void getLogFile_LogFileName_ShouldBeInOutputDir() {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-outputDir", "/tmp/design", "-logFilename", "design.log" });
+		assertEquals(new File("/tmp/design", "design.log"), DSGRNLogContext.getLogFile(runEnv));
+	}
+
+	@Test
+	public void close_Nested_ShouldRestoreLogFile() {
+		File batch = new File("/tmp/batch/log.log");
+		File design = new File("/tmp/batch/design/log.log");
+		DSGRNLogContext outer = DSGRNLogContext.open(batch);
+		DSGRNLogContext inner = DSGRNLogContext.open(design);
+		assertEquals(design.getAbsolutePath(), ThreadContext.get(DSGRNLogContext.S_LOGFILE));
+		inner.close();
+		assertEquals(batch.getAbsolutePath(), ThreadContext.get(DSGRNLogContext.S_LOGFILE));
+		outer.close();
+		assertNull(ThreadContext.get(DSGRNLogContext.S_LOGFILE));
+	}
+
+	@Test
+	public void close_LogFileOnceWritten_ShouldHoldEventsLoggedBefore() throws Exception {
+		File file = new File(Files.createTempDirectory("cello_").toFile(), "log.log");
+		DSGRNLogContext log = DSGRNLogContext.open(file);
+		try {
+			LogManager.getLogger(DSGRNLogContextTest.class).info("Designed.");
+		} finally {
+			log.close();
+		}
+		for (int i = 0; i < 100 && !DSGRNLogContext.isWritten(); i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(DSGRNLogContext.isWritten());
+		DSGRNLogContext.close(file);
+		assertTrue(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).contains("Designed."));
+	}
+
+	@Test
+	public void wrap_TaskOnPool_ShouldRunWithLogFileOfCaller() throws Exception {
+		File design = new File("/tmp/batch/design/log.log");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			DSGRNLogContext log = DSGRNLogContext.open(design);
+			Callable<String> task = DSGRNLogContext.wrap(() -> ThreadContext.get(DSGRNLogContext.S_LOGFILE));
+			log.close();
+			assertEquals(design.getAbsolutePath(), executor.submit(task).get());
+			// the worker is back to its own log file
+			assertNull(executor.submit(() -> ThreadContext.get(DSGRNLogContext.S_LOGFILE)).get());
+			// a task wrapped without a log file leaves the worker without one
+			String[] logFile = new String[1];
+			executor.submit(DSGRNLogContext.wrap(() -> {
+				logFile[0] = ThreadContext.get(DSGRNLogContext.S_LOGFILE);
+			})).get();
+			assertNull(logFile[0]);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
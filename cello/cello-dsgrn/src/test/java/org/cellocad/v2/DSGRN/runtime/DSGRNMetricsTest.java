@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNMetrics} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNMetricsTest {
+
+	private static JSONObject getPhase(JSONObject metrics, String name) {
+		for (Object o : (JSONArray) metrics.get("phases")) {
+			JSONObject phase = (JSONObject) o;
+			if (phase.get("phase").equals(name)) {
+				return phase;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void getJSON_RepeatedPhase_ShouldSumPhase() {
+		DSGRNMetrics metrics = new DSGRNMetrics("and");
+		for (int i = 0; i < 2; i++) {
+			metrics.start(DSGRNPipeline.S_RENDER).close();
+		}
+		JSONObject json = metrics.getJSON();
+		assertEquals(1, ((JSONArray) json.get("phases")).size());
+		assertEquals(2L, getPhase(json, DSGRNPipeline.S_RENDER).get("count"));
+		assertTrue((Double) getPhase(json, DSGRNPipeline.S_RENDER).get("wall_time_ms") >= 0);
+	}
+
+	@Test
+	public void getJSON_SharedMetrics_ShouldContainSharedPhases() {
+		DSGRNMetrics shared = new DSGRNMetrics("and.xml");
+		shared.start(DSGRNPipeline.S_CONVERT).close();
+		DSGRNMetrics metrics = new DSGRNMetrics("and", shared);
+		metrics.start(DSGRNPipeline.S_PLACING).close();
+		JSONObject json = metrics.getJSON();
+		assertEquals("and", json.get("design"));
+		assertEquals(1L, getPhase(json, DSGRNPipeline.S_CONVERT).get("count"));
+		assertEquals(1L, getPhase(json, DSGRNPipeline.S_PLACING).get("count"));
+		// the shared metrics are not modified by the design
+		assertEquals(1, ((JSONArray) shared.getJSON().get("phases")).size());
+	}
+
+	@Test
+	public void write_Metrics_ShouldWriteJSON() throws CelloException, IOException, ParseException {
+		DSGRNMetrics metrics = new DSGRNMetrics("and");
+		metrics.start(DSGRNPipeline.S_EXPORT).close();
+		File file = new File(Files.createTempDirectory("cello_").toFile(), DSGRNMetrics.S_METRICS);
+		metrics.write(file);
+		try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			JSONObject json = (JSONObject) new JSONParser().parse(r);
+			assertEquals(1L, ((JSONObject) json.get("total")).get("count"));
+		}
+	}
+
+	private static boolean isFlightRecorderAvailable() {
+		try {
+			Class.forName("jdk.jfr.EventFactory");
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	@Test
+	public void getInstance_FlightRecorder_ShouldStartAndFinishEvent() {
+		assumeTrue(isFlightRecorderAvailable());
+		DSGRNPhaseEvent type = DSGRNPhaseEvent.getInstance();
+		assertNotNull(type);
+		Object event = type.start();
+		assertNotNull(event);
+		type.finish(event, "and", DSGRNPipeline.S_RENDER, 1L, 2L);
+	}
+
+}
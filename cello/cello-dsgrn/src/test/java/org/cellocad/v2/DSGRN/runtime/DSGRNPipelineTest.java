@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.DSGRN.technologyMapping.MultiStartTechnologyMapping;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNPipeline} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNPipelineTest {
+
+	@Test
+	public void getStopIndex_StopAfterTechnologyMapping_ShouldSkipLaterStages() throws CelloException {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-outputDir", "/tmp", "-stopAfter", DSGRNPipeline.S_TECHNOLOGYMAPPING });
+		assertEquals(1, DSGRNPipeline.getStopIndex(runEnv));
+		Netlist netlist = new Netlist();
+		netlist.setName("design");
+		DSGRNDesign design = new DSGRNDesign(netlist, runEnv, "design.xml", new DSGRNMetrics("design"));
+		assertTrue(design.isExecuted(DSGRNPipeline.S_EXPORT));
+		design.setStop(DSGRNPipeline.getStopIndex(runEnv));
+		assertTrue(design.isExecuted(DSGRNPipeline.S_TECHNOLOGYMAPPING));
+		assertFalse(design.isExecuted(DSGRNPipeline.S_PLACING));
+		assertFalse(design.isExecuted(DSGRNPipeline.S_EXPORT));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getStopIndex_BeforeResume_ShouldThrowCelloException() throws CelloException {
+		DSGRNPipeline.getStopIndex(new DSGRNRuntimeEnv(new String[] { "-resumeFrom", DSGRNPipeline.S_PLACING,
+		        "-stopAfter", DSGRNPipeline.S_TECHNOLOGYMAPPING }));
+	}
+
+	@Test
+	public void getSBOLReader_DSGRNValidation_ShouldReturnStreamReader() throws CelloException {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-sbolValidation", DSGRNPipeline.S_DSGRN });
+		assertEquals(DSGRNPipeline.S_STREAM, DSGRNPipeline.getSBOLReader(runEnv));
+		runEnv = new DSGRNRuntimeEnv(new String[] {});
+		assertEquals(DSGRNPipeline.S_LIBSBOLJ, DSGRNPipeline.getSBOLReader(runEnv));
+		assertEquals(DSGRNPipeline.S_NONE, DSGRNPipeline.getSBOLValidation(runEnv));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getSBOLReader_FullValidationOfStream_ShouldThrowCelloException() throws CelloException {
+		DSGRNPipeline.getSBOLReader(new DSGRNRuntimeEnv(
+		        new String[] { "-sbolValidation", DSGRNPipeline.S_FULL, "-sbolReader", DSGRNPipeline.S_STREAM }));
+	}
+
+	@Test
+	public void writeScore_MappedDesign_ShouldWriteScoreRecord() throws CelloException, IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", dir.getPath() });
+		Netlist netlist = new Netlist();
+		netlist.setName("design");
+		DSGRNDesign design = new DSGRNDesign(netlist, runEnv, "design.xml", new DSGRNMetrics("design"));
+		design.setScore(42.5);
+		DSGRNPipeline.writeScore(design);
+		assertEquals(Arrays.asList("{\"design\":\"design\",\"input\":\"design.xml\",\"score\":42.5}"),
+		        Files.readAllLines(new File(dir, "design_score.json").toPath(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void cancel_Design_ShouldCancelTechnologyMappingInProgressOrLater() throws CelloException {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", "/tmp" });
+		Netlist netlist = new Netlist();
+		netlist.setName("design");
+		DSGRNDesign design = new DSGRNDesign(netlist, runEnv, "design.xml", new DSGRNMetrics("design"));
+		MultiStartTechnologyMapping running = new MultiStartTechnologyMapping(null, null, runEnv) {
+		};
+		design.setTechnologyMapping(running);
+		design.cancel();
+		assertTrue(running.isCancelled());
+		MultiStartTechnologyMapping later = new MultiStartTechnologyMapping(null, null, runEnv) {
+		};
+		design.setTechnologyMapping(later);
+		assertTrue(later.isCancelled());
+	}
+
+}
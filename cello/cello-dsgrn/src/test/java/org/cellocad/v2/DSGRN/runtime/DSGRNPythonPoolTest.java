@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNPythonPool} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNPythonPoolTest {
+
+	private static final String S_PYTHON = "python3";
+
+	private static boolean isPythonAvailable() {
+		try {
+			return new ProcessBuilder(S_PYTHON, "--version").start().waitFor() == 0;
+		} catch (IOException | InterruptedException e) {
+			return false;
+		}
+	}
+
+	private static String run(DSGRNRuntimeEnv runEnv, File dir, String... args)
+	        throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(runEnv.getOptionValue(ArgString.PYTHONENV));
+		command.addAll(Arrays.asList(args));
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.directory(dir);
+		builder.redirectErrorStream(true);
+		Process process = builder.start();
+		String output = new String(readAll(process), StandardCharsets.UTF_8).trim();
+		return process.waitFor() + " " + output;
+	}
+
+	private static byte[] readAll(Process process) throws IOException {
+		byte[] rtn = new byte[0];
+		byte[] buffer = new byte[4096];
+		int n;
+		while ((n = process.getInputStream().read(buffer)) != -1) {
+			byte[] next = Arrays.copyOf(rtn, rtn.length + n);
+			System.arraycopy(buffer, 0, next, rtn.length, n);
+			rtn = next;
+		}
+		return rtn;
+	}
+
+	@Test
+	public void getShim_PathWithQuote_ShouldQuoteArguments() {
+		assertEquals("#!/bin/sh\nexec 'python' -S '/tmp/it'\\''s/client.py' 4000 'python' \"$@\"\n",
+		        DSGRNPythonPool.getShim("python", "/tmp/it's/client.py", 4000));
+	}
+
+	@Test
+	public void start_Scripts_ShouldReuseProcessUntilMaxJobsOrFailure()
+	        throws CelloException, IOException, InterruptedException {
+		assumeTrue(isPythonAvailable());
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-pythonEnv", S_PYTHON, "-pythonWorkers", "1",
+		        "-pythonMaxJobs", "2", "-outputDir", "/tmp" });
+		DSGRNRuntimeEnv poolEnv = DSGRNPythonPool.start(runEnv);
+		File dir = Files.createTempDirectory("cello_").toFile();
+		Files.write(new File(dir, "script.py").toPath(), Arrays.asList("import os, sys",
+		        "print(os.getpid(), os.path.basename(os.getcwd()), sys.argv[1])", "sys.exit(int(sys.argv[1]))"));
+		String first = run(poolEnv, dir, "-u", "script.py", "0");
+		String second = run(poolEnv, dir, "script.py", "0");
+		String third = run(poolEnv, dir, "script.py", "3");
+		String fourth = run(poolEnv, dir, "script.py", "0");
+		String pid = first.split(" ")[1];
+		assertEquals("0 " + pid + " " + dir.getName() + " 0", first);
+		assertEquals(first, second);
+		// replaced after two scripts, then after the failure
+		assertNotEquals(pid, third.split(" ")[1]);
+		assertEquals("3 ", third.substring(0, 2));
+		assertNotEquals(third.split(" ")[1], fourth.split(" ")[1]);
+		// other invocations reach the interpreter itself
+		assertEquals("0 ok", run(poolEnv, dir, "-c", "print('ok')"));
+	}
+
+	@Test
+	public void start_ScriptImportingChangedModule_ShouldImportModuleAfresh()
+	        throws CelloException, IOException, InterruptedException {
+		assumeTrue(isPythonAvailable());
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-pythonEnv", S_PYTHON, "-pythonWorkers", "1", "-outputDir", "/tmp" });
+		DSGRNRuntimeEnv poolEnv = DSGRNPythonPool.start(runEnv);
+		File dir = Files.createTempDirectory("cello_").toFile();
+		Files.write(new File(dir, "script.py").toPath(),
+		        Arrays.asList("import os, helper", "print(os.getpid(), helper.VALUE)"));
+		Files.write(new File(dir, "helper.py").toPath(), Arrays.asList("VALUE = 1"));
+		String first = run(poolEnv, dir, "script.py");
+		Files.write(new File(dir, "helper.py").toPath(), Arrays.asList("VALUE = 22"));
+		String second = run(poolEnv, dir, "script.py");
+		String pid = first.split(" ")[1];
+		assertEquals("0 " + pid + " 1", first);
+		assertEquals("0 " + pid + " 22", second);
+	}
+
+	@Test
+	public void start_HungScript_ShouldKillAndReplaceProcess()
+	        throws CelloException, IOException, InterruptedException {
+		assumeTrue(isPythonAvailable());
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-pythonEnv", S_PYTHON, "-pythonWorkers", "1",
+		        "-pythonTimeout", "1", "-outputDir", "/tmp" });
+		DSGRNRuntimeEnv poolEnv = DSGRNPythonPool.start(runEnv);
+		File dir = Files.createTempDirectory("cello_").toFile();
+		Files.write(new File(dir, "script.py").toPath(),
+		        Arrays.asList("import os, sys, time", "print(os.getpid())", "time.sleep(float(sys.argv[1]))"));
+		String first = run(poolEnv, dir, "script.py", "0");
+		String hung = run(poolEnv, dir, "script.py", "60");
+		String third = run(poolEnv, dir, "script.py", "0");
+		assertEquals("0 ", first.substring(0, 2));
+		assertEquals("1 The Python process was killed after 1 s.", hung);
+		assertNotEquals(first.split(" ")[1], third.split(" ")[1]);
+		assertEquals("0 ", third.substring(0, 2));
+	}
+
+}
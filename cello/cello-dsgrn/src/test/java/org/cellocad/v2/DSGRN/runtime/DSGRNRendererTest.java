@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNRenderer} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-17
+ *
+ */
+public class DSGRNRendererTest {
+
+	@Test
+	public void getRenderThreads_Value_ShouldReturnValue() throws CelloException {
+		assertEquals(3, DSGRNRenderer.getRenderThreads(new DSGRNRuntimeEnv(new String[] { "-renderThreads", "3" })));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getRenderThreads_Zero_ShouldThrow() throws CelloException {
+		DSGRNRenderer.getRenderThreads(new DSGRNRuntimeEnv(new String[] { "-renderThreads", "0" }));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getRenderThreads_NotANumber_ShouldThrow() throws CelloException {
+		DSGRNRenderer.getRenderThreads(new DSGRNRuntimeEnv(new String[] { "-renderThreads", "two" }));
+	}
+
+	@Test(timeout = 10000)
+	public void render_AfterShutdown_ShouldNotBlockAwait() throws CelloException, IOException {
+		DSGRNRenderer renderer = new DSGRNRenderer(new DSGRNRuntimeEnv(new String[] { "-render", "async" }));
+		renderer.shutdown();
+		File dir = Files.createTempDirectory("cello_").toFile();
+		Netlist netlist = new Netlist();
+		netlist.setName("design");
+		renderer.render(netlist, new File(dir, "design.dot"), new DSGRNMetrics("design"));
+		renderer.await(dir);
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNResultsIndex} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNResultsIndexTest {
+
+	@SuppressWarnings("unchecked")
+	private static JSONObject getRecord(String design, Double score, String gate) {
+		JSONObject rtn = new JSONObject();
+		rtn.put(DSGRNResultsIndex.S_DESIGN, design);
+		rtn.put(DSGRNResultsIndex.S_SCORE, score);
+		JSONObject gates = new JSONObject();
+		gates.put("x", gate);
+		rtn.put(DSGRNResultsIndex.S_GATES, gates);
+		return rtn;
+	}
+
+	@Test
+	public void query_Records_ShouldFilterAndRankByScore() throws IOException, CelloException {
+		File file = new File(Files.createTempDirectory("cello_").toFile(), "index.ndjson");
+		DSGRNResultsIndex index = new DSGRNResultsIndex(file);
+		index.append(getRecord("a", 10.0, "P1_PhlF"));
+		index.append(getRecord("b", null, "P1_PhlF"));
+		index.append(getRecord("c", 30.0, "P1_PhlF"));
+		index.append(getRecord("d", 20.0, "S1_SrpR"));
+		List<JSONObject> records = index.query("gates.x=P1_PhlF", "-score", 0);
+		assertEquals(3, records.size());
+		assertEquals("c", records.get(0).get(DSGRNResultsIndex.S_DESIGN));
+		assertEquals("a", records.get(1).get(DSGRNResultsIndex.S_DESIGN));
+		assertEquals("b", records.get(2).get(DSGRNResultsIndex.S_DESIGN));
+		records = index.query("score>=15", "score", 1);
+		assertEquals(1, records.size());
+		assertEquals("d", records.get(0).get(DSGRNResultsIndex.S_DESIGN));
+	}
+
+	@Test
+	public void query_RecordWithoutEntry_ShouldReadIndex() throws IOException, CelloException {
+		File file = new File(Files.createTempDirectory("cello_").toFile(), "index.ndjson");
+		DSGRNResultsIndex index = new DSGRNResultsIndex(file);
+		index.append(getRecord("a", 10.0, "P1_PhlF"));
+		// a record appended without its entry in the sidecar file
+		Files.write(file.toPath(), (getRecord("b", 20.0, "P1_PhlF").toJSONString() + "\n").getBytes(),
+		        StandardOpenOption.APPEND);
+		List<JSONObject> records = index.query("score>5", "-score", 0);
+		assertEquals(2, records.size());
+		assertEquals("b", records.get(0).get(DSGRNResultsIndex.S_DESIGN));
+		assertEquals("a", records.get(1).get(DSGRNResultsIndex.S_DESIGN));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getFilters_NoOperator_ShouldThrowCelloException() throws CelloException {
+		DSGRNResultsIndex.getFilters("score");
+	}
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNScheduler} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNSchedulerTest {
+
+	/*
+	 * records the designs that reach the last step, and fails the placing of one
+	 */
+	private static class TestPipeline extends DSGRNPipeline {
+
+		TestPipeline(String failing) {
+			super(null, null);
+			this.failing = failing;
+		}
+
+		@Override
+		public void prepare(DSGRNDesign design) {
+		}
+
+		@Override
+		public void technologyMapping(DSGRNDesign design) {
+		}
+
+		@Override
+		public void placing(DSGRNDesign design) throws CelloException {
+			if (design.getName().equals(this.failing)) {
+				throw new CelloException("Cannot place " + design.getName() + ".");
+			}
+		}
+
+		@Override
+		public void export(DSGRNDesign design) {
+		}
+
+		@Override
+		public void write(DSGRNDesign design) {
+			this.written.add(design.getName());
+		}
+
+		@Override
+		public void writeMetrics(DSGRNDesign design) {
+		}
+
+		private String failing;
+		private List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+	}
+
+	private static List<DSGRNDesign> getDesigns(DSGRNRuntimeEnv runEnv, int n) {
+		List<DSGRNDesign> rtn = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			Netlist netlist = new Netlist();
+			netlist.setName("design_" + i);
+			rtn.add(new DSGRNDesign(netlist, runEnv, "designs.xml", new DSGRNMetrics(netlist.getName())));
+		}
+		return rtn;
+	}
+
+	@Test
+	public void getStageThreads_Overrides_ShouldReplaceDefaults() throws CelloException {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-threads", "5", "-stageThreads", "export=2,placing=3" });
+		Map<String, Integer> threads = DSGRNScheduler.getStageThreads(runEnv);
+		assertEquals(5, (int) threads.get(DSGRNPipeline.S_TECHNOLOGYMAPPING));
+		assertEquals(3, (int) threads.get(DSGRNPipeline.S_PLACING));
+		assertEquals(2, (int) threads.get(DSGRNPipeline.S_EXPORT));
+		assertEquals(1, (int) threads.get(DSGRNPipeline.S_CONVERT));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getStageThreads_UnknownStage_ShouldThrow() throws CelloException {
+		DSGRNScheduler.getStageThreads(new DSGRNRuntimeEnv(new String[] { "-stageThreads", "logicSynthesis=2" }));
+	}
+
+	@Test(expected = CelloException.class)
+	public void getStageQueue_Zero_ShouldThrow() throws CelloException {
+		DSGRNScheduler.getStageQueue(new DSGRNRuntimeEnv(new String[] { "-stageQueue", "0" }));
+	}
+
+	@Test
+	public void await_FailedDesign_ShouldFinishOtherDesigns() {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", "/tmp", "-threads", "2",
+		        "-stageQueue", "1" });
+		TestPipeline pipeline = new TestPipeline("design_3");
+		boolean failed = false;
+		try {
+			DSGRNScheduler scheduler = new DSGRNScheduler(pipeline, runEnv);
+			for (int i = 0; i < 3; i++) {
+				scheduler.submit("designs_" + i, () -> getDesigns(runEnv, 8));
+			}
+			scheduler.await();
+		} catch (CelloException e) {
+			failed = true;
+		}
+		assertTrue(failed);
+		// every copy of design_3 fails and every other design is written
+		assertEquals(21, pipeline.written.size());
+		assertTrue(!pipeline.written.contains("design_3"));
+	}
+
+	@Test
+	public void submit_Listener_ShouldBeToldOnceFileIsDone() throws CelloException {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", "/tmp", "-threads", "2",
+		        "-stageQueue", "1" });
+		TestPipeline pipeline = new TestPipeline("design_3");
+		Map<String, String> done = new ConcurrentHashMap<>();
+		DSGRNScheduler scheduler = new DSGRNScheduler(pipeline, runEnv);
+		scheduler.submit("designs", () -> getDesigns(runEnv, 3), (designs, failed) -> {
+			// every design of the file is written before the listener is told
+			done.put("designs", designs.size() + " " + failed + " " + pipeline.written.size());
+		});
+		scheduler.submit("failing", () -> getDesigns(runEnv, 4), (designs, failed) -> {
+			done.put("failing", designs.size() + " " + failed);
+		});
+		scheduler.submit("skipped", () -> null, (designs, failed) -> {
+			done.put("skipped", designs + " " + failed);
+		});
+		try {
+			scheduler.await();
+		} catch (CelloException e) {
+			// design_3 of the second file failed
+		}
+		assertEquals("3 0", done.get("designs").substring(0, 3));
+		assertTrue(Integer.parseInt(done.get("designs").substring(4)) >= 3);
+		assertEquals("4 1", done.get("failing"));
+		assertEquals("null 0", done.get("skipped"));
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNServer} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNServerTest {
+
+	@Test
+	public void getParameters_EncodedQuery_ShouldReturnDecodedParameters() {
+		Map<String, String> parameters = DSGRNServer
+		        .getParameters("name=and&userConstraintsFile=%2Ftmp%2Fa+b.UCF.json&&flag");
+		assertEquals(3, parameters.size());
+		assertEquals("and", parameters.get("name"));
+		assertEquals("/tmp/a b.UCF.json", parameters.get("userConstraintsFile"));
+		assertEquals("", parameters.get("flag"));
+	}
+
+	@Test
+	public void getParameters_NoQuery_ShouldReturnNoParameters() {
+		assertTrue(DSGRNServer.getParameters(null).isEmpty());
+	}
+
+	@Test(expected = CelloException.class)
+	public void getQueue_Zero_ShouldThrow() throws CelloException {
+		DSGRNServer.getQueue(new DSGRNRuntimeEnv(new String[] { "-serverQueue", "0" }));
+	}
+
+	private static int request(int port, String method, String query) throws IOException {
+		URL url = new URL("http://localhost:" + port + DSGRNServer.S_DESIGNS + "?" + query);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setRequestMethod(method);
+		if (method.equals("POST")) {
+			connection.setDoOutput(true);
+			try (OutputStream os = connection.getOutputStream()) {
+				os.write("<rdf:RDF/>".getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		int rtn = connection.getResponseCode();
+		connection.disconnect();
+		return rtn;
+	}
+
+	@Test
+	public void handle_Requests_ShouldAnswerStatus() throws Exception {
+		File outputDir = Files.createTempDirectory("cello_").toFile();
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-server", "0", "-threads", "1",
+		        "-serverQueue", "1", "-outputDir", outputDir.getPath() });
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		DSGRNServer server = new DSGRNServer(runEnv) {
+			@SuppressWarnings("unchecked")
+			@Override
+			protected JSONObject execute(File inputFile, DSGRNRuntimeEnv designEnv) throws CelloException {
+				if (inputFile.getName().startsWith("fail")) {
+					throw new CelloException("Unable to process " + inputFile.getName() + ".");
+				}
+				if (inputFile.getName().startsWith("slow")) {
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				JSONObject rtn = new JSONObject();
+				rtn.put(DSGRNServer.S_OUTPUTDIR, designEnv.getOptionValue("outputDir"));
+				return rtn;
+			}
+		};
+		server.start();
+		int port = server.getServer().getAddress().getPort();
+		ExecutorService clients = Executors.newFixedThreadPool(2);
+		try {
+			assertEquals(405, request(port, "GET", "name=get"));
+			assertEquals(200, request(port, "POST", "name=ok"));
+			assertEquals(500, request(port, "POST", "name=fail"));
+			// one design in progress and one waiting fill the service
+			Future<Integer> slow = clients.submit(() -> request(port, "POST", "name=slow"));
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			Future<Integer> waiting = clients.submit(() -> request(port, "POST", "name=waiting"));
+			while (server.getExecutor().getQueue().isEmpty()) {
+				Thread.sleep(10);
+			}
+			assertEquals(503, request(port, "POST", "name=full"));
+			// the rejected design leaves no directory behind
+			assertArrayEquals(new String[0], outputDir.list((dir, name) -> name.startsWith("full")));
+			release.countDown();
+			assertEquals(200, slow.get().intValue());
+			assertEquals(200, waiting.get().intValue());
+		} finally {
+			release.countDown();
+			clients.shutdownNow();
+			server.stop();
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DSGRNVariants} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class DSGRNVariantsTest {
+
+	/*
+	 * an input into gates x and y, with the given types
+	 */
+	private static DSGRNDesign getDesign(DSGRNRuntimeEnv runEnv, String name, String x, String y, Double score) {
+		Netlist netlist = new Netlist();
+		netlist.setName(name);
+		String[][] spec = { { "a", LSResults.S_PRIMARYINPUT }, { "x", x }, { "y", y } };
+		for (String[] s : spec) {
+			NetlistNode node = new NetlistNode();
+			node.setName(s[0]);
+			node.getResultNetlistNodeData().setNodeType(s[1]);
+			netlist.addVertex(node);
+		}
+		DSGRNDesign rtn = new DSGRNDesign(netlist, runEnv, "design.xml", new DSGRNMetrics(name));
+		rtn.setScore(score);
+		return rtn;
+	}
+
+	@Test
+	public void getRanking_Variants_ShouldSortByScoreAndNameVariableGates() {
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(new String[] { "-outputDir", "/tmp", "-variants", "4" });
+		List<DSGRNDesign> designs = new ArrayList<>();
+		designs.add(getDesign(runEnv, "design_variant_0", LSResults.S_NOR, LSResults.S_NOT, 10.0));
+		designs.add(getDesign(runEnv, "design_variant_1", LSResults.S_NAND, LSResults.S_NOT, null));
+		designs.add(getDesign(runEnv, "design_variant_2", LSResults.S_NAND, LSResults.S_NOT, 20.0));
+		List<List<String>> ranking = DSGRNVariants.getRanking(designs);
+		assertEquals(4, DSGRNVariants.getMaxVariants(runEnv));
+		assertEquals(Arrays.asList("1", "design_variant_2", "20.0", "x=NAND"), ranking.get(0));
+		assertEquals(Arrays.asList("2", "design_variant_0", "10.0", "x=NOR"), ranking.get(1));
+		assertEquals(Arrays.asList("", "design_variant_1", "", "x=NAND"), ranking.get(2));
+	}
+
+	@Test
+	public void write_VariantsOfTwoDesigns_ShouldRankEachDesign() throws IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		DSGRNRuntimeEnv runEnv = new DSGRNRuntimeEnv(
+		        new String[] { "-outputDir", dir.getPath(), "-variants", "2" });
+		List<DSGRNDesign> designs = new ArrayList<>();
+		designs.add(getDesign(runEnv, "a_variant_0", LSResults.S_NOR, LSResults.S_NOT, 1.0));
+		designs.add(getDesign(runEnv, "b_variant_0", LSResults.S_NOR, LSResults.S_NOT, 3.0));
+		designs.add(getDesign(runEnv, "a_variant_1", LSResults.S_NAND, LSResults.S_NOT, 2.0));
+		designs.add(getDesign(runEnv, "b_variant_1", LSResults.S_NOR, LSResults.S_NOR, 4.0));
+		designs.add(getDesign(runEnv, "c_variant_x", LSResults.S_NAND, LSResults.S_NOR, 5.0));
+		assertEquals("a", DSGRNVariants.getSource(designs.get(2)));
+		assertEquals("c_variant_x", DSGRNVariants.getSource(designs.get(4)));
+		DSGRNVariants.write(designs, runEnv, dir, "design.xml");
+		String header = String.join(",", DSGRNVariants.S_COLUMNS);
+		assertEquals(Arrays.asList(header, "1,a_variant_1,2.0,x=NAND", "2,a_variant_0,1.0,x=NOR"),
+		        Files.readAllLines(new File(dir, "a_variants.csv").toPath(), StandardCharsets.UTF_8));
+		assertEquals(Arrays.asList(header, "1,b_variant_1,4.0,y=NOR", "2,b_variant_0,3.0,y=NOT"),
+		        Files.readAllLines(new File(dir, "b_variants.csv").toPath(), StandardCharsets.UTF_8));
+		// a design without variants has no ranking
+		assertFalse(new File(dir, "c_variant_x_variants.csv").exists());
+	}
+
+}
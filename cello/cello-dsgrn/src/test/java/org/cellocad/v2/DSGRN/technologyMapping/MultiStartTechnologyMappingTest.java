@@ -0,0 +1,268 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.cellocad.v2.DSGRN.runtime.environment.DSGRNRuntimeEnv;
+import org.cellocad.v2.common.CelloException;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link MultiStartTechnologyMapping} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class MultiStartTechnologyMappingTest {
+
+	/*
+	 * chains that score their seed instead of running the stage
+	 */
+	private static class TestMapping extends MultiStartTechnologyMapping {
+
+		TestMapping(String configuration, DSGRNRuntimeEnv runEnv, Map<Integer, Double> scores) {
+			super(null, JSONValue.parse(configuration), runEnv);
+			this.scores = scores;
+		}
+
+		@Override
+		protected Netlist execute(int chain, Integer iterations, Netlist netlist, File outputDir) {
+			int seed = this.getSeed(chain);
+			if (iterations != null) {
+				this.iterations.add(iterations);
+				try {
+					// an iteration takes a microsecond
+					Thread.sleep(iterations / 1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Netlist rtn = new Netlist();
+			rtn.setName(netlist.getName() + "_" + chain);
+			Double score = this.scores.get(seed);
+			this.results.put(rtn, score == null ? new Random(seed).nextDouble() : score);
+			this.chains.add(chain + ":" + seed);
+			return rtn;
+		}
+
+		@Override
+		protected double getScore(Netlist netlist) {
+			return this.results.get(netlist);
+		}
+
+		private Map<Integer, Double> scores;
+		private Map<Netlist, Double> results = new ConcurrentHashMap<>();
+		private List<String> chains = new CopyOnWriteArrayList<>();
+		private List<Integer> iterations = new CopyOnWriteArrayList<>();
+
+	}
+
+	private static DSGRNRuntimeEnv getRuntimeEnv(String... args) throws IOException {
+		File dir = Files.createTempDirectory("cello_").toFile();
+		List<String> rtn = new ArrayList<>(Arrays.asList("-outputDir", dir.getPath()));
+		rtn.addAll(Arrays.asList(args));
+		return new DSGRNRuntimeEnv(rtn.toArray(new String[0]));
+	}
+
+	private static JSONObject getSummary(DSGRNRuntimeEnv runEnv) throws IOException {
+		File summary = new File(runEnv.getOptionValue("outputDir"), "design_technologyMapping_chains.json");
+		return (JSONObject) JSONValue.parse(new String(Files.readAllBytes(summary.toPath())));
+	}
+
+	private static Netlist getNetlist() {
+		Netlist rtn = new Netlist();
+		rtn.setName("design");
+		return rtn;
+	}
+
+	@Test
+	public void getStage_Chain_ShouldSetSeedOfChain() throws CelloException, IOException {
+		MultiStartTechnologyMapping TM = new TestMapping("{\"chains\": 2, \"seeds\": [11, 12]}", getRuntimeEnv(),
+		        new HashMap<>());
+		assertEquals(12, TM.getStage(1, null).getAlgorithmProfile().getIntParameter("seed").getSecond().intValue());
+		// chains without a seed use their index
+		assertEquals(2, TM.getStage(2, null).getAlgorithmProfile().getIntParameter("seed").getSecond().intValue());
+	}
+
+	@Test(expected = CelloException.class)
+	public void getStage_UndeclaredSeedParameter_ShouldThrow() throws CelloException, IOException {
+		new TestMapping("{\"chains\": 2, \"seed_parameter\": \"random_seed\"}", getRuntimeEnv(), new HashMap<>())
+		        .getStage(0, null);
+	}
+
+	@Test(expected = CelloException.class)
+	public void getStage_UndeclaredIterationsParameter_ShouldThrow() throws CelloException, IOException {
+		new TestMapping("{\"chains\": 2, \"iterations_parameter\": \"steps\"}", getRuntimeEnv(), new HashMap<>())
+		        .getStage(0, 100);
+	}
+
+	@Test
+	public void getStage_LaterRound_ShouldReuseStageOfPosition() throws CelloException, IOException {
+		MultiStartTechnologyMapping TM = new TestMapping("{\"chains\": 2}", getRuntimeEnv(), new HashMap<>());
+		assertSame(TM.getStage(1, null), TM.getStage(3, null));
+		assertEquals(3, TM.getStage(3, null).getAlgorithmProfile().getIntParameter("seed").getSecond().intValue());
+	}
+
+	@Test
+	public void execute_FixedSeeds_ShouldBeDeterministic() throws CelloException, IOException {
+		String configuration = "{\"chains\": 4, \"seeds\": [7, 3, 42, 5]}";
+		TestMapping first = new TestMapping(configuration, getRuntimeEnv(), new HashMap<>());
+		TestMapping second = new TestMapping(configuration, getRuntimeEnv(), new HashMap<>());
+		Netlist a = first.execute(getNetlist(), null);
+		Netlist b = second.execute(getNetlist(), null);
+		assertEquals(a.getName(), b.getName());
+		assertEquals(first.getScore(a), second.getScore(b), 0.0);
+		List<String> chains = new ArrayList<>(first.chains);
+		chains.sort(null);
+		assertEquals("[0:7, 1:3, 2:42, 3:5]", chains.toString());
+	}
+
+	@Test
+	public void execute_Chains_ShouldReturnBestChain() throws CelloException, IOException {
+		Map<Integer, Double> scores = new HashMap<>();
+		scores.put(1, 0.5);
+		scores.put(2, 0.9);
+		scores.put(3, 0.1);
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv();
+		TestMapping TM = new TestMapping("{\"chains\": 3, \"seeds\": [1, 2, 3]}", runEnv, scores);
+		assertEquals("design_1", TM.execute(getNetlist(), null).getName());
+		File summary = new File(runEnv.getOptionValue("outputDir"), "design_technologyMapping_chains.json");
+		JSONObject json = (JSONObject) JSONValue.parse(new String(Files.readAllBytes(summary.toPath())));
+		assertEquals(1L, json.get("best"));
+		assertEquals("technologyMapping_chain_1", json.get("best_output_dir"));
+		assertTrue(summary.delete());
+	}
+
+	@Test
+	public void execute_Rounds_ShouldRunEveryRound() throws CelloException, IOException {
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv();
+		TestMapping TM = new TestMapping("{\"chains\": 2, \"rounds\": 3}", runEnv, new HashMap<>());
+		TM.execute(getNetlist(), null);
+		assertEquals(6, TM.chains.size());
+		JSONObject json = getSummary(runEnv);
+		assertEquals(3L, json.get("rounds"));
+		assertEquals("rounds", json.get("stop"));
+		assertEquals(6, ((List<?>) json.get("chains")).size());
+	}
+
+	@Test
+	public void execute_Patience_ShouldStopWhenConverged() throws CelloException, IOException {
+		Map<Integer, Double> scores = new HashMap<>();
+		scores.put(0, 0.5);
+		scores.put(1, 0.9);
+		scores.put(2, 0.1);
+		scores.put(3, 0.2);
+		scores.put(4, 0.95);
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv();
+		TestMapping TM = new TestMapping("{\"chains\": 1, \"patience\": 2}", runEnv, scores);
+		assertEquals(Integer.MAX_VALUE, TM.getMaxRounds());
+		// two rounds without a better score than the second
+		assertEquals("design_1", TM.execute(getNetlist(), null).getName());
+		JSONObject json = getSummary(runEnv);
+		assertEquals(4L, json.get("rounds"));
+		assertEquals("convergence", json.get("stop"));
+	}
+
+	@Test
+	public void execute_TimeBudget_ShouldRunOneRound() throws CelloException, IOException {
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv("-tmTimeBudget", "10");
+		TestMapping TM = new TestMapping("{\"chains\": 1, \"iterations\": 1000}", runEnv, new HashMap<>());
+		assertEquals(1, TM.getMaxRounds());
+		TM.execute(getNetlist(), null);
+		// the pilot chain and the chain of the round
+		assertEquals(Arrays.asList(10, 1000), TM.iterations);
+		JSONObject json = getSummary(runEnv);
+		assertEquals(1L, json.get("rounds"));
+		assertEquals("rounds", json.get("stop"));
+	}
+
+	@Test
+	public void execute_TimeBudget_ShouldStopBeforeDeadline() throws CelloException, IOException {
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv("-tmTimeBudget", "1e-9");
+		TestMapping TM = new TestMapping("{\"chains\": 2, \"rounds\": 10, \"iterations\": 100}", runEnv,
+		        new HashMap<>());
+		TM.execute(getNetlist(), null);
+		// the first round always runs, no iteration of the second ends within the
+		// budget
+		JSONObject json = getSummary(runEnv);
+		assertEquals(1L, json.get("rounds"));
+		assertEquals("deadline", json.get("stop"));
+	}
+
+	@Test
+	public void execute_TimeBudget_ShouldFitIterationsToBudget() throws CelloException, IOException {
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv("-tmTimeBudget", "0.5");
+		TestMapping TM = new TestMapping("{\"chains\": 1, \"iterations\": 10000000}", runEnv, new HashMap<>());
+		long start = System.nanoTime();
+		TM.execute(getNetlist(), null);
+		long elapsed = System.nanoTime() - start;
+		// the pilot chain takes a tenth of a second, and the chain of the round at
+		// most the rest of the budget instead of ten seconds
+		assertEquals(100000, TM.iterations.get(0).intValue());
+		assertTrue(TM.iterations.get(1) < 500000);
+		assertTrue(elapsed < 2000000000L);
+	}
+
+	@Test
+	public void execute_Cancel_ShouldStopAfterRound() throws CelloException, IOException {
+		DSGRNRuntimeEnv runEnv = getRuntimeEnv();
+		TestMapping TM = new TestMapping("{\"chains\": 2, \"rounds\": 10}", runEnv, new HashMap<>());
+		List<Integer> rounds = new ArrayList<>();
+		TM.addListener(progress -> {
+			rounds.add(progress.getRounds());
+			if (progress.getRounds() == 2) {
+				TM.cancel();
+			}
+		});
+		TM.execute(getNetlist(), null);
+		assertEquals(Arrays.asList(1, 2), rounds);
+		assertEquals("cancellation", getSummary(runEnv).get("stop"));
+	}
+
+	@Test
+	public void getChainDir_LaterRound_ShouldReuseDirectory() throws IOException {
+		TestMapping TM = new TestMapping("{\"chains\": 3}", getRuntimeEnv(), new HashMap<>());
+		File dir = new File("design");
+		assertEquals(new File(dir, "technologyMapping_chain_1"), TM.getChainDir(1, dir));
+		assertEquals(TM.getChainDir(1, dir), TM.getChainDir(7, dir));
+	}
+
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.cellocad.v2.common.netlistConstraint.data.NetlistConstraint;
+import org.cellocad.v2.common.target.data.TargetData;
+import org.cellocad.v2.results.logicSynthesis.LSResults;
+import org.cellocad.v2.results.netlist.Netlist;
+import org.cellocad.v2.results.netlist.NetlistEdge;
+import org.cellocad.v2.results.netlist.NetlistNode;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TMFeasibility} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class TMFeasibilityTest {
+
+	/*
+	 * a and b into a NOR gate, into a NOT gate, into an output
+	 */
+	private static Netlist getNetlist() {
+		Netlist rtn = new Netlist();
+		rtn.setName("and");
+		Map<String, NetlistNode> nodes = new HashMap<>();
+		String[][] spec = { { "a", LSResults.S_PRIMARYINPUT }, { "b", LSResults.S_PRIMARYINPUT },
+		        { "nor", LSResults.S_NOR }, { "not", LSResults.S_NOT }, { "y", LSResults.S_PRIMARYOUTPUT } };
+		for (String[] s : spec) {
+			NetlistNode node = new NetlistNode();
+			node.setName(s[0]);
+			node.getResultNetlistNodeData().setNodeType(s[1]);
+			nodes.put(s[0], node);
+			rtn.addVertex(node);
+		}
+		String[][] edges = { { "a", "nor" }, { "b", "nor" }, { "nor", "not" }, { "not", "y" } };
+		for (String[] e : edges) {
+			NetlistEdge edge = new NetlistEdge();
+			edge.setSrc(nodes.get(e[0]));
+			edge.setDst(nodes.get(e[1]));
+			nodes.get(e[0]).addOutEdge(edge);
+			nodes.get(e[1]).addInEdge(edge);
+			rtn.addEdge(edge);
+		}
+		return rtn;
+	}
+
+	private static TargetData getTargetData(String gates) {
+		String json = "[" + gates + "{\"collection\": \"input_sensors\", \"name\": \"LacI_sensor\"},"
+		        + "{\"collection\": \"input_sensors\", \"name\": \"TetR_sensor\"},"
+		        + "{\"collection\": \"output_devices\", \"name\": \"YFP_reporter\"}]";
+		return new TargetData((JSONArray) JSONValue.parse(json));
+	}
+
+	private static String getReason(JSONArray reasons, int i) {
+		return (String) ((JSONObject) reasons.get(i)).get("reason");
+	}
+
+	@Test
+	public void getReasons_EnoughGroups_ShouldBeEmpty() {
+		TargetData td = getTargetData("{\"collection\": \"gates\", \"name\": \"P1_PhlF\", \"group\": \"PhlF\","
+		        + " \"gate_type\": \"NOR\"}, {\"collection\": \"gates\", \"name\": \"S2_SrpR\", \"group\": \"SrpR\","
+		        + " \"gate_type\": \"NOR\"},");
+		TMFeasibility feasibility = new TMFeasibility(td, new NetlistConstraint());
+		assertTrue(feasibility.getReasons(getNetlist()).isEmpty());
+	}
+
+	@Test
+	public void getReasons_SharedGroup_ShouldReturnTooFewGates() {
+		TargetData td = getTargetData("{\"collection\": \"gates\", \"name\": \"P1_PhlF\", \"group\": \"PhlF\","
+		        + " \"gate_type\": \"NOR\"}, {\"collection\": \"gates\", \"name\": \"P2_PhlF\", \"group\": \"PhlF\","
+		        + " \"gate_type\": \"NOR\"},");
+		TMFeasibility feasibility = new TMFeasibility(td, new NetlistConstraint());
+		JSONArray reasons = feasibility.getReasons(getNetlist());
+		// each type fits on its own, but both need the only group
+		assertEquals(1, reasons.size());
+		assertEquals(TMFeasibility.S_GROUPCONFLICT, getReason(reasons, 0));
+	}
+
+	@Test(expected = InfeasibleNetlistException.class)
+	public void check_UnknownConstrainedSensor_ShouldThrow() throws InfeasibleNetlistException {
+		TargetData td = getTargetData("{\"collection\": \"gates\", \"name\": \"P1_PhlF\", \"group\": \"PhlF\","
+		        + " \"gate_type\": \"NOR\"}, {\"collection\": \"gates\", \"name\": \"S2_SrpR\", \"group\": \"SrpR\","
+		        + " \"gate_type\": \"NOR\"},");
+		String json = "[{\"collection\": \"input_constraints\", \"map\": {\"a\": \"AraC_sensor\"}}]";
+		NetlistConstraint nc = new NetlistConstraint((JSONArray) JSONValue.parse(json));
+		new TMFeasibility(td, nc).check(getNetlist());
+	}
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2020 Boston University (BU)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cellocad.v2.DSGRN.technologyMapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TMProgress} class.
+ *
+ * @author agent
+ *
+ * @date 2026-10-16
+ *
+ */
+public class TMProgressTest {
+
+	@Test
+	public void getIterationsPerSecond_KnownIterations_ShouldScaleChainsPerSecond() {
+		TMProgress progress = new TMProgress(2, 8, 1000, 42.0, 5, 4000000000L);
+		assertEquals(2.0, progress.getChainsPerSecond(), 1e-9);
+		assertEquals(2000.0, progress.getIterationsPerSecond(), 1e-9);
+		assertTrue(progress.toString().contains("2000 iterations/s"));
+	}
+
+	@Test
+	public void getIterationsPerSecond_UnknownIterations_ShouldBeNaN() {
+		TMProgress progress = new TMProgress(1, 4, null, 42.0, 0, 1000000000L);
+		assertTrue(Double.isNaN(progress.getIterationsPerSecond()));
+	}
+
+}